@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.converter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link JobParametersConverterImpl} converting the job parameters of a launch.
+ * <p>
+ * The run ids are generated by {@link SnowflakeRunIdGenerator}, so that the database is not measured. The properties have
+ * the same keys for every launch, as the launches of a job by a scheduler or the asynchronous batch daemon. The score is
+ * the number of launches converted per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JobParametersConverterBenchmark {
+
+    /**
+     * Number of the properties.
+     */
+    @Param({ "5", "50" })
+    public int propertyCount;
+
+    /**
+     * Notation of the keys, {@code plain} for the {@code String} parameters or {@code typed} for the typed parameters.
+     */
+    @Param({ "plain", "typed" })
+    public String notation;
+
+    /**
+     * Converter to be measured.
+     */
+    private JobParametersConverterImpl converter;
+
+    /**
+     * The properties of a launch.
+     */
+    private Properties properties;
+
+    /**
+     * Create the converter and properties.
+     *
+     * @throws Exception if failed to initialize.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        converter = new JobParametersConverterImpl(new SimpleDriverDataSource());
+        converter.setRunIdGenerator(new SnowflakeRunIdGenerator(0));
+        converter.afterPropertiesSet();
+        properties = new Properties();
+        for (int i = 0; i < propertyCount; i++) {
+            if (!"typed".equals(notation)) {
+                properties.setProperty("param" + i, String.valueOf(i));
+            } else if (i % 3 == 0) {
+                properties.setProperty("+count" + i + "(long)", String.valueOf(i));
+            } else if (i % 3 == 1) {
+                properties.setProperty("date" + i + "(localDate)", "2026-01-01");
+            } else {
+                properties.setProperty("name" + i + "(string)", "value" + i);
+            }
+        }
+    }
+
+    /**
+     * Convert the properties of a launch to the job parameters.
+     *
+     * @return the job parameters.
+     */
+    @Benchmark
+    public JobParameters getJobParameters() {
+        return converter.getJobParameters(properties);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+/**
+ * Generator of the data used by the benchmarks.
+ * <p>
+ * The data consists of the alphanumeric characters, which are encoded as a single byte in all charsets measured, so that
+ * the same data has the same byte length in UTF-8, MS932 and EBCDIC.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public final class BenchmarkData {
+
+    /**
+     * Characters used in the data.
+     */
+    private static final String ALPHANUMERIC = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * Create a new instance.
+     */
+    private BenchmarkData() {
+    }
+
+    /**
+     * Generate a field.
+     *
+     * @param seed the seed which makes the field different.
+     * @param width the number of characters.
+     * @return the field.
+     */
+    public static String field(int seed, int width) {
+        StringBuilder sb = new StringBuilder(width);
+        for (int i = 0; i < width; i++) {
+            sb.append(ALPHANUMERIC.charAt((seed * 31 + i) % ALPHANUMERIC.length()));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Generate the records without separator.
+     *
+     * @param count the number of records.
+     * @param width the number of characters of a record.
+     * @return the records joined.
+     */
+    public static String records(int count, int width) {
+        StringBuilder sb = new StringBuilder(count * width);
+        for (int i = 0; i < count; i++) {
+            sb.append(field(i, width));
+        }
+        return sb.toString();
+    }
+}
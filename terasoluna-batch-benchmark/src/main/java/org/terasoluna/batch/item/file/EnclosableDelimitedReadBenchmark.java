@@ -0,0 +1,179 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.batch.item.file.separator.DefaultRecordSeparatorPolicy;
+import org.springframework.batch.item.file.separator.RecordSeparatorPolicy;
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.batch.item.file.transform.LineTokenizer;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineTokenizer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of reading and tokenizing the records of a delimited file by {@link EnclosableDelimitedBufferedReaderFactory}
+ * and {@link EnclosableDelimitedLineTokenizer}, compared with {@link DefaultRecordSeparatorPolicy} and
+ * {@link DelimitedLineTokenizer} of Spring Batch.
+ * <p>
+ * A file of {@value #RECORD_COUNT} records of {@value #FIELD_COUNT} fields is generated in memory in UTF-8. The enclosed
+ * fields contain the delimiter, and a half of them also contain a line break while the others contain an escaped
+ * enclosure. The records are joined by the policy in the same way as FlatFileItemReader. The score is the number of records
+ * read and tokenized per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnclosableDelimitedReadBenchmark {
+
+    /**
+     * Number of the records in the file.
+     */
+    static final int RECORD_COUNT = 10_000;
+
+    /**
+     * Number of the fields in a record.
+     */
+    static final int FIELD_COUNT = 10;
+
+    /**
+     * Number of characters of a field.
+     */
+    private static final int FIELD_WIDTH = 16;
+
+    /**
+     * Implementation to be measured, {@code recordSeparatorPolicy} for Spring Batch or {@code enclosable} for TERASOLUNA
+     * Batch.
+     */
+    @Param({ "recordSeparatorPolicy", "enclosable" })
+    public String implementation;
+
+    /**
+     * Share of the fields which are enclosed.
+     */
+    @Param({ "0.0", "0.25" })
+    public double enclosedShare;
+
+    /**
+     * Factory of the reader of TERASOLUNA Batch.
+     */
+    private EnclosableDelimitedBufferedReaderFactory factory;
+
+    /**
+     * Policy joining the lines of Spring Batch.
+     */
+    private RecordSeparatorPolicy policy;
+
+    /**
+     * Tokenizer to be measured.
+     */
+    private LineTokenizer tokenizer;
+
+    /**
+     * The generated file.
+     */
+    private Resource resource;
+
+    /**
+     * Create the reader, tokenizer and file.
+     */
+    @Setup
+    public void setUp() {
+        if ("enclosable".equals(implementation)) {
+            factory = new EnclosableDelimitedBufferedReaderFactory();
+            EnclosableDelimitedLineTokenizer enclosableTokenizer = new EnclosableDelimitedLineTokenizer();
+            enclosableTokenizer.afterPropertiesSet();
+            tokenizer = enclosableTokenizer;
+        } else {
+            policy = new DefaultRecordSeparatorPolicy();
+            tokenizer = new DelimitedLineTokenizer();
+        }
+        int enclosed = (int) Math.round(FIELD_COUNT * enclosedShare);
+        StringBuilder sb = new StringBuilder(RECORD_COUNT * FIELD_COUNT * (FIELD_WIDTH + 4));
+        for (int r = 0; r < RECORD_COUNT; r++) {
+            for (int i = 0; i < FIELD_COUNT; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                String field = BenchmarkData.field(r + i, FIELD_WIDTH);
+                if (i < enclosed) {
+                    String inner = i % 2 == 0 ? "\r\n" : "\"\"";
+                    sb.append('"').append(field, 0, FIELD_WIDTH / 2).append(',').append(inner).append(field,
+                            FIELD_WIDTH / 2, FIELD_WIDTH).append('"');
+                } else {
+                    sb.append(field);
+                }
+            }
+            sb.append("\r\n");
+        }
+        resource = new ByteArrayResource(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Read and tokenize all records of the file.
+     *
+     * @param blackhole consumer of the tokens.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public void readAndTokenize(Blackhole blackhole) throws IOException {
+        if (factory != null) {
+            try (BufferedReader reader = factory.create(resource, "UTF-8")) {
+                String record;
+                while ((record = reader.readLine()) != null) {
+                    blackhole.consume(tokenizer.tokenize(record));
+                }
+            }
+        } else {
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.getInputStream(),
+                    StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String record = line;
+                    while (!policy.isEndOfRecord(record)) {
+                        record = policy.preProcess(record) + reader.readLine();
+                    }
+                    blackhole.consume(tokenizer.tokenize(policy.postProcess(record)));
+                }
+            }
+        }
+    }
+}
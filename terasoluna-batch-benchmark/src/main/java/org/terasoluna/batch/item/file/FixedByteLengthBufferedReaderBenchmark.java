@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of reading the lines by {@link FixedByteLengthBufferedReaderFactory}.
+ * <p>
+ * A file of {@value #RECORD_COUNT} records is generated in memory for each charset and record width, so that the result
+ * excludes the storage. The score is the number of records read per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FixedByteLengthBufferedReaderBenchmark {
+
+    /**
+     * Number of the records in the file.
+     */
+    static final int RECORD_COUNT = 10_000;
+
+    /**
+     * Encoding of the file. IBM037 is EBCDIC.
+     */
+    @Param({ "UTF-8", "MS932", "IBM037" })
+    public String encoding;
+
+    /**
+     * Byte length of a record.
+     */
+    @Param({ "80", "400" })
+    public int recordWidth;
+
+    /**
+     * Factory to be measured.
+     */
+    private FixedByteLengthBufferedReaderFactory factory;
+
+    /**
+     * The generated file.
+     */
+    private Resource resource;
+
+    /**
+     * Generate the file.
+     */
+    @Setup
+    public void setUp() {
+        factory = new FixedByteLengthBufferedReaderFactory(recordWidth);
+        resource = new ByteArrayResource(BenchmarkData.records(RECORD_COUNT, recordWidth).getBytes(Charset.forName(
+                encoding)));
+    }
+
+    /**
+     * Read all records of the file.
+     *
+     * @param blackhole consumer of the records.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORD_COUNT)
+    public void readLine(Blackhole blackhole) throws IOException {
+        try (BufferedReader reader = factory.create(resource, encoding)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                blackhole.consume(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.mapping;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.validation.BindException;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link CompiledBeanFieldExtractor} and {@link CompiledBeanFieldSetMapper} compared with
+ * {@link BeanWrapperFieldExtractor} and {@link BeanWrapperFieldSetMapper}.
+ * <p>
+ * The bean has eight properties of the typical types. The score is the number of items extracted or mapped per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanMappingBenchmark {
+
+    /**
+     * Names of the properties.
+     */
+    private static final String[] NAMES = { "code", "name", "address", "quantity", "amount", "price", "timestamp",
+            "active" };
+
+    /**
+     * Implementation to be measured, {@code beanWrapper} or {@code compiled}.
+     */
+    @Param({ "beanWrapper", "compiled" })
+    public String implementation;
+
+    /**
+     * Extractor to be measured.
+     */
+    private FieldExtractor<Item> extractor;
+
+    /**
+     * Mapper to be measured.
+     */
+    private FieldSetMapper<Item> mapper;
+
+    /**
+     * The item to be extracted.
+     */
+    private Item item;
+
+    /**
+     * The field set to be mapped.
+     */
+    private FieldSet fieldSet;
+
+    /**
+     * Create the extractor, mapper and data.
+     *
+     * @throws Exception if failed to initialize.
+     */
+    @Setup
+    public void setUp() throws Exception {
+        if ("compiled".equals(implementation)) {
+            CompiledBeanFieldExtractor<Item> compiledExtractor = new CompiledBeanFieldExtractor<>();
+            compiledExtractor.setNames(NAMES);
+            compiledExtractor.afterPropertiesSet();
+            CompiledBeanFieldSetMapper<Item> compiledMapper = new CompiledBeanFieldSetMapper<>();
+            compiledMapper.setTargetType(Item.class);
+            compiledMapper.afterPropertiesSet();
+            extractor = compiledExtractor;
+            mapper = compiledMapper;
+        } else {
+            BeanWrapperFieldExtractor<Item> beanWrapperExtractor = new BeanWrapperFieldExtractor<>();
+            beanWrapperExtractor.setNames(NAMES);
+            beanWrapperExtractor.afterPropertiesSet();
+            BeanWrapperFieldSetMapper<Item> beanWrapperMapper = new BeanWrapperFieldSetMapper<>();
+            beanWrapperMapper.setTargetType(Item.class);
+            beanWrapperMapper.afterPropertiesSet();
+            extractor = beanWrapperExtractor;
+            mapper = beanWrapperMapper;
+        }
+        fieldSet = new DefaultFieldSet(new String[] { "A0001", "Widget", "1-2-3 Toyosu, Koto-ku, Tokyo", "12",
+                "123456789", "1234.50", "1767225600000", "true" }, NAMES);
+        item = mapper.mapFieldSet(fieldSet);
+    }
+
+    /**
+     * Extract the fields of the item.
+     *
+     * @return the fields.
+     */
+    @Benchmark
+    public Object[] extract() {
+        return extractor.extract(item);
+    }
+
+    /**
+     * Map the field set to an item.
+     *
+     * @return the item.
+     * @throws BindException if failed to map.
+     */
+    @Benchmark
+    public Item map() throws BindException {
+        return mapper.mapFieldSet(fieldSet);
+    }
+
+    /**
+     * Bean used by the benchmark.
+     */
+    public static class Item {
+
+        /**
+         * Code.
+         */
+        private String code;
+
+        /**
+         * Name.
+         */
+        private String name;
+
+        /**
+         * Address.
+         */
+        private String address;
+
+        /**
+         * Quantity.
+         */
+        private int quantity;
+
+        /**
+         * Amount.
+         */
+        private long amount;
+
+        /**
+         * Price.
+         */
+        private BigDecimal price;
+
+        /**
+         * Timestamp.
+         */
+        private Long timestamp;
+
+        /**
+         * Active flag.
+         */
+        private boolean active;
+
+        /**
+         * Get the code.
+         *
+         * @return the code.
+         */
+        public String getCode() {
+            return code;
+        }
+
+        /**
+         * Set the code.
+         *
+         * @param code the code.
+         */
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        /**
+         * Get the name.
+         *
+         * @return the name.
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Set the name.
+         *
+         * @param name the name.
+         */
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Get the address.
+         *
+         * @return the address.
+         */
+        public String getAddress() {
+            return address;
+        }
+
+        /**
+         * Set the address.
+         *
+         * @param address the address.
+         */
+        public void setAddress(String address) {
+            this.address = address;
+        }
+
+        /**
+         * Get the quantity.
+         *
+         * @return the quantity.
+         */
+        public int getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * Set the quantity.
+         *
+         * @param quantity the quantity.
+         */
+        public void setQuantity(int quantity) {
+            this.quantity = quantity;
+        }
+
+        /**
+         * Get the amount.
+         *
+         * @return the amount.
+         */
+        public long getAmount() {
+            return amount;
+        }
+
+        /**
+         * Set the amount.
+         *
+         * @param amount the amount.
+         */
+        public void setAmount(long amount) {
+            this.amount = amount;
+        }
+
+        /**
+         * Get the price.
+         *
+         * @return the price.
+         */
+        public BigDecimal getPrice() {
+            return price;
+        }
+
+        /**
+         * Set the price.
+         *
+         * @param price the price.
+         */
+        public void setPrice(BigDecimal price) {
+            this.price = price;
+        }
+
+        /**
+         * Get the timestamp.
+         *
+         * @return the timestamp.
+         */
+        public Long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Set the timestamp.
+         *
+         * @param timestamp the timestamp.
+         */
+        public void setTimestamp(Long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        /**
+         * Get the active.
+         *
+         * @return the active.
+         */
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * Set the active.
+         *
+         * @param active the active.
+         */
+        public void setActive(boolean active) {
+            this.active = active;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.terasoluna.batch.item.file.BenchmarkData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of finding the delimiter, enclosure, carriage-return and line-feed by {@link DelimitedCharScanner}, compared
+ * with the four comparisons per character against constant targets, to check that holding the targets in fields costs
+ * nothing.
+ * <p>
+ * The fields contain no target, so that every character is checked. The score is the number of fields scanned per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DelimitedCharScannerBenchmark {
+
+    /**
+     * Number of the fields scanned by an invocation.
+     */
+    static final int FIELD_COUNT = 1_000;
+
+    /**
+     * Implementation to be measured, {@code scanner} for {@link DelimitedCharScanner} or {@code comparisons} for the
+     * comparisons with the constant targets.
+     */
+    @Param({ "scanner", "comparisons" })
+    public String implementation;
+
+    /**
+     * Number of characters of a field, narrow or wide.
+     */
+    @Param({ "8", "256" })
+    public int fieldWidth;
+
+    /**
+     * Scanner to be measured.
+     */
+    private DelimitedCharScanner scanner;
+
+    /**
+     * The generated fields.
+     */
+    private String[] fields;
+
+    /**
+     * Create the scanner and fields.
+     */
+    @Setup
+    public void setUp() {
+        scanner = DelimitedCharScanner.of(',', '"', '\r', '\n');
+        fields = new String[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            fields[i] = BenchmarkData.field(i, fieldWidth);
+        }
+    }
+
+    /**
+     * Scan all fields.
+     *
+     * @return the sum of the indexes found, which prevents the elimination of the scan.
+     */
+    @Benchmark
+    @OperationsPerInvocation(FIELD_COUNT)
+    public int scan() {
+        int sum = 0;
+        if ("scanner".equals(implementation)) {
+            for (String field : fields) {
+                sum += scanner.indexOf(field, 0, field.length());
+            }
+        } else {
+            for (String field : fields) {
+                sum += indexOfByComparisons(field);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Find the first target by comparing each character with every target.
+     *
+     * @param field the field to be scanned.
+     * @return the index of the target, or -1 if not found.
+     */
+    private static int indexOfByComparisons(String field) {
+        for (int i = 0; i < field.length(); i++) {
+            char c = field.charAt(i);
+            if (c == ',' || c == '"' || c == '\r' || c == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.transform.PassThroughFieldExtractor;
+import org.terasoluna.batch.item.file.BenchmarkData;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of aggregating an item by {@link EnclosableDelimitedLineAggregator}.
+ * <p>
+ * The fields which need enclosing contain the delimiter, and a half of them also contain the enclosure to be escaped. The
+ * aggregator produces a string, so that the charset is not a parameter of this benchmark. The score is the number of items
+ * aggregated per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EnclosableDelimitedLineAggregatorBenchmark {
+
+    /**
+     * Byte length of a field.
+     */
+    private static final int FIELD_WIDTH = 16;
+
+    /**
+     * Number of the fields in an item.
+     */
+    @Param({ "5", "20" })
+    public int fieldCount;
+
+    /**
+     * Share of the fields which need enclosing.
+     */
+    @Param({ "0.0", "0.25", "1.0" })
+    public double enclosedShare;
+
+    /**
+     * Aggregator to be measured.
+     */
+    private EnclosableDelimitedLineAggregator<String[]> aggregator;
+
+    /**
+     * The generated item.
+     */
+    private String[] item;
+
+    /**
+     * Generate the item.
+     */
+    @Setup
+    public void setUp() {
+        aggregator = new EnclosableDelimitedLineAggregator<>();
+        aggregator.setFieldExtractor(new PassThroughFieldExtractor<>());
+        aggregator.afterPropertiesSet();
+        int enclosed = (int) Math.round(fieldCount * enclosedShare);
+        item = new String[fieldCount];
+        for (int i = 0; i < fieldCount; i++) {
+            StringBuilder field = new StringBuilder(BenchmarkData.field(i, FIELD_WIDTH));
+            if (i < enclosed) {
+                field.setCharAt(FIELD_WIDTH / 2, ',');
+                if (i % 2 == 0) {
+                    field.setCharAt(FIELD_WIDTH / 4, '"');
+                }
+            }
+            item[i] = field.toString();
+        }
+    }
+
+    /**
+     * Aggregate the item.
+     *
+     * @return the line.
+     */
+    @Benchmark
+    public String aggregate() {
+        return aggregator.aggregate(item);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.Range;
+import org.terasoluna.batch.item.file.BenchmarkData;
+
+import java.nio.charset.Charset;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of tokenizing a line by {@link FixedByteLengthLineTokenizer}.
+ * <p>
+ * The score is the number of lines tokenized per second.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FixedByteLengthLineTokenizerBenchmark {
+
+    /**
+     * Charset of the line. IBM037 is EBCDIC.
+     */
+    @Param({ "UTF-8", "MS932", "IBM037" })
+    public String encoding;
+
+    /**
+     * Number of the fields in a line.
+     */
+    @Param({ "5", "20" })
+    public int fieldCount;
+
+    /**
+     * Byte length of a field.
+     */
+    @Param({ "8", "32" })
+    public int fieldWidth;
+
+    /**
+     * Tokenizer to be measured.
+     */
+    private FixedByteLengthLineTokenizer tokenizer;
+
+    /**
+     * The generated line.
+     */
+    private String line;
+
+    /**
+     * Generate the line and ranges.
+     */
+    @Setup
+    public void setUp() {
+        Range[] ranges = new Range[fieldCount];
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < fieldCount; i++) {
+            ranges[i] = new Range(i * fieldWidth + 1, (i + 1) * fieldWidth);
+            sb.append(BenchmarkData.field(i, fieldWidth));
+        }
+        tokenizer = new FixedByteLengthLineTokenizer(ranges, Charset.forName(encoding));
+        line = sb.toString();
+    }
+
+    /**
+     * Tokenize the line.
+     *
+     * @return the tokens.
+     */
+    @Benchmark
+    public FieldSet tokenize() {
+        return tokenizer.tokenize(line);
+    }
+}
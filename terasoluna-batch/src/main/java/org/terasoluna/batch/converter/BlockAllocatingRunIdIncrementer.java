@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.converter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
+
+/**
+ * Incrementer that allocates the run ids in blocks by the hi/lo algorithm, so that the sequence is accessed once per
+ * {@code blockSize} ids.
+ * <p>
+ * A value {@code hi} of the underlying sequence reserves the ids from {@code hi * blockSize} to
+ * {@code hi * blockSize + blockSize - 1}, which do not overlap the ids allocated by other JVMs from the same sequence with the
+ * same {@code blockSize}. The ids allocated with a different {@code blockSize}, including the ids used directly from the
+ * sequence with the block size 1, can overlap, e.g. the value 250 used directly is in the block from 200 to 299 reserved by
+ * the value 2 with the block size 100. Therefore all the users of the sequence must use the same {@code blockSize}. The ids
+ * are handed out by {@link AtomicLong} without locking, and only the thread which finds the block used up fetches the next
+ * block. The ids of the block remaining at shutdown are not used. Do not decrease {@code blockSize} of the existing sequence,
+ * because the new blocks could overlap the ids allocated before.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class BlockAllocatingRunIdIncrementer implements DataFieldMaxValueIncrementer {
+
+    /**
+     * Incrementer of the underlying sequence.
+     */
+    private final DataFieldMaxValueIncrementer delegate;
+
+    /**
+     * Number of the ids allocated by a value of the sequence.
+     */
+    private final int blockSize;
+
+    /**
+     * Block from which the ids are handed out.
+     */
+    private volatile Block current = new Block(0, 0);
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param delegate incrementer of the underlying sequence.
+     * @param blockSize number of the ids allocated by a value of the sequence.
+     */
+    BlockAllocatingRunIdIncrementer(DataFieldMaxValueIncrementer delegate, int blockSize) {
+        this.delegate = delegate;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int nextIntValue() throws DataAccessException {
+        return Math.toIntExact(nextLongValue());
+    }
+
+    /**
+     * Hand out the next id of the current block, fetching the next block if used up.
+     *
+     * @return the next id.
+     * @throws DataAccessException if failed to access the sequence.
+     */
+    @Override
+    public long nextLongValue() throws DataAccessException {
+        while (true) {
+            Block block = current;
+            long id = block.next.getAndIncrement();
+            if (id < block.limit) {
+                return id;
+            }
+            synchronized (this) {
+                if (current == block) {
+                    long start = Math.multiplyExact(delegate.nextLongValue(), blockSize);
+                    current = new Block(start, start + blockSize);
+                }
+            }
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String nextStringValue() throws DataAccessException {
+        return String.valueOf(nextLongValue());
+    }
+
+    /**
+     * Return the incrementer of the underlying sequence.
+     *
+     * @return the incrementer.
+     */
+    DataFieldMaxValueIncrementer getDelegate() {
+        return delegate;
+    }
+
+    /**
+     * Ids reserved by a value of the sequence.
+     */
+    private static final class Block {
+
+        /**
+         * The next id to be handed out.
+         */
+        private final AtomicLong next;
+
+        /**
+         * The id after the last id of the block.
+         */
+        private final long limit;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param start the first id.
+         * @param limit the id after the last id.
+         */
+        private Block(long start, long limit) {
+            this.next = new AtomicLong(start);
+            this.limit = limit;
+        }
+    }
+}
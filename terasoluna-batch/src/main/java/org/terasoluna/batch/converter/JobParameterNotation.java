@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.converter;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.batch.core.JobParameter;
+
+/**
+ * Typed notation of a job parameter key, {@code [+|-]name(type)}.
+ * <p>
+ * The value of the key is converted to the type, and the parameter is identifying if the key is prefixed by {@code +}, or
+ * non-identifying if prefixed by {@code -} or not prefixed. The key which does not end with a supported type is the name of a
+ * non-identifying {@code String} parameter as it is, so that the existing keys are converted in the same way as before.
+ * </p>
+ * <p>
+ * This class is immutable and thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class JobParameterNotation {
+
+    /**
+     * Types of the values keyed by the lower-case type names.
+     */
+    private static final Map<String, ValueType> TYPES = new HashMap<>();
+
+    static {
+        for (ValueType type : ValueType.values()) {
+            TYPES.put(type.name().toLowerCase(Locale.ROOT), type);
+        }
+    }
+
+    /**
+     * The parameter name.
+     */
+    private final String name;
+
+    /**
+     * The type of the value.
+     */
+    private final ValueType type;
+
+    /**
+     * Whether the parameter is identifying.
+     */
+    private final boolean identifying;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param name the parameter name.
+     * @param type the type of the value.
+     * @param identifying whether the parameter is identifying.
+     */
+    private JobParameterNotation(String name, ValueType type, boolean identifying) {
+        this.name = name;
+        this.type = type;
+        this.identifying = identifying;
+    }
+
+    /**
+     * Parse the key of a job parameter.
+     *
+     * @param key the key, e.g. {@code +count(long)}.
+     * @return the notation.
+     */
+    static JobParameterNotation parse(String key) {
+        int last = key.length() - 1;
+        int open = last > 0 && key.charAt(last) == ')' ? key.lastIndexOf('(') : -1;
+        ValueType type = open > 0 ? TYPES.get(key.substring(open + 1, last).toLowerCase(Locale.ROOT)) : null;
+        if (type == null) {
+            return new JobParameterNotation(key, ValueType.STRING, false);
+        }
+        char prefix = key.charAt(0);
+        int from = prefix == '+' || prefix == '-' ? 1 : 0;
+        if (open == from) {
+            return new JobParameterNotation(key, ValueType.STRING, false);
+        }
+        return new JobParameterNotation(key.substring(from, open), type, prefix == '+');
+    }
+
+    /**
+     * Return the parameter name.
+     *
+     * @return the name without the prefix and type.
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Convert the value to the job parameter.
+     *
+     * @param value the value.
+     * @return the job parameter.
+     * @throws IllegalArgumentException if failed to convert the value to the type.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    JobParameter<?> toJobParameter(String value) {
+        Object converted;
+        try {
+            converted = type.parser.apply(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Failed to convert the job parameter. [name:" + name + "][type:" + type
+                    .name().toLowerCase(Locale.ROOT) + "][value:" + value + "]", e);
+        }
+        return new JobParameter(converted, type.javaType, identifying);
+    }
+
+    /**
+     * Types of the values.
+     */
+    private enum ValueType {
+
+        /**
+         * {@link String}.
+         */
+        STRING(String.class, value -> value),
+
+        /**
+         * {@link Long}.
+         */
+        LONG(Long.class, Long::valueOf),
+
+        /**
+         * {@link Double}.
+         */
+        DOUBLE(Double.class, Double::valueOf),
+
+        /**
+         * {@link Date} in the ISO format of a date, e.g. 2026-01-01 at the start of the day in the default time zone, or an
+         * instant, e.g. 2026-01-01T00:00:00Z.
+         */
+        DATE(Date.class, JobParameterNotation::parseDate),
+
+        /**
+         * {@link LocalDate} in the ISO format, e.g. 2026-01-01.
+         */
+        LOCALDATE(LocalDate.class, LocalDate::parse),
+
+        /**
+         * {@link LocalDateTime} in the ISO format, e.g. 2026-01-01T09:00:00.
+         */
+        LOCALDATETIME(LocalDateTime.class, LocalDateTime::parse),
+
+        /**
+         * {@link LocalTime} in the ISO format, e.g. 09:00:00.
+         */
+        LOCALTIME(LocalTime.class, LocalTime::parse);
+
+        /**
+         * The Java type of the value.
+         */
+        private final Class<?> javaType;
+
+        /**
+         * The parser of the value.
+         */
+        private final Function<String, Object> parser;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param javaType the Java type of the value.
+         * @param parser the parser of the value.
+         */
+        ValueType(Class<?> javaType, Function<String, Object> parser) {
+            this.javaType = javaType;
+            this.parser = parser;
+        }
+    }
+
+    /**
+     * Parse a date or an instant to {@link Date}.
+     *
+     * @param value the value.
+     * @return the date.
+     */
+    private static Date parseDate(String value) {
+        if (value.indexOf('T') < 0) {
+            return Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant());
+        }
+        return Date.from(Instant.parse(value));
+    }
+}
@@ -15,14 +15,16 @@
  */
 package org.terasoluna.batch.converter;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.sql.DataSource;
 
 import org.springframework.batch.core.JobParameter;
 import org.springframework.batch.core.JobParameters;
-import org.springframework.batch.core.JobParametersBuilder;
 import org.springframework.batch.core.converter.JobParametersConverter;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.repository.dao.AbstractJdbcBatchMetadataDao;
@@ -39,6 +41,24 @@ import org.springframework.util.Assert;
  * 
  * An ID that identifies job execution is automatically assigned to job parameters.
  * 
+ * The IDs can be allocated in blocks by {@link #setRunIdBlockSize(int)} or {@link #setRunIdBlockSizes(Map)}, so that the
+ * sequence is accessed once per block instead of once per job launch. All the converters sharing the sequence must use the
+ * same block size, otherwise the run IDs can be duplicated. If {@link RunIdGenerator} is set by
+ * {@link #setRunIdGenerator(RunIdGenerator)}, the IDs are generated by it without accessing the database.
+ * 
+ * The keys of the properties can specify the type and identifying flag of the parameters by the notation
+ * {@code [+|-]name(type)}, e.g. {@code +targetDate(localDate)=2026-01-01} for an identifying {@link java.time.LocalDate}
+ * parameter. The type is one of {@code string}, {@code long}, {@code double}, {@code date}, {@code localDate},
+ * {@code localDateTime} and {@code localTime}, and the value is in the ISO format for the date and time types. {@code +} makes
+ * the parameter identifying, and {@code -} or no prefix makes it non-identifying. The other keys are converted to
+ * non-identifying {@code String} parameters as before. The keys which have the same name, e.g. {@code a} and
+ * {@code +a(long)}, are rejected. The parsed keys are cached, so that the launches with the same parameter keys parse them
+ * only once.
+ * 
+ * {@link #getProperties(JobParameters)} returns the values as strings keyed by the names as before, without the notation of
+ * the type and identifying flag. Therefore converting the returned properties by {@link #getJobParameters(Properties)} does
+ * not restore the parameters other than non-identifying {@code String} parameters and the run ID.
+ * 
  * @since 5.5.0
  */
 public class JobParametersConverterImpl implements JobParametersConverter, InitializingBean {
@@ -50,6 +70,31 @@ public class JobParametersConverterImpl implements JobParametersConverter, Initi
     DataFieldMaxValueIncrementerFactory factory;
     String incrementerType;
 
+    /**
+     * Number of the ids allocated by a value of the sequence, used if not set for the database type.
+     */
+    int runIdBlockSize = 1;
+
+    /**
+     * Number of the ids allocated by a value of the sequence, keyed by the database type.
+     */
+    Map<String, Integer> runIdBlockSizes = new HashMap<>();
+
+    /**
+     * Maximum number of the parsed keys cached.
+     */
+    private static final int MAX_CACHED_NOTATIONS = 4096;
+
+    /**
+     * Parsed keys keyed by the keys of the properties.
+     */
+    private final Map<String, JobParameterNotation> notations = new ConcurrentHashMap<>();
+
+    /**
+     * Generator of the run ids used instead of the sequence, or {@code null} to use the sequence.
+     */
+    RunIdGenerator runIdGenerator;
+
     /**
      * Create a new instance with the specified parameters.
      * 
@@ -69,8 +114,60 @@ public class JobParametersConverterImpl implements JobParametersConverter, Initi
         this.tablePrefix = tablePrefix;
     }
 
+    /**
+     * Sets the number of the run ids allocated by a value of the sequence, used if not set for the database type. The value of
+     * the sequence {@code hi} reserves the ids from {@code hi * runIdBlockSize}, so do not decrease it for the existing
+     * sequence.
+     * <p>
+     * The ids are unique only if all the converters sharing the sequence {@code JOB_SEQ} use the same block size, including
+     * the converters left with the default value 1, e.g. in the context of {@code CommandLineJobRunner}. For example, if a
+     * launcher with the block size 100 reserves the ids from 200 to 299 by the value 2, a launcher with the block size 1 uses
+     * the value 250 of the sequence as the id 250, which is duplicated. Set the same block size to all the converters used
+     * with the same job repository.
+     * </p>
+     *
+     * @param runIdBlockSize the number of the ids. Default value is 1, which accesses the sequence for each id.
+     * @throws IllegalArgumentException if {@code runIdBlockSize} is not higher than zero.
+     * @since 5.7.0
+     */
+    public void setRunIdBlockSize(int runIdBlockSize) {
+        Assert.isTrue(runIdBlockSize > 0, "runIdBlockSize must be higher than zero. [runIdBlockSize:" + runIdBlockSize
+                + "]");
+        this.runIdBlockSize = runIdBlockSize;
+    }
+
+    /**
+     * Sets the number of the run ids allocated by a value of the sequence for each database type. In the same way as
+     * {@link #setRunIdBlockSize(int)}, all the converters sharing the sequence must use the same block size for the database.
+     *
+     * @param runIdBlockSizes the number of the ids keyed by the name of {@link DatabaseType}, e.g. {@code POSTGRES}.
+     * @throws IllegalArgumentException if a number is not higher than zero.
+     * @since 5.7.0
+     */
+    public void setRunIdBlockSizes(Map<String, Integer> runIdBlockSizes) {
+        Assert.notNull(runIdBlockSizes, "runIdBlockSizes must be set.");
+        runIdBlockSizes.forEach((type, size) -> Assert.isTrue(size != null && size > 0,
+                "runIdBlockSizes must be higher than zero. [databaseType:" + type + "][runIdBlockSize:" + size + "]"));
+        this.runIdBlockSizes = new HashMap<>(runIdBlockSizes);
+    }
+
+    /**
+     * Sets the generator of the run ids used instead of the sequence. If set, the database is not accessed to convert the job
+     * parameters.
+     *
+     * @param runIdGenerator the generator, e.g. {@link SnowflakeRunIdGenerator}. Default value is {@code null}, which uses
+     *            the sequence {@code JOB_SEQ}.
+     * @since 5.7.0
+     */
+    public void setRunIdGenerator(RunIdGenerator runIdGenerator) {
+        this.runIdGenerator = runIdGenerator;
+    }
+
     @Override
     public void afterPropertiesSet() throws Exception {
+        if (this.runIdGenerator != null) {
+            return;
+        }
         if (this.factory == null) {
             this.factory = new DefaultDataFieldMaxValueIncrementerFactory(dataSource);
         }
@@ -78,6 +175,10 @@ public class JobParametersConverterImpl implements JobParametersConverter, Initi
             this.incrementerType = DatabaseType.fromMetaData(dataSource).name();
         }
         this.incrementer = this.factory.getIncrementer(this.incrementerType, tablePrefix + "JOB_SEQ");
+        int blockSize = this.runIdBlockSizes.getOrDefault(this.incrementerType, this.runIdBlockSize);
+        if (blockSize > 1) {
+            this.incrementer = new BlockAllocatingRunIdIncrementer(this.incrementer, blockSize);
+        }
     }
 
     /**
@@ -85,34 +186,43 @@ public class JobParametersConverterImpl implements JobParametersConverter, Initi
      *
      * @param properties Job parameters(Properties object).
      * @return Job parameters.
+     * @throws IllegalArgumentException if failed to convert a value to the type of the key, or the keys have the same name.
      */
     @Override
     public JobParameters getJobParameters(@Nullable Properties properties) {
-        JobParametersBuilder builder = new JobParametersBuilder();
+        Map<String, JobParameter<?>> parameters = new HashMap<>(properties == null ? 2 : properties.size() * 4 / 3 + 2);
         boolean runIdFound = false;
 
         if(properties != null) {
             for (Map.Entry<Object, Object> curParameter : properties.entrySet()) {
                 if(curParameter.getValue() != null) {
-                    if(curParameter.getKey().equals(JOB_RUN_ID)) {
+                    JobParameterNotation notation = notationOf(curParameter.getKey().toString());
+                    String value = curParameter.getValue().toString();
+                    JobParameter<?> previous;
+                    if(notation.getName().equals(JOB_RUN_ID)) {
                         runIdFound = true;
-                        builder.addLong(curParameter.getKey().toString(), Long.valueOf((String) curParameter.getValue()), true);
+                        previous = parameters.put(JOB_RUN_ID, new JobParameter<>(Long.valueOf(value), Long.class, true));
                     } else {
-                        builder.addString(curParameter.getKey().toString(), curParameter.getValue().toString(), false);
+                        previous = parameters.put(notation.getName(), notation.toJobParameter(value));
+                    }
+                    if(previous != null) {
+                        throw new IllegalArgumentException("Duplicate job parameter name. [name:" + notation.getName()
+                                + "][keys:" + keysOf(properties, notation.getName()) + "]");
                     }
                 }
             }
         }
 
         if(!runIdFound) {
-            builder.addLong(JOB_RUN_ID, incrementer.nextLongValue());
+            parameters.put(JOB_RUN_ID, new JobParameter<>(nextRunId(), Long.class, true));
         }
 
-        return builder.toJobParameters();
+        return new JobParameters(parameters);
     }
 
     /**
-     * Convert arguments to Properties.
+     * Convert arguments to Properties. The keys are the names of the parameters without the notation of the type and
+     * identifying flag, so that the types and identifying flags are not restored by {@link #getJobParameters(Properties)}.
      *
      * @param params Job parameters(JobParameters object).
      * @return Job parameters.
@@ -133,9 +243,52 @@ public class JobParametersConverterImpl implements JobParametersConverter, Initi
         }
 
         if(!runIdFound) {
-            properties.setProperty(JOB_RUN_ID, String.valueOf(incrementer.nextLongValue()));
+            properties.setProperty(JOB_RUN_ID, String.valueOf(nextRunId()));
         }
 
         return properties;
     }
+
+    /**
+     * Return the next run id by the generator if set, or by the sequence.
+     *
+     * @return the run id.
+     */
+    private long nextRunId() {
+        return runIdGenerator != null ? runIdGenerator.nextRunId() : incrementer.nextLongValue();
+    }
+
+    /**
+     * Return the keys of the properties which have the name, in the order of the keys.
+     *
+     * @param properties the properties.
+     * @param name the name of the parameter.
+     * @return the keys.
+     */
+    private TreeSet<String> keysOf(Properties properties, String name) {
+        TreeSet<String> keys = new TreeSet<>();
+        properties.forEach((key, value) -> {
+            if (value != null && notationOf(key.toString()).getName().equals(name)) {
+                keys.add(key.toString());
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * Return the parsed key, parsing it if not cached.
+     *
+     * @param key the key of the property.
+     * @return the parsed key.
+     */
+    private JobParameterNotation notationOf(String key) {
+        JobParameterNotation notation = notations.get(key);
+        if (notation == null) {
+            notation = JobParameterNotation.parse(key);
+            if (notations.size() < MAX_CACHED_NOTATIONS) {
+                notations.put(key, notation);
+            }
+        }
+        return notation;
+    }
 }
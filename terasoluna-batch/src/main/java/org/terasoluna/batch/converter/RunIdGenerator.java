@@ -0,0 +1,37 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.converter;
+
+/**
+ * Strategy to generate the run id assigned to the job parameters by {@link JobParametersConverterImpl}.
+ * <p>
+ * The implementations must be thread safe, and must not return the same id twice, including the ids generated by the other
+ * JVMs launching the jobs to the same job repository.
+ * </p>
+ *
+ * @since 5.7.0
+ * @see SnowflakeRunIdGenerator
+ */
+@FunctionalInterface
+public interface RunIdGenerator {
+
+    /**
+     * Generate the next run id.
+     *
+     * @return the run id.
+     */
+    long nextRunId();
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.converter;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.util.Assert;
+
+/**
+ * {@link RunIdGenerator} that generates the run ids from the time, node id and counter without accessing the database, in
+ * the same way as Snowflake.
+ * <p>
+ * A run id consists of the milliseconds since {@link #DEFAULT_EPOCH} in 41 bits, the node id in 10 bits and the counter in
+ * 12 bits, so that 4096 ids per millisecond are generated by each node. The ids are increasing in a JVM even if the clock goes
+ * back, by continuing from the last id instead of the clock. If the counter is used up, the id borrows the next
+ * millisecond.
+ * </p>
+ * <p>
+ * The node id must be unique among the JVMs launching the jobs to the same job repository. The ids are much larger than the
+ * ids generated by the sequence, so that the generator can replace the sequence of the existing job repository.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public class SnowflakeRunIdGenerator implements RunIdGenerator {
+
+    /**
+     * Epoch of the time of the run ids, 2026-01-01T00:00:00Z.
+     */
+    public static final Instant DEFAULT_EPOCH = Instant.parse("2026-01-01T00:00:00Z");
+
+    /**
+     * Maximum value of the node id.
+     */
+    public static final int MAX_NODE_ID = (1 << 10) - 1;
+
+    /**
+     * Number of bits of the counter.
+     */
+    private static final int COUNTER_BITS = 12;
+
+    /**
+     * Number of bits of the node id and counter.
+     */
+    private static final int TIME_SHIFT = 10 + COUNTER_BITS;
+
+    /**
+     * Maximum value of the counter.
+     */
+    private static final long MAX_COUNTER = (1L << COUNTER_BITS) - 1;
+
+    /**
+     * Node id shifted to its position.
+     */
+    private final long node;
+
+    /**
+     * Epoch in milliseconds.
+     */
+    private final long epochMillis;
+
+    /**
+     * Clock returning the current time in milliseconds.
+     */
+    private final LongSupplier clock;
+
+    /**
+     * The last generated id.
+     */
+    private final AtomicLong last = new AtomicLong();
+
+    /**
+     * Create a new instance with the node id.
+     *
+     * @param nodeId the node id unique among the JVMs, from 0 to {@link #MAX_NODE_ID}.
+     * @throws IllegalArgumentException if {@code nodeId} is out of range.
+     */
+    public SnowflakeRunIdGenerator(int nodeId) {
+        this(nodeId, DEFAULT_EPOCH, System::currentTimeMillis);
+    }
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param nodeId the node id unique among the JVMs, from 0 to {@link #MAX_NODE_ID}.
+     * @param epoch the epoch of the time of the run ids.
+     * @param clock the clock returning the current time in milliseconds.
+     * @throws IllegalArgumentException if {@code nodeId} is out of range.
+     */
+    SnowflakeRunIdGenerator(int nodeId, Instant epoch, LongSupplier clock) {
+        Assert.isTrue(nodeId >= 0 && nodeId <= MAX_NODE_ID, "nodeId must be zero or more and " + MAX_NODE_ID
+                + " or less. [nodeId:" + nodeId + "]");
+        this.node = (long) nodeId << COUNTER_BITS;
+        this.epochMillis = epoch.toEpochMilli();
+        this.clock = clock;
+    }
+
+    /**
+     * Generate the next run id, which is larger than the last id generated by this instance.
+     *
+     * @return the run id.
+     */
+    @Override
+    public long nextRunId() {
+        while (true) {
+            long prev = last.get();
+            long id = (Math.max(0, clock.getAsLong() - epochMillis) << TIME_SHIFT) | node;
+            if (id <= prev) {
+                id = (prev & MAX_COUNTER) < MAX_COUNTER ? prev + 1 : (((prev >>> TIME_SHIFT) + 1) << TIME_SHIFT) | node;
+            }
+            if (last.compareAndSet(prev, id)) {
+                return id;
+            }
+        }
+    }
+}
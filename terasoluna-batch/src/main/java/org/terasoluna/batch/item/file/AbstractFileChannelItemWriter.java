@@ -0,0 +1,1159 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.WriteFailedException;
+import org.springframework.batch.item.WriterNotOpenException;
+import org.springframework.batch.item.file.FlatFileFooterCallback;
+import org.springframework.batch.item.file.FlatFileHeaderCallback;
+import org.springframework.batch.item.file.ResourceAwareItemWriterItemStream;
+import org.springframework.batch.item.support.AbstractFileItemWriter;
+import org.springframework.batch.item.support.AbstractItemStreamItemWriter;
+import org.springframework.batch.item.util.FileUtils;
+import org.springframework.batch.support.transaction.FlushFailedException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.WritableResource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+
+/**
+ * Base class for item writers that write records to a file through a {@link FileChannel}, without creating a String for each
+ * record or chunk.
+ * <p>
+ * Subclasses write each item by {@link #writeChars(CharSequence)} or {@link #writeBytes(byte[], int, int)}. The characters are
+ * encoded by a reused {@link CharsetEncoder} into a pooled {@link ByteBuffer}, and the buffer is written to the channel at the
+ * chunk boundary, or when it is full.
+ * </p>
+ * <p>
+ * This class supports the same restart, transactional buffering, header/footer and file handling as
+ * {@link org.springframework.batch.item.file.FlatFileItemWriter}, and saves the same keys in the execution context.
+ * </p>
+ * <ul>
+ * <li>Transactional (default) : The records written in a transaction are buffered, and written to the channel just before the
+ * transaction is committed. They are discarded if the transaction is rolled back.</li>
+ * <li>Non-transactional : The records are written to the channel at the end of each chunk.</li>
+ * </ul>
+ * <p>
+ * If the output is compressed by gzip, the records of each chunk are compressed into gzip members of at most 64KB which
+ * have their size in the extra field, and are written at the end of the chunk, so that the restart position is known. Since
+ * the file always ends at a member boundary at the end of a chunk, the file is truncated at a member boundary on restart. If
+ * transactional, the file is also truncated to the position at the beginning of the transaction at rollback, so that the
+ * rolled back records are not duplicated by the retry. The members can be decompressed in parallel by the reader factories
+ * of this package.
+ * </p>
+ * <p>
+ * If {@code writeBehindBuffers} is higher than zero, each full buffer is handed to a dedicated flusher thread through a
+ * bounded queue, so that the chunk thread continues to encode the next records while the previous buffer is written. The
+ * commit waits until all buffers are written, and the rollback truncates the file to the position at the last commit, so that
+ * the transactional semantics are kept. Write-behind is not applied to the compressed output.
+ * </p>
+ * <p>
+ * The output file is forced to the storage device according to {@link FileSyncPolicy}, so that the cost of the durability is
+ * paid per chunk, per {@code syncBytes} bytes, or once at close, instead of an unpredictable stall at the end of the job. If
+ * {@code preallocationSize} is set, the file is extended to the size by writing zeros in large blocks at open, so that the
+ * file system allocates the blocks at once and a full disk fails at open, and the file is truncated to the written size at
+ * close. Since Java has no portable way to allocate the blocks without writing them, the preallocated size is written twice. The durations of writing the output and forcing the file are recorded by the timers {@value #FLUSH_METRIC_NAME} and
+ * {@value #SYNC_METRIC_NAME} tagged with the name of the writer.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, in the same way as FlatFileItemWriter.
+ * </p>
+ *
+ * @param <T> Type of the item to be written
+ * @since 5.7.0
+ */
+public abstract class AbstractFileChannelItemWriter<T> extends AbstractItemStreamItemWriter<T> implements
+                                                   ResourceAwareItemWriterItemStream<T>, InitializingBean {
+
+    /**
+     * Default size of the buffer in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Minimum size of the buffer in bytes, which can hold any encoded character.
+     */
+    private static final int MIN_BUFFER_SIZE = 16;
+
+    /**
+     * Default number of bytes written between the syncs with {@link FileSyncPolicy#BYTES}.
+     */
+    public static final long DEFAULT_SYNC_BYTES = 8L * 1024 * 1024;
+
+    /**
+     * Name of the timer of writing the output to the file.
+     */
+    public static final String FLUSH_METRIC_NAME = "terasoluna.batch.file.flush";
+
+    /**
+     * Name of the timer of forcing the file to the storage device.
+     */
+    public static final String SYNC_METRIC_NAME = "terasoluna.batch.file.sync";
+
+    /**
+     * Size of the block of zeros written to preallocate the file.
+     */
+    private static final int PREALLOCATION_BLOCK_SIZE = 1024 * 1024;
+
+    /**
+     * Key of the restart position, which is same as FlatFileItemWriter.
+     */
+    private static final String RESTART_DATA_NAME = "current.count";
+
+    /**
+     * Key of the number of written items, which is same as FlatFileItemWriter.
+     */
+    private static final String WRITTEN_STATISTICS_NAME = "written";
+
+    /**
+     * Line separator appended by subclasses.
+     */
+    protected String lineSeparator = AbstractFileItemWriter.DEFAULT_LINE_SEPARATOR;
+
+    /**
+     * Output resource.
+     */
+    private WritableResource resource;
+
+    /**
+     * Encoding of the output file.
+     */
+    private String encoding = AbstractFileItemWriter.DEFAULT_CHARSET;
+
+    /**
+     * Size of the buffer in bytes.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Whether the output is buffered until the transaction is committed.
+     */
+    private boolean transactional = AbstractFileItemWriter.DEFAULT_TRANSACTIONAL;
+
+    /**
+     * Policy to force the channel to be synchronized to the storage device.
+     */
+    private FileSyncPolicy syncPolicy = FileSyncPolicy.NONE;
+
+    /**
+     * Number of bytes written between the syncs with {@link FileSyncPolicy#BYTES}.
+     */
+    private long syncBytes = DEFAULT_SYNC_BYTES;
+
+    /**
+     * Size of the file allocated at open, or 0 not to preallocate.
+     */
+    private long preallocationSize = 0;
+
+    /**
+     * Registry of the timers.
+     */
+    private MeterRegistry meterRegistry = Metrics.globalRegistry;
+
+    /**
+     * Whether to append to the existing file.
+     */
+    private boolean append = false;
+
+    /**
+     * Whether to delete the existing file.
+     */
+    private boolean shouldDeleteIfExists = true;
+
+    /**
+     * Whether to delete the file if no item is written.
+     */
+    private boolean shouldDeleteIfEmpty = false;
+
+    /**
+     * Whether to save the state in the execution context.
+     */
+    private boolean saveState = true;
+
+    /**
+     * Compression of the output file.
+     */
+    private FileCompression compression = FileCompression.NONE;
+
+    /**
+     * Number of threads compressing the output file.
+     */
+    private int compressionThreads = 1;
+
+    /**
+     * Maximum number of the buffers waiting for the flusher thread, or 0 not to write behind.
+     */
+    private int writeBehindBuffers = 0;
+
+    /**
+     * Callback to write the header.
+     */
+    private FlatFileHeaderCallback headerCallback;
+
+    /**
+     * Callback to write the footer.
+     */
+    private FlatFileFooterCallback footerCallback;
+
+    /**
+     * State of the opened output, or {@code null} if not opened.
+     */
+    private OutputState state;
+
+    /**
+     * Write an item by {@link #writeChars(CharSequence)} or {@link #writeBytes(byte[], int, int)}. Subclasses append the line
+     * separator if necessary.
+     *
+     * @param item the item to be written.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected abstract void writeItem(T item) throws IOException;
+
+    /**
+     * Setter for resource. The resource must be a file.
+     *
+     * @param resource the output resource.
+     */
+    @Override
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Sets encoding for output template.
+     *
+     * @param encoding the encoding of the output file. Default value is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Public setter for the line separator.
+     *
+     * @param lineSeparator the line separator. Default value is the line separator of the system.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Sets the size of the buffer. A record larger than the buffer is written through several buffers.
+     *
+     * @param bufferSize the size of the buffer in bytes. Default value is {@link #DEFAULT_BUFFER_SIZE}.
+     * @throws IllegalArgumentException if {@code bufferSize} is less than 16.
+     */
+    public void setBufferSize(int bufferSize) {
+        Assert.isTrue(bufferSize >= MIN_BUFFER_SIZE, "bufferSize must be " + MIN_BUFFER_SIZE
+                + " or more. [bufferSize:" + bufferSize + "]");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Flag to indicate that writing to the buffer should be delayed if a transaction is active.
+     *
+     * @param transactional true if the output is buffered until commit. Default value is true.
+     */
+    public void setTransactional(boolean transactional) {
+        this.transactional = transactional;
+    }
+
+    /**
+     * Flag to indicate that changes should be force-synced to disk on flush. This is the same as {@link FileSyncPolicy#CHUNK}
+     * if true, and {@link FileSyncPolicy#NONE} if false.
+     *
+     * @param forceSync true to force sync. Default value is false.
+     */
+    public void setForceSync(boolean forceSync) {
+        this.syncPolicy = forceSync ? FileSyncPolicy.CHUNK : FileSyncPolicy.NONE;
+    }
+
+    /**
+     * Sets the policy to force the output file to be written to the storage device.
+     *
+     * @param syncPolicy the policy. Default value is {@link FileSyncPolicy#NONE}.
+     */
+    public void setSyncPolicy(FileSyncPolicy syncPolicy) {
+        Assert.notNull(syncPolicy, "syncPolicy must be set.");
+        this.syncPolicy = syncPolicy;
+    }
+
+    /**
+     * Sets the number of bytes written between the syncs with {@link FileSyncPolicy#BYTES}. The bytes are counted when the
+     * buffers are written to the file, or when the next buffer is handed to the flusher thread if written behind, so that
+     * the interval can be exceeded by the size of the buffers.
+     *
+     * @param syncBytes the number of bytes. Default value is {@link #DEFAULT_SYNC_BYTES}.
+     * @throws IllegalArgumentException if {@code syncBytes} is not higher than zero.
+     */
+    public void setSyncBytes(long syncBytes) {
+        Assert.isTrue(syncBytes > 0, "syncBytes must be higher than zero. [syncBytes:" + syncBytes + "]");
+        this.syncBytes = syncBytes;
+    }
+
+    /**
+     * Sets the size of the file allocated at open, e.g. the expected size of the output. The file is extended from the
+     * current position by writing zeros in blocks of 1 MiB, so that the blocks are allocated on the storage device before the
+     * output is written, and truncated to the written size at close. Writing the zeros costs the same I/O as writing the
+     * output once more, so set it only if the fragmentation or the failure of a full disk in the middle of the job matters.
+     * The file is not preallocated if it is appended or compressed. Note that the zeros are left at the end of the file if
+     * the job is stopped without closing the writer, which are truncated at restart.
+     *
+     * @param preallocationSize the size in bytes, or 0 not to preallocate. Default value is 0.
+     * @throws IllegalArgumentException if {@code preallocationSize} is negative.
+     */
+    public void setPreallocationSize(long preallocationSize) {
+        Assert.isTrue(preallocationSize >= 0, "preallocationSize must be zero or more. [preallocationSize:"
+                + preallocationSize + "]");
+        this.preallocationSize = preallocationSize;
+    }
+
+    /**
+     * Sets the registry of the timers of writing the output and forcing the file.
+     *
+     * @param meterRegistry the registry. Default value is the global registry of Micrometer.
+     */
+    public void setMeterRegistry(MeterRegistry meterRegistry) {
+        Assert.notNull(meterRegistry, "meterRegistry must be set.");
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Flag to indicate that the target file should be appended if it already exists.
+     *
+     * @param append true to append. Default value is false.
+     */
+    public void setAppendAllowed(boolean append) {
+        this.append = append;
+    }
+
+    /**
+     * Flag to indicate that the target file should be deleted if it already exists.
+     *
+     * @param shouldDeleteIfExists true to delete. Default value is true.
+     */
+    public void setShouldDeleteIfExists(boolean shouldDeleteIfExists) {
+        this.shouldDeleteIfExists = shouldDeleteIfExists;
+    }
+
+    /**
+     * Flag to indicate that the target file should be deleted if no items have been written.
+     *
+     * @param shouldDeleteIfEmpty true to delete. Default value is false.
+     */
+    public void setShouldDeleteIfEmpty(boolean shouldDeleteIfEmpty) {
+        this.shouldDeleteIfEmpty = shouldDeleteIfEmpty;
+    }
+
+    /**
+     * Set the flag indicating whether or not state should be saved in the provided {@link ExecutionContext}.
+     *
+     * @param saveState true to save the state. Default value is true.
+     */
+    public void setSaveState(boolean saveState) {
+        this.saveState = saveState;
+    }
+
+    /**
+     * Sets the compression of the output file.
+     *
+     * @param compression the compression. Default value is {@link FileCompression#NONE}.
+     */
+    public void setCompression(FileCompression compression) {
+        Assert.notNull(compression, "compression must be set.");
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the number of threads compressing the output file. If 2 or more, the gzip members are compressed in parallel.
+     *
+     * @param compressionThreads the number of threads. Default value is 1.
+     * @throws IllegalArgumentException if {@code compressionThreads} is not higher than zero.
+     */
+    public void setCompressionThreads(int compressionThreads) {
+        Assert.isTrue(compressionThreads > 0, "compressionThreads must be higher than zero. [compressionThreads:"
+                + compressionThreads + "]");
+        this.compressionThreads = compressionThreads;
+    }
+
+    /**
+     * Sets the maximum number of the full buffers waiting to be written by the flusher thread. If higher than zero, the
+     * buffers are written behind by a dedicated thread, and the chunk thread waits only if the flusher falls behind by this
+     * number of buffers, at commit, and at rollback.
+     *
+     * @param writeBehindBuffers the number of buffers, or 0 not to write behind. Default value is 0.
+     * @throws IllegalArgumentException if {@code writeBehindBuffers} is negative.
+     */
+    public void setWriteBehindBuffers(int writeBehindBuffers) {
+        Assert.isTrue(writeBehindBuffers >= 0, "writeBehindBuffers must be zero or more. [writeBehindBuffers:"
+                + writeBehindBuffers + "]");
+        this.writeBehindBuffers = writeBehindBuffers;
+    }
+
+    /**
+     * Set the callback to write the header. The line separator is appended after the header.
+     *
+     * @param headerCallback the callback to write the header.
+     */
+    public void setHeaderCallback(FlatFileHeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    /**
+     * Set the callback to write the footer.
+     *
+     * @param footerCallback the callback to write the footer.
+     */
+    public void setFooterCallback(FlatFileFooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    /**
+     * Adjust the properties. The existing file is not deleted if appending is allowed.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (append) {
+            shouldDeleteIfExists = false;
+        }
+    }
+
+    /**
+     * Open the output file. If the execution context contains the restart position, the file is truncated to the position.
+     *
+     * @param executionContext the execution context.
+     * @throws ItemStreamException if the file cannot be opened.
+     */
+    @Override
+    @SuppressWarnings("removal")
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        Assert.notNull(resource, "The resource must be set");
+        if (state != null) {
+            return;
+        }
+        long restartPosition = 0;
+        long linesWritten = 0;
+        boolean restarted = false;
+        if (executionContext.containsKey(getExecutionContextKey(RESTART_DATA_NAME))) {
+            restartPosition = executionContext.getLong(getExecutionContextKey(RESTART_DATA_NAME));
+            linesWritten = executionContext.getLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), 0L);
+            restarted = !(shouldDeleteIfEmpty && linesWritten == 0);
+            if (!restarted) {
+                restartPosition = 0;
+            }
+        }
+        OutputState outputState = new OutputState(linesWritten);
+        try {
+            outputState.open(restarted, restartPosition);
+        } catch (IOException e) {
+            outputState.close();
+            throw new ItemStreamException("Failed to initialize writer", e);
+        } catch (RuntimeException e) {
+            outputState.close();
+            throw e;
+        }
+        this.state = outputState;
+        if (headerCallback != null && !outputState.appending) {
+            try {
+                if (outputState.channelPosition() != 0) {
+                    return;
+                }
+                headerCallback.writeHeader(outputState.callbackWriter);
+                writeChars(lineSeparator);
+                outputState.flush();
+            } catch (IOException e) {
+                throw new ItemStreamException("Could not write headers.  The file may be corrupt.", e);
+            }
+        }
+    }
+
+    /**
+     * Write the items. The output is flushed at the end of the chunk, or buffered until commit if transactional.
+     *
+     * @param items the items to be written.
+     * @throws WriterNotOpenException if the writer is not opened.
+     * @throws WriteFailedException if an I/O error occurs.
+     */
+    @Override
+    public void write(Chunk<? extends T> items) throws Exception {
+        OutputState outputState = this.state;
+        if (outputState == null) {
+            throw new WriterNotOpenException("Writer must be open before it can be written to");
+        }
+        outputState.beginChunk();
+        try {
+            for (T item : items) {
+                writeItem(item);
+            }
+            outputState.endChunk();
+        } catch (IOException e) {
+            throw new WriteFailedException("Could not write data. The file may be corrupt.", e);
+        }
+        outputState.linesWritten += items.size();
+    }
+
+    /**
+     * Save the current position of the file including the buffered records, and the number of written items.
+     *
+     * @param executionContext the execution context.
+     * @throws ItemStreamException if the writer is not opened.
+     */
+    @Override
+    @SuppressWarnings("removal")
+    public void update(ExecutionContext executionContext) {
+        if (state == null) {
+            throw new ItemStreamException("ItemStream not open or already closed.");
+        }
+        Assert.notNull(executionContext, "ExecutionContext must not be null");
+        if (saveState) {
+            try {
+                executionContext.putLong(getExecutionContextKey(RESTART_DATA_NAME), state.position());
+            } catch (IOException e) {
+                throw new ItemStreamException("ItemStream does not return current position properly", e);
+            }
+            executionContext.putLong(getExecutionContextKey(WRITTEN_STATISTICS_NAME), state.linesWritten);
+        }
+    }
+
+    /**
+     * Write the footer and close the file. The file is deleted if it is empty and {@code shouldDeleteIfEmpty} is true.
+     *
+     * @throws ItemStreamException if the footer cannot be written or the file cannot be deleted.
+     */
+    @Override
+    @SuppressWarnings("removal")
+    public void close() {
+        OutputState outputState = this.state;
+        if (outputState == null) {
+            return;
+        }
+        try {
+            if (footerCallback != null) {
+                footerCallback.writeFooter(outputState.callbackWriter);
+            }
+            outputState.flush();
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to write footer before closing", e);
+        } finally {
+            outputState.close();
+            this.state = null;
+            if (shouldDeleteIfEmpty && outputState.linesWritten == 0) {
+                try {
+                    Files.delete(resource.getFile().toPath());
+                } catch (IOException | SecurityException e) {
+                    throw new ItemStreamException("Failed to delete empty file on close", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Encode the characters into the buffer.
+     *
+     * @param chars the characters to be written.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void writeChars(CharSequence chars) throws IOException {
+        state.encode(chars);
+    }
+
+    /**
+     * Copy the bytes into the buffer.
+     *
+     * @param bytes the bytes to be written.
+     * @param offset the offset of the bytes.
+     * @param length the number of bytes.
+     * @throws IOException if an I/O error occurs.
+     */
+    protected final void writeBytes(byte[] bytes, int offset, int length) throws IOException {
+        state.put(bytes, offset, length);
+    }
+
+    /**
+     * Return the charset of the output file.
+     *
+     * @return the charset.
+     */
+    protected Charset getCharset() {
+        return Charset.forName(encoding);
+    }
+
+    /**
+     * Return the size of the file allocated at open after the current position.
+     *
+     * @param linesWritten the number of the items written before, which is not 0 at restart.
+     * @return the size in bytes, or 0 not to preallocate.
+     */
+    protected long getPreallocationSize(long linesWritten) {
+        return preallocationSize;
+    }
+
+    /**
+     * State of the opened output file.
+     */
+    private final class OutputState {
+
+        /**
+         * Key to bind the pending buffers to the transaction.
+         */
+        private final Object bufferKey = new Object();
+
+        /**
+         * Encoder reused for all records.
+         */
+        private final CharsetEncoder encoder;
+
+        /**
+         * Writer used by the header and footer callbacks.
+         */
+        private final Writer callbackWriter = new CallbackWriter();
+
+        /**
+         * Buffers filled in the current transaction and waiting for commit.
+         */
+        private final List<ByteBuffer> pending = new ArrayList<>();
+
+        /**
+         * Reused characters to be encoded.
+         */
+        private char[] chars = new char[256];
+
+        /**
+         * Buffer wrapping {@link #chars}.
+         */
+        private CharBuffer charBuffer = CharBuffer.wrap(chars);
+
+        /**
+         * Buffer being filled.
+         */
+        private ByteBuffer byteBuffer;
+
+        /**
+         * Output channel.
+         */
+        private FileChannel channel;
+
+        /**
+         * Stream compressing the output into the channel, or {@code null} if not compressed.
+         */
+        private GzipBlockOutputStream gzip;
+
+        /**
+         * Flusher writing the full buffers behind, or {@code null} if not used.
+         */
+        private WriteBehindFlusher flusher;
+
+        /**
+         * Position of the channel at the last flush.
+         */
+        private long flushedPosition;
+
+        /**
+         * Number of bytes submitted to the flusher after the last flush.
+         */
+        private long submitted;
+
+        /**
+         * Position of the channel at the beginning of the current transaction, to which the compressed output is truncated at
+         * rollback.
+         */
+        private long transactionPosition;
+
+        /**
+         * Whether the output is buffered in the current transaction.
+         */
+        private boolean buffering;
+
+        /**
+         * Whether appending to the existing content.
+         */
+        private boolean appending;
+
+        /**
+         * Number of written items.
+         */
+        private long linesWritten;
+
+        /**
+         * Timer of writing the output to the channel.
+         */
+        private final Timer flushTimer;
+
+        /**
+         * Timer of forcing the channel.
+         */
+        private final Timer syncTimer;
+
+        /**
+         * Position of the channel at the last sync.
+         */
+        private long syncedPosition;
+
+        /**
+         * Whether the file has been truncated after the last sync.
+         */
+        private boolean truncated;
+
+        /**
+         * Whether the file has been preallocated.
+         */
+        private boolean preallocated;
+
+        private OutputState(long linesWritten) {
+            this.linesWritten = linesWritten;
+            this.flushTimer = Timer.builder(FLUSH_METRIC_NAME).description("Duration of writing the output to the file")
+                    .tag("name", getName()).register(meterRegistry);
+            this.syncTimer = Timer.builder(SYNC_METRIC_NAME).description(
+                    "Duration of forcing the file to the storage device").tag("name", getName()).register(meterRegistry);
+            this.encoder = getCharset().newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            this.byteBuffer = ByteBufferPool.acquire(bufferSize);
+        }
+
+        /**
+         * Open the file channel.
+         *
+         * @param restarted whether the step is restarted.
+         * @param restartPosition the position to be restarted from.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void open(boolean restarted, long restartPosition) throws IOException {
+            File file = resource.getFile();
+            FileUtils.setUpOutputFile(file, restarted, append, shouldDeleteIfExists);
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE);
+            if (restarted) {
+                long size = channel.size();
+                if (size < restartPosition) {
+                    throw new ItemStreamException("Current file size is smaller than size at last commit");
+                }
+                truncate(restartPosition);
+            } else if (append && channel.size() > 0) {
+                appending = true;
+                channel.position(channel.size());
+            }
+            syncedPosition = channel.position();
+            long allocationSize = getPreallocationSize(linesWritten);
+            if (allocationSize > 0 && !appending && !compression.isGzip(resource)) {
+                preallocate(channel.position() + allocationSize);
+            }
+            if (compression.isGzip(resource)) {
+                gzip = new GzipBlockOutputStream(new ChannelOutputStream(), Deflater.DEFAULT_COMPRESSION,
+                        compressionThreads);
+            } else if (writeBehindBuffers > 0) {
+                flusher = new WriteBehindFlusher(channel, writeBehindBuffers);
+            }
+            flushedPosition = channel.position();
+        }
+
+        /**
+         * Start writing a chunk. If a transaction is active, the output is bound to it.
+         */
+        private void beginChunk() {
+            boolean transaction = transactional && TransactionSynchronizationManager.isSynchronizationActive()
+                    && TransactionSynchronizationManager.isActualTransactionActive();
+            buffering = transaction && gzip == null;
+            if (transaction && !TransactionSynchronizationManager.hasResource(bufferKey)) {
+                TransactionSynchronizationManager.bindResource(bufferKey, pending);
+                TransactionSynchronizationManager.registerSynchronization(new BufferSynchronization());
+                transactionPosition = flushedPosition;
+            }
+        }
+
+        /**
+         * Finish writing a chunk. The buffer is written to the channel unless buffered in the transaction.
+         *
+         * @throws IOException if an I/O error occurs.
+         */
+        private void endChunk() throws IOException {
+            if (!buffering) {
+                flush();
+            }
+        }
+
+        /**
+         * Encode the characters into the buffer.
+         *
+         * @param cs the characters to be written.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void encode(CharSequence cs) throws IOException {
+            int length = cs.length();
+            if (length > chars.length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+                charBuffer = CharBuffer.wrap(chars);
+            }
+            if (cs instanceof String) {
+                ((String) cs).getChars(0, length, chars, 0);
+            } else if (cs instanceof StringBuilder) {
+                ((StringBuilder) cs).getChars(0, length, chars, 0);
+            } else {
+                for (int i = 0; i < length; i++) {
+                    chars[i] = cs.charAt(i);
+                }
+            }
+            charBuffer.clear().limit(length);
+            encoder.reset();
+            while (encoder.encode(charBuffer, byteBuffer, true) == CoderResult.OVERFLOW) {
+                spill();
+            }
+            while (encoder.flush(byteBuffer) == CoderResult.OVERFLOW) {
+                spill();
+            }
+        }
+
+        /**
+         * Copy the bytes into the buffer.
+         *
+         * @param bytes the bytes to be written.
+         * @param offset the offset of the bytes.
+         * @param length the number of bytes.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void put(byte[] bytes, int offset, int length) throws IOException {
+            int written = 0;
+            while (written < length) {
+                if (!byteBuffer.hasRemaining()) {
+                    spill();
+                }
+                int n = Math.min(byteBuffer.remaining(), length - written);
+                byteBuffer.put(bytes, offset + written, n);
+                written += n;
+            }
+        }
+
+        /**
+         * Make room in the buffer, by moving it to the pending buffers or writing it to the channel.
+         *
+         * @throws IOException if an I/O error occurs.
+         */
+        private void spill() throws IOException {
+            if (flusher != null) {
+                submitted += byteBuffer.position();
+                flusher.submit(byteBuffer);
+                byteBuffer = ByteBufferPool.acquire(bufferSize);
+                if (syncPolicy == FileSyncPolicy.BYTES) {
+                    // the bytes written by the flusher thread so far are counted.
+                    sync(false);
+                }
+            } else if (buffering) {
+                pending.add(byteBuffer);
+                byteBuffer = ByteBufferPool.acquire(bufferSize);
+            } else {
+                drain(byteBuffer);
+            }
+        }
+
+        /**
+         * Write the pending buffers and the current buffer to the channel.
+         *
+         * @throws IOException if an I/O error occurs.
+         */
+        private void flush() throws IOException {
+            long start = System.nanoTime();
+            if (flusher != null) {
+                submitted = 0;
+                flusher.await();
+            }
+            for (ByteBuffer buffer : pending) {
+                drain(buffer);
+                ByteBufferPool.release(buffer);
+            }
+            pending.clear();
+            drain(byteBuffer);
+            if (gzip != null) {
+                gzip.flush();
+            }
+            flushedPosition = channel.position();
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            sync(false);
+        }
+
+        /**
+         * Force the channel to the storage device if required by the sync policy. The channel may be written by the flusher
+         * thread at the same time, so that only the bytes written before the force are regarded as synced.
+         *
+         * @param closing whether the file is being closed.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void sync(boolean closing) throws IOException {
+            long position = channel.position();
+            long unsynced = position - syncedPosition;
+            boolean changed = unsynced > 0 || truncated;
+            boolean force;
+            if (syncPolicy == FileSyncPolicy.CHUNK) {
+                force = changed;
+            } else if (syncPolicy == FileSyncPolicy.BYTES) {
+                force = unsynced >= syncBytes || (closing && changed);
+            } else if (syncPolicy == FileSyncPolicy.CLOSE) {
+                force = closing && changed;
+            } else {
+                force = false;
+            }
+            if (force) {
+                long start = System.nanoTime();
+                channel.force(false);
+                syncTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                syncedPosition = position;
+                truncated = false;
+            }
+        }
+
+        /**
+         * Truncate the file and move the position of the channel to the size. The position of the last sync is moved back
+         * if it is after the size, so that the bytes written again after the size are counted as not synced.
+         *
+         * @param size the size of the file.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void truncate(long size) throws IOException {
+            channel.truncate(size);
+            channel.position(size);
+            truncated = true;
+            syncedPosition = Math.min(syncedPosition, size);
+        }
+
+        /**
+         * Extend the file to the size by writing zeros after the current size, keeping the position of the channel.
+         *
+         * @param size the size of the file.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void preallocate(long size) throws IOException {
+            ByteBuffer zeros = ByteBuffer.allocate((int) Math.min(PREALLOCATION_BLOCK_SIZE, size));
+            long position = channel.size();
+            while (position < size) {
+                zeros.clear().limit((int) Math.min(zeros.capacity(), size - position));
+                position += channel.write(zeros, position);
+            }
+            preallocated = true;
+        }
+
+        /**
+         * Write the buffer to the channel and clear it.
+         *
+         * @param buffer the buffer to be written.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void drain(ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            if (gzip != null) {
+                gzip.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            } else {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+            buffer.clear();
+            if (syncPolicy == FileSyncPolicy.BYTES) {
+                sync(false);
+            }
+        }
+
+        /**
+         * Discard the buffered output of the rolled back transaction. The output written behind is truncated.
+         */
+        private void discard() {
+            pending.forEach(ByteBufferPool::release);
+            pending.clear();
+            byteBuffer.clear();
+            if (flusher != null && submitted > 0) {
+                submitted = 0;
+                try {
+                    flusher.awaitQuietly();
+                    truncate(flushedPosition);
+                } catch (IOException e) {
+                    throw new ItemStreamException("Failed to discard the output written behind.", e);
+                }
+            }
+        }
+
+        /**
+         * Discard the output of the rolled back transaction. The compressed output is truncated to the position at the beginning
+         * of the transaction.
+         */
+        private void rollback() {
+            discard();
+            if (gzip != null) {
+                gzip.discard();
+                try {
+                    if (channel.position() != transactionPosition) {
+                        truncate(transactionPosition);
+                    }
+                } catch (IOException e) {
+                    throw new ItemStreamException("Failed to discard the compressed output.", e);
+                }
+                flushedPosition = transactionPosition;
+            }
+        }
+
+        /**
+         * Return the position of the file including the buffered output.
+         *
+         * @return the position.
+         * @throws IOException if an I/O error occurs.
+         */
+        private long position() throws IOException {
+            if (flusher != null) {
+                return flushedPosition + submitted + byteBuffer.position();
+            }
+            long position = channel.position() + byteBuffer.position();
+            for (ByteBuffer buffer : pending) {
+                position += buffer.position();
+            }
+            return position;
+        }
+
+        /**
+         * Return the position of the channel.
+         *
+         * @return the position.
+         * @throws IOException if an I/O error occurs.
+         */
+        private long channelPosition() throws IOException {
+            return channel.position();
+        }
+
+        /**
+         * Close the channel and release the buffers. If compressed, the end-of-file marker is written.
+         */
+        private void close() {
+            discard();
+            ByteBufferPool.release(byteBuffer);
+            byteBuffer = null;
+            if (channel != null) {
+                try {
+                    if (flusher != null) {
+                        flusher.close();
+                    }
+                    if (gzip != null) {
+                        gzip.close();
+                    }
+                    if (preallocated && channel.size() > channel.position()) {
+                        truncate(channel.position());
+                    }
+                    sync(true);
+                    channel.close();
+                } catch (IOException e) {
+                    throw new ItemStreamException("Unable to close the ItemWriter", e);
+                }
+            }
+        }
+
+        /**
+         * Synchronization that writes the pending output just before commit, and discards the output after rollback.
+         */
+        private final class BufferSynchronization implements TransactionSynchronization {
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                if (readOnly || byteBuffer == null) {
+                    return;
+                }
+                try {
+                    OutputState.this.flush();
+                } catch (IOException e) {
+                    throw new FlushFailedException("Could not write to output buffer", e);
+                }
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (TransactionSynchronizationManager.hasResource(bufferKey)) {
+                    TransactionSynchronizationManager.unbindResource(bufferKey);
+                }
+                if (status != STATUS_COMMITTED && byteBuffer != null) {
+                    rollback();
+                }
+            }
+        }
+
+        /**
+         * Writer that encodes the characters into the buffer, used by the header and footer callbacks.
+         */
+        private final class CallbackWriter extends Writer {
+
+            @Override
+            public void write(char[] cbuf, int off, int len) throws IOException {
+                encode(CharBuffer.wrap(cbuf, off, len));
+            }
+
+            @Override
+            public void write(String str) throws IOException {
+                encode(str);
+            }
+
+            @Override
+            public void flush() {
+                // flushed by the writer.
+            }
+
+            @Override
+            public void close() {
+                // closed by the writer.
+            }
+        }
+
+        /**
+         * Output stream that writes to the channel, used by the gzip stream. The channel is not closed by this stream, so
+         * that the end of the gzip stream can be forced before the channel is closed.
+         */
+        private final class ChannelOutputStream extends OutputStream {
+
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[] { (byte) b }, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+
+            @Override
+            public void close() {
+                // closed by the writer.
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of heap {@link ByteBuffer}s shared by the file components, to avoid allocating large buffers every time a step opens a
+ * file.
+ * <p>
+ * The buffers are pooled per capacity, and the number of pooled buffers per capacity is limited.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class ByteBufferPool {
+
+    /**
+     * Maximum number of pooled buffers per capacity.
+     */
+    static final int MAX_POOLED_BUFFERS = 32;
+
+    /**
+     * Pooled buffers, keyed by capacity.
+     */
+    private static final Map<Integer, Pool> POOLS = new ConcurrentHashMap<>();
+
+    private ByteBufferPool() {
+    }
+
+    /**
+     * Acquire a cleared buffer with the capacity.
+     *
+     * @param capacity the capacity of the buffer.
+     * @return a pooled buffer, or a new buffer if no buffer is pooled.
+     */
+    static ByteBuffer acquire(int capacity) {
+        ByteBuffer buffer = POOLS.computeIfAbsent(capacity, c -> new Pool()).poll();
+        return buffer != null ? buffer.clear() : ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Release the buffer to the pool. The buffer must not be used after released.
+     *
+     * @param buffer the buffer to be released. {@code null} is ignored.
+     */
+    static void release(ByteBuffer buffer) {
+        if (buffer != null) {
+            POOLS.computeIfAbsent(buffer.capacity(), c -> new Pool()).offer(buffer);
+        }
+    }
+
+    /**
+     * Bounded pool of buffers which have the same capacity.
+     */
+    private static final class Pool {
+
+        /**
+         * Pooled buffers.
+         */
+        private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+
+        /**
+         * Number of pooled buffers.
+         */
+        private final AtomicInteger size = new AtomicInteger();
+
+        private ByteBuffer poll() {
+            ByteBuffer buffer = buffers.poll();
+            if (buffer != null) {
+                size.decrementAndGet();
+            }
+            return buffer;
+        }
+
+        private void offer(ByteBuffer buffer) {
+            if (size.incrementAndGet() <= MAX_POOLED_BUFFERS) {
+                buffers.offer(buffer);
+            } else {
+                size.decrementAndGet();
+            }
+        }
+    }
+}
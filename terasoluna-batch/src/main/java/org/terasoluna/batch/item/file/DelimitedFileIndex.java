@@ -0,0 +1,584 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Sidecar index of a delimited file, which records the byte offset of every N-th record.
+ * <p>
+ * The records are found in the same way as {@link EnclosableDelimitedBufferedReaderFactory}, i.e. CR, LF and CRLF outside
+ * the enclosure end the record, so that the line breaks in the enclosed fields are not regarded as the end of the record. A
+ * reader can seek to the nearest indexed record before the restart position instead of reading all records before it, and a
+ * partitioner can split the file into ranges of records.
+ * </p>
+ * <p>
+ * The index is saved in the file named with {@link #SUFFIX} next to the source file, with the length and the last modified
+ * time of the source file. The saved index is ignored if the source file has been changed. The index is only a cache, so
+ * that the readers and partitioners continue without saving it if the directory of the source file is not writable.
+ * </p>
+ * <p>
+ * The records are found on the bytes without decoding them, therefore the enclosure, CR and LF must be encoded into single
+ * bytes which never appear in multibyte characters. See {@link #isSupported(Charset, char)}.
+ * </p>
+ * <p>
+ * This class is immutable and thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public final class DelimitedFileIndex {
+
+    /**
+     * logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(DelimitedFileIndex.class);
+
+    /**
+     * Suffix of the index file.
+     */
+    public static final String SUFFIX = ".idx";
+
+    /**
+     * Default number of records between the indexed records.
+     */
+    public static final int DEFAULT_INTERVAL = 1024;
+
+    /**
+     * Magic number of the index file.
+     */
+    private static final int MAGIC = 0x54424958;
+
+    /**
+     * Version of the index file format.
+     */
+    private static final int VERSION = 1;
+
+    /**
+     * Size of the buffer used to scan the source file.
+     */
+    private static final int SCAN_BUFFER_SIZE = 256 * 1024;
+
+    /**
+     * Number of records between the indexed records.
+     */
+    private final int interval;
+
+    /**
+     * Enclosure character.
+     */
+    private final char enclosure;
+
+    /**
+     * Length of the source file.
+     */
+    private final long sourceLength;
+
+    /**
+     * Last modified time of the source file in milliseconds.
+     */
+    private final long sourceLastModified;
+
+    /**
+     * Number of records in the source file.
+     */
+    private final long recordCount;
+
+    /**
+     * Byte offsets of the records whose index is a multiple of {@link #interval}.
+     */
+    private final long[] offsets;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param interval number of records between the indexed records.
+     * @param enclosure enclosure character.
+     * @param sourceLength length of the source file.
+     * @param sourceLastModified last modified time of the source file.
+     * @param recordCount number of records.
+     * @param offsets byte offsets of the indexed records.
+     */
+    private DelimitedFileIndex(int interval, char enclosure, long sourceLength, long sourceLastModified,
+            long recordCount, long[] offsets) {
+        this.interval = interval;
+        this.enclosure = enclosure;
+        this.sourceLength = sourceLength;
+        this.sourceLastModified = sourceLastModified;
+        this.recordCount = recordCount;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Check whether the records of the charset can be found on the bytes.
+     *
+     * @param charset the charset of the source file.
+     * @param enclosure enclosure character.
+     * @return true if the enclosure, CR and LF are encoded into the same bytes as US-ASCII, and the bytes never appear in
+     *         multibyte characters.
+     */
+    public static boolean isSupported(Charset charset, char enclosure) {
+        Assert.notNull(charset, "charset must be set.");
+        if (enclosure >= 0x80 || !charset.canEncode()) {
+            return false;
+        }
+        if (charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII) || charset.equals(
+                StandardCharsets.ISO_8859_1)) {
+            return true;
+        }
+        // the trail bytes of the double-byte charsets such as MS932 and GBK are 0x40 or more.
+        String targets = new String(new char[] { enclosure, '\r', '\n', ' ', '0', 'A' });
+        return enclosure < 0x40 && charset.newEncoder().maxBytesPerChar() <= 4.0f && Arrays.equals(targets.getBytes(
+                charset), targets.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Build the index by scanning the source file.
+     *
+     * @param source the source file.
+     * @param charset the charset of the source file.
+     * @param enclosure enclosure character.
+     * @param interval number of records between the indexed records.
+     * @return the index.
+     * @throws IOException if an I/O error occurs.
+     * @throws IllegalArgumentException if the charset is not supported or the interval is not higher than zero.
+     */
+    public static DelimitedFileIndex build(Path source, Charset charset, char enclosure,
+            int interval) throws IOException {
+        Assert.notNull(source, "source must be set.");
+        Builder builder = new Builder(charset, enclosure, interval);
+        long lastModified = Files.getLastModifiedTime(source).toMillis();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+            while (channel.read(buffer) >= 0) {
+                builder.update(buffer.array(), 0, buffer.position());
+                buffer.clear();
+            }
+        }
+        return builder.build(lastModified);
+    }
+
+    /**
+     * Load the index saved next to the source file.
+     *
+     * @param source the source file.
+     * @param enclosure enclosure character.
+     * @return the index, or {@code null} if not saved as a regular file or the source file has been changed after it was saved.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static DelimitedFileIndex load(Path source, char enclosure) throws IOException {
+        Assert.notNull(source, "source must be set.");
+        Path file = sidecarOf(source);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return null;
+            }
+            int interval = in.readInt();
+            char savedEnclosure = in.readChar();
+            long length = in.readLong();
+            long lastModified = in.readLong();
+            long recordCount = in.readLong();
+            int count = in.readInt();
+            if (savedEnclosure != enclosure || interval <= 0 || count < 0 || length != Files.size(source)
+                    || lastModified != Files.getLastModifiedTime(source).toMillis()) {
+                return null;
+            }
+            long[] offsets = new long[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = in.readLong();
+            }
+            return new DelimitedFileIndex(interval, enclosure, length, lastModified, recordCount, offsets);
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Load the index saved next to the source file, or build and save it if not available. The failure of saving the index is
+     * logged and ignored.
+     *
+     * @param source the source file.
+     * @param charset the charset of the source file.
+     * @param enclosure enclosure character.
+     * @param interval number of records between the indexed records, used if the index is built.
+     * @return the index.
+     * @throws IOException if an I/O error occurs.
+     */
+    public static DelimitedFileIndex loadOrBuild(Path source, Charset charset, char enclosure,
+            int interval) throws IOException {
+        DelimitedFileIndex index = load(source, enclosure);
+        if (index == null) {
+            index = build(source, charset, enclosure, interval);
+            index.trySave(source);
+        }
+        return index;
+    }
+
+    /**
+     * Return the path of the index file of the source file.
+     *
+     * @param source the source file.
+     * @return the path of the index file.
+     */
+    public static Path sidecarOf(Path source) {
+        return source.resolveSibling(source.getFileName() + SUFFIX);
+    }
+
+    /**
+     * Save the index next to the source file. The index file is replaced atomically if possible, and the temporary file is
+     * deleted if failed.
+     *
+     * @param source the source file.
+     * @throws IOException if an I/O error occurs.
+     */
+    public void save(Path source) throws IOException {
+        Assert.notNull(source, "source must be set.");
+        Path file = sidecarOf(source);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(interval);
+                out.writeChar(enclosure);
+                out.writeLong(sourceLength);
+                out.writeLong(sourceLastModified);
+                out.writeLong(recordCount);
+                out.writeInt(offsets.length);
+                for (long offset : offsets) {
+                    out.writeLong(offset);
+                }
+            }
+            try {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Save the index next to the source file, logging the failure instead of throwing it, e.g. if the directory is read-only
+     * or the disk is full.
+     *
+     * @param source the source file.
+     * @return true if saved.
+     */
+    public boolean trySave(Path source) {
+        try {
+            save(source);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Failed to save the index of the file. The index is built again at the next read. [file:{}]",
+                    source, e);
+            return false;
+        }
+    }
+
+    /**
+     * Return the number of records between the indexed records.
+     *
+     * @return the interval.
+     */
+    public int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Return the number of records in the source file.
+     *
+     * @return the number of records.
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Return the nearest indexed record at or before the record.
+     *
+     * @param record the index of the record from zero.
+     * @return the index of the indexed record.
+     */
+    public long floorRecord(long record) {
+        if (offsets.length == 0 || record <= 0) {
+            return 0;
+        }
+        return Math.min(record / interval, offsets.length - 1) * (long) interval;
+    }
+
+    /**
+     * Return the byte offset of the indexed record.
+     *
+     * @param indexedRecord the index of the record, which is returned by {@link #floorRecord(long)}.
+     * @return the byte offset of the record.
+     * @throws IllegalArgumentException if the record is not indexed.
+     */
+    public long offsetOf(long indexedRecord) {
+        if (offsets.length == 0 && indexedRecord == 0) {
+            return 0;
+        }
+        Assert.isTrue(indexedRecord % interval == 0 && indexedRecord / interval < offsets.length,
+                "the record is not indexed. [record:" + indexedRecord + "]");
+        return offsets[(int) (indexedRecord / interval)];
+    }
+
+    /**
+     * Builder that finds the records in the bytes of the source file passed in order.
+     * <p>
+     * Be careful because this class is thread unsafe.
+     * </p>
+     */
+    static final class Builder {
+
+        /**
+         * Number of records between the indexed records.
+         */
+        private final int interval;
+
+        /**
+         * Enclosure byte.
+         */
+        private final byte enclosure;
+
+        /**
+         * Byte offsets of the indexed records.
+         */
+        private long[] offsets = new long[64];
+
+        /**
+         * Number of the indexed records.
+         */
+        private int offsetCount;
+
+        /**
+         * Number of records started.
+         */
+        private long recordCount;
+
+        /**
+         * Number of bytes passed.
+         */
+        private long position;
+
+        /**
+         * Whether the current byte is in a record.
+         */
+        private boolean inRecord;
+
+        /**
+         * Whether the current byte is in the enclosure.
+         */
+        private boolean enclosed;
+
+        /**
+         * Whether the last record ended with CR.
+         */
+        private boolean afterCR;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param charset the charset of the source file.
+         * @param enclosure enclosure character.
+         * @param interval number of records between the indexed records.
+         */
+        Builder(Charset charset, char enclosure, int interval) {
+            Assert.isTrue(isSupported(charset, enclosure),
+                    "the index is not supported for the charset and enclosure. [charset:" + charset + "][enclosure:"
+                            + enclosure + "]");
+            Assert.isTrue(interval > 0, "interval must be higher than zero. [interval:" + interval + "]");
+            this.interval = interval;
+            this.enclosure = (byte) enclosure;
+        }
+
+        /**
+         * Find the records in the bytes.
+         *
+         * @param bytes the bytes following the bytes passed before.
+         * @param off the index of the first byte.
+         * @param len the number of bytes.
+         */
+        void update(byte[] bytes, int off, int len) {
+            final byte quote = enclosure;
+            for (int i = off, end = off + len; i < end; i++) {
+                byte b = bytes[i];
+                if (afterCR) {
+                    afterCR = false;
+                    if (b == '\n') {
+                        continue;
+                    }
+                }
+                if (!inRecord) {
+                    startRecord(position + i - off);
+                }
+                if (b == quote) {
+                    enclosed = !enclosed;
+                } else if (!enclosed && (b == '\r' || b == '\n')) {
+                    inRecord = false;
+                    afterCR = b == '\r';
+                }
+            }
+            position += len;
+        }
+
+        /**
+         * Count the record started at the offset, and index it if needed.
+         *
+         * @param offset the byte offset of the record.
+         */
+        private void startRecord(long offset) {
+            if (recordCount % interval == 0) {
+                if (offsetCount == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, offsetCount * 2);
+                }
+                offsets[offsetCount++] = offset;
+            }
+            recordCount++;
+            inRecord = true;
+            enclosed = false;
+        }
+
+        /**
+         * Build the index of all bytes passed.
+         *
+         * @param sourceLastModified last modified time of the source file in milliseconds.
+         * @return the index.
+         */
+        DelimitedFileIndex build(long sourceLastModified) {
+            return new DelimitedFileIndex(interval, (char) enclosure, position, sourceLastModified, recordCount, Arrays
+                    .copyOf(offsets, offsetCount));
+        }
+    }
+
+    /**
+     * Input stream that passes the bytes read to a {@link Builder}, so that the index is built during the first read.
+     */
+    static final class IndexingInputStream extends FilterInputStream {
+
+        /**
+         * Builder of the index.
+         */
+        private final Builder builder;
+
+        /**
+         * Whether the end of the stream has been reached.
+         */
+        private boolean completed;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param in the input stream positioned at the beginning of the source file.
+         * @param builder builder of the index.
+         */
+        IndexingInputStream(InputStream in, Builder builder) {
+            super(in);
+            this.builder = builder;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int n = in.read(b, off, len);
+            if (n > 0) {
+                builder.update(b, off, n);
+            } else if (n < 0) {
+                completed = true;
+            }
+            return n;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * @return false always, because the bytes read again after reset must not be passed to the builder.
+         */
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+
+        /**
+         * This operation is not supported, because the skipped bytes must be passed to the builder.
+         *
+         * @param n omitted.
+         * @return never returns.
+         */
+        @Override
+        public long skip(long n) {
+            throw new UnsupportedOperationException("skip not supported.");
+        }
+
+        /**
+         * Return whether all bytes of the source file have been passed to the builder.
+         *
+         * @return true if the end of the stream has been reached.
+         */
+        boolean isCompleted() {
+            return completed;
+        }
+
+        /**
+         * Return the builder of the index.
+         *
+         * @return the builder.
+         */
+        Builder getBuilder() {
+            return builder;
+        }
+    }
+}
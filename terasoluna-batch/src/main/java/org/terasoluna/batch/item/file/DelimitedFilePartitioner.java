@@ -0,0 +1,202 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link Partitioner} that splits a delimited file into ranges of records by the sidecar {@link DelimitedFileIndex}, so that
+ * the records are read in parallel in the same way as a fixed-length file.
+ * <p>
+ * The index is loaded, or built and saved if not available. The ranges start at indexed records, so that some ranges are
+ * empty if the file has fewer records than {@code gridSize} times the index interval. The empty ranges are also returned
+ * after the other ranges, so that {@code gridSize} partitions are always executed and each of them writes its part file. An
+ * empty range starts and ends at the number of items, or at 1 if the file has no item, so that it can be set to
+ * {@code maxItemCount} which must be higher than zero. The execution context
+ * of each partition has the index of the first item and the index after the last item with the keys {@link #START_ITEM_KEY}
+ * and {@link #END_ITEM_KEY}, and the index of the partition from zero with the key {@link #PARTITION_INDEX_KEY}, which can
+ * name the part file of {@link FilePartMergeTasklet}. Set the item indexes to {@code currentItemCount} and
+ * {@code maxItemCount} of {@link EnclosableDelimitedFileItemReader} with {@code useIndex}, for example:
+ * </p>
+ *
+ * <pre>
+ * &lt;bean id="reader" class="org.terasoluna.batch.item.file.EnclosableDelimitedFileItemReader" scope="step"
+ *     p:resource="file:#{jobParameters['inputFile']}" p:useIndex="true" p:lineMapper-ref="lineMapper"
+ *     p:currentItemCount="#{stepExecutionContext['startItem']}" p:maxItemCount="#{stepExecutionContext['endItem']}"/&gt;
+ * </pre>
+ *
+ * @since 5.7.0
+ */
+public class DelimitedFilePartitioner implements Partitioner {
+
+    /**
+     * Key of the index of the first item in the execution context of a partition.
+     */
+    public static final String START_ITEM_KEY = "startItem";
+
+    /**
+     * Key of the index after the last item in the execution context of a partition.
+     */
+    public static final String END_ITEM_KEY = "endItem";
+
+    /**
+     * Key of the index of the partition from zero in the execution context of a partition.
+     */
+    public static final String PARTITION_INDEX_KEY = "partitionIndex";
+
+    /**
+     * Prefix of the partition names.
+     */
+    private static final String PARTITION_PREFIX = "partition";
+
+    /**
+     * Resource to be split.
+     */
+    private Resource resource;
+
+    /**
+     * Encoding of the resource.
+     */
+    private String encoding = "UTF-8";
+
+    /**
+     * Enclosure character.
+     */
+    private char enclosure = '"';
+
+    /**
+     * Number of records skipped at the beginning of the file.
+     */
+    private int linesToSkip = 0;
+
+    /**
+     * Number of records between the indexed records, used if the index is built.
+     */
+    private int indexInterval = DelimitedFileIndex.DEFAULT_INTERVAL;
+
+    /**
+     * Sets the resource to be split, which must be a file on the file system.
+     *
+     * @param resource the resource.
+     */
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Sets the encoding of the resource.
+     *
+     * @param encoding the encoding. Default value is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Public setter for the variable {@code enclosure}.
+     *
+     * @param enclosure Enclosure character. Default value is double-quote.
+     */
+    public void setEnclosure(char enclosure) {
+        this.enclosure = enclosure;
+    }
+
+    /**
+     * Sets the number of records skipped at the beginning of the file, which must be the same as the reader.
+     *
+     * @param linesToSkip the number of records. Default value is 0.
+     */
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * Sets the number of records between the indexed records, used if the index is built by this partitioner.
+     *
+     * @param indexInterval the number of records. Default value is {@link DelimitedFileIndex#DEFAULT_INTERVAL}.
+     * @throws IllegalArgumentException if {@code indexInterval} is not higher than zero.
+     */
+    public void setIndexInterval(int indexInterval) {
+        Assert.isTrue(indexInterval > 0, "indexInterval must be higher than zero. [indexInterval:" + indexInterval
+                + "]");
+        this.indexInterval = indexInterval;
+    }
+
+    /**
+     * Split the file into {@code gridSize} ranges of records, some of which can be empty.
+     *
+     * @param gridSize the number of partitions.
+     * @return the execution contexts of the partitions keyed by the partition names.
+     * @throws ItemStreamException if failed to read the index or the file.
+     */
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Assert.notNull(resource, "resource must be set.");
+        Assert.isTrue(gridSize > 0, "gridSize must be higher than zero. [gridSize:" + gridSize + "]");
+        DelimitedFileIndex index;
+        try {
+            Path path = resource.getFile().toPath();
+            index = DelimitedFileIndex.loadOrBuild(path, Charset.forName(encoding), enclosure, indexInterval);
+        } catch (IOException e) {
+            throw new ItemStreamException("Failed to load the index. [resource:" + resource.getDescription() + "]", e);
+        }
+        long items = Math.max(0, index.getRecordCount() - linesToSkip);
+        Map<String, ExecutionContext> partitions = new LinkedHashMap<>();
+        long start = 0;
+        for (int i = 0; i < gridSize; i++) {
+            long end = items;
+            if (i < gridSize - 1) {
+                // the end is moved back to an indexed record, so that the next partition starts by seeking.
+                long record = index.floorRecord(linesToSkip + items * (i + 1) / gridSize);
+                end = Math.max(start, record - linesToSkip);
+            }
+            if (end > start) {
+                put(partitions, start, end);
+            }
+            start = end;
+        }
+        long empty = Math.max(items, 1);
+        while (partitions.size() < gridSize) {
+            put(partitions, empty, empty);
+        }
+        return partitions;
+    }
+
+    /**
+     * Add the execution context of the next partition.
+     *
+     * @param partitions the execution contexts of the partitions.
+     * @param start the index of the first item.
+     * @param end the index after the last item.
+     */
+    private static void put(Map<String, ExecutionContext> partitions, long start, long end) {
+        ExecutionContext context = new ExecutionContext();
+        context.putInt(START_ITEM_KEY, Math.toIntExact(start));
+        context.putInt(END_ITEM_KEY, Math.toIntExact(end));
+        context.putInt(PARTITION_INDEX_KEY, partitions.size());
+        partitions.put(PARTITION_PREFIX + partitions.size(), context);
+    }
+}
@@ -0,0 +1,441 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.item.file.BufferedReaderFactory;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.terasoluna.batch.item.file.transform.DelimitedCharScanner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.stream.Stream;
+
+/**
+ * A {@link BufferedReaderFactory} useful for reading files written by
+ * {@link org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator}, in which an enclosed field can contain
+ * line breaks.
+ * <p>
+ * {@link BufferedReader#readLine()} of the created reader returns a whole record, including the line breaks in the enclosed
+ * fields. CR, LF and CRLF outside the enclosure are recognized as the end of the record, and are not included in the record.
+ * The record is found in a single pass over a large character buffer by {@link DelimitedCharScanner}, so that a
+ * {@link org.springframework.batch.item.file.separator.RecordSeparatorPolicy} is not needed to join the physical lines.
+ * Use with {@link org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineTokenizer} configured with the same
+ * enclosure.
+ * </p>
+ * <p>
+ * This class is intended only to be used from FlatFileItemReader. Note that the line count of FlatFileItemReader, e.g. for
+ * {@code linesToSkip}, is the number of records instead of physical lines.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public class EnclosableDelimitedBufferedReaderFactory implements BufferedReaderFactory {
+
+    /**
+     * Default size of the buffer in characters.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Enclosure character.
+     */
+    private char enclosure = '"';
+
+    /**
+     * Initial size of the buffer in characters.
+     */
+    private int bufferSize = DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Compression of the input file.
+     */
+    private FileCompression compression = FileCompression.NONE;
+
+    /**
+     * Number of threads decompressing the input file.
+     */
+    private int decompressionThreads = 1;
+
+    /**
+     * Size of the buffers read ahead by a background thread, or 0 not to read ahead.
+     */
+    private int readAheadBufferSize = 0;
+
+    /**
+     * Public setter for the variable {@code enclosure}.
+     *
+     * @param enclosure Enclosure character. Default value is double-quote.
+     */
+    public void setEnclosure(char enclosure) {
+        this.enclosure = enclosure;
+    }
+
+    /**
+     * Sets the initial size of the buffer. The buffer is extended if a record is larger than the buffer.
+     *
+     * @param bufferSize the size of the buffer in characters. Default value is {@link #DEFAULT_BUFFER_SIZE}.
+     * @throws IllegalArgumentException if {@code bufferSize} is not higher than zero.
+     */
+    public void setBufferSize(int bufferSize) {
+        Assert.isTrue(bufferSize > 0, "bufferSize must be higher than zero. [bufferSize:" + bufferSize + "]");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Sets the compression of the input file. The compressed file is decompressed while it is read.
+     *
+     * @param compression the compression. Default value is {@link FileCompression#NONE}.
+     */
+    public void setCompression(FileCompression compression) {
+        Assert.notNull(compression, "compression must be set.");
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the number of threads decompressing the input file. If 2 or more, the gzip members which have their size, e.g.
+     * written by {@link AbstractFileChannelItemWriter} with compression, are decompressed in parallel.
+     *
+     * @param decompressionThreads the number of threads. Default value is 1.
+     * @throws IllegalArgumentException if {@code decompressionThreads} is not higher than zero.
+     */
+    public void setDecompressionThreads(int decompressionThreads) {
+        Assert.isTrue(decompressionThreads > 0, "decompressionThreads must be higher than zero. [decompressionThreads:"
+                + decompressionThreads + "]");
+        this.decompressionThreads = decompressionThreads;
+    }
+
+    /**
+     * Sets the size of the buffers read ahead. If higher than zero, a background thread reads the next buffer of the input
+     * file while the current buffer is consumed, so that reading from slow storage overlaps the processing of the items.
+     * Two buffers are used alternately, and the background thread is stopped when the reader is closed.
+     *
+     * @param readAheadBufferSize the size of each buffer in bytes, or 0 not to read ahead. Default value is 0.
+     * @throws IllegalArgumentException if {@code readAheadBufferSize} is negative.
+     */
+    public void setReadAheadBufferSize(int readAheadBufferSize) {
+        Assert.isTrue(readAheadBufferSize >= 0, "readAheadBufferSize must be zero or more. [readAheadBufferSize:"
+                + readAheadBufferSize + "]");
+        this.readAheadBufferSize = readAheadBufferSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @return extended {@link BufferedReader} that reading String items which may contain enclosed line breaks.
+     */
+    @Override
+    public BufferedReader create(Resource resource, String encoding) throws IOException {
+        Assert.notNull(resource, "resource must be set.");
+        return newReader(compression.open(resource, decompressionThreads, readAheadBufferSize), encoding, enclosure,
+                bufferSize);
+    }
+
+    /**
+     * Create a reader of the records in the input stream. The input stream is closed if failed.
+     *
+     * @param in input stream positioned at the beginning of a record.
+     * @param encoding the encoding.
+     * @param enclosure enclosure character.
+     * @param bufferSize initial size of the buffer in characters.
+     * @return the reader, which closes the input stream when closed.
+     * @throws IOException if an I/O error occurs.
+     */
+    static BufferedReader newReader(InputStream in, String encoding, char enclosure,
+            int bufferSize) throws IOException {
+        try {
+            return new EnclosableDelimitedBufferedReader(new InputStreamReader(in, encoding), enclosure, bufferSize);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * BufferedReader extension that splits records based on the line breaks outside the enclosure.
+     * <p>
+     * Be careful because this class is thread unsafe. This class is intended only to be used from FlatFileItemReader.
+     * </p>
+     *
+     * @since 5.7.0
+     */
+    private static final class EnclosableDelimitedBufferedReader extends BufferedReader {
+
+        /**
+         * Reader decoding the input file.
+         */
+        private final Reader in;
+
+        /**
+         * Enclosure character.
+         */
+        private final char enclosure;
+
+        /**
+         * Scanner of the enclosure and line breaks, used outside the enclosure.
+         */
+        private final DelimitedCharScanner recordScanner;
+
+        /**
+         * Scanner of the enclosure, used inside the enclosure.
+         */
+        private final DelimitedCharScanner enclosureScanner;
+
+        /**
+         * Buffer of the characters.
+         */
+        private char[] buf;
+
+        /**
+         * Index of the next character to be read in the buffer.
+         */
+        private int pos;
+
+        /**
+         * Number of valid characters in the buffer.
+         */
+        private int limit;
+
+        /**
+         * Whether the end of the stream has been reached.
+         */
+        private boolean eof;
+
+        /**
+         * Whether the next LF is skipped because the last record ended with CR.
+         */
+        private boolean skipLF;
+
+        /**
+         * Create a new instance with the specified parameters.
+         * <p>
+         * In addition, it set the dummy reader instance according to the super class's constructor.
+         * </p>
+         *
+         * @param in Reader decoding the input file.
+         * @param enclosure enclosure character.
+         * @param bufferSize initial size of the buffer.
+         */
+        private EnclosableDelimitedBufferedReader(Reader in, char enclosure, int bufferSize) {
+            super(new StringReader("dummy"));
+            this.in = in;
+            this.enclosure = enclosure;
+            this.recordScanner = DelimitedCharScanner.of(enclosure, '\r', '\n');
+            this.enclosureScanner = DelimitedCharScanner.of(enclosure);
+            this.buf = new char[bufferSize];
+        }
+
+        /**
+         * Reads a record which ends with CR, LF or CRLF outside the enclosure.
+         *
+         * @return the record not including the line break, or null if the end of the stream has been reached.
+         * @throws IOException if an I/O error occurs.
+         */
+        @Override
+        public String readLine() throws IOException {
+            if (skipLF) {
+                if (pos == limit && !fill(pos)) {
+                    return null;
+                }
+                if (buf[pos] == '\n') {
+                    pos++;
+                }
+                skipLF = false;
+            }
+            if (pos == limit && !fill(pos)) {
+                return null;
+            }
+            final char quote = enclosure;
+            boolean enclosed = false;
+            int i = pos;
+            while (true) {
+                char[] b = buf;
+                int end = limit;
+                while (i < end) {
+                    int found = (enclosed ? enclosureScanner : recordScanner).indexOf(b, i, end);
+                    if (found < 0) {
+                        i = end;
+                        break;
+                    }
+                    if (b[found] == quote) {
+                        enclosed = !enclosed;
+                        i = found + 1;
+                        continue;
+                    }
+                    String record = new String(b, pos, found - pos);
+                    pos = found + 1;
+                    if (b[found] == '\r') {
+                        if (pos < limit) {
+                            if (b[pos] == '\n') {
+                                pos++;
+                            }
+                        } else {
+                            skipLF = true;
+                        }
+                    }
+                    return record;
+                }
+                int scanned = i - pos;
+                if (!fill(pos)) {
+                    String record = new String(buf, pos, limit - pos);
+                    pos = limit;
+                    return record;
+                }
+                i = pos + scanned;
+            }
+        }
+
+        /**
+         * Read characters into the buffer, keeping the characters from {@code keepFrom}. The kept characters are moved to the
+         * head of the buffer, and the buffer is extended if it is full.
+         *
+         * @param keepFrom the index of the first character to be kept.
+         * @return false if no character is read because the end of the stream has been reached.
+         * @throws IOException if an I/O error occurs.
+         */
+        private boolean fill(int keepFrom) throws IOException {
+            if (eof) {
+                return false;
+            }
+            int kept = limit - keepFrom;
+            if (kept == buf.length) {
+                char[] extended = new char[buf.length * 2];
+                System.arraycopy(buf, keepFrom, extended, 0, kept);
+                buf = extended;
+            } else if (kept > 0 && keepFrom > 0) {
+                System.arraycopy(buf, keepFrom, buf, 0, kept);
+            }
+            pos = 0;
+            limit = kept;
+            int n;
+            do {
+                n = in.read(buf, limit, buf.length - limit);
+            } while (n == 0);
+            if (n < 0) {
+                eof = true;
+                return false;
+            }
+            limit += n;
+            return true;
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public int read() {
+            throw new UnsupportedOperationException("read not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @param cbuf omitted.
+         * @param off omitted.
+         * @param len omitted.
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public int read(char[] cbuf, int off, int len) {
+            throw new UnsupportedOperationException("read not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @param n omitted.
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public long skip(long n) {
+            throw new UnsupportedOperationException("skip not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public boolean ready() {
+            throw new UnsupportedOperationException("ready not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public boolean markSupported() {
+            throw new UnsupportedOperationException("markSupported not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @param readAheadLimit omitted.
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public void mark(int readAheadLimit) {
+            throw new UnsupportedOperationException("mark not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public void reset() {
+            throw new UnsupportedOperationException("reset not supported.");
+        }
+
+        /**
+         * This operation is not supported.
+         *
+         * @throws UnsupportedOperationException always throw.
+         */
+        @Override
+        public Stream<String> lines() {
+            throw new UnsupportedOperationException("lines not supported.");
+        }
+
+        /**
+         * Closes this reader and releases any system resources associated with these.
+         */
+        @Override
+        public void close() {
+            try {
+                super.close();
+            } catch (IOException ioe) {
+                // do nothing
+            }
+            try {
+                in.close();
+            } catch (IOException ioe) {
+                // do nothing
+            }
+        }
+    }
+}
@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.ResourceAwareItemReaderItemStream;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Item reader that reads the records of a delimited file in which an enclosed field can contain line breaks, in the same way
+ * as FlatFileItemReader with {@link EnclosableDelimitedBufferedReaderFactory}.
+ * <p>
+ * If {@code useIndex} is true, the reader uses the sidecar {@link DelimitedFileIndex} of the resource, so that the restart
+ * position and the start of a partition set by {@link #setCurrentItemCount(int)} are reached by seeking to the nearest
+ * indexed record instead of reading all records before it. If the index is not saved, it is built while the file is read from
+ * the beginning, and is saved when the end of the file is reached, unless the directory is not writable. The index is used
+ * only for a file on the file system.
+ * </p>
+ * <p>
+ * Use with {@link org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineTokenizer} configured with the same
+ * enclosure. Note that the line number passed to the {@link LineMapper} is the number of records instead of physical lines.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, in the same way as FlatFileItemReader.
+ * </p>
+ *
+ * @param <T> the type of the items.
+ * @since 5.7.0
+ */
+public class EnclosableDelimitedFileItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> implements
+                                             ResourceAwareItemReaderItemStream<T>, InitializingBean {
+
+    /**
+     * Resource to be read.
+     */
+    private Resource resource;
+
+    /**
+     * Encoding of the resource.
+     */
+    private String encoding = "UTF-8";
+
+    /**
+     * Enclosure character.
+     */
+    private char enclosure = '"';
+
+    /**
+     * Initial size of the buffer in characters.
+     */
+    private int bufferSize = EnclosableDelimitedBufferedReaderFactory.DEFAULT_BUFFER_SIZE;
+
+    /**
+     * Number of records skipped at the beginning of the file.
+     */
+    private int linesToSkip = 0;
+
+    /**
+     * Whether to fail if the resource does not exist.
+     */
+    private boolean strict = true;
+
+    /**
+     * Whether to use the sidecar index.
+     */
+    private boolean useIndex = false;
+
+    /**
+     * Number of records between the indexed records, used if the index is built.
+     */
+    private int indexInterval = DelimitedFileIndex.DEFAULT_INTERVAL;
+
+    /**
+     * Mapper of the records to the items.
+     */
+    private LineMapper<T> lineMapper;
+
+    /**
+     * Reader of the records.
+     */
+    private BufferedReader reader;
+
+    /**
+     * Input stream building the index during the first read, or {@code null} if not building.
+     */
+    private DelimitedFileIndex.IndexingInputStream indexing;
+
+    /**
+     * Index of the resource, or {@code null} if not used.
+     */
+    private DelimitedFileIndex index;
+
+    /**
+     * Number of records read, including the skipped records.
+     */
+    private long lineCount;
+
+    /**
+     * Whether the resource does not exist.
+     */
+    private boolean noInput;
+
+    /**
+     * Create a new instance.
+     */
+    public EnclosableDelimitedFileItemReader() {
+        setName(ClassUtils.getShortName(EnclosableDelimitedFileItemReader.class));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResource(Resource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Sets the encoding of the resource.
+     *
+     * @param encoding the encoding. Default value is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Public setter for the variable {@code enclosure}.
+     *
+     * @param enclosure Enclosure character. Default value is double-quote.
+     */
+    public void setEnclosure(char enclosure) {
+        this.enclosure = enclosure;
+    }
+
+    /**
+     * Sets the initial size of the buffer. The buffer is extended if a record is larger than the buffer.
+     *
+     * @param bufferSize the size of the buffer in characters.
+     * @throws IllegalArgumentException if {@code bufferSize} is not higher than zero.
+     */
+    public void setBufferSize(int bufferSize) {
+        Assert.isTrue(bufferSize > 0, "bufferSize must be higher than zero. [bufferSize:" + bufferSize + "]");
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Sets the number of records skipped at the beginning of the file, e.g. the header.
+     *
+     * @param linesToSkip the number of records. Default value is 0.
+     */
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * Sets whether to fail if the resource does not exist. If false, the reader reads no item from the missing resource.
+     *
+     * @param strict true to fail. Default value is true.
+     */
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * Sets whether to use the sidecar index of the resource.
+     *
+     * @param useIndex true to use the index. Default value is false.
+     */
+    public void setUseIndex(boolean useIndex) {
+        this.useIndex = useIndex;
+    }
+
+    /**
+     * Sets the number of records between the indexed records, used if the index is built by this reader.
+     *
+     * @param indexInterval the number of records. Default value is {@link DelimitedFileIndex#DEFAULT_INTERVAL}.
+     * @throws IllegalArgumentException if {@code indexInterval} is not higher than zero.
+     */
+    public void setIndexInterval(int indexInterval) {
+        Assert.isTrue(indexInterval > 0, "indexInterval must be higher than zero. [indexInterval:" + indexInterval
+                + "]");
+        this.indexInterval = indexInterval;
+    }
+
+    /**
+     * Sets the mapper of the records to the items.
+     *
+     * @param lineMapper the mapper.
+     */
+    public void setLineMapper(LineMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    /**
+     * Check mandatory properties.
+     *
+     * @throws IllegalStateException if the line mapper is not set, or the index is not supported for the encoding.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(lineMapper != null, "lineMapper must be set.");
+        Assert.state(!useIndex || DelimitedFileIndex.isSupported(Charset.forName(encoding), enclosure),
+                "the index is not supported for the encoding and enclosure. [encoding:" + encoding + "][enclosure:"
+                        + enclosure + "]");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected T doRead() throws Exception {
+        if (noInput) {
+            return null;
+        }
+        String line = reader.readLine();
+        if (line == null) {
+            return null;
+        }
+        lineCount++;
+        try {
+            return lineMapper.mapLine(line, (int) lineCount);
+        } catch (Exception e) {
+            throw new FlatFileParseException("Parsing error at line: " + lineCount + " in resource=[" + resource
+                    .getDescription() + "], input=[" + line + "]", e, line, (int) lineCount);
+        }
+    }
+
+    /**
+     * Open the resource, load the index if used, and skip the records at the beginning of the file.
+     *
+     * @throws Exception if failed to open.
+     */
+    @Override
+    protected void doOpen() throws Exception {
+        Assert.notNull(resource, "Input resource must be set");
+        noInput = true;
+        if (!resource.exists()) {
+            if (strict) {
+                throw new IllegalStateException("Input resource must exist (reader is in 'strict' mode): " + resource);
+            }
+            return;
+        }
+        if (!resource.isReadable()) {
+            if (strict) {
+                throw new IllegalStateException("Input resource must be readable (reader is in 'strict' mode): "
+                        + resource);
+            }
+            return;
+        }
+        Path path = useIndex && resource.isFile() ? resource.getFile().toPath() : null;
+        if (path != null) {
+            index = DelimitedFileIndex.load(path, enclosure);
+        }
+        InputStream in = resource.getInputStream();
+        if (path != null && index == null) {
+            indexing = new DelimitedFileIndex.IndexingInputStream(in, new DelimitedFileIndex.Builder(Charset.forName(
+                    encoding), enclosure, indexInterval));
+            in = indexing;
+        }
+        reader = EnclosableDelimitedBufferedReaderFactory.newReader(in, encoding, enclosure, bufferSize);
+        noInput = false;
+        lineCount = 0;
+        skipRecords(linesToSkip);
+    }
+
+    /**
+     * Move to the item. If the index is used, seek to the nearest indexed record before the item.
+     *
+     * @param itemIndex the index of the item from zero.
+     * @throws Exception if failed to move.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (noInput) {
+            return;
+        }
+        long record = (long) linesToSkip + itemIndex;
+        if (index != null) {
+            long indexedRecord = index.floorRecord(record);
+            if (indexedRecord > lineCount) {
+                seek(index.offsetOf(indexedRecord));
+                lineCount = indexedRecord;
+            }
+        }
+        skipRecords(record - lineCount);
+    }
+
+    /**
+     * Close the resource, and save the index if it has been built. The failure of saving the index is logged and ignored.
+     *
+     * @throws Exception if failed to close.
+     */
+    @Override
+    protected void doClose() throws Exception {
+        lineCount = 0;
+        noInput = true;
+        DelimitedFileIndex.IndexingInputStream built = indexing;
+        indexing = null;
+        index = null;
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+        if (built != null && built.isCompleted()) {
+            Path path = resource.getFile().toPath();
+            built.getBuilder().build(Files.getLastModifiedTime(path).toMillis()).trySave(path);
+        }
+    }
+
+    /**
+     * Reopen the resource at the byte offset of a record.
+     *
+     * @param offset the byte offset.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void seek(long offset) throws IOException {
+        reader.close();
+        indexing = null;
+        FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+        try {
+            channel.position(offset);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        reader = EnclosableDelimitedBufferedReaderFactory.newReader(Channels.newInputStream(channel), encoding,
+                enclosure, bufferSize);
+    }
+
+    /**
+     * Read and discard the records, until the end of the file at most.
+     *
+     * @param count the number of records.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void skipRecords(long count) throws IOException {
+        for (long i = 0; i < count && reader.readLine() != null; i++) {
+            lineCount++;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.batch.item.file.transform.PassThroughFieldExtractor;
+import org.springframework.util.Assert;
+import org.terasoluna.batch.item.file.transform.EnclosableDelimitedFieldAppender;
+
+import java.io.IOException;
+
+/**
+ * An item writer that writes items in the format of
+ * {@link org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator} directly to a file channel.
+ * <p>
+ * This class supports the same enclosure, delimiter and enclosing-format as EnclosableDelimitedLineAggregator. The fields
+ * extracted from an item are appended into a reused buffer, and encoded directly into the byte buffer of
+ * {@link AbstractFileChannelItemWriter}. Therefore, neither a String per line nor a String per chunk is created, unlike the
+ * combination of FlatFileItemWriter and EnclosableDelimitedLineAggregator.
+ * </p>
+ * <p>
+ * This class cannot be set to the same character to the enclosure and delimiter.
+ * </p>
+ *
+ * @param <T> Type of the item to be written
+ * @since 5.7.0
+ */
+public class EnclosableDelimitedFileItemWriter<T> extends AbstractFileChannelItemWriter<T> {
+
+    /**
+     * Upper limit of the capacity of the line buffer retained between items.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * Extractor of the fields.
+     */
+    private FieldExtractor<T> fieldExtractor = new PassThroughFieldExtractor<>();
+
+    /**
+     * Enclosing-format.
+     */
+    private boolean allEnclosing = false;
+
+    /**
+     * Enclosure character.
+     */
+    private char enclosure = '"';
+
+    /**
+     * Delimiter character.
+     */
+    private char delimiter = ',';
+
+    /**
+     * Engine to append the fields, which is rebuilt when the format is changed.
+     */
+    private EnclosableDelimitedFieldAppender appender = new EnclosableDelimitedFieldAppender(delimiter, enclosure,
+            allEnclosing);
+
+    /**
+     * Reused buffer of a line.
+     */
+    private StringBuilder line = new StringBuilder(256);
+
+    /**
+     * Public setter for the field extractor.
+     *
+     * @param fieldExtractor the field extractor. Default value is {@link PassThroughFieldExtractor}.
+     */
+    public void setFieldExtractor(FieldExtractor<T> fieldExtractor) {
+        this.fieldExtractor = fieldExtractor;
+    }
+
+    /**
+     * Public setter for the variable {@code allEnclosing}.
+     * <ul>
+     * <li>true : All-Enclosing</li>
+     * <li>false : Partly-Enclosing</li>
+     * </ul>
+     *
+     * @param allEnclosing Enclosing format type. Default value is false.
+     */
+    public void setAllEnclosing(boolean allEnclosing) {
+        this.allEnclosing = allEnclosing;
+        rebuildAppender();
+    }
+
+    /**
+     * Public setter for the variable {@code enclosure}.
+     *
+     * @param enclosure Enclosure character. Default value is double-quote.
+     */
+    public void setEnclosure(char enclosure) {
+        this.enclosure = enclosure;
+        rebuildAppender();
+    }
+
+    /**
+     * Public setter for the variable {@code delimiter}.
+     *
+     * @param delimiter Delimiter. Default value is comma.
+     */
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+        rebuildAppender();
+    }
+
+    /**
+     * Rebuild the engine according to the current format. The engine is not rebuilt while the delimiter and enclosure are same,
+     * it is reported by {@link #afterPropertiesSet()}.
+     */
+    private void rebuildAppender() {
+        if (delimiter != enclosure) {
+            this.appender = new EnclosableDelimitedFieldAppender(delimiter, enclosure, allEnclosing);
+        }
+    }
+
+    /**
+     * Check the properties.
+     *
+     * @throws IllegalStateException If enclosure and delimiter are same.
+     * @throws IllegalArgumentException If field extractor is not set.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        Assert.notNull(fieldExtractor, "fieldExtractor must be set.");
+        if (enclosure == delimiter) {
+            throw new IllegalStateException("the delimiter and enclosure must be different. [value:" + enclosure + "]");
+        }
+    }
+
+    /**
+     * Write the fields of the item and the line separator.
+     *
+     * @param item the item to be written.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    protected void writeItem(T item) throws IOException {
+        line.setLength(0);
+        appender.appendFields(line, fieldExtractor.extract(item)).append(lineSeparator);
+        writeChars(line);
+        if (line.capacity() > MAX_RETAINED_CAPACITY) {
+            line = new StringBuilder(256);
+        }
+    }
+}
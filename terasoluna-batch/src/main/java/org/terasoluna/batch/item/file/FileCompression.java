@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Compression of the input and output files.
+ *
+ * @since 5.7.0
+ */
+public enum FileCompression {
+
+    /**
+     * The file is not compressed.
+     */
+    NONE,
+
+    /**
+     * The file is compressed by gzip.
+     */
+    GZIP,
+
+    /**
+     * The file is compressed by gzip if the file name ends with {@code .gz}, otherwise not compressed.
+     */
+    AUTO;
+
+    /**
+     * Size of the buffer used by {@link GZIPInputStream}.
+     */
+    private static final int INFLATER_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Check whether the resource is compressed by gzip.
+     *
+     * @param resource the resource.
+     * @return true if compressed by gzip.
+     */
+    boolean isGzip(Resource resource) {
+        if (this == AUTO) {
+            String filename = resource.getFilename();
+            return filename != null && filename.endsWith(".gz");
+        }
+        return this == GZIP;
+    }
+
+    /**
+     * Open the input stream of the resource, which decompresses the content if compressed.
+     *
+     * @param resource the resource.
+     * @param threads number of threads decompressing the gzip members. If 1, the content is decompressed by the reading
+     *            thread.
+     * @param readAheadBufferSize size of the buffers read ahead by a background thread, or 0 not to read ahead.
+     * @return the input stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    InputStream open(Resource resource, int threads, int readAheadBufferSize) throws IOException {
+        InputStream in = resource.getInputStream();
+        if (readAheadBufferSize > 0) {
+            in = new ReadAheadInputStream(in, readAheadBufferSize);
+        }
+        if (!isGzip(resource)) {
+            return in;
+        }
+        try {
+            return threads > 1 ? new GzipBlockInputStream(in, threads) : new GZIPInputStream(in, INFLATER_BUFFER_SIZE);
+        } catch (IOException | RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.file.FlatFileFooterCallback;
+import org.springframework.batch.item.file.FlatFileHeaderCallback;
+import org.springframework.batch.item.support.AbstractFileItemWriter;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.WritableResource;
+import org.springframework.util.Assert;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tasklet that merges the part files written by the partitions into the output file in the order of the partitions.
+ * <p>
+ * Each partition writes its records to the part file named the output file name followed by {@link #PART_SUFFIX} and the
+ * index of the partition, e.g. {@code output.csv.part0}, {@code output.csv.part1}, ..., without the header and footer. The
+ * part files are ordered by the numeric index, and are copied by {@link FileChannel#transferTo(long, long,
+ * java.nio.channels.WritableByteChannel)}, so that the records are not read into the memory nor encoded again, for example:
+ * </p>
+ *
+ * <pre>
+ * &lt;bean id="writer" class="org.terasoluna.batch.item.file.EnclosableDelimitedFileItemWriter" scope="step"
+ *     p:resource="file:#{jobParameters['outputFile']}.part#{stepExecutionContext['partitionIndex']}"
+ *     p:fieldExtractor-ref="fieldExtractor"/&gt;
+ * &lt;bean id="mergeTasklet" class="org.terasoluna.batch.item.file.FilePartMergeTasklet" scope="step"
+ *     p:resource="file:#{jobParameters['outputFile']}" p:headerCallback-ref="headerCallback"/&gt;
+ * </pre>
+ * <p>
+ * The header and footer are written by the callbacks in the same way as FlatFileItemWriter. If the partitions write the
+ * header lines to their part files, set {@code partHeaderLines} so that the header lines are kept only from the first part
+ * file. The parts are merged into a temporary file, which replaces the output file when completed, and the part files are
+ * deleted after that. Therefore the tasklet can be restarted if it failed while merging. The part files must not be
+ * compressed.
+ * </p>
+ * <p>
+ * The indexes of the part files must be consecutive from 0, and the number of the part files must be
+ * {@code expectedParts} if set, e.g. the grid size of the partitions, so that a missing part file fails the merge instead of
+ * losing its records. If no part file is found but the output file exists, the merge is skipped because the output file has
+ * already been merged and the part files have been deleted, e.g. when the job is rerun after this step completed.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public class FilePartMergeTasklet implements Tasklet, InitializingBean {
+
+    /**
+     * Suffix of the part file names followed by the index of the partition.
+     */
+    public static final String PART_SUFFIX = ".part";
+
+    /**
+     * Suffix of the temporary file name.
+     */
+    private static final String MERGING_SUFFIX = ".merging";
+
+    /**
+     * Size of the buffer to find the line separators of the header lines.
+     */
+    private static final int SCAN_BUFFER_SIZE = 8192;
+
+    /**
+     * logger.
+     */
+    private static final Logger logger = LoggerFactory.getLogger(FilePartMergeTasklet.class);
+
+    /**
+     * Output file.
+     */
+    private WritableResource resource;
+
+    /**
+     * Encoding of the header and footer.
+     */
+    private String encoding = AbstractFileItemWriter.DEFAULT_CHARSET;
+
+    /**
+     * Line separator written after the header, and used to find the header lines of the part files.
+     */
+    private String lineSeparator = AbstractFileItemWriter.DEFAULT_LINE_SEPARATOR;
+
+    /**
+     * Number of the header lines at the beginning of each part file.
+     */
+    private int partHeaderLines = 0;
+
+    /**
+     * Number of the part files to be merged, or 0 not to check.
+     */
+    private int expectedParts = 0;
+
+    /**
+     * Whether to delete the part files after merged.
+     */
+    private boolean deleteParts = true;
+
+    /**
+     * Whether to force the output file to be written to the storage before it replaces the existing file.
+     */
+    private boolean forceSync = false;
+
+    /**
+     * Callback to write the header.
+     */
+    private FlatFileHeaderCallback headerCallback;
+
+    /**
+     * Callback to write the footer.
+     */
+    private FlatFileFooterCallback footerCallback;
+
+    /**
+     * Sets the output file, which must be a file on the file system.
+     *
+     * @param resource the output file.
+     */
+    public void setResource(WritableResource resource) {
+        this.resource = resource;
+    }
+
+    /**
+     * Sets the encoding of the header, footer and line separator.
+     *
+     * @param encoding the encoding. Default value is UTF-8.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Public setter for the line separator.
+     *
+     * @param lineSeparator the line separator. Default value is the line separator of the system.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Sets the number of the header lines written by the partitions at the beginning of each part file. The header lines
+     * are kept only from the first part file.
+     *
+     * @param partHeaderLines the number of lines. Default value is 0.
+     * @throws IllegalArgumentException if {@code partHeaderLines} is negative.
+     */
+    public void setPartHeaderLines(int partHeaderLines) {
+        Assert.isTrue(partHeaderLines >= 0, "partHeaderLines must be zero or more. [partHeaderLines:"
+                + partHeaderLines + "]");
+        this.partHeaderLines = partHeaderLines;
+    }
+
+    /**
+     * Sets the number of the part files to be merged, e.g. the grid size of the partitions. The merge fails if the number of
+     * the part files found is different.
+     *
+     * @param expectedParts the number of the part files, or 0 not to check. Default value is 0.
+     * @throws IllegalArgumentException if {@code expectedParts} is negative.
+     */
+    public void setExpectedParts(int expectedParts) {
+        Assert.isTrue(expectedParts >= 0, "expectedParts must be zero or more. [expectedParts:" + expectedParts + "]");
+        this.expectedParts = expectedParts;
+    }
+
+    /**
+     * Sets whether to delete the part files after merged.
+     *
+     * @param deleteParts true to delete. Default value is true.
+     */
+    public void setDeleteParts(boolean deleteParts) {
+        this.deleteParts = deleteParts;
+    }
+
+    /**
+     * Flag to indicate that changes should be force-synced to disk before the output file is replaced.
+     *
+     * @param forceSync true to force sync. Default value is false.
+     */
+    public void setForceSync(boolean forceSync) {
+        this.forceSync = forceSync;
+    }
+
+    /**
+     * Sets the callback to write the header at the beginning of the output file, followed by the line separator.
+     *
+     * @param headerCallback the callback.
+     */
+    public void setHeaderCallback(FlatFileHeaderCallback headerCallback) {
+        this.headerCallback = headerCallback;
+    }
+
+    /**
+     * Sets the callback to write the footer at the end of the output file.
+     *
+     * @param footerCallback the callback.
+     */
+    public void setFooterCallback(FlatFileFooterCallback footerCallback) {
+        this.footerCallback = footerCallback;
+    }
+
+    /**
+     * Check mandatory properties.
+     *
+     * @throws IllegalStateException if the resource or line separator is not set.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(resource != null, "resource must be set.");
+        Assert.state(lineSeparator != null && !lineSeparator.isEmpty(), "lineSeparator must be set.");
+    }
+
+    /**
+     * Merge the part files into the output file, and delete the part files. The merge is skipped if no part file is found
+     * but the output file exists.
+     *
+     * @param contribution the contribution of the step.
+     * @param chunkContext the context of the chunk.
+     * @return {@link RepeatStatus#FINISHED}.
+     * @throws IOException if failed to merge the part files.
+     * @throws IllegalStateException if no part file is found without the output file, the indexes of the part files are not
+     *             consecutive from 0, or the number of the part files is not {@code expectedParts}.
+     */
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws IOException {
+        afterPropertiesSet();
+        Path output = resource.getFile().toPath().toAbsolutePath();
+        Path merging = output.resolveSibling(output.getFileName() + MERGING_SUFFIX);
+        List<Path> parts = findParts(output);
+        if (parts.isEmpty() && Files.isRegularFile(output)) {
+            logger.info("No part file is found. The output file has already been merged. [output:{}]", output);
+            return RepeatStatus.FINISHED;
+        }
+        checkParts(output, parts);
+        Charset charset = Charset.forName(encoding);
+        try (FileChannel target = FileChannel.open(merging, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            if (headerCallback != null) {
+                StringWriter header = new StringWriter();
+                headerCallback.writeHeader(header);
+                header.write(lineSeparator);
+                write(target, header.toString(), charset);
+            }
+            byte[] separator = lineSeparator.getBytes(charset);
+            for (int i = 0; i < parts.size(); i++) {
+                try (FileChannel part = FileChannel.open(parts.get(i), StandardOpenOption.READ)) {
+                    long position = i == 0 ? 0 : skipLines(part, separator, partHeaderLines);
+                    transfer(part, position, target);
+                }
+            }
+            if (footerCallback != null) {
+                StringWriter footer = new StringWriter();
+                footerCallback.writeFooter(footer);
+                write(target, footer.toString(), charset);
+            }
+            if (forceSync) {
+                target.force(false);
+            }
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(merging);
+            throw e;
+        }
+        Files.move(merging, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        if (deleteParts) {
+            for (Path part : parts) {
+                Files.deleteIfExists(part);
+            }
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    /**
+     * Find the part files of the output file, in the order of the index of the partitions.
+     *
+     * @param output the output file.
+     * @return the part files.
+     * @throws IOException if failed to list the directory.
+     */
+    private static List<Path> findParts(Path output) throws IOException {
+        String prefix = output.getFileName() + PART_SUFFIX;
+        List<Path> parts = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(output.getParent(), p -> isPart(p, prefix))) {
+            for (Path part : stream) {
+                parts.add(part);
+            }
+        }
+        parts.sort(Comparator.comparingLong(p -> Long.parseLong(p.getFileName().toString().substring(prefix
+                .length()))));
+        return parts;
+    }
+
+    /**
+     * Check that the part files are found, their indexes are consecutive from 0, and the number is {@code expectedParts}.
+     *
+     * @param output the output file.
+     * @param parts the part files in the order of the index.
+     * @throws IllegalStateException if the part files are missing.
+     */
+    private void checkParts(Path output, List<Path> parts) {
+        Assert.state(!parts.isEmpty(), () -> "No part file is found. [output:" + output + "]");
+        String prefix = output.getFileName() + PART_SUFFIX;
+        for (int i = 0; i < parts.size(); i++) {
+            long index = Long.parseLong(parts.get(i).getFileName().toString().substring(prefix.length()));
+            int expected = i;
+            Assert.state(index == i, () -> "Part file is missing. [output:" + output + "][missingIndex:" + expected
+                    + "]");
+        }
+        Assert.state(expectedParts == 0 || parts.size() == expectedParts, () -> "Number of the part files does not match."
+                + " [output:" + output + "][expectedParts:" + expectedParts + "][parts:" + parts.size() + "]");
+    }
+
+    /**
+     * Check whether the file is a part file.
+     *
+     * @param path the file.
+     * @param prefix the output file name followed by {@link #PART_SUFFIX}.
+     * @return true if the file name is the prefix followed by the digits.
+     */
+    private static boolean isPart(Path path, String prefix) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(prefix) || name.length() == prefix.length() || name.length() - prefix.length() > 18
+                || !Files.isRegularFile(path)) {
+            return false;
+        }
+        for (int i = prefix.length(); i < name.length(); i++) {
+            if (name.charAt(i) < '0' || name.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the position after the lines at the beginning of the part file.
+     *
+     * @param part the part file.
+     * @param separator the bytes of the line separator.
+     * @param lines the number of lines.
+     * @return the position, or the size of the file if it has fewer lines.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static long skipLines(FileChannel part, byte[] separator, int lines) throws IOException {
+        if (lines == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = 0;
+        int matched = 0;
+        int found = 0;
+        while (part.read(buffer, position) > 0) {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                byte b = buffer.get();
+                position++;
+                if (b == separator[matched]) {
+                    matched++;
+                } else {
+                    matched = b == separator[0] ? 1 : 0;
+                }
+                if (matched == separator.length) {
+                    matched = 0;
+                    if (++found == lines) {
+                        return position;
+                    }
+                }
+            }
+            buffer.clear();
+        }
+        return position;
+    }
+
+    /**
+     * Copy the part file from the position to the end of the target channel, without reading it into the memory.
+     *
+     * @param part the part file.
+     * @param position the position to start copying.
+     * @param target the target channel.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void transfer(FileChannel part, long position, FileChannel target) throws IOException {
+        long size = part.size();
+        while (position < size) {
+            position += part.transferTo(position, size - position, target);
+        }
+    }
+
+    /**
+     * Write the string to the channel.
+     *
+     * @param target the channel.
+     * @param value the string.
+     * @param charset the charset of the string.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(FileChannel target, String value, Charset charset) throws IOException {
+        ByteBuffer buffer = charset.encode(value);
+        while (buffer.hasRemaining()) {
+            target.write(buffer);
+        }
+    }
+}
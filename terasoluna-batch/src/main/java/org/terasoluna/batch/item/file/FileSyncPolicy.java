@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+/**
+ * Policy to force the output file to be written to the storage device, which decides when the job pays for the durability of
+ * the output.
+ *
+ * @since 5.7.0
+ */
+public enum FileSyncPolicy {
+
+    /**
+     * The output file is not forced, and is written to the storage device by the operating system.
+     */
+    NONE,
+
+    /**
+     * The output file is forced when the output of each chunk is written, i.e. at commit if transactional.
+     */
+    CHUNK,
+
+    /**
+     * The output file is forced whenever the bytes written after the last sync reach {@code syncBytes}, and at close.
+     */
+    BYTES,
+
+    /**
+     * The output file is forced only once at close.
+     */
+    CLOSE
+}
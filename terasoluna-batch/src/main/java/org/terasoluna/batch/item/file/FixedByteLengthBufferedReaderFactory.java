@@ -16,15 +16,23 @@
 package org.terasoluna.batch.item.file;
 
 import org.springframework.batch.item.file.BufferedReaderFactory;
+import org.springframework.batch.item.file.transform.FlatFileFormatException;
 import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.Range;
 import org.springframework.core.io.Resource;
 import org.springframework.util.Assert;
+import org.terasoluna.batch.item.file.transform.FastCharsetDecoder;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.io.StringReader;
 import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.stream.Stream;
 
 /**
@@ -38,16 +46,86 @@ import java.util.stream.Stream;
  * The line endings are not discarded, line endings are also included in the fixed byte length. Therefore, please be careful
  * when setting a fixed byte length.
  * </p>
+ * <p>
+ * If {@code lineSeparator} is set, e.g. CRLF, each line is followed by the separator which is not included in the fixed byte
+ * length. The separator is checked and discarded as the bytes encoded by the charset, so that the lines are read as the bytes
+ * in the same way as the lines without separator. The separator can be omitted only after the last line.
+ * </p>
  *
  * @since 5.0.0
  */
 public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFactory {
 
+    /**
+     * Line returned for a skipped line.
+     */
+    private static final String SKIPPED_LINE = "";
+
     /**
      * The byte length of a line.
      */
     private final int byteLength;
 
+    /**
+     * Separator following each line, or an empty string if the lines are not separated.
+     */
+    private String lineSeparator = "";
+
+    /**
+     * Compression of the input file.
+     */
+    private FileCompression compression = FileCompression.NONE;
+
+    /**
+     * Number of threads decompressing the input file.
+     */
+    private int decompressionThreads = 1;
+
+    /**
+     * Size of the buffers read ahead by a background thread, or 0 not to read ahead.
+     */
+    private int readAheadBufferSize = 0;
+
+    /**
+     * Offsets of the sort keys in a line, or {@code null} not to sort.
+     */
+    private int[] sortKeyOffsets;
+
+    /**
+     * Byte lengths of the sort keys.
+     */
+    private int[] sortKeyLengths;
+
+    /**
+     * Number of the leading lines which are not sorted.
+     */
+    private int unsortedHeaderLines = 0;
+
+    /**
+     * Number of the trailing lines which are not sorted.
+     */
+    private int unsortedTrailerLines = 0;
+
+    /**
+     * Size of the memory to sort the lines.
+     */
+    private int sortMemorySize = FixedByteLengthRecordSorter.DEFAULT_MEMORY_SIZE;
+
+    /**
+     * Number of threads sorting the lines.
+     */
+    private int sortThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Directory of the temporary files to sort the lines, or {@code null} for the default temporary directory.
+     */
+    private Path sortDirectory;
+
+    /**
+     * Whether to allocate the memory to sort the lines off-heap.
+     */
+    private boolean sortOffHeap = false;
+
     /**
      * Create a new instance with the specified parameters.
      *
@@ -59,6 +137,161 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
         this.byteLength = byteLength;
     }
 
+    /**
+     * Sets the separator following each line, e.g. "\r\n" for the lines terminated by CRLF. The separator is not included in
+     * the fixed byte length.
+     *
+     * @param lineSeparator the separator. Default value is an empty string, which means the lines are not separated.
+     * @throws IllegalArgumentException if {@code lineSeparator} is null.
+     */
+    public void setLineSeparator(String lineSeparator) {
+        Assert.notNull(lineSeparator, "lineSeparator must be set.");
+        this.lineSeparator = lineSeparator;
+    }
+
+    /**
+     * Sets the compression of the input file. The compressed file is decompressed while it is read.
+     *
+     * @param compression the compression. Default value is {@link FileCompression#NONE}.
+     */
+    public void setCompression(FileCompression compression) {
+        Assert.notNull(compression, "compression must be set.");
+        this.compression = compression;
+    }
+
+    /**
+     * Sets the number of threads decompressing the input file. If 2 or more, the gzip members which have their size, e.g.
+     * written by {@link AbstractFileChannelItemWriter} with compression, are decompressed in parallel.
+     *
+     * @param decompressionThreads the number of threads. Default value is 1.
+     * @throws IllegalArgumentException if {@code decompressionThreads} is not higher than zero.
+     */
+    public void setDecompressionThreads(int decompressionThreads) {
+        Assert.isTrue(decompressionThreads > 0, "decompressionThreads must be higher than zero. [decompressionThreads:"
+                + decompressionThreads + "]");
+        this.decompressionThreads = decompressionThreads;
+    }
+
+    /**
+     * Sets the size of the buffers read ahead. If higher than zero, a background thread reads the next buffer of the input
+     * file while the current buffer is consumed, so that reading from slow storage overlaps the processing of the items.
+     * Two buffers are used alternately, and the background thread is stopped when the reader is closed.
+     *
+     * @param readAheadBufferSize the size of each buffer in bytes, or 0 not to read ahead. Default value is 0.
+     * @throws IllegalArgumentException if {@code readAheadBufferSize} is negative.
+     */
+    public void setReadAheadBufferSize(int readAheadBufferSize) {
+        Assert.isTrue(readAheadBufferSize >= 0, "readAheadBufferSize must be zero or more. [readAheadBufferSize:"
+                + readAheadBufferSize + "]");
+        this.readAheadBufferSize = readAheadBufferSize;
+    }
+
+    /**
+     * Sets the byte ranges of the keys to sort the lines. The lines are sorted in the ascending order of the keys compared as
+     * unsigned bytes, in the order of the ranges. The order is the same as the order of the characters for ASCII and UTF-8,
+     * but not for EBCDIC or the multibyte characters of MS932.
+     * <p>
+     * The lines are sorted before {@code linesToSkip} of the item reader is applied, so that the header and trailer lines
+     * must be excluded from the sort by {@link #setUnsortedHeaderLines(int)} and {@link #setUnsortedTrailerLines(int)}.
+     * Otherwise they are sorted with the data lines and the reader skips the first lines of the sorted lines.
+     * </p>
+     *
+     * @param sortKeys the byte ranges of the keys in a line. An open range ends at the end of the line. Default value is
+     *            empty, which means the lines are not sorted.
+     * @throws IllegalArgumentException if {@code sortKeys} is null, or a range exceeds the byte length.
+     */
+    public void setSortKeys(Range... sortKeys) {
+        Assert.notNull(sortKeys, "sortKeys must be set.");
+        if (sortKeys.length == 0) {
+            this.sortKeyOffsets = null;
+            this.sortKeyLengths = null;
+            return;
+        }
+        int[] offsets = new int[sortKeys.length];
+        int[] lengths = new int[sortKeys.length];
+        for (int i = 0; i < sortKeys.length; i++) {
+            Range range = sortKeys[i];
+            Assert.notNull(range, "sortKeys must not contain null.");
+            int max = range.hasMaxValue() ? range.getMax() : byteLength;
+            Assert.isTrue(max <= byteLength, "sortKeys must be within the byte length. [sortKey:" + range
+                    + "][byteLength:" + byteLength + "]");
+            offsets[i] = range.getMin() - 1;
+            lengths[i] = max - offsets[i];
+        }
+        this.sortKeyOffsets = offsets;
+        this.sortKeyLengths = lengths;
+    }
+
+    /**
+     * Sets the number of the leading lines which are not sorted, e.g. the header lines. They are read before the sorted lines
+     * as they are, so that they can be skipped by {@code linesToSkip} of the item reader.
+     *
+     * @param unsortedHeaderLines the number of the lines. Default value is 0.
+     * @throws IllegalArgumentException if {@code unsortedHeaderLines} is negative.
+     */
+    public void setUnsortedHeaderLines(int unsortedHeaderLines) {
+        Assert.isTrue(unsortedHeaderLines >= 0, "unsortedHeaderLines must be zero or more. [unsortedHeaderLines:"
+                + unsortedHeaderLines + "]");
+        this.unsortedHeaderLines = unsortedHeaderLines;
+    }
+
+    /**
+     * Sets the number of the trailing lines which are not sorted, e.g. the trailer lines. They are read after the sorted lines
+     * as they are. The trailing lines are held in memory until the end of the input file.
+     *
+     * @param unsortedTrailerLines the number of the lines. Default value is 0.
+     * @throws IllegalArgumentException if {@code unsortedTrailerLines} is negative.
+     */
+    public void setUnsortedTrailerLines(int unsortedTrailerLines) {
+        Assert.isTrue(unsortedTrailerLines >= 0, "unsortedTrailerLines must be zero or more. [unsortedTrailerLines:"
+                + unsortedTrailerLines + "]");
+        this.unsortedTrailerLines = unsortedTrailerLines;
+    }
+
+    /**
+     * Sets the size of the memory to sort the lines. The lines which fit in the memory are sorted as a run, and the runs are
+     * written to the temporary files and merged if the input file is larger. In addition, 8 bytes per line are used on the
+     * heap to sort a run.
+     *
+     * @param sortMemorySize the size in bytes. Default value is 64 MiB.
+     * @throws IllegalArgumentException if {@code sortMemorySize} is not higher than zero.
+     */
+    public void setSortMemorySize(int sortMemorySize) {
+        Assert.isTrue(sortMemorySize > 0, "sortMemorySize must be higher than zero. [sortMemorySize:" + sortMemorySize
+                + "]");
+        this.sortMemorySize = sortMemorySize;
+    }
+
+    /**
+     * Sets the number of threads sorting the lines. If 2 or more, the runs are sorted and written in parallel while the next
+     * run is read, and the memory is divided into the buffers of the runs.
+     *
+     * @param sortThreads the number of threads. Default value is the number of the available processors.
+     * @throws IllegalArgumentException if {@code sortThreads} is not higher than zero.
+     */
+    public void setSortThreads(int sortThreads) {
+        Assert.isTrue(sortThreads > 0, "sortThreads must be higher than zero. [sortThreads:" + sortThreads + "]");
+        this.sortThreads = sortThreads;
+    }
+
+    /**
+     * Sets the directory of the temporary files to sort the lines, which needs the free space of the input file size.
+     *
+     * @param sortDirectory the directory. Default value is {@code null}, which means the default temporary directory.
+     */
+    public void setSortDirectory(Path sortDirectory) {
+        this.sortDirectory = sortDirectory;
+    }
+
+    /**
+     * Sets whether to allocate the memory to sort the lines off-heap, so that a large memory does not increase the heap size.
+     *
+     * @param sortOffHeap true to allocate off-heap. Default value is false.
+     */
+    public void setSortOffHeap(boolean sortOffHeap) {
+        this.sortOffHeap = sortOffHeap;
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -67,7 +300,159 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
     @Override
     public BufferedReader create(Resource resource, String encoding) throws IOException {
         Assert.notNull(resource, "resource must be set.");
-        return new FixedByteLengthBufferedReader(resource.getInputStream(), encoding, byteLength);
+        InputStream in = compression.open(resource, decompressionThreads, readAheadBufferSize);
+        if (sortKeyOffsets != null) {
+            byte[] separator = lineSeparator.getBytes(Charset.forName(encoding));
+            int recordLength = Math.addExact(byteLength, separator.length);
+            FixedByteLengthRecordSorter sorter = new FixedByteLengthRecordSorter(byteLength, separator, sortKeyOffsets,
+                    sortKeyLengths, sortMemorySize, sortThreads, sortDirectory, sortOffHeap);
+            try (InputStream unsorted = in) {
+                byte[] header = unsorted.readNBytes(Math.multiplyExact(unsortedHeaderLines, recordLength));
+                TrailerHoldingInputStream body = new TrailerHoldingInputStream(unsorted, byteLength, recordLength,
+                        unsortedTrailerLines);
+                InputStream sorted = sorter.sort(body);
+                in = new SequenceInputStream(Collections.enumeration(Arrays.asList(new ByteArrayInputStream(header),
+                        sorted, new ByteArrayInputStream(body.getTrailer()))));
+            }
+        }
+        return new FixedByteLengthBufferedReader(in, encoding, byteLength, lineSeparator);
+    }
+
+    /**
+     * Input stream which holds back the trailing lines of the input stream, so that they are not sorted. The trailing lines
+     * are available by {@link #getTrailer()} after the end of the stream has been reached.
+     *
+     * @since 5.7.0
+     */
+    private static final class TrailerHoldingInputStream extends InputStream {
+
+        /**
+         * Size of the bytes read at once in addition to the held bytes.
+         */
+        private static final int READ_SIZE = 8192;
+
+        /**
+         * Input stream reading the input file.
+         */
+        private final InputStream in;
+
+        /**
+         * The byte length of a line.
+         */
+        private final int byteLength;
+
+        /**
+         * The byte length of a line and the separator.
+         */
+        private final int recordLength;
+
+        /**
+         * Number of the bytes of the trailing lines with the separators.
+         */
+        private final int heldLength;
+
+        /**
+         * Buffer of the bytes read from the input stream and not returned yet.
+         */
+        private final byte[] window;
+
+        /**
+         * Start of the bytes not returned yet in the buffer.
+         */
+        private int start;
+
+        /**
+         * End of the bytes read into the buffer.
+         */
+        private int end;
+
+        /**
+         * Number of the bytes read from the input stream.
+         */
+        private long total;
+
+        /**
+         * Number of the bytes of the trailing lines, determined at the end of the stream, or -1 before.
+         */
+        private int trailerLength = -1;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param in the input stream.
+         * @param byteLength the byte length of a line.
+         * @param recordLength the byte length of a line and the separator.
+         * @param lines the number of the trailing lines.
+         */
+        private TrailerHoldingInputStream(InputStream in, int byteLength, int recordLength, int lines) {
+            this.in = in;
+            this.byteLength = byteLength;
+            this.recordLength = recordLength;
+            this.heldLength = Math.multiplyExact(lines, recordLength);
+            this.window = new byte[Math.addExact(heldLength, READ_SIZE)];
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) < 0 ? -1 : b[0] & 0xff;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            while (releasable() == 0 && trailerLength < 0) {
+                if (start > 0) {
+                    System.arraycopy(window, start, window, 0, end - start);
+                    end -= start;
+                    start = 0;
+                }
+                int n = in.read(window, end, window.length - end);
+                if (n < 0) {
+                    // the separator can be omitted after the last line, which is not included in the trailer.
+                    boolean omitted = total % recordLength == byteLength && byteLength != recordLength;
+                    trailerLength = Math.min(end - start, omitted ? Math.max(0, heldLength - (recordLength - byteLength))
+                            : heldLength);
+                } else {
+                    end += n;
+                    total += n;
+                }
+            }
+            int n = Math.min(len, releasable());
+            if (n == 0) {
+                return -1;
+            }
+            System.arraycopy(window, start, b, off, n);
+            start += n;
+            return n;
+        }
+
+        /**
+         * Return the trailing lines.
+         *
+         * @return the bytes of the trailing lines.
+         */
+        private byte[] getTrailer() {
+            Assert.state(trailerLength >= 0, "the end of the stream must be reached.");
+            return Arrays.copyOfRange(window, start, end);
+        }
+
+        /**
+         * Return the number of the bytes which can be returned.
+         *
+         * @return the number of the bytes.
+         */
+        private int releasable() {
+            return Math.max(0, end - start - (trailerLength < 0 ? heldLength : trailerLength));
+        }
     }
 
     /**
@@ -78,7 +463,7 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
      *
      * @since 5.0.0
      */
-    private final class FixedByteLengthBufferedReader extends BufferedReader {
+    final class FixedByteLengthBufferedReader extends BufferedReader {
 
         /**
          * Input stream reading the input file.
@@ -90,11 +475,36 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
          */
         private final Charset charset;
 
+        /**
+         * Decoder converting a line to String.
+         */
+        private final FastCharsetDecoder decoder;
+
+        /**
+         * Buffer of a line and the separator, reused for all lines.
+         */
+        private final byte[] line;
+
         /**
          * The byte length of a line.
          */
         private final int byteLength;
 
+        /**
+         * Bytes of the separator following each line.
+         */
+        private final byte[] separator;
+
+        /**
+         * The byte length of a line and the separator.
+         */
+        private final int recordLength;
+
+        /**
+         * Number of the skipped lines which are not returned by {@link #readLine()} yet.
+         */
+        private long pendingSkips;
+
         /**
          * Create a new instance with the specified parameters.
          * <p>
@@ -104,12 +514,17 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
          * @param in InputStream obtained from resource.
          * @param encoding the encoding required for converting binary data to String.
          * @param byteLength the byte length of a line.
+         * @param lineSeparator the separator following each line.
          */
-        private FixedByteLengthBufferedReader(InputStream in, String encoding, int byteLength) {
+        private FixedByteLengthBufferedReader(InputStream in, String encoding, int byteLength, String lineSeparator) {
             super(new StringReader("dummy"));
             this.in = in;
             this.charset = Charset.forName(encoding);
+            this.decoder = FastCharsetDecoder.forCharset(charset);
             this.byteLength = byteLength;
+            this.separator = lineSeparator.getBytes(charset);
+            this.recordLength = Math.addExact(byteLength, separator.length);
+            this.line = new byte[recordLength];
         }
 
         /**
@@ -117,22 +532,92 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
          *
          * @return a string converted from fixed bytes, or null if the end of the stream has been reached
          * @throws IncorrectLineLengthException if line length is less than the fixed byte length.
+         * @throws FlatFileFormatException if the line is not followed by the separator.
          * @throws IOException if an I/O error occurs.
          */
         @Override
         public String readLine() throws IOException {
 
-            byte[] line = new byte[byteLength];
+            if (pendingSkips > 0) {
+                pendingSkips--;
+                return SKIPPED_LINE;
+            }
 
-            int readByteLength = in.read(line);
+            return readRecord() ? decoder.decode(line, 0, byteLength) : null;
 
-            if (readByteLength == byteLength) {
+        }
 
-                return new String(line, charset);
+        /**
+         * Reads the bytes of the next line without decoding them, so that the line can be decoded by another thread with
+         * {@link #decode(byte[], int)}. The skipped lines must be read by {@link #readLine()} before.
+         *
+         * @param bytes the array into which the bytes of the line are read.
+         * @param offset the offset in the array.
+         * @return false if the end of the stream has been reached.
+         * @throws IncorrectLineLengthException if line length is less than the fixed byte length.
+         * @throws FlatFileFormatException if the line is not followed by the separator.
+         * @throws IOException if an I/O error occurs.
+         */
+        boolean readBytes(byte[] bytes, int offset) throws IOException {
+            Assert.state(pendingSkips == 0, "the skipped lines must be read before.");
+            if (!readRecord()) {
+                return false;
+            }
+            System.arraycopy(line, 0, bytes, offset, byteLength);
+            return true;
+        }
 
-            } else if (readByteLength == -1) {
+        /**
+         * Decode the bytes of a line read by {@link #readBytes(byte[], int)}. This method is thread safe.
+         *
+         * @param bytes the array containing the bytes of the line.
+         * @param offset the offset of the line in the array.
+         * @return the line.
+         */
+        String decode(byte[] bytes, int offset) {
+            return decoder.decode(bytes, offset, byteLength);
+        }
 
-                return null;
+        /**
+         * Return the byte length of a line.
+         *
+         * @return the byte length.
+         */
+        int getByteLength() {
+            return byteLength;
+        }
+
+        /**
+         * Reads the next line and the separator into the buffer.
+         *
+         * @return false if the end of the stream has been reached.
+         * @throws IncorrectLineLengthException if line length is less than the fixed byte length.
+         * @throws FlatFileFormatException if the line is not followed by the separator.
+         * @throws IOException if an I/O error occurs.
+         */
+        private boolean readRecord() throws IOException {
+
+            int readByteLength = in.readNBytes(line, 0, recordLength);
+
+            if (readByteLength == recordLength) {
+
+                checkSeparator();
+                return true;
+
+            } else if (readByteLength == byteLength) {
+
+                // the separator can be omitted after the last line.
+                return true;
+
+            } else if (readByteLength == 0) {
+
+                return false;
+
+            } else if (readByteLength > byteLength) {
+
+                throw new FlatFileFormatException("the line is not followed by the separator. [readByteLength:"
+                        + readByteLength + "][byteLength:" + byteLength + "]", new String(line, 0, readByteLength,
+                                charset));
 
             } else {
 
@@ -143,6 +628,61 @@ public class FixedByteLengthBufferedReaderFactory implements BufferedReaderFacto
 
         }
 
+        /**
+         * Check that the line read into the buffer is followed by the separator.
+         *
+         * @throws FlatFileFormatException if the separator does not match.
+         */
+        private void checkSeparator() {
+            for (int i = 0; i < separator.length; i++) {
+                if (line[byteLength + i] != separator[i]) {
+                    throw new FlatFileFormatException("the line is not followed by the separator. [byteLength:"
+                            + byteLength + "]", new String(line, 0, recordLength, charset));
+                }
+            }
+        }
+
+        /**
+         * Skip the lines without decoding them. The input stream is skipped by {@link InputStream#skip(long)}, which seeks the
+         * file for a file input stream, and the next {@code count} calls of {@link #readLine()} return an empty string
+         * without reading, so that the caller can count the skipped lines in the same way as the lines read. The separators of
+         * the skipped lines are not checked.
+         *
+         * @param count the number of lines to be skipped.
+         * @throws IncorrectLineLengthException if the last line before the end of the stream is shorter than the fixed byte
+         *             length.
+         * @throws IOException if an I/O error occurs.
+         */
+        void skipLines(long count) throws IOException {
+            long requested = Math.multiplyExact(count, (long) recordLength);
+            long remaining = requested;
+            while (remaining > 0) {
+                long skipped = in.skip(remaining);
+                if (skipped <= 0) {
+                    // skip may return 0 before the end of the stream, which is checked by reading a byte.
+                    if (in.read() < 0) {
+                        break;
+                    }
+                    skipped = 1;
+                }
+                remaining -= skipped;
+            }
+            long skippedBytes = requested - remaining;
+            long skippedLines = skippedBytes / recordLength;
+            int readByteLength = (int) (skippedBytes % recordLength);
+            if (readByteLength == byteLength) {
+                // the last line without the separator.
+                skippedLines++;
+            } else if (readByteLength > byteLength) {
+                throw new FlatFileFormatException("the line is not followed by the separator. [readByteLength:"
+                        + readByteLength + "][byteLength:" + byteLength + "]", "");
+            } else if (readByteLength != 0) {
+                throw new IncorrectLineLengthException("readByteLength is less than byteLength. [readByteLength:"
+                        + readByteLength + "]" + "[byteLength:" + byteLength + "]", byteLength, readByteLength);
+            }
+            pendingSkips += skippedLines;
+        }
+
         /**
          * This operation is not supported.
          *
@@ -0,0 +1,255 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.item.file.BufferedReaderFactory;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.separator.RecordSeparatorPolicy;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+
+/**
+ * FlatFileItemReader for fixed-byte-length records, which moves to the restart position by skipping the bytes instead of
+ * reading and decoding all records before it.
+ * <p>
+ * The reader is created by {@link FixedByteLengthBufferedReaderFactory}. At restart, or if {@code currentItemCount} is set,
+ * the bytes of the records before the position are skipped at once, which seeks the file for a file on the file system, and
+ * skips the raw bytes without decoding them for other resources and compressed files. The line count of FlatFileItemReader is
+ * kept as it is, so that the line numbers passed to the line mapper are the same as without skipping.
+ * </p>
+ * <p>
+ * Comments are not supported by default, because the records of a fixed-length file can start with any character. If the
+ * comment prefixes are set, the records are read one by one at restart in the same way as FlatFileItemReader, to skip the
+ * comments correctly.
+ * </p>
+ * <p>
+ * If {@code parseThreads} is 2 or more, the lines are decoded and mapped to the items by the worker threads, while a thread
+ * reads the raw bytes of the lines, and the items are returned in the order of the lines. The step can stay single-threaded
+ * and restartable, because the number of the items read is counted in the order of the lines in the same way as without
+ * the worker threads, and the lines read ahead but not returned are read again at restart.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, in the same way as FlatFileItemReader.
+ * </p>
+ *
+ * @param <T> the type of the items.
+ * @since 5.7.0
+ */
+public class FixedByteLengthFileItemReader<T> extends FlatFileItemReader<T> {
+
+    /**
+     * Factory of the reader.
+     */
+    private FixedByteLengthBufferedReaderFactory bufferedReaderFactory;
+
+    /**
+     * Reader created by the factory at open.
+     */
+    private FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader reader;
+
+    /**
+     * Number of threads mapping the lines to the items.
+     */
+    private int parseThreads = 1;
+
+    /**
+     * Mapper of the lines to the items.
+     */
+    private LineMapper<T> lineMapper;
+
+    /**
+     * Resource to be read.
+     */
+    private Resource resource;
+
+    /**
+     * Number of lines skipped at the beginning of the file.
+     */
+    private int linesToSkip = 0;
+
+    /**
+     * Whether the record separator policy is set.
+     */
+    private boolean recordSeparatorPolicySet = false;
+
+    /**
+     * Index of the item from which the reader starts after open.
+     */
+    private int startItem = 0;
+
+    /**
+     * Pipeline mapping the lines by the worker threads, or {@code null} if not started.
+     */
+    private OrderedParsePipeline<T> pipeline;
+
+    /**
+     * Create a new instance.
+     */
+    public FixedByteLengthFileItemReader() {
+        setName(ClassUtils.getShortName(FixedByteLengthFileItemReader.class));
+        setComments(new String[0]);
+    }
+
+    /**
+     * Sets the factory of the reader, which must be {@link FixedByteLengthBufferedReaderFactory}.
+     *
+     * @param bufferedReaderFactory the factory.
+     * @throws IllegalArgumentException if the factory is not {@link FixedByteLengthBufferedReaderFactory}.
+     */
+    @Override
+    public void setBufferedReaderFactory(BufferedReaderFactory bufferedReaderFactory) {
+        Assert.isInstanceOf(FixedByteLengthBufferedReaderFactory.class, bufferedReaderFactory,
+                "bufferedReaderFactory must be FixedByteLengthBufferedReaderFactory.");
+        this.bufferedReaderFactory = (FixedByteLengthBufferedReaderFactory) bufferedReaderFactory;
+        super.setBufferedReaderFactory((resource, encoding) -> {
+            BufferedReader created = this.bufferedReaderFactory.create(resource, encoding);
+            this.reader = (FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader) created;
+            return created;
+        });
+    }
+
+    /**
+     * Sets the number of threads decoding and mapping the lines to the items. If 2 or more, the line mapper must be thread
+     * safe, e.g. DefaultLineMapper with FixedByteLengthLineTokenizer and BeanWrapperFieldSetMapper. The worker threads are
+     * not used if the comment prefixes or the record separator policy are set.
+     *
+     * @param parseThreads the number of threads. Default value is 1, which means the lines are mapped by the reading thread.
+     * @throws IllegalArgumentException if {@code parseThreads} is not higher than zero.
+     */
+    public void setParseThreads(int parseThreads) {
+        Assert.isTrue(parseThreads > 0, "parseThreads must be higher than zero. [parseThreads:" + parseThreads + "]");
+        this.parseThreads = parseThreads;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLineMapper(LineMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+        super.setLineMapper(lineMapper);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setResource(Resource resource) {
+        this.resource = resource;
+        super.setResource(resource);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+        super.setLinesToSkip(linesToSkip);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setRecordSeparatorPolicy(RecordSeparatorPolicy recordSeparatorPolicy) {
+        this.recordSeparatorPolicySet = true;
+        super.setRecordSeparatorPolicy(recordSeparatorPolicy);
+    }
+
+    /**
+     * Check mandatory properties.
+     *
+     * @throws Exception if the factory of the reader or the line mapper is not set.
+     */
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        Assert.state(bufferedReaderFactory != null, "bufferedReaderFactory must be set.");
+        super.afterPropertiesSet();
+    }
+
+    /**
+     * Open the resource.
+     *
+     * @throws Exception if failed to open.
+     */
+    @Override
+    protected void doOpen() throws Exception {
+        startItem = 0;
+        super.doOpen();
+    }
+
+    /**
+     * Read the next item. If {@code parseThreads} is 2 or more, the item is returned from the pipeline of the worker
+     * threads, which is started at the first call.
+     *
+     * @return the item, or {@code null} at the end of the file.
+     * @throws Exception if failed to read or map the line.
+     */
+    @Override
+    protected T doRead() throws Exception {
+        if (parseThreads == 1 || reader == null || comments.length > 0 || recordSeparatorPolicySet) {
+            return super.doRead();
+        }
+        if (pipeline == null) {
+            pipeline = new OrderedParsePipeline<>(reader, lineMapper, resource, linesToSkip + startItem,
+                    parseThreads);
+        }
+        return pipeline.next();
+    }
+
+    /**
+     * Skip the bytes of the records before the item, and count them as read lines. The records are read one by one if
+     * comments or a record separator policy are set, because an item is not always a record.
+     *
+     * @param itemIndex the index of the item from zero.
+     * @throws Exception if failed to skip.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (reader != null && comments.length == 0 && !recordSeparatorPolicySet) {
+            reader.skipLines(itemIndex);
+        }
+        super.jumpToItem(itemIndex);
+        startItem = itemIndex;
+    }
+
+    /**
+     * Stop the worker threads, and close the reader.
+     *
+     * @throws Exception if failed to close.
+     */
+    @Override
+    protected void doClose() throws Exception {
+        OrderedParsePipeline<T> stopping = pipeline;
+        pipeline = null;
+        reader = null;
+        if (stopping != null) {
+            stopping.stop();
+        }
+        try {
+            super.doClose();
+        } finally {
+            if (stopping != null) {
+                stopping.await();
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.util.Assert;
+import org.terasoluna.batch.item.file.transform.FixedByteLengthLineAggregator;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+
+/**
+ * An item writer that writes items as records with fixed-byte-length format.
+ * <p>
+ * Each item is converted by {@link FixedByteLengthLineAggregator} into a reused byte array, and the bytes are written as is.
+ * Unlike the combination of FlatFileItemWriter and FixedByteLengthLineAggregator, the record is not decoded into a String and
+ * encoded again.
+ * </p>
+ * <p>
+ * The record separator is the line separator. To write records without a record separator, set an empty string to the line
+ * separator. The charset of the line aggregator is also used for the line separator, header and footer, so the encoding of
+ * this writer is ignored.
+ * </p>
+ * <p>
+ * Since the size of a record is fixed, the size of the output file can be preallocated from {@code expectedItemCount}.
+ * </p>
+ *
+ * @param <T> Type of the item to be written
+ * @since 5.7.0
+ */
+public class FixedByteLengthFileItemWriter<T> extends AbstractFileChannelItemWriter<T> {
+
+    /**
+     * Aggregator which converts an item into a record.
+     */
+    private FixedByteLengthLineAggregator<T> lineAggregator;
+
+    /**
+     * Reused array of a record followed by the record separator, which is created at the first write.
+     */
+    private byte[] record;
+
+    /**
+     * Expected number of the items written, used to preallocate the file.
+     */
+    private long expectedItemCount = 0;
+
+    /**
+     * Public setter for the line aggregator.
+     *
+     * @param lineAggregator the line aggregator which converts an item into a record.
+     */
+    public void setLineAggregator(FixedByteLengthLineAggregator<T> lineAggregator) {
+        this.lineAggregator = lineAggregator;
+        this.record = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setLineSeparator(String lineSeparator) {
+        super.setLineSeparator(lineSeparator);
+        this.record = null;
+    }
+
+    /**
+     * Sets the expected number of the items written by this writer, e.g. the number of the input records. The file is
+     * preallocated for the records of the items and the record separators, instead of {@code preallocationSize}.
+     *
+     * @param expectedItemCount the number of items, or 0 to use {@code preallocationSize}. Default value is 0.
+     * @throws IllegalArgumentException if {@code expectedItemCount} is negative.
+     */
+    public void setExpectedItemCount(long expectedItemCount) {
+        Assert.isTrue(expectedItemCount >= 0, "expectedItemCount must be zero or more. [expectedItemCount:"
+                + expectedItemCount + "]");
+        this.expectedItemCount = expectedItemCount;
+    }
+
+    /**
+     * Check the properties.
+     *
+     * @throws IllegalArgumentException If line aggregator is not set.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        Assert.notNull(lineAggregator, "lineAggregator must be set.");
+    }
+
+    /**
+     * Write the record of the item and the record separator.
+     *
+     * @param item the item to be written.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    protected void writeItem(T item) throws IOException {
+        byte[] bytes = this.record;
+        if (bytes == null) {
+            byte[] separator = lineSeparator.getBytes(getCharset());
+            int recordLength = lineAggregator.getRecordLength();
+            bytes = new byte[recordLength + separator.length];
+            System.arraycopy(separator, 0, bytes, recordLength, separator.length);
+            this.record = bytes;
+        }
+        lineAggregator.aggregate(item, bytes, 0);
+        writeBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Return the size of the records of {@code expectedItemCount} items not written yet if set, or
+     * {@code preallocationSize}.
+     *
+     * @param linesWritten the number of the items written before, which is not 0 at restart.
+     * @return the size in bytes.
+     */
+    @Override
+    protected long getPreallocationSize(long linesWritten) {
+        if (expectedItemCount == 0) {
+            return super.getPreallocationSize(linesWritten);
+        }
+        int separatorLength = lineSeparator.getBytes(getCharset()).length;
+        return Math.multiplyExact(Math.max(0, expectedItemCount - linesWritten), (long) lineAggregator.getRecordLength()
+                + separatorLength);
+    }
+
+    /**
+     * Return the charset of the line aggregator.
+     *
+     * @return the charset.
+     */
+    @Override
+    protected Charset getCharset() {
+        return lineAggregator.getCharset();
+    }
+}
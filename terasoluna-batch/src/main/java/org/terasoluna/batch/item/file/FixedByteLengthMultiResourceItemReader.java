@@ -0,0 +1,662 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.NonTransientFlatFileException;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Item reader that reads the records of many fixed-byte-length files in order, opening the following files in advance by a
+ * bounded pool of I/O threads.
+ * <p>
+ * This reader is used instead of MultiResourceItemReader with FlatFileItemReader, when the job reads many small files and the
+ * time to open and close each file dominates. While the records of a file are read, up to {@code prefetchFiles} following
+ * files are opened by {@code ioThreads} threads, and the first {@code prefetchBufferSize} bytes of each file are read into a
+ * pooled buffer, which is reused for the following files. A file which fits in the buffer is closed by the I/O thread at
+ * once, and its records are read from the memory.
+ * </p>
+ * <p>
+ * The resources are sorted by {@code comparator} in the same way as MultiResourceItemReader, and the records are returned in
+ * the order of the resources and the lines regardless of the order in which the files are opened. The index of the current
+ * resource and the number of items read from it are saved in the execution context, so that the reader is restarted at the
+ * record by skipping the bytes of the records before it. The line numbers passed to the {@link LineMapper} are counted per
+ * resource, including the skipped lines.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, in the same way as MultiResourceItemReader.
+ * </p>
+ *
+ * @param <T> the type of the items.
+ * @since 5.7.0
+ */
+public class FixedByteLengthMultiResourceItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> implements
+                                                  InitializingBean {
+
+    /**
+     * Default number of the files opened in advance.
+     */
+    public static final int DEFAULT_PREFETCH_FILES = 4;
+
+    /**
+     * Default size of the buffer read in advance per file.
+     */
+    public static final int DEFAULT_PREFETCH_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Key of the index of the current resource in the execution context.
+     */
+    private static final String RESOURCE_INDEX_KEY = "resourceIndex";
+
+    /**
+     * Key of the number of the items read from the current resource in the execution context.
+     */
+    private static final String RESOURCE_ITEM_COUNT_KEY = "resourceItemCount";
+
+    /**
+     * Resources to be read.
+     */
+    private Resource[] resources;
+
+    /**
+     * Comparator to sort the resources.
+     */
+    private Comparator<Resource> comparator = Comparator.comparing(Resource::getFilename);
+
+    /**
+     * Factory of the readers of the resources.
+     */
+    private FixedByteLengthBufferedReaderFactory bufferedReaderFactory;
+
+    /**
+     * Encoding of the resources.
+     */
+    private String encoding = FlatFileItemReader.DEFAULT_CHARSET;
+
+    /**
+     * Mapper of the lines to the items.
+     */
+    private LineMapper<T> lineMapper;
+
+    /**
+     * Number of lines skipped at the beginning of each resource.
+     */
+    private int linesToSkip = 0;
+
+    /**
+     * Whether to fail if no resource is set.
+     */
+    private boolean strict = false;
+
+    /**
+     * Number of the files opened in advance.
+     */
+    private int prefetchFiles = DEFAULT_PREFETCH_FILES;
+
+    /**
+     * Number of the threads opening the files.
+     */
+    private int ioThreads = 2;
+
+    /**
+     * Size of the buffer read in advance per file.
+     */
+    private int prefetchBufferSize = DEFAULT_PREFETCH_BUFFER_SIZE;
+
+    /**
+     * Resources sorted at open.
+     */
+    private Resource[] sorted;
+
+    /**
+     * Threads opening the files, or {@code null} if not opened.
+     */
+    private ExecutorService ioPool;
+
+    /**
+     * Threads created by {@link #ioPool}, joined at close.
+     */
+    private final List<Thread> ioPoolThreads = new CopyOnWriteArrayList<>();
+
+    /**
+     * Files being opened in the order of the resources.
+     */
+    private final Deque<Future<PrefetchedFile>> prefetching = new ArrayDeque<>();
+
+    /**
+     * Index of the next resource to be submitted to {@link #ioPool}.
+     */
+    private int nextPrefetch;
+
+    /**
+     * File being read, or {@code null} if the next file is not opened yet.
+     */
+    private PrefetchedFile current;
+
+    /**
+     * Index of the resource being read, or the next resource if {@link #current} is {@code null}.
+     */
+    private int resourceIndex;
+
+    /**
+     * Number of the lines read from the current resource, including the skipped lines.
+     */
+    private long lineCount;
+
+    /**
+     * Index of the resource to be restarted from, or -1 if not restarted.
+     */
+    private int restartResourceIndex = -1;
+
+    /**
+     * Number of the items read from the resource to be restarted from.
+     */
+    private long restartItemCount;
+
+    /**
+     * Create a new instance.
+     */
+    public FixedByteLengthMultiResourceItemReader() {
+        setName(ClassUtils.getShortName(FixedByteLengthMultiResourceItemReader.class));
+    }
+
+    /**
+     * Sets the resources to be read.
+     *
+     * @param resources the resources.
+     */
+    public void setResources(Resource[] resources) {
+        Assert.notNull(resources, "resources must be set.");
+        this.resources = Arrays.copyOf(resources, resources.length);
+    }
+
+    /**
+     * Sets the comparator to sort the resources, which determines the order of the items.
+     *
+     * @param comparator the comparator. Default value compares the file names.
+     */
+    public void setComparator(Comparator<Resource> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Sets the factory of the readers of the resources.
+     *
+     * @param bufferedReaderFactory the factory.
+     */
+    public void setBufferedReaderFactory(FixedByteLengthBufferedReaderFactory bufferedReaderFactory) {
+        this.bufferedReaderFactory = bufferedReaderFactory;
+    }
+
+    /**
+     * Sets the encoding of the resources.
+     *
+     * @param encoding the encoding. Default value is {@link FlatFileItemReader#DEFAULT_CHARSET}.
+     */
+    public void setEncoding(String encoding) {
+        this.encoding = encoding;
+    }
+
+    /**
+     * Sets the mapper of the lines to the items.
+     *
+     * @param lineMapper the mapper.
+     */
+    public void setLineMapper(LineMapper<T> lineMapper) {
+        this.lineMapper = lineMapper;
+    }
+
+    /**
+     * Sets the number of lines skipped at the beginning of each resource, e.g. the header.
+     *
+     * @param linesToSkip the number of lines. Default value is 0.
+     */
+    public void setLinesToSkip(int linesToSkip) {
+        this.linesToSkip = linesToSkip;
+    }
+
+    /**
+     * Sets whether to fail if no resource is set, in the same way as MultiResourceItemReader.
+     *
+     * @param strict true to fail. Default value is false.
+     */
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * Sets the number of the files opened in advance while the current file is read.
+     *
+     * @param prefetchFiles the number of files. Default value is {@link #DEFAULT_PREFETCH_FILES}.
+     * @throws IllegalArgumentException if {@code prefetchFiles} is not higher than zero.
+     */
+    public void setPrefetchFiles(int prefetchFiles) {
+        Assert.isTrue(prefetchFiles > 0, "prefetchFiles must be higher than zero. [prefetchFiles:" + prefetchFiles
+                + "]");
+        this.prefetchFiles = prefetchFiles;
+    }
+
+    /**
+     * Sets the number of the threads opening the files in advance.
+     *
+     * @param ioThreads the number of threads. Default value is 2.
+     * @throws IllegalArgumentException if {@code ioThreads} is not higher than zero.
+     */
+    public void setIoThreads(int ioThreads) {
+        Assert.isTrue(ioThreads > 0, "ioThreads must be higher than zero. [ioThreads:" + ioThreads + "]");
+        this.ioThreads = ioThreads;
+    }
+
+    /**
+     * Sets the size of the buffer read in advance per file. The file which fits in the buffer is closed before it is read.
+     *
+     * @param prefetchBufferSize the size in bytes. Default value is {@link #DEFAULT_PREFETCH_BUFFER_SIZE}.
+     * @throws IllegalArgumentException if {@code prefetchBufferSize} is not higher than zero.
+     */
+    public void setPrefetchBufferSize(int prefetchBufferSize) {
+        Assert.isTrue(prefetchBufferSize > 0, "prefetchBufferSize must be higher than zero. [prefetchBufferSize:"
+                + prefetchBufferSize + "]");
+        this.prefetchBufferSize = prefetchBufferSize;
+    }
+
+    /**
+     * Check mandatory properties.
+     *
+     * @throws IllegalStateException if the factory, line mapper or comparator is not set.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(bufferedReaderFactory != null, "bufferedReaderFactory must be set.");
+        Assert.state(lineMapper != null, "lineMapper must be set.");
+        Assert.state(comparator != null, "comparator must be set.");
+    }
+
+    /**
+     * Open the reader, and keep the restart position of the resource.
+     *
+     * @param executionContext the execution context.
+     * @throws ItemStreamException if failed to open.
+     */
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        restartResourceIndex = -1;
+        if (isSaveState() && executionContext.containsKey(getExecutionContextKey(RESOURCE_INDEX_KEY))) {
+            restartResourceIndex = executionContext.getInt(getExecutionContextKey(RESOURCE_INDEX_KEY));
+            restartItemCount = executionContext.getLong(getExecutionContextKey(RESOURCE_ITEM_COUNT_KEY), 0L);
+        }
+        super.open(executionContext);
+    }
+
+    /**
+     * Save the index of the current resource and the number of items read from it.
+     *
+     * @param executionContext the execution context.
+     * @throws ItemStreamException if failed to save.
+     */
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState()) {
+            executionContext.putInt(getExecutionContextKey(RESOURCE_INDEX_KEY), resourceIndex);
+            executionContext.putLong(getExecutionContextKey(RESOURCE_ITEM_COUNT_KEY), Math.max(0, lineCount
+                    - linesToSkip));
+        }
+    }
+
+    /**
+     * Sort the resources, and start the I/O threads.
+     *
+     * @throws Exception if failed to open.
+     */
+    @Override
+    protected void doOpen() throws Exception {
+        Assert.notNull(resources, "resources must be set.");
+        sorted = Arrays.copyOf(resources, resources.length);
+        if (sorted.length == 0) {
+            if (strict) {
+                throw new IllegalStateException(
+                        "No resources to read. Set strict=false if this is not an error condition.");
+            }
+            return;
+        }
+        Arrays.sort(sorted, comparator);
+        resourceIndex = 0;
+        nextPrefetch = 0;
+        lineCount = 0;
+        ioPool = Executors.newFixedThreadPool(ioThreads, r -> {
+            Thread thread = new Thread(r, "file-prefetch");
+            thread.setDaemon(true);
+            ioPoolThreads.add(thread);
+            return thread;
+        });
+    }
+
+    /**
+     * Read the next item from the current resource, or from the following resources at the end of it.
+     *
+     * @return the item, or {@code null} at the end of all resources.
+     * @throws Exception if failed to read or map the line.
+     */
+    @Override
+    protected T doRead() throws Exception {
+        if (ioPool == null) {
+            return null;
+        }
+        while (true) {
+            if (current == null) {
+                if (resourceIndex >= sorted.length) {
+                    return null;
+                }
+                openCurrent(linesToSkip);
+            }
+            String line;
+            try {
+                line = current.reader.readLine();
+            } catch (IOException e) {
+                throw new NonTransientFlatFileException("Unable to read from resource: [" + current.resource + "]", e,
+                        null, (int) lineCount + 1);
+            }
+            if (line == null) {
+                closeCurrent();
+                resourceIndex++;
+                lineCount = 0;
+                continue;
+            }
+            lineCount++;
+            if (lineCount <= current.linesToSkip) {
+                continue;
+            }
+            try {
+                return lineMapper.mapLine(line, (int) lineCount);
+            } catch (Exception e) {
+                throw new FlatFileParseException("Parsing error at line: " + lineCount + " in resource=["
+                        + current.resource.getDescription() + "], input=[" + line + "]", e, line, (int) lineCount);
+            }
+        }
+    }
+
+    /**
+     * Move to the item. If the restart position of the resource is saved, the resources before it are not opened, and the
+     * bytes of the records before the item are skipped.
+     *
+     * @param itemIndex the index of the item from zero.
+     * @throws Exception if failed to move.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (ioPool == null) {
+            return;
+        }
+        if (restartResourceIndex < 0) {
+            super.jumpToItem(itemIndex);
+            return;
+        }
+        resourceIndex = Math.min(restartResourceIndex, sorted.length);
+        nextPrefetch = resourceIndex;
+        if (resourceIndex < sorted.length) {
+            openCurrent(linesToSkip + restartItemCount);
+        }
+    }
+
+    /**
+     * Stop the I/O threads, and close the files opened in advance.
+     *
+     * @throws Exception if failed to close.
+     */
+    @Override
+    protected void doClose() throws Exception {
+        ExecutorService pool = ioPool;
+        ioPool = null;
+        if (pool == null) {
+            return;
+        }
+        pool.shutdown();
+        try {
+            closeCurrent();
+            while (!prefetching.isEmpty()) {
+                Future<PrefetchedFile> future = prefetching.poll();
+                try {
+                    future.get().close();
+                } catch (ExecutionException e) {
+                    // failed to open, nothing to close.
+                }
+            }
+        } finally {
+            prefetching.clear();
+            for (Thread thread : ioPoolThreads) {
+                thread.join();
+            }
+            ioPoolThreads.clear();
+            lineCount = 0;
+            resourceIndex = 0;
+        }
+    }
+
+    /**
+     * Take the current resource from the files opened in advance, and submit the following resources to the I/O threads. If
+     * failed to open, the resource is passed, so that the next read opens the following resource if the failure is skipped.
+     *
+     * @param skip the number of lines skipped at the beginning of the resource.
+     * @throws Exception if failed to open the resource.
+     */
+    private void openCurrent(long skip) throws Exception {
+        prefetch();
+        Future<PrefetchedFile> future = prefetching.poll();
+        PrefetchedFile file;
+        try {
+            file = future.get();
+        } catch (ExecutionException e) {
+            Resource failed = sorted[resourceIndex];
+            resourceIndex++;
+            lineCount = 0;
+            Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new ItemStreamException("Failed to open the resource. [resource:" + failed.getDescription() + "]",
+                    cause);
+        } finally {
+            prefetch();
+        }
+        current = file;
+        file.linesToSkip = skip;
+        lineCount = 0;
+        file.reader.skipLines(skip);
+    }
+
+    /**
+     * Submit the following resources to the I/O threads, up to {@code prefetchFiles} files.
+     */
+    private void prefetch() {
+        while (prefetching.size() < prefetchFiles && nextPrefetch < sorted.length) {
+            Resource resource = sorted[nextPrefetch++];
+            prefetching.add(ioPool.submit(() -> open(resource)));
+        }
+    }
+
+    /**
+     * Close the current file, and release the buffer.
+     */
+    private void closeCurrent() {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    /**
+     * Open the resource, and read the first bytes into a pooled buffer in an I/O thread.
+     *
+     * @param resource the resource.
+     * @return the opened file.
+     * @throws IOException if failed to open.
+     */
+    private PrefetchedFile open(Resource resource) throws IOException {
+        ByteBuffer buffer = ByteBufferPool.acquire(prefetchBufferSize);
+        InputStream in = null;
+        try {
+            in = resource.getInputStream();
+            int length = in.readNBytes(buffer.array(), 0, buffer.capacity());
+            InputStream head = new ByteArrayInputStream(buffer.array(), 0, length);
+            InputStream prefetched;
+            if (length < buffer.capacity()) {
+                in.close();
+                prefetched = head;
+            } else {
+                prefetched = new SequenceInputStream(head, in);
+            }
+            in = prefetched;
+            BufferedReader reader = bufferedReaderFactory.create(new PrefetchedResource(resource, prefetched),
+                    encoding);
+            return new PrefetchedFile(resource,
+                    (FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader) reader, buffer);
+        } catch (IOException | RuntimeException e) {
+            if (in != null) {
+                in.close();
+            }
+            ByteBufferPool.release(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * File opened in advance.
+     */
+    private static final class PrefetchedFile {
+
+        /**
+         * The resource.
+         */
+        private final Resource resource;
+
+        /**
+         * Reader of the lines.
+         */
+        private final FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader reader;
+
+        /**
+         * Pooled buffer holding the first bytes of the file.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Number of lines skipped at the beginning of the file.
+         */
+        private long linesToSkip;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param resource the resource.
+         * @param reader reader of the lines.
+         * @param buffer pooled buffer holding the first bytes.
+         */
+        private PrefetchedFile(Resource resource,
+                FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader reader, ByteBuffer buffer) {
+            this.resource = resource;
+            this.reader = reader;
+            this.buffer = buffer;
+        }
+
+        /**
+         * Close the reader, and release the buffer.
+         */
+        private void close() {
+            reader.close();
+            ByteBufferPool.release(buffer);
+        }
+    }
+
+    /**
+     * Resource whose input stream has been opened in advance, passed to the factory so that the compression is detected by
+     * the name of the original resource.
+     */
+    private static final class PrefetchedResource extends AbstractResource {
+
+        /**
+         * The original resource.
+         */
+        private final Resource resource;
+
+        /**
+         * Input stream opened in advance.
+         */
+        private final InputStream in;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param resource the original resource.
+         * @param in input stream opened in advance.
+         */
+        private PrefetchedResource(Resource resource, InputStream in) {
+            this.resource = resource;
+            this.in = in;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String getDescription() {
+            return resource.getDescription();
+        }
+
+        /**
+         * Return the input stream opened in advance.
+         *
+         * @return the input stream.
+         */
+        @Override
+        public InputStream getInputStream() {
+            return in;
+        }
+    }
+}
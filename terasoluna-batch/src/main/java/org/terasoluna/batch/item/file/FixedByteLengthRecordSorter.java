@@ -0,0 +1,826 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+/**
+ * External merge sort of the fixed-byte-length records by the byte ranges of the keys.
+ * <p>
+ * The records are read into the buffers of bounded size, which are on the heap or off-heap, and each buffer is sorted as a
+ * run and spilled to a temporary file by the worker threads while the next buffer is read. The runs are merged by k-way merge
+ * into a stream of the sorted records. If all records fit in a buffer, they are sorted in memory without temporary files.
+ * </p>
+ * <p>
+ * The keys are compared as unsigned bytes without decoding, in the order of the ranges, which is the same as the order of
+ * the characters for ASCII and UTF-8. The sort is stable, so that the records with the same keys keep the order of the input
+ * and the same input is always sorted to the same output. The bytes after the last whole record are returned after the
+ * sorted records as they are, and the last record without the separator is sorted with the separator appended.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class FixedByteLengthRecordSorter {
+
+    /**
+     * Default size of the memory to sort the records.
+     */
+    static final int DEFAULT_MEMORY_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Maximum number of the runs merged at once.
+     */
+    static final int MERGE_FAN_IN = 128;
+
+    /**
+     * Size of the buffers of the temporary files.
+     */
+    private static final int IO_BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Number of the key bytes packed into the sort index with the record index.
+     */
+    private static final int PREFIX_LENGTH = Integer.BYTES;
+
+    /**
+     * The byte length of a record.
+     */
+    private final int byteLength;
+
+    /**
+     * Bytes of the separator following each record.
+     */
+    private final byte[] separator;
+
+    /**
+     * The byte length of a record and the separator.
+     */
+    private final int recordLength;
+
+    /**
+     * Offsets of the keys in a record.
+     */
+    private final int[] keyOffsets;
+
+    /**
+     * Byte lengths of the keys.
+     */
+    private final int[] keyLengths;
+
+    /**
+     * Offsets in a record of the first key bytes packed into the sort index.
+     */
+    private final int[] prefixOffsets;
+
+    /**
+     * Whether the packed key bytes are all the key bytes.
+     */
+    private final boolean prefixOnly;
+
+    /**
+     * Number of the records in a buffer.
+     */
+    private final int bufferRecords;
+
+    /**
+     * Number of the threads sorting and merging the runs.
+     */
+    private final int threads;
+
+    /**
+     * Directory of the temporary files, or {@code null} for the default temporary directory.
+     */
+    private final Path directory;
+
+    /**
+     * Whether to allocate the buffers off-heap.
+     */
+    private final boolean offHeap;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param byteLength the byte length of a record.
+     * @param separator bytes of the separator following each record.
+     * @param keyOffsets offsets of the keys in a record.
+     * @param keyLengths byte lengths of the keys.
+     * @param memorySize size of the memory of the buffers in bytes.
+     * @param threads number of the threads sorting and merging the runs.
+     * @param directory directory of the temporary files, or {@code null} for the default temporary directory.
+     * @param offHeap whether to allocate the buffers off-heap.
+     */
+    FixedByteLengthRecordSorter(int byteLength, byte[] separator, int[] keyOffsets, int[] keyLengths, int memorySize,
+            int threads, Path directory, boolean offHeap) {
+        this.byteLength = byteLength;
+        this.separator = separator;
+        this.recordLength = Math.addExact(byteLength, separator.length);
+        this.keyOffsets = keyOffsets;
+        this.keyLengths = keyLengths;
+        int keyLength = Arrays.stream(keyLengths).sum();
+        this.prefixOffsets = new int[Math.min(keyLength, PREFIX_LENGTH)];
+        for (int k = 0, p = 0; p < prefixOffsets.length; k++) {
+            for (int i = 0; i < keyLengths[k] && p < prefixOffsets.length; i++) {
+                prefixOffsets[p++] = keyOffsets[k] + i;
+            }
+        }
+        this.prefixOnly = keyLength <= PREFIX_LENGTH;
+        // a buffer is read while the other buffers are sorted by the threads.
+        int buffers = threads == 1 ? 1 : threads + 1;
+        this.bufferRecords = Math.max(1, memorySize / buffers / recordLength);
+        this.threads = threads;
+        this.directory = directory;
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Sort the records of the input stream. The input stream is read to the end, but is not closed.
+     *
+     * @param in the input stream of the records.
+     * @return the input stream of the sorted records, which deletes the temporary files when closed.
+     * @throws IOException if an I/O error occurs.
+     */
+    InputStream sort(InputStream in) throws IOException {
+        ExecutorService executor = threads == 1 ? null : Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "file-sort");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<ByteBuffer> free = new ArrayBlockingQueue<>(threads + 1);
+        List<Future<Path>> spills = new ArrayList<>();
+        try {
+            byte[] staging = offHeap ? new byte[Math.min(IO_BUFFER_SIZE, bufferRecords * recordLength)] : null;
+            ByteBuffer buffer = allocate();
+            int allocated = 1;
+            while (true) {
+                fill(in, buffer, staging);
+                boolean eof = buffer.hasRemaining();
+                int records = buffer.position() / recordLength;
+                byte[] tail = new byte[buffer.position() % recordLength];
+                if (tail.length == byteLength && separator.length > 0) {
+                    // the separator can be omitted after the last record.
+                    buffer.put(separator);
+                    records++;
+                    tail = new byte[0];
+                } else {
+                    buffer.get(records * recordLength, tail);
+                }
+                if (eof && spills.isEmpty()) {
+                    return concat(new SortedRunInputStream(buffer, sortRun(buffer, records, executor != null)), tail);
+                }
+                if (records > 0) {
+                    ByteBuffer full = buffer;
+                    int count = records;
+                    spills.add(submit(executor, () -> {
+                        try {
+                            return spill(full, sortRun(full, count, false));
+                        } finally {
+                            free.add(full);
+                        }
+                    }));
+                }
+                if (eof) {
+                    return concat(merge(collect(spills), executor), tail);
+                }
+                buffer = free.poll();
+                if (buffer == null) {
+                    if (allocated < threads + 1) {
+                        buffer = allocate();
+                        allocated++;
+                    } else {
+                        buffer = free.take();
+                    }
+                }
+                buffer.clear();
+            }
+        } catch (InterruptedException e) {
+            deleteRuns(spills);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while sorting.");
+        } catch (IOException | RuntimeException | Error e) {
+            deleteRuns(spills);
+            throw e;
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    /**
+     * Allocate a buffer of the records.
+     *
+     * @return the buffer.
+     */
+    private ByteBuffer allocate() {
+        int capacity = Math.multiplyExact(bufferRecords, recordLength);
+        return offHeap ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+    /**
+     * Read the input stream into the buffer until the buffer is full or the end of the stream.
+     *
+     * @param in the input stream.
+     * @param buffer the buffer.
+     * @param staging the array used to read into the off-heap buffer.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void fill(InputStream in, ByteBuffer buffer, byte[] staging) throws IOException {
+        if (buffer.hasArray()) {
+            int n = in.readNBytes(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.position() + n);
+            return;
+        }
+        while (buffer.hasRemaining()) {
+            int length = Math.min(staging.length, buffer.remaining());
+            int n = in.readNBytes(staging, 0, length);
+            buffer.put(staging, 0, n);
+            if (n < length) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sort the records in the buffer.
+     * <p>
+     * The first key bytes and the record index are packed into a long value and sorted as primitives, and only the records
+     * with the same first key bytes are compared by all key bytes.
+     * </p>
+     *
+     * @param buffer the buffer of the records.
+     * @param count the number of the records.
+     * @param parallel whether to sort in parallel.
+     * @return the indexes of the records in the sorted order.
+     */
+    int[] sortRun(ByteBuffer buffer, int count, boolean parallel) {
+        long[] entries = new long[count];
+        for (int i = 0; i < count; i++) {
+            // the sign bit is flipped, so that the packed key bytes are compared as unsigned.
+            entries[i] = (prefix(buffer, i * recordLength) << Integer.SIZE | i) ^ Long.MIN_VALUE;
+        }
+        if (parallel) {
+            Arrays.parallelSort(entries);
+        } else {
+            Arrays.sort(entries);
+        }
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = (int) entries[i];
+        }
+        if (!prefixOnly) {
+            Comparator<Integer> comparator = (a, b) -> compare(buffer, a * recordLength, b * recordLength);
+            int from = 0;
+            for (int i = 1; i <= count; i++) {
+                if (i == count || (entries[i] ^ entries[from]) >>> Integer.SIZE != 0) {
+                    if (i - from > 1) {
+                        // the stable sort keeps the order of the indexes in the group.
+                        Integer[] group = new Integer[i - from];
+                        for (int j = 0; j < group.length; j++) {
+                            group[j] = order[from + j];
+                        }
+                        Arrays.sort(group, comparator);
+                        for (int j = 0; j < group.length; j++) {
+                            order[from + j] = group[j];
+                        }
+                    }
+                    from = i;
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Pack the first key bytes of a record into an unsigned int value.
+     *
+     * @param buffer the buffer of the records.
+     * @param offset the offset of the record.
+     * @return the packed value.
+     */
+    private long prefix(ByteBuffer buffer, int offset) {
+        long prefix = 0;
+        for (int p = 0; p < PREFIX_LENGTH; p++) {
+            prefix <<= Byte.SIZE;
+            if (p < prefixOffsets.length) {
+                prefix |= buffer.get(offset + prefixOffsets[p]) & 0xFF;
+            }
+        }
+        return prefix;
+    }
+
+    /**
+     * Compare the keys of two records in a buffer.
+     *
+     * @param buffer the buffer of the records.
+     * @param a the offset of a record.
+     * @param b the offset of the other record.
+     * @return the result of the comparison.
+     */
+    private int compare(ByteBuffer buffer, int a, int b) {
+        if (buffer.hasArray()) {
+            return compare(buffer.array(), buffer.arrayOffset() + a, buffer.array(), buffer.arrayOffset() + b);
+        }
+        for (int k = 0; k < keyOffsets.length; k++) {
+            for (int i = keyOffsets[k]; i < keyOffsets[k] + keyLengths[k]; i++) {
+                int c = Integer.compare(buffer.get(a + i) & 0xFF, buffer.get(b + i) & 0xFF);
+                if (c != 0) {
+                    return c;
+                }
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Compare the keys of two records.
+     *
+     * @param a the bytes containing a record.
+     * @param aOffset the offset of the record.
+     * @param b the bytes containing the other record.
+     * @param bOffset the offset of the other record.
+     * @return the result of the comparison.
+     */
+    private int compare(byte[] a, int aOffset, byte[] b, int bOffset) {
+        for (int k = 0; k < keyOffsets.length; k++) {
+            int from = keyOffsets[k];
+            int to = from + keyLengths[k];
+            int c = Arrays.compareUnsigned(a, aOffset + from, aOffset + to, b, bOffset + from, bOffset + to);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Write the records of the buffer to a temporary file in the sorted order.
+     *
+     * @param buffer the buffer of the records.
+     * @param order the indexes of the records in the sorted order.
+     * @return the temporary file.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Path spill(ByteBuffer buffer, int[] order) throws IOException {
+        Path run = createRun();
+        try (FileChannel channel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+            ByteBuffer out = ByteBuffer.allocate(Math.max(recordLength, IO_BUFFER_SIZE / recordLength * recordLength));
+            for (int index : order) {
+                if (out.remaining() < recordLength) {
+                    write(channel, out);
+                }
+                out.put(out.position(), buffer, index * recordLength, recordLength);
+                out.position(out.position() + recordLength);
+            }
+            write(channel, out);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(run);
+            throw e;
+        }
+        return run;
+    }
+
+    /**
+     * Write the buffer to the channel, and clear the buffer.
+     *
+     * @param channel the channel.
+     * @param out the buffer.
+     * @throws IOException if an I/O error occurs.
+     */
+    private static void write(FileChannel channel, ByteBuffer out) throws IOException {
+        out.flip();
+        while (out.hasRemaining()) {
+            channel.write(out);
+        }
+        out.clear();
+    }
+
+    /**
+     * Merge the runs. If the runs are more than {@link #MERGE_FAN_IN}, they are merged into fewer runs in advance, by the
+     * threads in parallel.
+     *
+     * @param runs the temporary files of the runs in the order of the input.
+     * @param executor the executor of the threads, or {@code null} to merge in the current thread.
+     * @return the input stream of the merged records.
+     * @throws IOException if an I/O error occurs.
+     * @throws InterruptedException if interrupted while waiting for the threads.
+     */
+    private InputStream merge(List<Path> runs, ExecutorService executor) throws IOException, InterruptedException {
+        while (runs.size() > MERGE_FAN_IN) {
+            List<Future<Path>> merged = new ArrayList<>();
+            for (int i = 0; i < runs.size(); i += MERGE_FAN_IN) {
+                List<Path> group = runs.subList(i, Math.min(i + MERGE_FAN_IN, runs.size()));
+                merged.add(submit(executor, () -> {
+                    Path run = createRun();
+                    try (InputStream in = new MergingInputStream(group);
+                            OutputStream out = Files.newOutputStream(run)) {
+                        in.transferTo(out);
+                    } catch (IOException | RuntimeException e) {
+                        Files.deleteIfExists(run);
+                        throw e;
+                    }
+                    return run;
+                }));
+            }
+            try {
+                runs = collect(merged);
+            } catch (IOException | RuntimeException | InterruptedException e) {
+                for (Path run : runs) {
+                    Files.deleteIfExists(run);
+                }
+                throw e;
+            }
+        }
+        return new MergingInputStream(runs);
+    }
+
+    /**
+     * Create a temporary file of a run.
+     *
+     * @return the temporary file.
+     * @throws IOException if an I/O error occurs.
+     */
+    private Path createRun() throws IOException {
+        return directory == null ? Files.createTempFile("terasoluna-sort-", ".run") : Files.createTempFile(directory,
+                "terasoluna-sort-", ".run");
+    }
+
+    /**
+     * Run the task by the executor, or in the current thread if the executor is {@code null}.
+     *
+     * @param executor the executor.
+     * @param task the task.
+     * @return the future of the task.
+     */
+    private static Future<Path> submit(ExecutorService executor, Callable<Path> task) {
+        if (executor != null) {
+            return executor.submit(task);
+        }
+        FutureTask<Path> future = new FutureTask<>(task);
+        future.run();
+        return future;
+    }
+
+    /**
+     * Wait for the tasks, and collect the temporary files. If a task failed, the temporary files of the other tasks are
+     * deleted.
+     *
+     * @param futures the futures of the tasks.
+     * @return the temporary files in the order of the tasks.
+     * @throws IOException if a task failed.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    private static List<Path> collect(List<Future<Path>> futures) throws IOException, InterruptedException {
+        List<Path> runs = new ArrayList<>(futures.size());
+        Throwable failure = null;
+        for (Future<Path> future : futures) {
+            try {
+                runs.add(future.get());
+            } catch (ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+            }
+        }
+        futures.clear();
+        if (failure == null) {
+            return runs;
+        }
+        for (Path run : runs) {
+            Files.deleteIfExists(run);
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        throw new IOException("Failed to sort.", failure);
+    }
+
+    /**
+     * Delete the temporary files of the tasks after they are completed.
+     *
+     * @param futures the futures of the tasks.
+     */
+    private static void deleteRuns(List<Future<Path>> futures) {
+        for (Future<Path> future : futures) {
+            try {
+                // the running task is not cancelled but waited for, so that its file is not left.
+                Files.deleteIfExists(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | IOException e) {
+                // the task failed, and has deleted its file.
+            }
+        }
+        futures.clear();
+    }
+
+    /**
+     * Concatenate the trailing bytes to the sorted records.
+     *
+     * @param sorted the input stream of the sorted records.
+     * @param tail the trailing bytes.
+     * @return the concatenated input stream.
+     */
+    private static InputStream concat(InputStream sorted, byte[] tail) {
+        return tail.length == 0 ? sorted : new SequenceInputStream(sorted, new ByteArrayInputStream(tail));
+    }
+
+    /**
+     * Input stream of the records of a buffer in the sorted order.
+     */
+    private final class SortedRunInputStream extends InputStream {
+
+        /**
+         * The buffer of the records.
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * The indexes of the records in the sorted order.
+         */
+        private final int[] order;
+
+        /**
+         * Index of the current record in {@link #order}.
+         */
+        private int current;
+
+        /**
+         * Index of the next byte in the current record.
+         */
+        private int position;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param buffer the buffer of the records.
+         * @param order the indexes of the records in the sorted order.
+         */
+        private SortedRunInputStream(ByteBuffer buffer, int[] order) {
+            this.buffer = buffer;
+            this.order = order;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() {
+            if (current == order.length) {
+                return -1;
+            }
+            int b = buffer.get(order[current] * recordLength + position) & 0xFF;
+            advance(1);
+            return b;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (current == order.length) {
+                return -1;
+            }
+            int n = 0;
+            while (n < len && current < order.length) {
+                int length = Math.min(len - n, recordLength - position);
+                buffer.get(order[current] * recordLength + position, b, off + n, length);
+                n += length;
+                advance(length);
+            }
+            return n;
+        }
+
+        /**
+         * Advance the position.
+         *
+         * @param length the number of bytes read.
+         */
+        private void advance(int length) {
+            position += length;
+            if (position == recordLength) {
+                current++;
+                position = 0;
+            }
+        }
+    }
+
+    /**
+     * Input stream of the records merged from the runs, which deletes the temporary files of the runs when closed.
+     */
+    private final class MergingInputStream extends InputStream {
+
+        /**
+         * Cursors of the runs ordered by the current records.
+         */
+        private final PriorityQueue<Cursor> queue;
+
+        /**
+         * All cursors.
+         */
+        private final List<Cursor> cursors;
+
+        /**
+         * Cursor whose current record is being read, or {@code null} at the end.
+         */
+        private Cursor current;
+
+        /**
+         * Index of the next byte in the current record.
+         */
+        private int position;
+
+        /**
+         * Open the runs.
+         *
+         * @param runs the temporary files of the runs in the order of the input.
+         * @throws IOException if an I/O error occurs.
+         */
+        private MergingInputStream(List<Path> runs) throws IOException {
+            this.queue = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> {
+                int c = compare(a.record, 0, b.record, 0);
+                return c != 0 ? c : Integer.compare(a.index, b.index);
+            });
+            this.cursors = new ArrayList<>(runs.size());
+            try {
+                for (int i = 0; i < runs.size(); i++) {
+                    Cursor cursor = new Cursor(runs.get(i), i);
+                    cursors.add(cursor);
+                    if (cursor.next()) {
+                        queue.add(cursor);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+                for (Path run : runs.subList(cursors.size(), runs.size())) {
+                    Files.deleteIfExists(run);
+                }
+                throw e;
+            }
+            this.current = queue.poll();
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read() throws IOException {
+            if (current == null) {
+                return -1;
+            }
+            int b = current.record[position] & 0xFF;
+            advance(1);
+            return b;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            if (current == null) {
+                return -1;
+            }
+            int n = 0;
+            while (n < len && current != null) {
+                int length = Math.min(len - n, recordLength - position);
+                System.arraycopy(current.record, position, b, off + n, length);
+                n += length;
+                advance(length);
+            }
+            return n;
+        }
+
+        /**
+         * Advance the position, and move to the smallest record of the runs at the end of the current record.
+         *
+         * @param length the number of bytes read.
+         * @throws IOException if an I/O error occurs.
+         */
+        private void advance(int length) throws IOException {
+            position += length;
+            if (position == recordLength) {
+                position = 0;
+                if (current.next()) {
+                    queue.add(current);
+                }
+                current = queue.poll();
+            }
+        }
+
+        /**
+         * Close and delete the temporary files.
+         *
+         * @throws IOException if an I/O error occurs.
+         */
+        @Override
+        public void close() throws IOException {
+            IOException failure = null;
+            for (Cursor cursor : cursors) {
+                try {
+                    cursor.in.close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            cursors.clear();
+            queue.clear();
+            current = null;
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Cursor reading the records of a run.
+     */
+    private final class Cursor {
+
+        /**
+         * Input stream of the temporary file, which is deleted when closed.
+         */
+        private final InputStream in;
+
+        /**
+         * Index of the run in the order of the input.
+         */
+        private final int index;
+
+        /**
+         * The current record.
+         */
+        private final byte[] record = new byte[recordLength];
+
+        /**
+         * Open the temporary file of a run.
+         *
+         * @param run the temporary file.
+         * @param index index of the run in the order of the input.
+         * @throws IOException if an I/O error occurs.
+         */
+        private Cursor(Path run, int index) throws IOException {
+            this.in = new BufferedInputStream(Channels.newInputStream(FileChannel.open(run, StandardOpenOption.READ,
+                    StandardOpenOption.DELETE_ON_CLOSE)), IO_BUFFER_SIZE);
+            this.index = index;
+        }
+
+        /**
+         * Read the next record.
+         *
+         * @return false if the end of the run has been reached.
+         * @throws IOException if an I/O error occurs.
+         */
+        private boolean next() throws IOException {
+            return in.readNBytes(record, 0, recordLength) == recordLength;
+        }
+    }
+}
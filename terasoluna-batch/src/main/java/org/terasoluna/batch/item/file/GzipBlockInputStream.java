@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Input stream that decompresses the gzip members written by {@link GzipBlockOutputStream} in parallel.
+ * <p>
+ * Each member which has its size in the {@code BC} subfield of the extra field (the block layout of BGZF) is read without
+ * inflating, and is decompressed by the thread pool. The decompressed members are returned in order. If a member without the
+ * size is found, the rest of the input is decompressed sequentially by {@link GZIPInputStream}, so that any gzip file can be
+ * read.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class GzipBlockInputStream extends InputStream {
+
+    /**
+     * Size of the fixed part of the header of a member.
+     */
+    private static final int FIXED_HEADER_SIZE = 12;
+
+    /**
+     * Flag of the extra field.
+     */
+    private static final int FEXTRA = 4;
+
+    /**
+     * Inflaters reused per thread.
+     */
+    private static final ThreadLocal<Inflater> INFLATERS = ThreadLocal.withInitial(() -> new Inflater(true));
+
+    /**
+     * Compressed input.
+     */
+    private final InputStream in;
+
+    /**
+     * Executor decompressing the members.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Maximum number of the members being decompressed.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Members being decompressed, in the order of the input.
+     */
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+    /**
+     * Decompressed data of the current member.
+     */
+    private byte[] current = new byte[0];
+
+    /**
+     * Index of the next byte in {@link #current}.
+     */
+    private int position;
+
+    /**
+     * Whether the end of the compressed input has been reached.
+     */
+    private boolean inputDone;
+
+    /**
+     * Whether any member has been read.
+     */
+    private boolean started;
+
+    /**
+     * Stream decompressing the rest of the input sequentially, or {@code null} while reading the members in parallel.
+     */
+    private InputStream sequential;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param in compressed input.
+     * @param threads number of threads decompressing the members.
+     */
+    GzipBlockInputStream(InputStream in, int threads) {
+        this.in = in;
+        this.maxInFlight = threads * 2;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "gzip-block-decompressor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        byte[] one = new byte[1];
+        int n = read(one, 0, 1);
+        return n < 0 ? -1 : one[0] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (position == current.length) {
+            if (!nextMember()) {
+                return sequential != null ? sequential.read(b, off, len) : -1;
+            }
+        }
+        int n = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    /**
+     * Skip the decompressed bytes without copying them.
+     *
+     * @param n the number of bytes to be skipped.
+     * @return the number of bytes skipped, which is 0 at the end of the stream.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        if (n <= 0) {
+            return 0;
+        }
+        while (position == current.length) {
+            if (!nextMember()) {
+                return sequential != null ? sequential.skip(n) : 0;
+            }
+        }
+        int skipped = (int) Math.min(n, current.length - position);
+        position += skipped;
+        return skipped;
+    }
+
+    /**
+     * Close the input and stop decompressing.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        executor.shutdownNow();
+        inFlight.clear();
+        if (sequential != null) {
+            sequential.close();
+        }
+        in.close();
+    }
+
+    /**
+     * Move to the next decompressed member.
+     *
+     * @return false if no member is decompressed in parallel any more.
+     * @throws IOException if an I/O error occurs.
+     */
+    private boolean nextMember() throws IOException {
+        while (!inputDone && sequential == null && inFlight.size() < maxInFlight) {
+            readMember();
+        }
+        Future<byte[]> head = inFlight.poll();
+        if (head == null) {
+            return false;
+        }
+        try {
+            current = head.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while decompressing.");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Failed to decompress.", e.getCause());
+        }
+        position = 0;
+        return true;
+    }
+
+    /**
+     * Read a member, and start decompressing it. If the member does not have its size, the rest of the input is decompressed
+     * sequentially.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void readMember() throws IOException {
+        byte[] header = new byte[FIXED_HEADER_SIZE];
+        int n = in.readNBytes(header, 0, FIXED_HEADER_SIZE);
+        if (n == 0 || (started && (n < 2 || (header[0] & 0xFF) != 0x1f || (header[1] & 0xFF) != 0x8b))) {
+            // trailing garbage is ignored in the same way as GZIPInputStream.
+            inputDone = true;
+            return;
+        }
+        if (n < FIXED_HEADER_SIZE || (header[0] & 0xFF) != 0x1f || (header[1] & 0xFF) != 0x8b) {
+            if (!started) {
+                throw new ZipException("Not in GZIP format");
+            }
+            throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+        started = true;
+        if (header[3] != FEXTRA) {
+            startSequential(header);
+            return;
+        }
+        byte[] extraLength = in.readNBytes(2);
+        if (extraLength.length < 2) {
+            throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+        int xlen = (extraLength[0] & 0xFF) | (extraLength[1] & 0xFF) << 8;
+        byte[] extra = in.readNBytes(xlen);
+        int blockSize = findBlockSize(extra);
+        if (blockSize < 0) {
+            startSequential(concat(header, extraLength, extra));
+            return;
+        }
+        int remaining = blockSize - FIXED_HEADER_SIZE - 2 - xlen;
+        byte[] body = remaining > 0 ? in.readNBytes(remaining) : new byte[0];
+        if (remaining < GzipBlockOutputStream.TRAILER_SIZE || body.length < remaining) {
+            throw new EOFException("Unexpected end of ZLIB input stream");
+        }
+        inFlight.add(executor.submit(() -> inflate(body)));
+    }
+
+    /**
+     * Decompress the rest of the input sequentially.
+     *
+     * @param consumed the bytes of the current member which are already read.
+     * @throws IOException if an I/O error occurs.
+     */
+    private void startSequential(byte[] consumed) throws IOException {
+        sequential = new GZIPInputStream(new SequenceInputStream(new ByteArrayInputStream(consumed), in), 64 * 1024);
+    }
+
+    /**
+     * Find the size of the member in the extra field.
+     *
+     * @param extra the extra field.
+     * @return the size of the member, or -1 if not found.
+     */
+    private static int findBlockSize(byte[] extra) {
+        int i = 0;
+        while (i + 4 <= extra.length) {
+            int length = (extra[i + 2] & 0xFF) | (extra[i + 3] & 0xFF) << 8;
+            if (extra[i] == 'B' && extra[i + 1] == 'C' && length == 2 && i + 6 <= extra.length) {
+                return ((extra[i + 4] & 0xFF) | (extra[i + 5] & 0xFF) << 8) + 1;
+            }
+            i += 4 + length;
+        }
+        return -1;
+    }
+
+    /**
+     * Decompress the deflated data and check the trailer.
+     *
+     * @param body the deflated data followed by the trailer.
+     * @return the decompressed data.
+     * @throws IOException if the data is corrupt.
+     */
+    private static byte[] inflate(byte[] body) throws IOException {
+        int trailer = body.length - GzipBlockOutputStream.TRAILER_SIZE;
+        int expectedCrc = getInt(body, trailer);
+        int size = getInt(body, trailer + 4);
+        if (size < 0 || size > GzipBlockOutputStream.MAX_BLOCK_SIZE) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        byte[] data = new byte[size];
+        Inflater inflater = INFLATERS.get();
+        inflater.reset();
+        inflater.setInput(body, 0, trailer);
+        try {
+            int n = 0;
+            while (n < size) {
+                int inflated = inflater.inflate(data, n, size - n);
+                if (inflated == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                n += inflated;
+            }
+            // inflating one more byte reaches the end of the deflated data, which must not have any more data.
+            if (n != size || inflater.inflate(new byte[1]) != 0 || !inflater.finished()) {
+                throw new ZipException("Corrupt GZIP trailer");
+            }
+        } catch (DataFormatException e) {
+            throw new ZipException(e.getMessage());
+        }
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != expectedCrc) {
+            throw new ZipException("Corrupt GZIP trailer");
+        }
+        return data;
+    }
+
+    /**
+     * Get the int value in little endian.
+     *
+     * @param bytes source.
+     * @param index index of the first byte.
+     * @return the value.
+     */
+    private static int getInt(byte[] bytes, int index) {
+        return (bytes[index] & 0xFF) | (bytes[index + 1] & 0xFF) << 8 | (bytes[index + 2] & 0xFF) << 16
+                | (bytes[index + 3] & 0xFF) << 24;
+    }
+
+    /**
+     * Concatenate the arrays.
+     *
+     * @param arrays the arrays.
+     * @return the concatenated array.
+     */
+    private static byte[] concat(byte[]... arrays) {
+        int length = 0;
+        for (byte[] array : arrays) {
+            length += array.length;
+        }
+        byte[] result = new byte[length];
+        int position = 0;
+        for (byte[] array : arrays) {
+            System.arraycopy(array, 0, result, position, array.length);
+            position += array.length;
+        }
+        return result;
+    }
+}
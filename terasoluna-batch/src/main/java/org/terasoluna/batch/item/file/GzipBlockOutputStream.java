@@ -0,0 +1,324 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Output stream that compresses the data into gzip members of at most 64KB, in the block layout of BGZF.
+ * <p>
+ * Each member has the size of itself in the {@code BC} subfield of the extra field, so that the members can be found without
+ * inflating them and decompressed in parallel by {@link GzipBlockInputStream}. The output is a standard multi-member gzip
+ * file, which can be read by {@link java.util.zip.GZIPInputStream} and gzip command.
+ * </p>
+ * <p>
+ * If more than one thread is specified, the members are compressed in parallel and written in order. {@link #flush()} ends
+ * the current member, and returns after all members are written, so that the output always ends at a member boundary.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class GzipBlockOutputStream extends OutputStream {
+
+    /**
+     * Maximum number of uncompressed bytes in a member.
+     */
+    static final int BLOCK_INPUT_SIZE = 0xff00;
+
+    /**
+     * Maximum size of a member.
+     */
+    static final int MAX_BLOCK_SIZE = 0x10000;
+
+    /**
+     * Size of the header of a member.
+     */
+    static final int HEADER_SIZE = 18;
+
+    /**
+     * Size of the trailer of a member.
+     */
+    static final int TRAILER_SIZE = 8;
+
+    /**
+     * Empty member which marks the end of the file.
+     */
+    static final byte[] EOF_BLOCK = { 0x1f, (byte) 0x8b, 0x08, 0x04, 0, 0, 0, 0, 0, (byte) 0xff, 0x06, 0, 0x42, 0x43, 0x02,
+            0, 0x1b, 0, 0x03, 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+
+    /**
+     * Deflaters reused per thread and compression level.
+     */
+    private static final ThreadLocal<Deflater[]> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[10]);
+
+    /**
+     * Destination of the members.
+     */
+    private final OutputStream out;
+
+    /**
+     * Compression level.
+     */
+    private final int level;
+
+    /**
+     * Executor compressing the members, or {@code null} if compressed by the calling thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Maximum number of the members being compressed.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Members being compressed, in the order of the output.
+     */
+    private final Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+    /**
+     * Uncompressed data of the current member.
+     */
+    private byte[] block = new byte[BLOCK_INPUT_SIZE];
+
+    /**
+     * Number of bytes in {@link #block}.
+     */
+    private int count;
+
+    /**
+     * Whether this stream is closed.
+     */
+    private boolean closed;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param out destination of the members.
+     * @param level compression level from 0 to 9, or {@link Deflater#DEFAULT_COMPRESSION}.
+     * @param threads number of threads compressing the members. 1 means the calling thread compresses them.
+     */
+    GzipBlockOutputStream(OutputStream out, int level, int threads) {
+        this.out = out;
+        this.level = level == Deflater.DEFAULT_COMPRESSION ? 6 : level;
+        this.maxInFlight = threads * 2;
+        this.executor = threads > 1 ? Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "gzip-block-compressor");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(int b) throws IOException {
+        if (count == BLOCK_INPUT_SIZE) {
+            endBlock();
+        }
+        block[count++] = (byte) b;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        while (len > 0) {
+            if (count == BLOCK_INPUT_SIZE) {
+                endBlock();
+            }
+            int n = Math.min(len, BLOCK_INPUT_SIZE - count);
+            System.arraycopy(b, off, block, count, n);
+            count += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * End the current member, and write all members to the destination.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (count > 0) {
+            endBlock();
+        }
+        while (!inFlight.isEmpty()) {
+            writeHead();
+        }
+        out.flush();
+    }
+
+    /**
+     * Discard the data which has not been written to the destination, including the members being compressed, so that the
+     * next data starts a new member.
+     */
+    void discard() {
+        count = 0;
+        for (Future<byte[]> member : inFlight) {
+            member.cancel(false);
+        }
+        inFlight.clear();
+    }
+
+    /**
+     * Write all members and the end-of-file marker, and close the destination.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            flush();
+            out.write(EOF_BLOCK);
+        } finally {
+            if (executor != null) {
+                executor.shutdownNow();
+            }
+            out.close();
+        }
+    }
+
+    /**
+     * Compress the current member.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void endBlock() throws IOException {
+        if (executor == null) {
+            out.write(compress(block, count, level));
+            count = 0;
+            return;
+        }
+        byte[] data = block;
+        int length = count;
+        inFlight.add(executor.submit(() -> compress(data, length, level)));
+        block = new byte[BLOCK_INPUT_SIZE];
+        count = 0;
+        while (inFlight.size() > maxInFlight) {
+            writeHead();
+        }
+    }
+
+    /**
+     * Wait for the first member being compressed, and write it.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    private void writeHead() throws IOException {
+        Future<byte[]> head = inFlight.poll();
+        try {
+            out.write(head.get());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing.");
+        } catch (ExecutionException e) {
+            throw new IOException("Failed to compress.", e.getCause());
+        }
+    }
+
+    /**
+     * Compress the data into a member.
+     *
+     * @param data the uncompressed data.
+     * @param length the number of bytes.
+     * @param level compression level.
+     * @return the member.
+     */
+    static byte[] compress(byte[] data, int length, int level) {
+        byte[] member = new byte[MAX_BLOCK_SIZE];
+        int size = deflate(data, length, level, member);
+        if (size < 0) {
+            // incompressible data is stored, which is always within the limit.
+            size = deflate(data, length, Deflater.NO_COMPRESSION, member);
+        }
+        System.arraycopy(EOF_BLOCK, 0, member, 0, 16);
+        member[16] = (byte) (size - 1);
+        member[17] = (byte) ((size - 1) >>> 8);
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        putInt(member, size - TRAILER_SIZE, (int) crc.getValue());
+        putInt(member, size - 4, length);
+        byte[] result = new byte[size];
+        System.arraycopy(member, 0, result, 0, size);
+        return result;
+    }
+
+    /**
+     * Deflate the data into the member.
+     *
+     * @param data the uncompressed data.
+     * @param length the number of bytes.
+     * @param level compression level.
+     * @param member the member.
+     * @return the size of the member, or -1 if the compressed data exceeds the limit.
+     */
+    private static int deflate(byte[] data, int length, int level, byte[] member) {
+        Deflater[] deflaters = DEFLATERS.get();
+        Deflater deflater = deflaters[level];
+        if (deflater == null) {
+            deflater = new Deflater(level, true);
+            deflaters[level] = deflater;
+        }
+        deflater.reset();
+        deflater.setInput(data, 0, length);
+        deflater.finish();
+        int limit = MAX_BLOCK_SIZE - TRAILER_SIZE;
+        int position = HEADER_SIZE;
+        while (!deflater.finished()) {
+            if (position == limit) {
+                return -1;
+            }
+            position += deflater.deflate(member, position, limit - position);
+        }
+        return position + TRAILER_SIZE;
+    }
+
+    /**
+     * Put the int value in little endian.
+     *
+     * @param bytes destination.
+     * @param index index of the first byte.
+     * @param value the value.
+     */
+    private static void putInt(byte[] bytes, int index, int value) {
+        bytes[index] = (byte) value;
+        bytes[index + 1] = (byte) (value >>> 8);
+        bytes[index + 2] = (byte) (value >>> 16);
+        bytes[index + 3] = (byte) (value >>> 24);
+    }
+}
@@ -0,0 +1,335 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.file.NonTransientFlatFileException;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Pipeline that maps the fixed-byte-length lines to the items by several threads, and returns the items in the order of the
+ * lines.
+ * <p>
+ * A slicer thread reads the raw bytes of the lines in batches without decoding them, and submits each batch to the worker
+ * threads which decode and map the lines. The futures of the batches are queued in the order of the lines, so that the queue
+ * works as the reorder buffer and bounds the number of the batches read ahead. An error of a line is thrown when the line is
+ * reached, in the same way as FlatFileItemReader, and the following lines are returned after it.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, except that the slicer and worker threads process the lines.
+ * </p>
+ *
+ * @param <T> the type of the items.
+ * @since 5.7.0
+ */
+final class OrderedParsePipeline<T> {
+
+    /**
+     * Number of the lines in a batch.
+     */
+    static final int BATCH_SIZE = 256;
+
+    /**
+     * Number of the batches queued per worker thread.
+     */
+    private static final int BATCHES_PER_THREAD = 2;
+
+    /**
+     * Reader of the lines.
+     */
+    private final FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader reader;
+
+    /**
+     * Mapper of the lines to the items, which must be thread safe.
+     */
+    private final LineMapper<T> lineMapper;
+
+    /**
+     * Resource to be read, used in the error messages.
+     */
+    private final Resource resource;
+
+    /**
+     * Number of the lines before the first line read by this pipeline.
+     */
+    private final int linesBefore;
+
+    /**
+     * Worker threads mapping the lines.
+     */
+    private final ExecutorService workers;
+
+    /**
+     * Worker threads created by {@link #workers}, joined after stopped.
+     */
+    private final List<Thread> workerThreads = new CopyOnWriteArrayList<>();
+
+    /**
+     * Futures of the batches in the order of the lines.
+     */
+    private final BlockingQueue<Future<Batch<T>>> queue;
+
+    /**
+     * Slicer thread reading the lines.
+     */
+    private final Thread slicer;
+
+    /**
+     * Whether this pipeline is stopped.
+     */
+    private volatile boolean stopped;
+
+    /**
+     * Batch being returned.
+     */
+    private Batch<T> current;
+
+    /**
+     * Index of the next item in {@link #current}.
+     */
+    private int position;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param reader reader of the lines, whose skipped lines have been read.
+     * @param lineMapper mapper of the lines to the items, which must be thread safe.
+     * @param resource resource to be read.
+     * @param linesBefore number of the lines before the first line read by this pipeline.
+     * @param threads number of the worker threads.
+     */
+    OrderedParsePipeline(FixedByteLengthBufferedReaderFactory.FixedByteLengthBufferedReader reader,
+            LineMapper<T> lineMapper, Resource resource, int linesBefore, int threads) {
+        this.reader = reader;
+        this.lineMapper = lineMapper;
+        this.resource = resource;
+        this.linesBefore = linesBefore;
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "file-parse");
+            thread.setDaemon(true);
+            workerThreads.add(thread);
+            return thread;
+        });
+        this.queue = new ArrayBlockingQueue<>(threads * BATCHES_PER_THREAD);
+        this.slicer = new Thread(this::slice, "file-parse-slicer");
+        this.slicer.setDaemon(true);
+        this.slicer.start();
+    }
+
+    /**
+     * Return the next item in the order of the lines.
+     *
+     * @return the item, or {@code null} if the end of the lines has been reached.
+     * @throws Exception if failed to read or map the line.
+     */
+    T next() throws Exception {
+        while (true) {
+            if (current != null) {
+                if (position < current.count) {
+                    int index = position++;
+                    if (current.errors != null && current.errors[index] != null) {
+                        throw current.errors[index];
+                    }
+                    return current.items[index];
+                }
+                if (current.last) {
+                    Exception error = current.error;
+                    current.error = null;
+                    if (error != null) {
+                        throw error;
+                    }
+                    return null;
+                }
+            }
+            try {
+                current = queue.take().get();
+            } catch (ExecutionException e) {
+                current = null;
+                Throwable cause = e.getCause();
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw (Exception) cause;
+            }
+            position = 0;
+        }
+    }
+
+    /**
+     * Stop the slicer and worker threads. The reader should be closed after this method to stop a blocking read, and then
+     * {@link #await()} should be called.
+     */
+    void stop() {
+        stopped = true;
+        slicer.interrupt();
+        workers.shutdownNow();
+        queue.clear();
+    }
+
+    /**
+     * Wait until the slicer and worker threads are stopped.
+     */
+    void await() {
+        try {
+            slicer.join();
+            for (Thread worker : workerThreads) {
+                worker.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Read the lines in batches, and submit them to the worker threads until the end of the lines or stopped.
+     */
+    private void slice() {
+        int byteLength = reader.getByteLength();
+        int lineNumber = linesBefore;
+        try {
+            while (!stopped) {
+                byte[] bytes = new byte[BATCH_SIZE * byteLength];
+                int count = 0;
+                Exception error = null;
+                try {
+                    while (count < BATCH_SIZE && reader.readBytes(bytes, count * byteLength)) {
+                        count++;
+                    }
+                } catch (IOException e) {
+                    error = new NonTransientFlatFileException("Unable to read from resource: [" + resource + "]", e,
+                            null, lineNumber + count + 1);
+                } catch (RuntimeException e) {
+                    error = e;
+                }
+                if (stopped) {
+                    return;
+                }
+                boolean last = count < BATCH_SIZE || error != null;
+                Batch<T> batch = new Batch<>(bytes, count, lineNumber, last, error);
+                lineNumber += count;
+                queue.put(count == 0 ? CompletableFuture.completedFuture(batch) : workers.submit(() -> map(batch)));
+                if (last) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // stopped.
+        } catch (RuntimeException e) {
+            if (!stopped) {
+                queue.offer(CompletableFuture.failedFuture(e));
+            }
+        }
+    }
+
+    /**
+     * Decode and map the lines of a batch in a worker thread.
+     *
+     * @param batch the batch.
+     * @return the batch with the items.
+     */
+    private Batch<T> map(Batch<T> batch) {
+        int byteLength = reader.getByteLength();
+        for (int i = 0; i < batch.count; i++) {
+            String line = reader.decode(batch.bytes, i * byteLength);
+            int lineNumber = batch.linesBefore + i + 1;
+            try {
+                batch.items[i] = lineMapper.mapLine(line, lineNumber);
+            } catch (Exception e) {
+                if (batch.errors == null) {
+                    batch.errors = new Exception[batch.count];
+                }
+                batch.errors[i] = new FlatFileParseException("Parsing error at line: " + lineNumber + " in resource=["
+                        + resource.getDescription() + "], input=[" + line + "]", e, line, lineNumber);
+            }
+        }
+        batch.bytes = null;
+        return batch;
+    }
+
+    /**
+     * Batch of the lines.
+     *
+     * @param <T> the type of the items.
+     */
+    private static final class Batch<T> {
+
+        /**
+         * Raw bytes of the lines, or {@code null} after mapped.
+         */
+        private byte[] bytes;
+
+        /**
+         * Number of the lines.
+         */
+        private final int count;
+
+        /**
+         * Number of the lines before this batch.
+         */
+        private final int linesBefore;
+
+        /**
+         * Whether this is the last batch.
+         */
+        private final boolean last;
+
+        /**
+         * Error after the lines of the last batch, or {@code null}.
+         */
+        private Exception error;
+
+        /**
+         * Items mapped from the lines.
+         */
+        private final T[] items;
+
+        /**
+         * Errors of the lines, or {@code null} if no error occurred.
+         */
+        private Exception[] errors;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param bytes raw bytes of the lines.
+         * @param count number of the lines.
+         * @param linesBefore number of the lines before this batch.
+         * @param last whether this is the last batch.
+         * @param error error after the lines, or {@code null}.
+         */
+        @SuppressWarnings("unchecked")
+        private Batch(byte[] bytes, int count, int linesBefore, boolean last, Exception error) {
+            this.bytes = bytes;
+            this.count = count;
+            this.linesBefore = linesBefore;
+            this.last = last;
+            this.error = error;
+            this.items = (T[]) new Object[count];
+        }
+    }
+}
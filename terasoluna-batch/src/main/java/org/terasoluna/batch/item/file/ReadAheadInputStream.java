@@ -0,0 +1,311 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Input stream that reads the next buffer by a background thread while the current buffer is consumed.
+ * <p>
+ * Two buffers are used alternately, so that the memory is bounded to twice the buffer size. The background thread is started
+ * at the first read. Before that, {@link #skip(long)} is delegated to the underlying stream, which seeks a file on the file
+ * system. {@link #close()} stops the background thread and closes the underlying stream.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, except that the background thread reads the underlying stream.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class ReadAheadInputStream extends InputStream {
+
+    /**
+     * Number of the buffers.
+     */
+    private static final int BUFFER_COUNT = 2;
+
+    /**
+     * Underlying input stream.
+     */
+    private final InputStream in;
+
+    /**
+     * Size of each buffer.
+     */
+    private final int bufferSize;
+
+    /**
+     * Buffers which can be filled by the background thread.
+     */
+    private final BlockingQueue<byte[]> free = new ArrayBlockingQueue<>(BUFFER_COUNT);
+
+    /**
+     * Buffers filled by the background thread, in the order of the input.
+     */
+    private final BlockingQueue<Filled> filled = new ArrayBlockingQueue<>(BUFFER_COUNT);
+
+    /**
+     * Background thread, or {@code null} if not started.
+     */
+    private Thread thread;
+
+    /**
+     * Buffer being consumed.
+     */
+    private byte[] current;
+
+    /**
+     * Index of the next byte in {@link #current}.
+     */
+    private int position;
+
+    /**
+     * Number of valid bytes in {@link #current}.
+     */
+    private int limit;
+
+    /**
+     * Whether the end of the stream has been reached.
+     */
+    private boolean eof;
+
+    /**
+     * Whether this stream is closed.
+     */
+    private volatile boolean closed;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param in underlying input stream.
+     * @param bufferSize size of each buffer.
+     */
+    ReadAheadInputStream(InputStream in, int bufferSize) {
+        this.in = in;
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read() throws IOException {
+        ensureOpen();
+        if (position == limit && !next()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (len == 0) {
+            return 0;
+        }
+        if (position == limit && !next()) {
+            return -1;
+        }
+        int n = Math.min(len, limit - position);
+        System.arraycopy(current, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    /**
+     * Skip the bytes. Before the first read, the underlying stream is skipped. After that, the bytes read ahead are
+     * discarded.
+     *
+     * @param n the number of bytes to be skipped.
+     * @return the number of bytes skipped.
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public long skip(long n) throws IOException {
+        ensureOpen();
+        if (n <= 0) {
+            return 0;
+        }
+        if (thread == null) {
+            return in.skip(n);
+        }
+        if (position == limit && !next()) {
+            return 0;
+        }
+        int skipped = (int) Math.min(n, limit - position);
+        position += skipped;
+        return skipped;
+    }
+
+    /**
+     * Return the number of bytes remaining in the current buffer.
+     *
+     * @return the number of bytes.
+     */
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    /**
+     * Stop the background thread, and close the underlying stream.
+     *
+     * @throws IOException if an I/O error occurs.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (thread != null) {
+                thread.interrupt();
+                // the underlying stream is closed first, so that a blocking read which ignores the interrupt is stopped.
+                in.close();
+                thread.join();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            in.close();
+            free.clear();
+            filled.clear();
+            current = null;
+            position = 0;
+            limit = 0;
+        }
+    }
+
+    /**
+     * Check that this stream is not closed.
+     *
+     * @throws IOException if closed.
+     */
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Move to the next filled buffer, starting the background thread at the first call.
+     *
+     * @return false if the end of the stream has been reached.
+     * @throws IOException if an I/O error occurs in the background thread.
+     */
+    private boolean next() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (thread == null) {
+            for (int i = 0; i < BUFFER_COUNT; i++) {
+                free.add(new byte[bufferSize]);
+            }
+            thread = new Thread(this::fill, "file-read-ahead");
+            thread.setDaemon(true);
+            thread.start();
+        } else if (current != null) {
+            free.add(current);
+            current = null;
+        }
+        Filled next;
+        try {
+            next = filled.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading ahead.");
+        }
+        if (next.error != null) {
+            eof = true;
+            throw next.error;
+        }
+        if (next.length < 0) {
+            eof = true;
+            return false;
+        }
+        current = next.buffer;
+        position = 0;
+        limit = next.length;
+        return true;
+    }
+
+    /**
+     * Fill the free buffers in the background thread until the end of the stream.
+     */
+    private void fill() {
+        try {
+            while (!closed) {
+                byte[] buffer = free.take();
+                int n = in.readNBytes(buffer, 0, buffer.length);
+                if (n == 0) {
+                    filled.put(new Filled(null, -1, null));
+                    return;
+                }
+                filled.put(new Filled(buffer, n, null));
+            }
+        } catch (InterruptedException e) {
+            // closed.
+        } catch (IOException | RuntimeException e) {
+            if (!closed) {
+                IOException error = e instanceof IOException ? (IOException) e : new IOException(
+                        "Failed to read ahead.", e);
+                filled.offer(new Filled(null, -1, error));
+            }
+        }
+    }
+
+    /**
+     * Buffer filled by the background thread.
+     */
+    private static final class Filled {
+
+        /**
+         * The buffer.
+         */
+        private final byte[] buffer;
+
+        /**
+         * Number of valid bytes, or -1 at the end of the stream.
+         */
+        private final int length;
+
+        /**
+         * Error occurred in the background thread, or {@code null}.
+         */
+        private final IOException error;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param buffer the buffer.
+         * @param length number of valid bytes.
+         * @param error error occurred in the background thread.
+         */
+        private Filled(byte[] buffer, int length, IOException error) {
+            this.buffer = buffer;
+            this.length = length;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Flusher that writes the filled buffers to a file channel by a dedicated thread, so that the records of the next buffer are
+ * encoded while the previous buffer is written.
+ * <p>
+ * The buffers are handed over through a bounded queue, so that the writing thread waits if the flusher falls behind by
+ * {@code capacity} buffers. The written buffers are released to {@link ByteBufferPool}. An I/O error in the flusher thread
+ * is thrown by the next {@link #await()}, and the buffers submitted after the error are discarded.
+ * </p>
+ * <p>
+ * Be careful because this class is thread unsafe, except that the flusher thread writes the channel.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class WriteBehindFlusher {
+
+    /**
+     * Buffer which stops the flusher thread.
+     */
+    private static final ByteBuffer STOP = ByteBuffer.allocate(0);
+
+    /**
+     * Channel to be written.
+     */
+    private final FileChannel channel;
+
+    /**
+     * Buffers waiting to be written.
+     */
+    private final BlockingQueue<ByteBuffer> queue;
+
+    /**
+     * Flusher thread.
+     */
+    private final Thread thread;
+
+    /**
+     * Number of the buffers submitted and not written yet, guarded by this.
+     */
+    private int inFlight;
+
+    /**
+     * First error occurred in the flusher thread, guarded by this.
+     */
+    private IOException error;
+
+    /**
+     * Create a new instance, and start the flusher thread.
+     *
+     * @param channel channel to be written.
+     * @param capacity maximum number of the buffers waiting to be written.
+     */
+    WriteBehindFlusher(FileChannel channel, int capacity) {
+        this.channel = channel;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.thread = new Thread(this::run, "file-write-behind");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Submit the filled buffer to be written. The buffer must not be used after submitted.
+     *
+     * @param buffer the buffer filled from the beginning.
+     * @throws IOException if interrupted while waiting for the queue.
+     */
+    void submit(ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        synchronized (this) {
+            inFlight++;
+        }
+        try {
+            queue.put(buffer);
+        } catch (InterruptedException e) {
+            synchronized (this) {
+                inFlight--;
+            }
+            ByteBufferPool.release(buffer);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the flusher.");
+        }
+    }
+
+    /**
+     * Wait until all submitted buffers are written.
+     *
+     * @throws IOException if an I/O error occurred in the flusher thread after the last call.
+     */
+    void await() throws IOException {
+        IOException e = awaitQuietly();
+        if (e != null) {
+            throw e;
+        }
+    }
+
+    /**
+     * Wait until all submitted buffers are written, and clear the error.
+     *
+     * @return the error occurred in the flusher thread after the last call, or {@code null}.
+     * @throws InterruptedIOException if interrupted while waiting.
+     */
+    synchronized IOException awaitQuietly() throws InterruptedIOException {
+        try {
+            while (inFlight > 0) {
+                wait();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the flusher.");
+        }
+        IOException e = error;
+        error = null;
+        return e;
+    }
+
+    /**
+     * Stop the flusher thread after the submitted buffers are handled.
+     */
+    void close() {
+        try {
+            queue.put(STOP);
+            thread.join();
+        } catch (InterruptedException e) {
+            thread.interrupt();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write the submitted buffers until stopped.
+     */
+    private void run() {
+        while (true) {
+            ByteBuffer buffer;
+            try {
+                buffer = queue.take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (buffer == STOP) {
+                return;
+            }
+            IOException failure = null;
+            synchronized (this) {
+                if (error != null) {
+                    buffer.position(buffer.limit());
+                }
+            }
+            try {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            } catch (IOException | RuntimeException e) {
+                failure = e instanceof IOException ? (IOException) e : new IOException("Failed to write.", e);
+            }
+            ByteBufferPool.release(buffer);
+            synchronized (this) {
+                if (failure != null && error == null) {
+                    error = failure;
+                }
+                inFlight--;
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.mapping;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.NotReadablePropertyException;
+import org.springframework.beans.NullValueInNestedPathException;
+import org.springframework.util.ReflectionUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaConversionException;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Factory of the accessors of the bean properties, which are generated by {@link LambdaMetafactory} once per bean class.
+ * <p>
+ * A generated accessor calls the getter, setter or constructor directly, so that it is as fast as the code written by hand
+ * after inlined by JIT. If the accessor cannot be generated, e.g. the bean class is loaded by another class loader or is in a
+ * module which is not open, the accessor calls the method by reflection instead.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+final class BeanAccessors {
+
+    /**
+     * Type of the getter accessors.
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    /**
+     * Type of the setter accessors.
+     */
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    /**
+     * Type of the constructor accessors.
+     */
+    private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class);
+
+    /**
+     * Create a new instance.
+     */
+    private BeanAccessors() {
+    }
+
+    /**
+     * Create the accessor which reads the property.
+     *
+     * @param beanClass the bean class.
+     * @param propertyPath the property name, or the nested property path separated by dots.
+     * @return the accessor.
+     * @throws NotReadablePropertyException if the property is not readable.
+     */
+    static Function<Object, Object> getter(Class<?> beanClass, String propertyPath) {
+        Function<Object, Object> getter = null;
+        Class<?> type = beanClass;
+        for (String name : propertyPath.split("\\.", -1)) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, name);
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                throw new NotReadablePropertyException(beanClass, propertyPath);
+            }
+            Method readMethod = descriptor.getReadMethod();
+            Function<Object, Object> next = generate(Function.class, "apply", GETTER_TYPE, readMethod);
+            if (next == null) {
+                ReflectionUtils.makeAccessible(readMethod);
+                next = bean -> ReflectionUtils.invokeMethod(readMethod, bean);
+            }
+            getter = getter == null ? next : nested(getter, next, beanClass, propertyPath);
+            type = readMethod.getReturnType();
+        }
+        return getter;
+    }
+
+    /**
+     * Create the accessor which writes the property.
+     *
+     * @param writeMethod the setter of the property.
+     * @return the accessor.
+     */
+    static BiConsumer<Object, Object> setter(Method writeMethod) {
+        BiConsumer<Object, Object> setter = generate(BiConsumer.class, "accept", SETTER_TYPE, writeMethod);
+        if (setter == null) {
+            ReflectionUtils.makeAccessible(writeMethod);
+            setter = (bean, value) -> ReflectionUtils.invokeMethod(writeMethod, bean, value);
+        }
+        return setter;
+    }
+
+    /**
+     * Create the accessor which creates an instance by the default constructor.
+     *
+     * @param beanClass the bean class.
+     * @return the accessor.
+     * @throws IllegalArgumentException if the bean class has no default constructor.
+     */
+    static Supplier<Object> constructor(Class<?> beanClass) {
+        Constructor<?> constructor;
+        try {
+            constructor = beanClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException("the bean class must have a default constructor. [beanClass:"
+                    + beanClass.getName() + "]", e);
+        }
+        Supplier<Object> supplier = generate(Supplier.class, "get", CONSTRUCTOR_TYPE, constructor);
+        return supplier != null ? supplier : () -> BeanUtils.instantiateClass(constructor);
+    }
+
+    /**
+     * Chain the accessors of a nested property path.
+     *
+     * @param parent the accessor of the parent property.
+     * @param child the accessor of the child property.
+     * @param beanClass the bean class.
+     * @param propertyPath the nested property path.
+     * @return the chained accessor.
+     */
+    private static Function<Object, Object> nested(Function<Object, Object> parent, Function<Object, Object> child,
+            Class<?> beanClass, String propertyPath) {
+        return bean -> {
+            Object value = parent.apply(bean);
+            if (value == null) {
+                throw new NullValueInNestedPathException(beanClass, propertyPath);
+            }
+            return child.apply(value);
+        };
+    }
+
+    /**
+     * Generate the implementation of the functional interface which calls the method or constructor.
+     *
+     * @param <F> the type of the functional interface.
+     * @param functionType the functional interface.
+     * @param methodName the name of the method of the functional interface.
+     * @param methodType the erased type of the method of the functional interface.
+     * @param target the method or constructor to be called.
+     * @return the implementation, or {@code null} if it cannot be generated.
+     */
+    @SuppressWarnings("unchecked")
+    private static <F> F generate(Class<?> functionType, String methodName, MethodType methodType, Executable target) {
+        CallSite callSite;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(target.getDeclaringClass(), MethodHandles
+                    .lookup());
+            MethodHandle handle = target instanceof Method ? lookup.unreflect((Method) target)
+                    : lookup.unreflectConstructor((Constructor<?>) target);
+            // the primitive types are boxed or unboxed by the generated implementation.
+            MethodType instantiatedType = handle.type().wrap().changeReturnType(methodType.returnType() == void.class
+                    ? void.class : handle.type().wrap().returnType());
+            callSite = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionType),
+                    methodType, handle, instantiatedType);
+        } catch (IllegalAccessException | LambdaConversionException | IllegalArgumentException | SecurityException e) {
+            return null;
+        }
+        try {
+            return (F) callSite.getTarget().invoke();
+        } catch (Throwable e) {
+            throw new IllegalStateException("Failed to create the accessor. [target:" + target + "]", e);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.mapping;
+
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.NotWritablePropertyException;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.Assert;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * {@link FieldSetMapper} that creates a bean of {@code targetType} and sets the fields to the properties with the same names,
+ * in the same way as {@link BeanWrapperFieldSetMapper}.
+ * <p>
+ * The constructor and setters are called by the accessors generated once per target type, and the properties matched to the
+ * field names are cached per set of the names, instead of binding the fields by reflection for each record. A field name
+ * matches the property with the same name, or the property with the same name ignoring the case and underscores, e.g.
+ * {@code CUSTOMER_ID} matches {@code customerId}. The nested property paths are not supported.
+ * </p>
+ * <p>
+ * The trimmed values of the fields are converted to the types of the properties by {@code conversionService}. The fields which
+ * cannot be converted are reported by {@link BindException} with the error code {@code typeMismatch}.
+ * </p>
+ *
+ * @param <T> the type of the items.
+ * @since 5.7.0
+ */
+public class CompiledBeanFieldSetMapper<T> implements FieldSetMapper<T>, InitializingBean {
+
+    /**
+     * Type descriptor of the values of the fields.
+     */
+    private static final TypeDescriptor STRING_TYPE = TypeDescriptor.valueOf(String.class);
+
+    /**
+     * Name of the target object in the binding result.
+     */
+    private static final String OBJECT_NAME = "target";
+
+    /**
+     * Type of the beans to be created.
+     */
+    private Class<? extends T> targetType;
+
+    /**
+     * Conversion service used to convert the values of the fields.
+     */
+    private ConversionService conversionService = DefaultConversionService.getSharedInstance();
+
+    /**
+     * Whether to fail if a field name does not match any property.
+     */
+    private boolean strict = true;
+
+    /**
+     * Accessor of the default constructor of the target type.
+     */
+    private Supplier<Object> constructor;
+
+    /**
+     * Bindings of the properties cached per set of the field names.
+     */
+    private final Map<List<String>, Binding> bindings = new ConcurrentHashMap<>();
+
+    /**
+     * Binding used last, checked before looking up {@link #bindings}.
+     */
+    private volatile Binding lastBinding;
+
+    /**
+     * Sets the type of the beans to be created, which must have a default constructor.
+     *
+     * @param targetType the type of the beans.
+     */
+    public void setTargetType(Class<? extends T> targetType) {
+        this.targetType = targetType;
+    }
+
+    /**
+     * Sets the conversion service used to convert the values of the fields to the types of the properties.
+     *
+     * @param conversionService the conversion service. Default value is the shared {@link DefaultConversionService}.
+     */
+    public void setConversionService(ConversionService conversionService) {
+        this.conversionService = conversionService;
+    }
+
+    /**
+     * Sets whether to fail if a field name does not match any property. If false, the field is ignored.
+     *
+     * @param strict true to fail. Default value is true.
+     */
+    public void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    /**
+     * Check mandatory properties, and generate the accessor of the constructor.
+     *
+     * @throws IllegalStateException if the target type or conversion service is not set.
+     * @throws IllegalArgumentException if the target type has no default constructor.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        Assert.state(targetType != null, "targetType must be set.");
+        Assert.state(conversionService != null, "conversionService must be set.");
+        constructor = BeanAccessors.constructor(targetType);
+        bindings.clear();
+        lastBinding = null;
+    }
+
+    /**
+     * Create a bean, and set the fields to the properties. An exception thrown by a setter is propagated as is.
+     *
+     * @param fieldSet the field set with the names.
+     * @return the bean.
+     * @throws BindException if a field cannot be converted to the type of the property.
+     * @throws NotWritablePropertyException if a field name does not match any property in the strict mode.
+     */
+    @Override
+    public T mapFieldSet(FieldSet fieldSet) throws BindException {
+        Assert.state(constructor != null, "afterPropertiesSet must be called.");
+        Binding binding = binding(fieldSet.getNames());
+        @SuppressWarnings("unchecked")
+        T target = (T) constructor.get();
+        BindingResult errors = null;
+        for (int i = 0; i < binding.properties.length; i++) {
+            Property property = binding.properties[i];
+            if (property == null) {
+                continue;
+            }
+            String value = fieldSet.readString(i);
+            Object converted;
+            try {
+                converted = convert(property, value);
+            } catch (ConversionException | IllegalArgumentException e) {
+                if (errors == null) {
+                    errors = new BeanPropertyBindingResult(target, OBJECT_NAME);
+                }
+                errors.addError(new FieldError(OBJECT_NAME, property.name, value, true, new String[] {
+                        "typeMismatch" }, null, e.getMessage()));
+                continue;
+            }
+            // an exception thrown by the setter is not a type mismatch, so that it is propagated.
+            property.setter.accept(target, converted);
+        }
+        if (errors != null) {
+            throw new BindException(errors);
+        }
+        return target;
+    }
+
+    /**
+     * Return the binding of the field names, creating it at the first time.
+     *
+     * @param names the field names.
+     * @return the binding.
+     */
+    private Binding binding(String[] names) {
+        Binding binding = lastBinding;
+        if (binding == null || !Arrays.equals(binding.names, names)) {
+            binding = bindings.computeIfAbsent(Arrays.asList(names), key -> new Binding(names, properties(names)));
+            lastBinding = binding;
+        }
+        return binding;
+    }
+
+    /**
+     * Match the field names to the properties of the target type.
+     *
+     * @param names the field names.
+     * @return the properties in the order of the names. The element is {@code null} if the name does not match.
+     * @throws NotWritablePropertyException if a name does not match any property in the strict mode.
+     */
+    private Property[] properties(String[] names) {
+        PropertyDescriptor[] descriptors = BeanUtils.getPropertyDescriptors(targetType);
+        Property[] properties = new Property[names.length];
+        for (int i = 0; i < names.length; i++) {
+            PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(targetType, names[i]);
+            if (descriptor == null || descriptor.getWriteMethod() == null) {
+                descriptor = null;
+                String normalized = normalize(names[i]);
+                for (PropertyDescriptor candidate : descriptors) {
+                    if (candidate.getWriteMethod() != null && normalize(candidate.getName()).equals(normalized)) {
+                        descriptor = candidate;
+                        break;
+                    }
+                }
+            }
+            if (descriptor == null) {
+                if (strict) {
+                    throw new NotWritablePropertyException(targetType, names[i]);
+                }
+                continue;
+            }
+            Method writeMethod = descriptor.getWriteMethod();
+            properties[i] = new Property(descriptor.getName(), new TypeDescriptor(new MethodParameter(writeMethod,
+                    0)), BeanAccessors.setter(writeMethod));
+        }
+        return properties;
+    }
+
+    /**
+     * Convert the value of the field to the type of the property.
+     *
+     * @param property the property.
+     * @param value the trimmed value of the field.
+     * @return the converted value.
+     * @throws ConversionException if failed to convert.
+     * @throws IllegalArgumentException if the value is converted to null and the property is primitive.
+     */
+    private Object convert(Property property, String value) {
+        if (property.type.getType() == String.class) {
+            return value;
+        }
+        Object converted = conversionService.convert(value, STRING_TYPE, property.type);
+        if (converted == null && property.type.isPrimitive()) {
+            throw new IllegalArgumentException("Failed to convert the value to the primitive type. [value:" + value
+                    + "][type:" + property.type.getType().getName() + "]");
+        }
+        return converted;
+    }
+
+    /**
+     * Normalize a name to match ignoring the case and underscores.
+     *
+     * @param name the name.
+     * @return the normalized name.
+     */
+    private static String normalize(String name) {
+        return name.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Properties matched to a set of the field names.
+     */
+    private static final class Binding {
+
+        /**
+         * The field names.
+         */
+        private final String[] names;
+
+        /**
+         * The properties in the order of the names.
+         */
+        private final Property[] properties;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param names the field names.
+         * @param properties the properties in the order of the names.
+         */
+        private Binding(String[] names, Property[] properties) {
+            this.names = names;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Property of the target type.
+     */
+    private static final class Property {
+
+        /**
+         * Name of the property.
+         */
+        private final String name;
+
+        /**
+         * Type of the property.
+         */
+        private final TypeDescriptor type;
+
+        /**
+         * Accessor of the setter.
+         */
+        private final BiConsumer<Object, Object> setter;
+
+        /**
+         * Create a new instance with the specified parameters.
+         *
+         * @param name name of the property.
+         * @param type type of the property.
+         * @param setter accessor of the setter.
+         */
+        private Property(String name, TypeDescriptor type, BiConsumer<Object, Object> setter) {
+            this.name = name;
+            this.type = type;
+            this.setter = setter;
+        }
+    }
+}
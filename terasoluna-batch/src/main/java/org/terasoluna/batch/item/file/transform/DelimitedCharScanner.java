@@ -0,0 +1,131 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.springframework.util.Assert;
+
+/**
+ * Engine that finds the first occurrence of any of a few target characters, such as the delimiter, enclosure, carriage-return
+ * and line-feed of a delimited file.
+ * <p>
+ * Up to {@value #MAX_TARGETS} targets are held in final fields and compared directly with each character, so that the scan
+ * loop has no branch other than the comparisons. Unused fields repeat the first target.
+ * </p>
+ * <p>
+ * This class is immutable and thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public final class DelimitedCharScanner {
+
+    /**
+     * Maximum number of the targets.
+     */
+    private static final int MAX_TARGETS = 4;
+
+    /**
+     * The first target.
+     */
+    private final char t0;
+
+    /**
+     * The second target, or the first target if not specified.
+     */
+    private final char t1;
+
+    /**
+     * The third target, or the first target if not specified.
+     */
+    private final char t2;
+
+    /**
+     * The fourth target, or the first target if not specified.
+     */
+    private final char t3;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param targets the characters to be found.
+     */
+    private DelimitedCharScanner(char[] targets) {
+        this.t0 = targets[0];
+        this.t1 = targets.length > 1 ? targets[1] : targets[0];
+        this.t2 = targets.length > 2 ? targets[2] : targets[0];
+        this.t3 = targets.length > 3 ? targets[3] : targets[0];
+    }
+
+    /**
+     * Create a scanner which finds the target characters.
+     *
+     * @param targets the characters to be found, up to {@value #MAX_TARGETS}.
+     * @return the scanner.
+     * @throws IllegalArgumentException if no target is specified, or more than {@value #MAX_TARGETS} targets are specified.
+     */
+    public static DelimitedCharScanner of(char... targets) {
+        Assert.isTrue(targets != null && targets.length > 0, "targets must be set.");
+        Assert.isTrue(targets.length <= MAX_TARGETS, () -> "targets must be " + MAX_TARGETS + " or less. [targets:"
+                + targets.length + "]");
+        return new DelimitedCharScanner(targets);
+    }
+
+    /**
+     * Check whether the character is one of the targets.
+     *
+     * @param c the character to be checked.
+     * @return true if the character is a target.
+     */
+    public boolean isTarget(char c) {
+        return c == t0 || c == t1 || c == t2 || c == t3;
+    }
+
+    /**
+     * Find the first target in the range of the array.
+     *
+     * @param chars the characters to be scanned.
+     * @param from index of the first character (inclusive).
+     * @param to index of the last character (exclusive).
+     * @return the index of the target, or -1 if not found.
+     */
+    public int indexOf(char[] chars, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = chars[i];
+            if (c == t0 || c == t1 || c == t2 || c == t3) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Find the first target in the range of the character sequence.
+     *
+     * @param cs the characters to be scanned.
+     * @param from index of the first character (inclusive).
+     * @param to index of the last character (exclusive).
+     * @return the index of the target, or -1 if not found.
+     */
+    public int indexOf(CharSequence cs, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = cs.charAt(i);
+            if (c == t0 || c == t1 || c == t2 || c == t3) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+/**
+ * Engine that appends fields to a {@link StringBuilder} in the format of {@link EnclosableDelimitedLineAggregator}.
+ * <p>
+ * Each field is scanned only once by {@link DelimitedCharScanner} to find the delimiter, enclosure, carriage-return and
+ * line-feed, and the enclosures are escaped while the field is appended. {@link CharSequence} fields are appended without conversion, and numbers, booleans and
+ * characters are appended without creating an intermediate String.
+ * </p>
+ * <p>
+ * This class is immutable and thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public final class EnclosableDelimitedFieldAppender {
+
+    /**
+     * Delimiter character.
+     */
+    private final char delimiter;
+
+    /**
+     * Enclosure character.
+     */
+    private final char enclosure;
+
+    /**
+     * Enclosing-format.
+     */
+    private final boolean allEnclosing;
+
+    /**
+     * Scanner of the characters that require enclosing.
+     */
+    private final DelimitedCharScanner scanner;
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param delimiter delimiter character.
+     * @param enclosure enclosure character.
+     * @param allEnclosing true : All-Enclosing, false : Partly-Enclosing.
+     * @throws IllegalArgumentException if {@code delimiter} and {@code enclosure} are same.
+     */
+    public EnclosableDelimitedFieldAppender(char delimiter, char enclosure, boolean allEnclosing) {
+        if (delimiter == enclosure) {
+            throw new IllegalArgumentException("the delimiter and enclosure must be different. [value:" + enclosure + "]");
+        }
+        this.delimiter = delimiter;
+        this.enclosure = enclosure;
+        this.allEnclosing = allEnclosing;
+        this.scanner = DelimitedCharScanner.of(delimiter, enclosure, '\r', '\n');
+    }
+
+    /**
+     * Append the fields separated by the delimiter.
+     *
+     * @param sb the destination.
+     * @param fields the fields to be appended. A {@code null} element is appended as an empty field.
+     * @return the destination.
+     */
+    public StringBuilder appendFields(StringBuilder sb, Object[] fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                sb.append(delimiter);
+            }
+            appendField(sb, fields[i]);
+        }
+        return sb;
+    }
+
+    /**
+     * Append a field. The field is enclosed and escaped if necessary.
+     *
+     * @param sb the destination.
+     * @param field the field to be appended. {@code null} is appended as an empty field.
+     * @return the destination.
+     */
+    public StringBuilder appendField(StringBuilder sb, Object field) {
+        if (field instanceof CharSequence) {
+            return appendCharSequence(sb, (CharSequence) field);
+        }
+        int start = sb.length();
+        appendValue(sb, field);
+        if (allEnclosing || indexOfTarget(sb, start, sb.length()) >= 0) {
+            String value = sb.substring(start);
+            sb.setLength(start);
+            appendEnclosed(sb, value, 0);
+        }
+        return sb;
+    }
+
+    /**
+     * Check whether the field is enclosed.
+     *
+     * @param field the field to be checked.
+     * @return true if All-Enclosing, or the field contains delimiter, enclosure, carriage-return or line-feed.
+     */
+    public boolean needsEnclosing(CharSequence field) {
+        return allEnclosing || indexOfTarget(field, 0, field.length()) >= 0;
+    }
+
+    /**
+     * Append a character sequence field.
+     *
+     * @param sb the destination.
+     * @param field the field to be appended.
+     * @return the destination.
+     */
+    private StringBuilder appendCharSequence(StringBuilder sb, CharSequence field) {
+        if (allEnclosing) {
+            return appendEnclosed(sb, field, 0);
+        }
+        int first = indexOfTarget(field, 0, field.length());
+        if (first < 0) {
+            return sb.append(field);
+        }
+        return appendEnclosed(sb, field, first);
+    }
+
+    /**
+     * Append a field enclosed, escaping enclosures in it.
+     *
+     * @param sb the destination.
+     * @param field the field to be appended.
+     * @param from index from which enclosures may appear. Characters before it must not contain any enclosure.
+     * @return the destination.
+     */
+    private StringBuilder appendEnclosed(StringBuilder sb, CharSequence field, int from) {
+        sb.append(enclosure);
+        int length = field.length();
+        int start = 0;
+        for (int i = from; i < length; i++) {
+            if (field.charAt(i) == enclosure) {
+                sb.append(field, start, i + 1).append(enclosure);
+                start = i + 1;
+            }
+        }
+        return sb.append(field, start, length).append(enclosure);
+    }
+
+    /**
+     * Find the first character that requires enclosing.
+     *
+     * @param cs the characters to be scanned.
+     * @param from index of the first character (inclusive).
+     * @param to index of the last character (exclusive).
+     * @return the index of the character, or -1 if not found.
+     */
+    private int indexOfTarget(CharSequence cs, int from, int to) {
+        return scanner.indexOf(cs, from, to);
+    }
+
+    /**
+     * Append a non character sequence field in the same representation as {@link Object#toString()}.
+     *
+     * @param sb the destination.
+     * @param field the field to be appended.
+     */
+    private static void appendValue(StringBuilder sb, Object field) {
+        if (field == null) {
+            return;
+        }
+        if (field instanceof Integer || field instanceof Long || field instanceof Short || field instanceof Byte) {
+            sb.append(((Number) field).longValue());
+        } else if (field instanceof Double) {
+            sb.append(((Double) field).doubleValue());
+        } else if (field instanceof Float) {
+            sb.append(((Float) field).floatValue());
+        } else if (field instanceof Boolean) {
+            sb.append(((Boolean) field).booleanValue());
+        } else if (field instanceof Character) {
+            sb.append(((Character) field).charValue());
+        } else {
+            sb.append(field);
+        }
+    }
+}
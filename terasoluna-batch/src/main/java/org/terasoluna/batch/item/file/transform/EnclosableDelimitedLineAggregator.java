@@ -15,12 +15,12 @@
  */
 package org.terasoluna.batch.item.file.transform;
 
+import java.util.Objects;
+import java.util.StringJoiner;
+
 import org.springframework.batch.item.file.transform.ExtractorLineAggregator;
 import org.springframework.beans.factory.InitializingBean;
 
-import java.util.Arrays;
-import java.util.stream.Collectors;
-
 /**
  * A {@link org.springframework.batch.item.file.transform.LineAggregator} implementation that converts an object into a
  * delimited single string.
@@ -54,12 +54,33 @@ import java.util.stream.Collectors;
  * <li>Partly-Enclosing : "aa,aa",bbbb,cccc</li>
  * <li>All-Enclosing : "aa,aa","bbbb","cccc"</li>
  * </ul>
+ * <p>
+ * The fields are aggregated by {@link EnclosableDelimitedFieldAppender} into a {@link StringBuilder} reused per thread, so that
+ * only the resulting line is created as a new String. The appender is rebuilt when the protected fields are changed, also by
+ * a subclass. If they cannot be handled by the appender, e.g. a multi-character delimiter or an {@code escapedEnclosure}
+ * other than the doubled enclosure, the fields are aggregated by replacing Strings.
+ * </p>
+ * <p>
+ * A {@code null} field is aggregated as an empty field. {@link #aggregate(Object)} has always converted {@code null} into an
+ * empty String, and since 5.7.0 {@link #doAggregate(Object[])} called directly, e.g. by a subclass, does the same instead of
+ * throwing {@link NullPointerException}.
+ * </p>
  *
  * @param <T> Type of value to be converted
  * @since 5.0.0
  */
 public class EnclosableDelimitedLineAggregator<T> extends ExtractorLineAggregator<T> implements InitializingBean {
 
+    /**
+     * Upper limit of the capacity of the buffer retained per thread.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * Buffer reused per thread to aggregate a line.
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
     /**
      * Enclosing-format.
      */
@@ -80,6 +101,11 @@ public class EnclosableDelimitedLineAggregator<T> extends ExtractorLineAggregato
      */
     protected String delimiter = ",";
 
+    /**
+     * Format used by the last aggregation, which is rebuilt when the fields are changed.
+     */
+    private Format format = new Format(allEnclosing, enclosure, escapedEnclosure, delimiter);
+
     /**
      * Public setter for the variable {@code allEnclosing}.
      * <ul>
@@ -137,38 +163,105 @@ public class EnclosableDelimitedLineAggregator<T> extends ExtractorLineAggregato
     @Override
     protected String doAggregate(Object[] fields) {
 
-        return Arrays.stream(fields).map(Object::toString)
-                .map(field -> hasTargetChar(field) ? encloseAndEscape(field) : field)
-                .collect(Collectors.joining(delimiter));
+        Format f = this.format;
+        if (!f.matches(allEnclosing, enclosure, escapedEnclosure, delimiter)) {
+            f = new Format(allEnclosing, enclosure, escapedEnclosure, delimiter);
+            this.format = f;
+        }
+        if (f.appender == null) {
+            return aggregateByReplacing(fields);
+        }
+        StringBuilder sb = BUFFER.get();
+        sb.setLength(0);
+        String line = f.appender.appendFields(sb, fields).toString();
+        if (sb.capacity() > MAX_RETAINED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return line;
     }
 
     /**
-     * Check the {@code field} contains target character.
+     * Aggregate provided fields by replacing Strings, for the format which {@link EnclosableDelimitedFieldAppender} cannot
+     * handle.
      *
-     * @param field An element of an array.
-     * @return true : A field contains delimiter, enclosure, carriage-return, line-feed.
+     * @param fields An array of the fields that must be aggregated.
+     * @return Delimited and escaped line string.
      */
-    private boolean hasTargetChar(String field) {
-        return allEnclosing || (field.contains(delimiter)) || (field.contains(enclosure)) || containsCrlf(field);
+    private String aggregateByReplacing(Object[] fields) {
+        StringJoiner joiner = new StringJoiner(delimiter);
+        for (Object value : fields) {
+            String field = Objects.toString(value, "");
+            if (allEnclosing || field.contains(delimiter) || field.contains(enclosure) || field.contains("\r")
+                    || field.contains("\n")) {
+                field = enclosure + field.replace(enclosure, escapedEnclosure) + enclosure;
+            }
+            joiner.add(field);
+        }
+        return joiner.toString();
     }
 
     /**
-     * Check the {@code field} contains CR or LF especially.
-     * 
-     * @param field An element of an array.
-     * @return true if field contains CR or LF.
+     * Format of the aggregation and the engine built for it.
      */
-    private boolean containsCrlf(String field) {
-        return (field.contains("\r")) || (field.contains("\n"));
-    }
+    private static final class Format {
 
-    /**
-     * Do enclose and escape.
-     *
-     * @param field A target string.
-     * @return A enclosed and escaped string.
-     */
-    private String encloseAndEscape(String field) {
-        return enclosure + field.replace(enclosure, escapedEnclosure) + enclosure;
+        /**
+         * Enclosing-format.
+         */
+        private final boolean allEnclosing;
+
+        /**
+         * Enclosure character.
+         */
+        private final String enclosure;
+
+        /**
+         * Escaped enclosure character.
+         */
+        private final String escapedEnclosure;
+
+        /**
+         * Delimiter character.
+         */
+        private final String delimiter;
+
+        /**
+         * Engine to append the fields, or {@code null} if the format cannot be handled by it.
+         */
+        private final EnclosableDelimitedFieldAppender appender;
+
+        /**
+         * Create a new instance with the specified format.
+         *
+         * @param allEnclosing Enclosing-format.
+         * @param enclosure Enclosure character.
+         * @param escapedEnclosure Escaped enclosure character.
+         * @param delimiter Delimiter character.
+         */
+        private Format(boolean allEnclosing, String enclosure, String escapedEnclosure, String delimiter) {
+            this.allEnclosing = allEnclosing;
+            this.enclosure = enclosure;
+            this.escapedEnclosure = escapedEnclosure;
+            this.delimiter = delimiter;
+            boolean supported = delimiter.length() == 1 && enclosure.length() == 1 && !delimiter.equals(enclosure)
+                    && escapedEnclosure.equals(enclosure + enclosure);
+            this.appender = supported ? new EnclosableDelimitedFieldAppender(delimiter.charAt(0), enclosure.charAt(0),
+                    allEnclosing) : null;
+        }
+
+        /**
+         * Check whether this format is built from the specified values. The Strings are compared by reference, since the
+         * setters always create new ones.
+         *
+         * @param allEnclosing Enclosing-format.
+         * @param enclosure Enclosure character.
+         * @param escapedEnclosure Escaped enclosure character.
+         * @param delimiter Delimiter character.
+         * @return true if the format is not changed.
+         */
+        private boolean matches(boolean allEnclosing, String enclosure, String escapedEnclosure, String delimiter) {
+            return this.allEnclosing == allEnclosing && this.enclosure == enclosure
+                    && this.escapedEnclosure == escapedEnclosure && this.delimiter == delimiter;
+        }
     }
 }
@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.springframework.batch.item.file.transform.AbstractLineTokenizer;
+import org.springframework.batch.item.file.transform.FlatFileFormatException;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tokenizer used to process records in the format of {@link EnclosableDelimitedLineAggregator}.
+ * <p>
+ * This class is the counterpart of EnclosableDelimitedLineAggregator, and is configured in the same way. The record is split
+ * in a single pass by a state machine as follows (which based on RFC 4180).
+ * </p>
+ * <ul>
+ * <li>A field which starts with the enclosure is an enclosed field, and ends with the enclosure followed by the delimiter or
+ * the end of the record. It can contain line breaks, delimiters and escaped enclosures.</li>
+ * <li>Escaped enclosure (double enclosure) in an enclosed field is converted to a single enclosure.</li>
+ * <li>A field which does not start with the enclosure ends with the delimiter or the end of the record, and is not
+ * converted.</li>
+ * </ul>
+ * <p>
+ * A record which contains line breaks should be read by
+ * {@link org.terasoluna.batch.item.file.EnclosableDelimitedBufferedReaderFactory}. This class cannot be set to the same
+ * character to the enclosure and delimiter.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public class EnclosableDelimitedLineTokenizer extends AbstractLineTokenizer implements InitializingBean {
+
+    /**
+     * Enclosure character.
+     */
+    private char enclosure = '"';
+
+    /**
+     * Delimiter character.
+     */
+    private char delimiter = ',';
+
+    /**
+     * Public setter for the variable {@code enclosure}.
+     *
+     * @param enclosure Enclosure character. Default value is double-quote.
+     */
+    public void setEnclosure(char enclosure) {
+        this.enclosure = enclosure;
+    }
+
+    /**
+     * Public setter for the variable {@code delimiter}.
+     *
+     * @param delimiter Delimiter. Default value is comma.
+     */
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Check the enclosure and delimiter.
+     *
+     * @throws IllegalStateException If enclosure and delimiter are same.
+     */
+    @Override
+    public void afterPropertiesSet() {
+        if (enclosure == delimiter) {
+            throw new IllegalStateException("the delimiter and enclosure must be different. [value:" + enclosure + "]");
+        }
+    }
+
+    /**
+     * Yields the tokens resulting from the splitting of the supplied {@code line}.
+     *
+     * @param line the line to be tokenized.
+     * @return the resulting tokens.
+     * @throws FlatFileFormatException If an enclosed field is not closed, or is followed by characters other than the
+     *             delimiter.
+     */
+    @Override
+    protected List<String> doTokenize(String line) {
+        final char quote = enclosure;
+        final char delim = delimiter;
+        final int length = line.length();
+        List<String> tokens = new ArrayList<>();
+        int start = 0;
+        while (true) {
+            if (start < length && line.charAt(start) == quote) {
+                start = readEnclosedField(line, start, tokens);
+            } else {
+                int end = line.indexOf(delim, start);
+                if (end < 0) {
+                    end = length;
+                }
+                tokens.add(line.substring(start, end));
+                start = end;
+            }
+            if (start >= length) {
+                return tokens;
+            }
+            start++;
+            if (start == length) {
+                tokens.add("");
+                return tokens;
+            }
+        }
+    }
+
+    /**
+     * Read an enclosed field, and add it to the tokens.
+     *
+     * @param line the line to be tokenized.
+     * @param start the index of the opening enclosure.
+     * @param tokens the resulting tokens.
+     * @return the index of the delimiter following the field, or the length of the line.
+     * @throws FlatFileFormatException If the field is not closed, or is followed by characters other than the delimiter.
+     */
+    private int readEnclosedField(String line, int start, List<String> tokens) {
+        final char quote = enclosure;
+        final int length = line.length();
+        StringBuilder unescaped = null;
+        int from = start + 1;
+        int i = from;
+        while (true) {
+            int close = line.indexOf(quote, i);
+            if (close < 0) {
+                throw new FlatFileFormatException("the enclosure is not closed. [line:" + line + "][position:"
+                        + (start + 1) + "]", line);
+            }
+            if (close + 1 < length && line.charAt(close + 1) == quote) {
+                if (unescaped == null) {
+                    unescaped = new StringBuilder(close - from + 16);
+                }
+                unescaped.append(line, from, close + 1);
+                from = close + 2;
+                i = from;
+                continue;
+            }
+            if (close + 1 < length && line.charAt(close + 1) != delimiter) {
+                throw new FlatFileFormatException("the enclosed field must be followed by the delimiter. [line:" + line
+                        + "][position:" + (close + 2) + "]", line);
+            }
+            if (unescaped == null) {
+                tokens.add(line.substring(from, close));
+            } else {
+                tokens.add(unescaped.append(line, from, close).toString());
+            }
+            return close + 1;
+        }
+    }
+}
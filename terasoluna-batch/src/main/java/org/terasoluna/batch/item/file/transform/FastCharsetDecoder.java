@@ -0,0 +1,297 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decoder that converts bytes into a String in the same way as {@link String#String(byte[], int, int, Charset)}, with fast
+ * paths chosen once per charset.
+ * <ul>
+ * <li>UTF-8, ISO-8859-1 and US-ASCII : Decoded by the String constructor, which has its own fast paths for them.</li>
+ * <li>Single-byte charsets (e.g. Cp037 EBCDIC, windows-1252) : Each byte is converted by a table of 256 characters.</li>
+ * <li>ASCII compatible multibyte charsets (e.g. MS932, Shift_JIS, EUC-JP) : A run of ASCII bytes is copied without the
+ * decoder, and the rest is decoded by a reused {@link CharsetDecoder}. A value of only ASCII bytes is created without any
+ * decoding.</li>
+ * <li>Others (e.g. Cp930 which uses shift sequences) : Decoded by a reused {@link CharsetDecoder}.</li>
+ * </ul>
+ * <p>
+ * The decoders and the work buffers are reused per thread. Malformed and unmappable bytes are replaced in the same way as the
+ * String constructor. Instances are cached per charset, and are thread safe.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public final class FastCharsetDecoder {
+
+    /**
+     * Instances cached per charset.
+     */
+    private static final Map<Charset, FastCharsetDecoder> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Upper limit of the capacity of the work buffer retained per thread.
+     */
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    /**
+     * The charset.
+     */
+    private final Charset charset;
+
+    /**
+     * Whether the String constructor is used as is.
+     */
+    private final boolean builtIn;
+
+    /**
+     * Characters of the bytes, or {@code null} if the charset is not a single-byte charset.
+     */
+    private final char[] table;
+
+    /**
+     * Whether the bytes from 0x00 to 0x7F are decoded into the same ASCII characters, independently of the preceding bytes.
+     */
+    private final boolean asciiAsIs;
+
+    /**
+     * Work area reused per thread.
+     */
+    private final ThreadLocal<Workspace> workspace;
+
+    /**
+     * Create a new instance for the charset, and choose the decoding path.
+     *
+     * @param charset the charset.
+     */
+    private FastCharsetDecoder(Charset charset) {
+        this.charset = charset;
+        this.builtIn = charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.ISO_8859_1) || charset
+                .equals(StandardCharsets.US_ASCII);
+        this.table = builtIn ? null : createTable(charset);
+        if (builtIn) {
+            this.asciiAsIs = false;
+        } else if (table != null) {
+            this.asciiAsIs = isAsciiIdentity(table);
+        } else {
+            this.asciiAsIs = FixedByteLengthFieldSet.isAsciiCompatible(charset) && decodesAsciiAsIs(charset);
+        }
+        this.workspace = ThreadLocal.withInitial(Workspace::new);
+    }
+
+    /**
+     * Return the decoder for the charset.
+     *
+     * @param charset the charset.
+     * @return the decoder cached per charset.
+     * @throws IllegalArgumentException if the charset is not set.
+     */
+    public static FastCharsetDecoder forCharset(Charset charset) {
+        Assert.notNull(charset, "charset must be set.");
+        return CACHE.computeIfAbsent(charset, FastCharsetDecoder::new);
+    }
+
+    /**
+     * Return the charset of this decoder.
+     *
+     * @return the charset.
+     */
+    public Charset charset() {
+        return charset;
+    }
+
+    /**
+     * Decode the bytes into a String.
+     *
+     * @param bytes the bytes to be decoded.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return the decoded String.
+     */
+    public String decode(byte[] bytes, int offset, int length) {
+        if (builtIn) {
+            return new String(bytes, offset, length, charset);
+        }
+        int ascii = asciiAsIs ? asciiLength(bytes, offset, length) : 0;
+        if (asciiAsIs && ascii == length) {
+            return new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+        }
+        Workspace ws = workspace.get();
+        if (table != null) {
+            char[] chars = ws.chars(length);
+            for (int i = 0; i < length; i++) {
+                chars[i] = table[bytes[offset + i] & 0xFF];
+            }
+            return ws.toString(length);
+        }
+        int capacity = ascii + (int) Math.ceil((length - ascii) * (double) ws.decoder.maxCharsPerByte());
+        char[] chars = ws.chars(capacity);
+        for (int i = 0; i < ascii; i++) {
+            chars[i] = (char) bytes[offset + i];
+        }
+        CharBuffer out = CharBuffer.wrap(chars, ascii, capacity - ascii);
+        CharsetDecoder decoder = ws.decoder;
+        decoder.reset();
+        ByteBuffer in = ByteBuffer.wrap(bytes, offset + ascii, length - ascii);
+        decoder.decode(in, out, true);
+        decoder.flush(out);
+        return ws.toString(out.position());
+    }
+
+    /**
+     * Whether the table maps the bytes from 0x00 to 0x7F to the same characters.
+     *
+     * @param table the table of the characters of the bytes.
+     * @return true if so.
+     */
+    private static boolean isAsciiIdentity(char[] table) {
+        for (int i = 0; i < 0x80; i++) {
+            if (table[i] != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the length of the leading ASCII bytes.
+     *
+     * @param bytes the bytes.
+     * @param offset the index of the first byte.
+     * @param length the number of bytes.
+     * @return the number of the leading bytes from 0x00 to 0x7F.
+     */
+    private static int asciiLength(byte[] bytes, int offset, int length) {
+        for (int i = 0; i < length; i++) {
+            if (bytes[offset + i] < 0) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    /**
+     * Create the table of the characters of the bytes, if the charset is a single-byte charset.
+     *
+     * @param charset the charset.
+     * @return the table, or {@code null} if any byte is not decoded into exactly one character.
+     */
+    private static char[] createTable(Charset charset) {
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() != 1.0f) {
+            return null;
+        }
+        CharsetDecoder decoder = newDecoder(charset);
+        char[] table = new char[256];
+        CharBuffer out = CharBuffer.allocate(4);
+        for (int b = 0; b < 256; b++) {
+            decoder.reset();
+            out.clear();
+            decoder.decode(ByteBuffer.wrap(new byte[] { (byte) b }), out, true);
+            decoder.flush(out);
+            if (out.position() != 1) {
+                return null;
+            }
+            table[b] = out.get(0);
+        }
+        return table;
+    }
+
+    /**
+     * Check that the bytes from 0x00 to 0x7F are decoded into the same characters.
+     *
+     * @param charset the charset.
+     * @return true if so.
+     */
+    private static boolean decodesAsciiAsIs(Charset charset) {
+        byte[] bytes = new byte[0x80];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        String decoded = new String(bytes, charset);
+        if (decoded.length() != bytes.length) {
+            return false;
+        }
+        for (int i = 0; i < bytes.length; i++) {
+            if (decoded.charAt(i) != i) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Create a decoder which replaces the malformed and unmappable bytes in the same way as the String constructor.
+     *
+     * @param charset the charset.
+     * @return a new decoder.
+     */
+    private static CharsetDecoder newDecoder(Charset charset) {
+        return charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(
+                CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Work area of a thread.
+     */
+    private final class Workspace {
+
+        /**
+         * Decoder reused for all values.
+         */
+        private final CharsetDecoder decoder = newDecoder(charset);
+
+        /**
+         * Reused buffer of the decoded characters.
+         */
+        private char[] chars = new char[256];
+
+        /**
+         * Return the buffer which has at least the capacity.
+         *
+         * @param capacity the required capacity.
+         * @return the buffer.
+         */
+        private char[] chars(int capacity) {
+            if (chars.length < capacity) {
+                chars = new char[Math.max(capacity, chars.length * 2)];
+            }
+            return chars;
+        }
+
+        /**
+         * Create a String of the decoded characters, and shrink the buffer if it is too large.
+         *
+         * @param length the number of the decoded characters.
+         * @return the String.
+         */
+        private String toString(int length) {
+            String value = new String(chars, 0, length);
+            if (chars.length > MAX_RETAINED_CAPACITY) {
+                chars = new char[256];
+            }
+            return value;
+        }
+    }
+}
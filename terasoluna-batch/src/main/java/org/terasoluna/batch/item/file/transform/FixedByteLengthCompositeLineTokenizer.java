@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.LineTokenizer;
+import org.springframework.batch.item.file.transform.Range;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Tokenizer used to process the files with fixed-byte-length format which mix several record layouts, e.g. header, data and
+ * trailer records.
+ * <p>
+ * The layout of each record is selected by the type code at the fixed byte range {@code discriminator}. The bytes of the
+ * type code are looked up in a table built in advance instead of matching patterns to the decoded line: an array indexed by
+ * the byte for a single byte, or a binary search over the type codes packed into sorted long values for longer ones, so that
+ * the lookup creates no object. The line is converted to the bytes only once and shared with the
+ * {@link FixedByteLengthLineTokenizer} of the layout, so that tokenizing a record costs nearly the same as a file with a
+ * single layout.
+ * </p>
+ * <p>
+ * The records with an unknown type code are tokenized by {@code defaultTokenizer} if set. All tokenizers of the layouts must
+ * use the same charset as this tokenizer.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public class FixedByteLengthCompositeLineTokenizer implements LineTokenizer {
+
+    /**
+     * Maximum number of bytes of the type code.
+     */
+    private static final int MAX_DISCRIMINATOR_LENGTH = Long.BYTES;
+
+    /**
+     * Index of the first byte of the type code.
+     */
+    private final int discriminatorFrom;
+
+    /**
+     * Number of bytes of the type code.
+     */
+    private final int discriminatorLength;
+
+    /**
+     * The charset to be used to convert from the string to the bytes.
+     */
+    private final Charset charset;
+
+    /**
+     * Tokenizers indexed by the unsigned type code of a single byte, or {@code null} for the longer type code.
+     */
+    private final FixedByteLengthLineTokenizer[] byteTable;
+
+    /**
+     * Type codes of two bytes or more packed into long values, sorted in ascending order.
+     */
+    private final long[] packedCodes;
+
+    /**
+     * Tokenizers of the type codes at the same index of {@code packedCodes}.
+     */
+    private final FixedByteLengthLineTokenizer[] packedTokenizers;
+
+    /**
+     * Tokenizer of the records with an unknown type code.
+     */
+    private LineTokenizer defaultTokenizer;
+
+    /**
+     * Set the byte range of the type code, the tokenizers of the layouts and charset.
+     *
+     * @param discriminator the byte range of the type code, up to 8 bytes.
+     * @param tokenizers the tokenizers keyed by the type code.
+     * @param charset the charset to be used to convert from the string to the bytes.
+     * @throws IllegalArgumentException if the arguments are not set, or a type code or tokenizer does not fit the range and
+     *             charset.
+     */
+    public FixedByteLengthCompositeLineTokenizer(Range discriminator,
+            Map<String, FixedByteLengthLineTokenizer> tokenizers, Charset charset) {
+        Assert.notNull(discriminator, "discriminator must be set.");
+        Assert.notEmpty(tokenizers, "tokenizers must be set.");
+        Assert.notNull(charset, "charset must be set.");
+        Assert.isTrue(discriminator.hasMaxValue(),
+                "This range must be specified both the min and max. [range:" + discriminator + "]");
+        this.discriminatorFrom = discriminator.getMin() - 1;
+        this.discriminatorLength = discriminator.getMax() - discriminatorFrom;
+        Assert.isTrue(discriminatorLength <= MAX_DISCRIMINATOR_LENGTH, "discriminator must be "
+                + MAX_DISCRIMINATOR_LENGTH + " bytes or less. [discriminator:" + discriminator + "]");
+        this.charset = charset;
+        this.byteTable = discriminatorLength == 1 ? new FixedByteLengthLineTokenizer[256] : null;
+        Map<Long, FixedByteLengthLineTokenizer> packedTable = new TreeMap<>();
+        for (Map.Entry<String, FixedByteLengthLineTokenizer> entry : tokenizers.entrySet()) {
+            String typeCode = entry.getKey();
+            FixedByteLengthLineTokenizer tokenizer = entry.getValue();
+            Assert.notNull(typeCode, "type codes must be set.");
+            Assert.notNull(tokenizer, "tokenizers must be set. [typeCode:" + typeCode + "]");
+            Assert.isTrue(charset.equals(tokenizer.getCharset()),
+                    "tokenizers must use the same charset. [typeCode:" + typeCode + "][charset:" + tokenizer
+                            .getCharset() + "]");
+            byte[] typeBytes = typeCode.getBytes(charset);
+            Assert.isTrue(typeBytes.length == discriminatorLength,
+                    "type code must be the same length as the discriminator. [typeCode:" + typeCode + "][length:"
+                            + typeBytes.length + "][discriminator:" + discriminator + "]");
+            if (byteTable != null) {
+                byteTable[typeBytes[0] & 0xFF] = tokenizer;
+            } else {
+                packedTable.put(pack(typeBytes, 0, discriminatorLength), tokenizer);
+            }
+        }
+        this.packedCodes = packedTable.keySet().stream().mapToLong(Long::longValue).toArray();
+        this.packedTokenizers = packedTable.values().toArray(new FixedByteLengthLineTokenizer[0]);
+    }
+
+    /**
+     * Sets the tokenizer of the records with an unknown type code, or the records shorter than the type code.
+     *
+     * @param defaultTokenizer the tokenizer. If not set, those records cause an exception.
+     */
+    public void setDefaultTokenizer(LineTokenizer defaultTokenizer) {
+        this.defaultTokenizer = defaultTokenizer;
+    }
+
+    /**
+     * Yields the tokens of the supplied {@code line} by the tokenizer of the layout selected by the type code.
+     *
+     * @param line the line to be tokenized (can be {@code null}).
+     * @return the resulting tokens.
+     * @throws IncorrectLineLengthException If the line is shorter than the type code and {@code defaultTokenizer} is not set,
+     *             or the line does not fit the selected layout.
+     * @throws IllegalStateException If no tokenizer is found for the type code and {@code defaultTokenizer} is not set.
+     */
+    @Override
+    public FieldSet tokenize(@Nullable String line) {
+        String target = line == null ? "" : line;
+        byte[] lineBytes = target.getBytes(charset);
+        int end = discriminatorFrom + discriminatorLength;
+        if (lineBytes.length < end) {
+            if (defaultTokenizer != null) {
+                return defaultTokenizer.tokenize(target);
+            }
+            throw new IncorrectLineLengthException("Line length is shorter than the discriminator. [line:" + target
+                    + "][lineLength:" + lineBytes.length + "][discriminator:" + (discriminatorFrom + 1) + "-" + end
+                    + "]", end, lineBytes.length, target);
+        }
+        FixedByteLengthLineTokenizer tokenizer;
+        if (byteTable != null) {
+            tokenizer = byteTable[lineBytes[discriminatorFrom] & 0xFF];
+        } else {
+            int index = Arrays.binarySearch(packedCodes, pack(lineBytes, discriminatorFrom, discriminatorLength));
+            tokenizer = index >= 0 ? packedTokenizers[index] : null;
+        }
+        if (tokenizer != null) {
+            return tokenizer.tokenize(target, lineBytes);
+        }
+        if (defaultTokenizer != null) {
+            return defaultTokenizer.tokenize(target);
+        }
+        throw new IllegalStateException("No tokenizer is found for the type code. [typeCode:" + new String(lineBytes,
+                discriminatorFrom, discriminatorLength, charset) + "][line:" + target + "]");
+    }
+
+    /**
+     * Pack the bytes of a type code into a long value.
+     *
+     * @param bytes the bytes containing the type code.
+     * @param from the index of the first byte.
+     * @param length the number of bytes.
+     * @return the packed value.
+     */
+    private static long pack(byte[] bytes, int from, int length) {
+        long packed = 0;
+        for (int i = from; i < from + length; i++) {
+            packed = (packed << 8) | (bytes[i] & 0xFF);
+        }
+        return packed;
+    }
+}
@@ -0,0 +1,1209 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.Range;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.text.DateFormat;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+/**
+ * {@link FieldSet} that keeps the bytes of a record tokenized by {@link FixedByteLengthLineTokenizer}.
+ * <p>
+ * The String based accessors behave in the same way as {@link org.springframework.batch.item.file.transform.DefaultFieldSet}.
+ * A field is decoded from the record bytes when it is accessed first, and the decoded value is cached, so that the fields not
+ * read by the mapper are never decoded. The default number and date formats are shared per thread instead of created for
+ * each record.
+ * </p>
+ * <p>
+ * In addition, this class provides accessors that read a value directly from the record bytes specified by a {@link Range} as
+ * the number of bytes. When the charset is ASCII compatible (e.g. UTF-8, MS932, EUC-JP), these accessors parse the bytes
+ * without creating an intermediate String. Otherwise, the bytes are decoded first and then parsed.
+ * </p>
+ * <p>
+ * The accessors handle the value as follows.
+ * </p>
+ * <ul>
+ * <li>Leading and trailing white spaces (half-width only) are trimmed.</li>
+ * <li>A sign ({@code +} or {@code -}) may be placed at either the head or the tail of the value.</li>
+ * </ul>
+ * <p>
+ * Be careful because this class is thread unsafe, in the same way as DefaultFieldSet.
+ * </p>
+ *
+ * @since 5.7.0
+ */
+public class FixedByteLengthFieldSet implements FieldSet {
+
+    /**
+     * Maximum number of digits that always fits into a long value.
+     */
+    private static final int MAX_LONG_DIGITS = 18;
+
+    /**
+     * Default pattern of the dates, which is the same as DefaultFieldSet.
+     */
+    private static final String DEFAULT_DATE_PATTERN = "yyyy-MM-dd";
+
+    /**
+     * Default number format shared per thread.
+     */
+    private static final ThreadLocal<NumberFormat> DEFAULT_NUMBER_FORMAT = ThreadLocal.withInitial(() -> NumberFormat
+            .getInstance(Locale.US));
+
+    /**
+     * Default date format shared per thread.
+     */
+    private static final ThreadLocal<DateFormat> DEFAULT_DATE_FORMAT = ThreadLocal.withInitial(() -> {
+        DateFormat dateFormat = new SimpleDateFormat(DEFAULT_DATE_PATTERN);
+        dateFormat.setLenient(false);
+        return dateFormat;
+    });
+
+    /**
+     * Compiled date patterns, keyed by the pattern string.
+     */
+    private static final Map<String, DatePattern> DATE_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * Bytes of the tokenized record.
+     */
+    private final byte[] record;
+
+    /**
+     * The charset of the record bytes.
+     */
+    private final Charset charset;
+
+    /**
+     * Whether the ASCII characters in the record bytes can be read without decoding.
+     */
+    private final boolean asciiCompatible;
+
+    /**
+     * Layout of the fields in the record, or {@code null} if all tokens are given.
+     */
+    private final Layout layout;
+
+    /**
+     * The tokens, or {@code null} for the tokens not decoded yet.
+     */
+    private final String[] tokens;
+
+    /**
+     * The names of the tokens, or {@code null} if not known.
+     */
+    private final String[] names;
+
+    /**
+     * Number format set explicitly, or {@code null} to use the default.
+     */
+    private NumberFormat numberFormat;
+
+    /**
+     * Date format set explicitly, or {@code null} to use the default.
+     */
+    private DateFormat dateFormat;
+
+    /**
+     * Grouping separator removed by {@link #readBigDecimal(int)}.
+     */
+    private String grouping = ",";
+
+    /**
+     * Decimal separator replaced by {@link #readBigDecimal(int)}.
+     */
+    private String decimal = ".";
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param tokens the tokens of the record.
+     * @param record bytes of the record.
+     * @param charset the charset of the record bytes.
+     * @param asciiCompatible whether the charset is ASCII compatible.
+     */
+    FixedByteLengthFieldSet(String[] tokens, byte[] record, Charset charset, boolean asciiCompatible) {
+        this(null, tokens.clone(), null, record, charset, asciiCompatible);
+    }
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param tokens the tokens of the record.
+     * @param names the names of the tokens.
+     * @param record bytes of the record.
+     * @param charset the charset of the record bytes.
+     * @param asciiCompatible whether the charset is ASCII compatible.
+     * @throws IllegalArgumentException if the numbers of tokens and names are different.
+     */
+    FixedByteLengthFieldSet(String[] tokens, String[] names, byte[] record, Charset charset, boolean asciiCompatible) {
+        this(null, tokens.clone(), names.clone(), record, charset, asciiCompatible);
+        Assert.isTrue(tokens.length == names.length, "the numbers of tokens and names must be the same. [tokens:"
+                + tokens.length + "][names:" + names.length + "]");
+    }
+
+    /**
+     * Create a new instance whose tokens are decoded lazily.
+     *
+     * @param layout the layout of the fields.
+     * @param record bytes of the record.
+     * @param charset the charset of the record bytes.
+     * @param asciiCompatible whether the charset is ASCII compatible.
+     */
+    FixedByteLengthFieldSet(Layout layout, byte[] record, Charset charset, boolean asciiCompatible) {
+        this(layout, new String[layout.offsets.length], layout.names, record, charset, asciiCompatible);
+    }
+
+    /**
+     * Create a new instance with the specified parameters.
+     *
+     * @param layout the layout of the fields, or {@code null} if all tokens are given.
+     * @param tokens the tokens.
+     * @param names the names of the tokens, or {@code null}.
+     * @param record bytes of the record.
+     * @param charset the charset of the record bytes.
+     * @param asciiCompatible whether the charset is ASCII compatible.
+     */
+    private FixedByteLengthFieldSet(Layout layout, String[] tokens, String[] names, byte[] record, Charset charset,
+            boolean asciiCompatible) {
+        this.layout = layout;
+        this.tokens = tokens;
+        this.names = names;
+        this.record = record;
+        this.charset = charset;
+        this.asciiCompatible = asciiCompatible;
+    }
+
+    /**
+     * Sets the number format used by the numeric accessors by the index or name, instead of the default of Locale.US.
+     *
+     * @param numberFormat the number format.
+     */
+    public final void setNumberFormat(NumberFormat numberFormat) {
+        this.numberFormat = numberFormat;
+        if (numberFormat instanceof DecimalFormat) {
+            this.grouping = String.valueOf(((DecimalFormat) numberFormat).getDecimalFormatSymbols()
+                    .getGroupingSeparator());
+            this.decimal = String.valueOf(((DecimalFormat) numberFormat).getDecimalFormatSymbols()
+                    .getDecimalSeparator());
+        }
+    }
+
+    /**
+     * Sets the date format used by the date accessors without pattern, instead of the default of "yyyy-MM-dd".
+     *
+     * @param dateFormat the date format.
+     */
+    public void setDateFormat(DateFormat dateFormat) {
+        this.dateFormat = dateFormat;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String[] getNames() {
+        if (names == null) {
+            throw new IllegalStateException("Field names are not known");
+        }
+        return names.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean hasNames() {
+        return names != null;
+    }
+
+    /**
+     * Returns the values, decoding all fields not decoded yet.
+     *
+     * @return the values.
+     */
+    @Override
+    public String[] getValues() {
+        for (int i = 0; i < tokens.length; i++) {
+            token(i);
+        }
+        return tokens.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readString(int index) {
+        return readAndTrim(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readString(String name) {
+        return readString(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readRawString(int index) {
+        return token(index);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readRawString(String name) {
+        return readRawString(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean readBoolean(int index) {
+        return readBoolean(index, "true");
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean readBoolean(String name) {
+        return readBoolean(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean readBoolean(int index, String trueValue) {
+        Assert.notNull(trueValue, "'trueValue' cannot be null.");
+        return trueValue.equals(readAndTrim(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean readBoolean(String name, String trueValue) {
+        return readBoolean(indexOf(name), trueValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char readChar(int index) {
+        String value = readAndTrim(index);
+        Assert.isTrue(value.length() == 1, "Cannot convert field value '" + value + "' to char.");
+        return value.charAt(0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char readChar(String name) {
+        return readChar(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte readByte(int index) {
+        return Byte.parseByte(readAndTrim(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte readByte(String name) {
+        return readByte(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short readShort(int index) {
+        return Short.parseShort(readAndTrim(index));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short readShort(String name) {
+        return readShort(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readInt(int index) {
+        return parseNumber(readAndTrim(index)).intValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readInt(String name) {
+        return readInt(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readInt(int index, int defaultValue) {
+        String value = readAndTrim(index);
+        return StringUtils.hasLength(value) ? Integer.parseInt(value) : defaultValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readInt(String name, int defaultValue) {
+        return readInt(indexOf(name), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long readLong(int index) {
+        return parseNumber(readAndTrim(index)).longValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long readLong(String name) {
+        return readLong(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long readLong(int index, long defaultValue) {
+        String value = readAndTrim(index);
+        return StringUtils.hasLength(value) ? Long.parseLong(value) : defaultValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long readLong(String name, long defaultValue) {
+        return readLong(indexOf(name), defaultValue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float readFloat(int index) {
+        return parseNumber(readAndTrim(index)).floatValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float readFloat(String name) {
+        return readFloat(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double readDouble(int index) {
+        return parseNumber(readAndTrim(index)).doubleValue();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double readDouble(String name) {
+        return readDouble(indexOf(name));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal readBigDecimal(int index) {
+        return readBigDecimal(index, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal readBigDecimal(String name) {
+        return readBigDecimal(name, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal readBigDecimal(int index, BigDecimal defaultValue) {
+        String candidate = readAndTrim(index);
+        if (!StringUtils.hasText(candidate)) {
+            return defaultValue;
+        }
+        try {
+            return new BigDecimal(candidate.replace(grouping, "").replace(decimal, "."));
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Unparseable number: " + candidate);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal readBigDecimal(String name, BigDecimal defaultValue) {
+        try {
+            return readBigDecimal(indexOf(name), defaultValue);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException(e.getMessage() + ", name: [" + name + "]");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ", name: [" + name + "]");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(int index) {
+        return parseDate(readAndTrim(index), dateFormat != null ? dateFormat : DEFAULT_DATE_FORMAT.get());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(int index, Date defaultValue) {
+        String candidate = readAndTrim(index);
+        return StringUtils.hasText(candidate) ? readDate(index) : defaultValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(String name) {
+        try {
+            return readDate(indexOf(name));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ", name: [" + name + "]");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(String name, Date defaultValue) {
+        try {
+            return readDate(indexOf(name), defaultValue);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ", name: [" + name + "]");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(int index, String pattern) {
+        SimpleDateFormat format = new SimpleDateFormat(pattern);
+        format.setLenient(false);
+        return parseDate(readAndTrim(index), format);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(int index, String pattern, Date defaultValue) {
+        String candidate = readAndTrim(index);
+        return StringUtils.hasText(candidate) ? readDate(index, pattern) : defaultValue;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(String name, String pattern) {
+        try {
+            return readDate(indexOf(name), pattern);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ", name: [" + name + "]");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Date readDate(String name, String pattern, Date defaultValue) {
+        try {
+            return readDate(indexOf(name), pattern, defaultValue);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ", name: [" + name + "]");
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getFieldCount() {
+        return tokens.length;
+    }
+
+    /**
+     * Returns the trimmed fields as properties keyed by the names, decoding all fields not decoded yet.
+     *
+     * @return the properties.
+     * @throws IllegalStateException if the names are not known.
+     */
+    @Override
+    public Properties getProperties() {
+        if (names == null) {
+            throw new IllegalStateException("Cannot create properties without meta data");
+        }
+        Properties props = new Properties();
+        for (int i = 0; i < tokens.length; i++) {
+            String value = readAndTrim(i);
+            if (value != null) {
+                props.setProperty(names[i], value);
+            }
+        }
+        return props;
+    }
+
+    /**
+     * Returns the properties if the names are known, or the values otherwise.
+     *
+     * @return the string representation.
+     */
+    @Override
+    public String toString() {
+        if (names != null) {
+            return getProperties().toString();
+        }
+        return Arrays.asList(getValues()).toString();
+    }
+
+    /**
+     * Compare the values with another {@link FixedByteLengthFieldSet}.
+     *
+     * @param object the object to be compared.
+     * @return true if the values are equal.
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (object instanceof FixedByteLengthFieldSet) {
+            return Arrays.equals(getValues(), ((FixedByteLengthFieldSet) object).getValues());
+        }
+        return false;
+    }
+
+    /**
+     * Returns the hash code of the values.
+     *
+     * @return the hash code.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(getValues());
+    }
+
+    /**
+     * Returns the token decoding it at the first access.
+     *
+     * @param index the index of the token.
+     * @return the token.
+     * @throws IndexOutOfBoundsException if {@code index} is out of range.
+     */
+    private String token(int index) {
+        String token = tokens[index];
+        if (token == null && layout != null) {
+            int offset = layout.offsets[index];
+            token = offset < 0 ? "" : layout.decoder.decode(record, offset, layout.lengths[index]);
+            tokens[index] = token;
+        }
+        return token;
+    }
+
+    /**
+     * Returns the trimmed token.
+     *
+     * @param index the index of the token.
+     * @return the trimmed token.
+     */
+    private String readAndTrim(int index) {
+        String value = token(index);
+        return value != null ? value.trim() : null;
+    }
+
+    /**
+     * Returns the index of the first token with the name.
+     *
+     * @param name the name of the token.
+     * @return the index.
+     * @throws IllegalArgumentException if the names are not known or the name is not found.
+     */
+    private int indexOf(String name) {
+        if (names == null) {
+            throw new IllegalArgumentException("Cannot access columns by name without meta data");
+        }
+        if (layout != null) {
+            Integer index = layout.indexes.get(name);
+            if (index != null) {
+                return index;
+            }
+        } else {
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Cannot access column [" + name + "] from " + Arrays.asList(names));
+    }
+
+    /**
+     * Parse the value by the number format.
+     *
+     * @param input the value.
+     * @return the number.
+     * @throws NumberFormatException if the value cannot be parsed.
+     */
+    private Number parseNumber(String input) {
+        try {
+            return (numberFormat != null ? numberFormat : DEFAULT_NUMBER_FORMAT.get()).parse(input);
+        } catch (ParseException e) {
+            throw new NumberFormatException("Unparseable number: " + input);
+        }
+    }
+
+    /**
+     * Parse the value by the date format.
+     *
+     * @param input the value.
+     * @param format the date format.
+     * @return the date.
+     * @throws IllegalArgumentException if the value cannot be parsed.
+     */
+    private static Date parseDate(String input, DateFormat format) {
+        try {
+            return format.parse(input);
+        } catch (ParseException e) {
+            String pattern = format instanceof SimpleDateFormat ? ((SimpleDateFormat) format).toPattern() : format
+                    .toString();
+            throw new IllegalArgumentException(e.getMessage() + ", format: [" + pattern + "]");
+        }
+    }
+
+    /**
+     * Read the bytes specified in {@code range} as an int value.
+     *
+     * @param range the byte range of the value.
+     * @return the int value.
+     * @throws NumberFormatException if the value cannot be parsed or is out of range of int.
+     * @throws IllegalArgumentException if {@code range} exceeds the record length.
+     */
+    public int readInt(Range range) {
+        long value = readLong(range);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value is out of range of int. [range:" + range + "][value:" + value + "]");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Read the bytes specified in {@code range} as a long value.
+     *
+     * @param range the byte range of the value.
+     * @return the long value.
+     * @throws NumberFormatException if the value cannot be parsed or is out of range of long.
+     * @throws IllegalArgumentException if {@code range} exceeds the record length.
+     */
+    public long readLong(Range range) {
+        NumericSlice slice = numericSlice(range);
+        if (slice.pointIndex >= 0) {
+            throw invalidNumber(range);
+        }
+        int digits = slice.to - slice.from;
+        if (digits > MAX_LONG_DIGITS) {
+            try {
+                return new BigInteger(slice.toString()).longValueExact();
+            } catch (ArithmeticException e) {
+                throw new NumberFormatException("Value is out of range of long. [range:" + range + "]");
+            }
+        }
+        long value = slice.accumulate();
+        return slice.negative ? -value : value;
+    }
+
+    /**
+     * Read the bytes specified in {@code range} as a decimal value with the {@code scale}.
+     * <p>
+     * If the value has no decimal point, the last {@code scale} digits are regarded as the fraction part (implied decimal
+     * point). For example, "12345" is read as 123.45 when {@code scale} is 2. If the value has a decimal point, its fraction
+     * part must not be longer than {@code scale}. For example, "123.4" is read as 123.40 when {@code scale} is 2.
+     * </p>
+     *
+     * @param range the byte range of the value.
+     * @param scale the scale of the result value.
+     * @return the decimal value whose scale is {@code scale}.
+     * @throws NumberFormatException if the value cannot be parsed.
+     * @throws IllegalArgumentException if {@code range} exceeds the record length or {@code scale} is negative.
+     */
+    public BigDecimal readDecimal(Range range, int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("scale must not be negative. [scale:" + scale + "]");
+        }
+        NumericSlice slice = numericSlice(range);
+        int digits = slice.to - slice.from;
+        int fractionLength = scale;
+        if (slice.pointIndex >= 0) {
+            digits--;
+            fractionLength = slice.to - slice.pointIndex - 1;
+            if (fractionLength > scale || digits == 0) {
+                throw invalidNumber(range);
+            }
+        }
+        if (digits + scale - fractionLength > MAX_LONG_DIGITS) {
+            BigDecimal value = new BigDecimal(slice.toString());
+            return slice.pointIndex >= 0 ? value.setScale(scale) : value.movePointLeft(scale);
+        }
+        long unscaled = slice.accumulate();
+        for (int i = fractionLength; i < scale; i++) {
+            unscaled *= 10;
+        }
+        return BigDecimal.valueOf(slice.negative ? -unscaled : unscaled, scale);
+    }
+
+    /**
+     * Read the bytes specified in {@code range} as a date with the {@code pattern}.
+     * <p>
+     * The pattern follows {@link DateTimeFormatter}. The numeric patterns which consist of "yyyy", "MM", "dd" and
+     * non-letter separators (e.g. "yyyyMMdd", "yyyy/MM/dd") are read directly from the record bytes. The other patterns are
+     * processed by {@link DateTimeFormatter}. In both cases, a date that does not exist (e.g. February 30) is rejected.
+     * </p>
+     *
+     * @param range the byte range of the value.
+     * @param pattern the pattern of the date.
+     * @return the date.
+     * @throws DateTimeParseException if the value cannot be parsed.
+     * @throws IllegalArgumentException if {@code range} exceeds the record length or {@code pattern} is invalid.
+     */
+    public LocalDate readLocalDate(Range range, String pattern) {
+        int from = checkRange(range);
+        int to = range.getMax();
+        while (from < to && isWhitespace(record[from])) {
+            from++;
+        }
+        while (to > from && isWhitespace(record[to - 1])) {
+            to--;
+        }
+        DatePattern datePattern = DATE_PATTERNS.computeIfAbsent(pattern, DatePattern::new);
+        int length = to - from;
+        if (asciiCompatible && datePattern.numeric && length == datePattern.length) {
+            return datePattern.parse(record, from, start -> new String(record, start, length, charset));
+        }
+        return LocalDate.parse(new String(record, from, length, charset), datePattern.formatter);
+    }
+
+    /**
+     * Check that {@code range} is within the record.
+     *
+     * @param range the byte range of the value.
+     * @return the index of the first byte of the range.
+     * @throws IllegalArgumentException if {@code range} exceeds the record length.
+     */
+    private int checkRange(Range range) {
+        if (range == null || !range.hasMaxValue() || range.getMax() > record.length) {
+            throw new IllegalArgumentException("range must be within the record. [range:" + range + "][recordLength:"
+                    + record.length + "]");
+        }
+        return range.getMin() - 1;
+    }
+
+    /**
+     * Trim the bytes specified in {@code range} and find its sign and decimal point.
+     *
+     * @param range the byte range of the value.
+     * @return the numeric part of the range.
+     * @throws NumberFormatException if the value is empty or contains a non-numeric character.
+     */
+    private NumericSlice numericSlice(Range range) {
+        int from = checkRange(range);
+        int to = range.getMax();
+        byte[] bytes = record;
+        if (!asciiCompatible) {
+            bytes = new String(record, from, to - from, charset).getBytes(StandardCharsets.US_ASCII);
+            from = 0;
+            to = bytes.length;
+        }
+        while (from < to && isWhitespace(bytes[from])) {
+            from++;
+        }
+        while (to > from && isWhitespace(bytes[to - 1])) {
+            to--;
+        }
+        boolean negative = false;
+        if (from < to && (bytes[from] == '-' || bytes[from] == '+')) {
+            negative = bytes[from++] == '-';
+        } else if (from < to && (bytes[to - 1] == '-' || bytes[to - 1] == '+')) {
+            negative = bytes[--to] == '-';
+        }
+        if (from == to) {
+            throw invalidNumber(range);
+        }
+        int pointIndex = -1;
+        for (int i = from; i < to; i++) {
+            byte b = bytes[i];
+            if (b == '.' && pointIndex < 0) {
+                pointIndex = i;
+            } else if (b < '0' || b > '9') {
+                throw invalidNumber(range);
+            }
+        }
+        return new NumericSlice(bytes, from, to, pointIndex, negative);
+    }
+
+    /**
+     * Create an exception for the value that cannot be parsed.
+     *
+     * @param range the byte range of the value.
+     * @return the exception.
+     */
+    private NumberFormatException invalidNumber(Range range) {
+        int from = range.getMin() - 1;
+        return new NumberFormatException("Unparseable number. [range:" + range + "][value:" + new String(record, from, range
+                .getMax() - from, charset) + "]");
+    }
+
+    /**
+     * Check the byte is a white space or a control character, in the same way as {@link String#trim()}.
+     *
+     * @param b the byte.
+     * @return true if the byte is trimmed.
+     */
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    /**
+     * Check whether the ASCII characters required for parsing are encoded in the same way as US-ASCII, and the bytes of them
+     * do not appear as a part of multibyte characters.
+     *
+     * @param charset the charset to be checked.
+     * @return true if the charset is ASCII compatible.
+     */
+    static boolean isAsciiCompatible(Charset charset) {
+        if (!charset.canEncode() || charset.newEncoder().maxBytesPerChar() > 4.0f) {
+            // stateful encodings such as ISO-2022-JP reuse the ASCII bytes for multibyte characters.
+            return false;
+        }
+        String sample = " \t0123456789+-./:";
+        return Arrays.equals(sample.getBytes(charset), sample.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /**
+     * Layout of the fields precompiled by {@link FixedByteLengthLineTokenizer}, shared by the field sets of the records.
+     */
+    static final class Layout {
+
+        /**
+         * Index of the first byte of each field, or -1 for the field padded with an empty string.
+         */
+        private final int[] offsets;
+
+        /**
+         * Number of bytes of each field.
+         */
+        private final int[] lengths;
+
+        /**
+         * The names of the fields, or {@code null} if not known.
+         */
+        private final String[] names;
+
+        /**
+         * Index of the first field with each name.
+         */
+        private final Map<String, Integer> indexes;
+
+        /**
+         * The decoder of the fields.
+         */
+        private final FastCharsetDecoder decoder;
+
+        /**
+         * The array of the names which this layout is compiled from.
+         */
+        private final String[] source;
+
+        /**
+         * Compile the layout.
+         *
+         * @param ranges the column ranges.
+         * @param names the names of the fields, or an empty array if not known. If the number of names is different from the
+         *            ranges, the fields are truncated or padded with empty strings.
+         * @param decoder the decoder of the fields.
+         */
+        Layout(Range[] ranges, String[] names, FastCharsetDecoder decoder) {
+            int fieldCount = names.length == 0 ? ranges.length : names.length;
+            this.offsets = new int[fieldCount];
+            this.lengths = new int[fieldCount];
+            for (int i = 0; i < fieldCount; i++) {
+                if (i < ranges.length) {
+                    offsets[i] = ranges[i].getMin() - 1;
+                    lengths[i] = ranges[i].getMax() - offsets[i];
+                } else {
+                    offsets[i] = -1;
+                }
+            }
+            this.names = names.length == 0 ? null : names.clone();
+            this.indexes = new HashMap<>();
+            for (int i = names.length - 1; i >= 0; i--) {
+                indexes.put(names[i], i);
+            }
+            this.decoder = decoder;
+            this.source = names;
+        }
+
+        /**
+         * Returns whether this layout is compiled from the array of the names.
+         *
+         * @param names the array of the names.
+         * @return true if compiled from the same array.
+         */
+        boolean isCompiledFrom(String[] names) {
+            return source == names;
+        }
+    }
+
+    /**
+     * The numeric part of a range, which consists of digits and at most one decimal point.
+     */
+    private static final class NumericSlice {
+
+        /**
+         * Bytes containing the value.
+         */
+        private final byte[] bytes;
+
+        /**
+         * Index of the first digit.
+         */
+        private final int from;
+
+        /**
+         * Index after the last digit.
+         */
+        private final int to;
+
+        /**
+         * Index of the decimal point, or -1 if not exists.
+         */
+        private final int pointIndex;
+
+        /**
+         * Whether the value is negative.
+         */
+        private final boolean negative;
+
+        private NumericSlice(byte[] bytes, int from, int to, int pointIndex, boolean negative) {
+            this.bytes = bytes;
+            this.from = from;
+            this.to = to;
+            this.pointIndex = pointIndex;
+            this.negative = negative;
+        }
+
+        /**
+         * Accumulate the digits as an unsigned value, ignoring the decimal point. The number of digits must not exceed
+         * {@link #MAX_LONG_DIGITS}.
+         *
+         * @return the accumulated value.
+         */
+        private long accumulate() {
+            long value = 0;
+            for (int i = from; i < to; i++) {
+                if (i != pointIndex) {
+                    value = value * 10 + (bytes[i] - '0');
+                }
+            }
+            return value;
+        }
+
+        /**
+         * Return the signed value as a string. This is used only for values too long to accumulate.
+         *
+         * @return the value string.
+         */
+        @Override
+        public String toString() {
+            String digits = new String(bytes, from, to - from, StandardCharsets.US_ASCII);
+            return negative ? "-" + digits : digits;
+        }
+    }
+
+    /**
+     * Compiled date pattern.
+     */
+    private static final class DatePattern {
+
+        /**
+         * The formatter used when the pattern is not numeric.
+         */
+        private final DateTimeFormatter formatter;
+
+        /**
+         * Whether the pattern consists of "yyyy", "MM", "dd" and non-letter separators only.
+         */
+        private final boolean numeric;
+
+        /**
+         * The length of the pattern.
+         */
+        private final int length;
+
+        /**
+         * The pattern letter of each position, or the literal character.
+         */
+        private final char[] layout;
+
+        /**
+         * Compile the pattern.
+         *
+         * @param pattern the pattern of the date.
+         * @throws IllegalArgumentException if {@code pattern} is invalid.
+         */
+        private DatePattern(String pattern) {
+            this.formatter = new DateTimeFormatterBuilder().appendPattern(pattern).parseDefaulting(ChronoField.ERA, 1)
+                    .toFormatter().withResolverStyle(ResolverStyle.STRICT);
+            this.layout = pattern.toCharArray();
+            this.length = layout.length;
+            int years = 0;
+            int months = 0;
+            int days = 0;
+            boolean onlyNumeric = true;
+            for (char c : layout) {
+                if (c == 'y') {
+                    years++;
+                } else if (c == 'M') {
+                    months++;
+                } else if (c == 'd') {
+                    days++;
+                } else if (Character.isLetter(c) || c == '\'' || c >= 0x80) {
+                    onlyNumeric = false;
+                }
+            }
+            this.numeric = onlyNumeric && years == 4 && months == 2 && days == 2;
+        }
+
+        /**
+         * Parse the bytes according to the layout.
+         *
+         * @param bytes bytes of the record.
+         * @param from index of the first byte.
+         * @param decoder decoder of the value used for the error message.
+         * @return the date.
+         * @throws DateTimeParseException if the value cannot be parsed.
+         */
+        private LocalDate parse(byte[] bytes, int from, IntFunction<String> decoder) {
+            int year = 0;
+            int month = 0;
+            int day = 0;
+            for (int i = 0; i < length; i++) {
+                byte b = bytes[from + i];
+                char c = layout[i];
+                if (c == 'y' || c == 'M' || c == 'd') {
+                    if (b < '0' || b > '9') {
+                        throw new DateTimeParseException("Unparseable date.", decoder.apply(from), i);
+                    }
+                    int digit = b - '0';
+                    if (c == 'y') {
+                        year = year * 10 + digit;
+                    } else if (c == 'M') {
+                        month = month * 10 + digit;
+                    } else {
+                        day = day * 10 + digit;
+                    }
+                } else if (b != c) {
+                    throw new DateTimeParseException("Unparseable date.", decoder.apply(from), i);
+                }
+            }
+            try {
+                return LocalDate.of(year, month, day);
+            } catch (DateTimeException e) {
+                throw new DateTimeParseException("Invalid date.", decoder.apply(from), 0, e);
+            }
+        }
+    }
+}
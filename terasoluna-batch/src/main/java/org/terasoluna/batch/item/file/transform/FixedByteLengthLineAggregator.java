@@ -0,0 +1,375 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform;
+
+import org.springframework.batch.item.file.transform.ExtractorLineAggregator;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.batch.item.file.transform.PassThroughFieldExtractor;
+import org.springframework.batch.item.file.transform.Range;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A {@link org.springframework.batch.item.file.transform.LineAggregator} implementation that converts an object into a record
+ * with fixed-byte-length format.
+ * <p>
+ * This class is the counterpart of {@link FixedByteLengthLineTokenizer}. Each field is laid out in the {@code ranges} which
+ * are specified as the number of bytes, and is padded with the padding character or truncated at the character boundary of
+ * the charset. Therefore, a multibyte character is never split even if the field is truncated. The bytes between the ranges
+ * are filled with the padding character.
+ * </p>
+ * <p>
+ * The record is encoded into a byte array reused per thread. {@link #aggregate(Object)} returns it as a String to be used
+ * with {@link org.springframework.batch.item.file.FlatFileItemWriter}, and {@link #aggregate(Object, byte[], int)} copies
+ * the bytes to the given array to be written as is, e.g. by
+ * {@link org.terasoluna.batch.item.file.FixedByteLengthFileItemWriter}.
+ * </p>
+ * <p>
+ * The padding character must be encoded into a single byte in the charset. Stateful charsets, which use shift sequences,
+ * are not supported.
+ * </p>
+ *
+ * @param <T> Type of value to be converted
+ * @since 5.7.0
+ */
+public class FixedByteLengthLineAggregator<T> extends ExtractorLineAggregator<T> {
+
+    /**
+     * Alignment of a field in its range.
+     */
+    public enum Alignment {
+
+        /**
+         * The field is placed at the head of the range, and padded on the right.
+         */
+        LEFT,
+
+        /**
+         * The field is placed at the tail of the range, and padded on the left.
+         */
+        RIGHT
+    }
+
+    /**
+     * column ranges.
+     */
+    private final Range[] ranges;
+
+    /**
+     * Byte length of the record, which is the highest value within ranges.
+     */
+    private final int recordLength;
+
+    /**
+     * The charset to be used to convert from the string to the bytes.
+     */
+    private final Charset charset;
+
+    /**
+     * Whether the charset is ASCII compatible.
+     */
+    private final boolean asciiCompatible;
+
+    /**
+     * Work area reused per thread.
+     */
+    private final ThreadLocal<Workspace> workspace = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * Extractor of the fields used by {@link #aggregate(Object, byte[], int)}.
+     */
+    private FieldExtractor<T> fieldExtractor = new PassThroughFieldExtractor<>();
+
+    /**
+     * Alignments of the fields.
+     */
+    private Alignment[] alignments;
+
+    /**
+     * Padding byte.
+     */
+    private byte padding;
+
+    /**
+     * Set the column ranges and charset.
+     * <p>
+     * The fields extracted from an item are laid out in the ranges with the same index. The max/min value of each Range element
+     * must always be specified, and the ranges must not overlap. The padding character is a half-width space by default.
+     * </p>
+     *
+     * @param ranges the column ranges of the output.
+     * @param charset the charset to be used to convert from the string to the bytes.
+     * @throws IllegalArgumentException if ranges or charset are not set, or ranges are overlapped.
+     */
+    public FixedByteLengthLineAggregator(Range[] ranges, Charset charset) {
+        Assert.notEmpty(ranges, "ranges must be set.");
+        Assert.noNullElements(ranges, "elements of ranges must be set.");
+        Assert.notNull(charset, "charset must be set.");
+        this.ranges = ranges.clone();
+        this.recordLength = calculateRecordLength(this.ranges);
+        this.charset = charset;
+        this.asciiCompatible = FixedByteLengthFieldSet.isAsciiCompatible(charset);
+        this.alignments = new Alignment[ranges.length];
+        Arrays.fill(this.alignments, Alignment.LEFT);
+        setPadding(' ');
+    }
+
+    /**
+     * Public setter for the padding character.
+     *
+     * @param padding the padding character. Default value is half-width space.
+     * @throws IllegalArgumentException if the padding character is not encoded into a single byte in the charset.
+     */
+    public void setPadding(char padding) {
+        int length;
+        byte encoded = 0;
+        try {
+            ByteBuffer bytes = charset.newEncoder().encode(CharBuffer.wrap(new char[] { padding }));
+            length = bytes.remaining();
+            if (length > 0) {
+                encoded = bytes.get(bytes.position());
+            }
+        } catch (CharacterCodingException e) {
+            length = 0;
+        }
+        Assert.isTrue(length == 1, "padding must be a single byte character in the charset. [padding:" + padding
+                + "][charset:" + charset + "]");
+        this.padding = encoded;
+    }
+
+    /**
+     * Public setter for the alignments of the fields.
+     *
+     * @param alignments the alignments of the fields, in the same order as the ranges. Default value is {@link Alignment#LEFT}
+     *            for all fields.
+     * @throws IllegalArgumentException if the number of alignments is different from the number of ranges.
+     */
+    public void setAlignments(Alignment... alignments) {
+        Assert.notNull(alignments, "alignments must be set.");
+        Assert.noNullElements(alignments, "elements of alignments must be set.");
+        Assert.isTrue(alignments.length == ranges.length, "The number of alignments is different from the number of ranges. "
+                + "[alignments:" + alignments.length + "][ranges:" + ranges.length + "]");
+        this.alignments = alignments.clone();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setFieldExtractor(FieldExtractor<T> fieldExtractor) {
+        super.setFieldExtractor(fieldExtractor);
+        this.fieldExtractor = fieldExtractor;
+    }
+
+    /**
+     * Return the byte length of a record, not including the record separator.
+     *
+     * @return the byte length of a record.
+     */
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * Return the charset to be used to convert from the string to the bytes.
+     *
+     * @return the charset.
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+
+    /**
+     * Convert the item into the bytes of a record, and copy them to the array.
+     * <p>
+     * {@link #getRecordLength()} bytes from {@code offset} are overwritten. The rest of the array is not changed, so that the
+     * caller can put the record separator after the record in advance.
+     * </p>
+     *
+     * @param item the item to be converted.
+     * @param record the array to which the record is copied.
+     * @param offset the offset in the array.
+     * @return the byte length of the record.
+     * @throws IllegalArgumentException if the array has no room for the record, or the number of fields is different from the
+     *             number of ranges.
+     */
+    public int aggregate(T item, byte[] record, int offset) {
+        Assert.notNull(item, "Item is required");
+        Assert.isTrue(offset >= 0 && record.length - offset >= recordLength, "record has no room for the record. [length:"
+                + record.length + "][offset:" + offset + "][recordLength:" + recordLength + "]");
+        encodeFields(fieldExtractor.extract(item), record, offset, workspace.get());
+        return recordLength;
+    }
+
+    /**
+     * Convert the fields into a record, and return it as a String.
+     *
+     * @param fields the fields to be converted.
+     * @return the record.
+     * @throws IllegalArgumentException if the number of fields is different from the number of ranges.
+     */
+    @Override
+    protected String doAggregate(Object[] fields) {
+        Workspace ws = workspace.get();
+        encodeFields(fields, ws.record, 0, ws);
+        return new String(ws.record, 0, recordLength, charset);
+    }
+
+    /**
+     * Encode the fields into the array.
+     *
+     * @param fields the fields to be encoded.
+     * @param record the array to which the fields are encoded.
+     * @param offset the offset of the record in the array.
+     * @param ws work area of the current thread.
+     */
+    private void encodeFields(Object[] fields, byte[] record, int offset, Workspace ws) {
+        if (fields.length != ranges.length) {
+            throw new IllegalArgumentException("The number of fields is different from the number of ranges. [fields:"
+                    + fields.length + "][ranges:" + ranges.length + "]");
+        }
+        Arrays.fill(record, offset, offset + recordLength, padding);
+        for (int i = 0; i < fields.length; i++) {
+            Object field = fields[i];
+            if (field == null) {
+                continue;
+            }
+            CharSequence value = field instanceof CharSequence ? (CharSequence) field : field.toString();
+            int from = offset + ranges[i].getMin() - 1;
+            int length = ranges[i].getMax() - ranges[i].getMin() + 1;
+            int written = encodeField(value, record, from, length, ws);
+            if (alignments[i] == Alignment.RIGHT && written < length) {
+                int shift = length - written;
+                System.arraycopy(record, from, record, from + shift, written);
+                Arrays.fill(record, from, from + shift, padding);
+            }
+        }
+    }
+
+    /**
+     * Encode the value into the range of the array. The value is truncated at the character boundary if it is longer than the
+     * range. Only the encoded bytes are written.
+     *
+     * @param value the value to be encoded.
+     * @param record the array to which the value is encoded.
+     * @param from the start index of the range.
+     * @param length the byte length of the range.
+     * @param ws work area of the current thread.
+     * @return the number of the encoded bytes.
+     */
+    private int encodeField(CharSequence value, byte[] record, int from, int length, Workspace ws) {
+        int n = Math.min(value.length(), length);
+        if (asciiCompatible) {
+            int i = 0;
+            while (i < n) {
+                char c = value.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                record[from + i] = (byte) c;
+                i++;
+            }
+            if (i == n) {
+                return n;
+            }
+        }
+        ByteBuffer out = ws.wrap(record);
+        out.limit(from + length).position(from);
+        CharsetEncoder encoder = ws.encoder;
+        encoder.reset();
+        encoder.encode(CharBuffer.wrap(value), out, true);
+        encoder.flush(out);
+        return out.position() - from;
+    }
+
+    /**
+     * Create an encoder of the charset, which replaces the malformed and unmappable characters in the same way as
+     * {@link String#getBytes(Charset)}.
+     *
+     * @return a new encoder.
+     */
+    private CharsetEncoder newEncoder() {
+        return charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(
+                CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * Calculate the byte length of the record, and check the ranges.
+     *
+     * @param ranges the column ranges of the output.
+     * @return highest value within ranges.
+     * @throws IllegalArgumentException if max/min value of Range element are not set, or ranges are overlapped.
+     */
+    private static int calculateRecordLength(Range[] ranges) {
+        Range[] sorted = ranges.clone();
+        for (Range range : sorted) {
+            if (!range.hasMaxValue()) {
+                throw new IllegalArgumentException(
+                        "This range must be specified both the min and max. [range:" + range.toString() + "]");
+            }
+        }
+        Arrays.sort(sorted, Comparator.comparingInt(Range::getMin));
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i - 1].getMax() >= sorted[i].getMin()) {
+                throw new IllegalArgumentException("ranges must not overlap. [range:" + sorted[i - 1] + "][range:"
+                        + sorted[i] + "]");
+            }
+        }
+        return Arrays.stream(sorted).mapToInt(Range::getMax).max().orElse(0);
+    }
+
+    /**
+     * Work area of a thread.
+     */
+    private final class Workspace {
+
+        /**
+         * Encoder reused for all fields.
+         */
+        private final CharsetEncoder encoder = newEncoder();
+
+        /**
+         * Reused record for {@link #doAggregate(Object[])}.
+         */
+        private final byte[] record = new byte[recordLength];
+
+        /**
+         * Buffer wrapping the last used array.
+         */
+        private ByteBuffer wrapped;
+
+        /**
+         * Return a buffer wrapping the array, which is reused while the same array is given.
+         *
+         * @param array the array to be wrapped.
+         * @return the buffer.
+         */
+        private ByteBuffer wrap(byte[] array) {
+            if (wrapped == null || !wrapped.hasArray() || wrapped.array() != array) {
+                wrapped = ByteBuffer.wrap(array);
+            }
+            return wrapped.clear();
+        }
+    }
+}
@@ -16,15 +16,18 @@
 package org.terasoluna.batch.item.file.transform;
 
 import org.springframework.batch.item.file.transform.AbstractLineTokenizer;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.batch.item.file.transform.FieldSetFactory;
 import org.springframework.batch.item.file.transform.IncorrectLineLengthException;
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException;
 import org.springframework.batch.item.file.transform.Range;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.List;
 import java.util.OptionalInt;
-import java.util.stream.Collectors;
 
 /**
  * Tokenizer used to process data obtained from files with fixed-byte-length format.
@@ -32,6 +35,14 @@ import java.util.stream.Collectors;
  * This Tokenizer differs from {@link org.springframework.batch.item.file.transform.FixedLengthTokenizer}. This Tokenizer
  * processes the value specified in the {@code ranges} as the number of bytes.
  * </p>
+ * <p>
+ * The tokenized result is a {@link FixedByteLengthFieldSet}, which can read numeric and date values directly from the bytes of
+ * the line. If a {@link FieldSetFactory} is set, the result is created by the factory instead.
+ * </p>
+ * <p>
+ * The ranges are compiled into the offsets and lengths of the fields in advance. The fields of the result are decoded only
+ * when they are read, so that the cost of a wide layout depends on the number of fields read by the mapper.
+ * </p>
  *
  * @since 5.0.0
  */
@@ -47,11 +58,41 @@ public class FixedByteLengthLineTokenizer extends AbstractLineTokenizer {
      */
     private final int maxRange;
 
+    /**
+     * Index of the first byte of each range.
+     */
+    private final int[] offsets;
+
+    /**
+     * Number of bytes of each range.
+     */
+    private final int[] lengths;
+
     /**
      * The charset to be used to convert from the bytes to the string.
      */
     private final Charset charset;
 
+    /**
+     * Whether the charset is ASCII compatible.
+     */
+    private final boolean asciiCompatible;
+
+    /**
+     * The decoder to be used to convert from the bytes of a field to the string.
+     */
+    private final FastCharsetDecoder decoder;
+
+    /**
+     * Whether a {@link FieldSetFactory} is set explicitly.
+     */
+    private boolean fieldSetFactorySet = false;
+
+    /**
+     * Layout of the result compiled for the current names, or {@code null} if not compiled yet.
+     */
+    private volatile FixedByteLengthFieldSet.Layout layout;
+
     /**
      * Set the column ranges and charset.
      * <p>
@@ -74,7 +115,86 @@ public class FixedByteLengthLineTokenizer extends AbstractLineTokenizer {
         Assert.notNull(charset, "charset must be set.");
         this.ranges = ranges;
         this.maxRange = calculateMaxRange(ranges);
+        this.offsets = new int[ranges.length];
+        this.lengths = new int[ranges.length];
+        for (int i = 0; i < ranges.length; i++) {
+            offsets[i] = ranges[i].getMin() - 1;
+            lengths[i] = ranges[i].getMax() - offsets[i];
+        }
         this.charset = charset;
+        this.asciiCompatible = FixedByteLengthFieldSet.isAsciiCompatible(charset);
+        this.decoder = FastCharsetDecoder.forCharset(charset);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the factory is set, the result of {@link #tokenize(String)} is created by the factory instead of
+     * {@link FixedByteLengthFieldSet}.
+     * </p>
+     */
+    @Override
+    public void setFieldSetFactory(FieldSetFactory fieldSetFactory) {
+        super.setFieldSetFactory(fieldSetFactory);
+        this.fieldSetFactorySet = true;
+    }
+
+    /**
+     * Yields the tokens resulting from the splitting of the supplied {@code line} as a {@link FixedByteLengthFieldSet}.
+     * <p>
+     * The line is converted to the bytes only once, and the result field set decodes the tokens from them when read. The
+     * number of tokens is handled in the same way as {@link AbstractLineTokenizer#tokenize(String)}.
+     * </p>
+     *
+     * @param line the line to be tokenized (can be {@code null}).
+     * @return the resulting tokens.
+     * @throws IncorrectLineLengthException If the comparison result of the line length and the upper-bound of ranges is
+     *             incorrect.
+     * @throws IncorrectTokenCountException If the number of tokens and names are different and the strict flag is true.
+     */
+    @Override
+    public FieldSet tokenize(@Nullable String line) {
+        if (fieldSetFactorySet) {
+            return super.tokenize(line);
+        }
+        String target = line == null ? "" : line;
+        return tokenize(target, target.getBytes(charset));
+    }
+
+    /**
+     * Yields the tokens resulting from the splitting of the bytes of the line converted already by the charset of this
+     * tokenizer, so that the line is not converted again.
+     *
+     * @param line the line to be tokenized.
+     * @param lineBytes the bytes of the line.
+     * @return the resulting tokens.
+     * @throws IncorrectLineLengthException If the comparison result of the line length and the upper-bound of ranges is
+     *             incorrect.
+     * @throws IncorrectTokenCountException If the number of tokens and names are different and the strict flag is true.
+     */
+    FieldSet tokenize(String line, byte[] lineBytes) {
+        if (fieldSetFactorySet) {
+            return super.tokenize(line);
+        }
+        checkLineLength(line, lineBytes.length);
+        if (names.length != 0 && names.length != ranges.length && isStrict()) {
+            throw new IncorrectTokenCountException(names.length, ranges.length, line);
+        }
+        FixedByteLengthFieldSet.Layout current = layout;
+        if (current == null || !current.isCompiledFrom(names)) {
+            current = new FixedByteLengthFieldSet.Layout(ranges, names, decoder);
+            layout = current;
+        }
+        return new FixedByteLengthFieldSet(current, lineBytes, charset, asciiCompatible);
+    }
+
+    /**
+     * Returns the charset to be used to convert from the bytes to the string.
+     *
+     * @return the charset.
+     */
+    Charset getCharset() {
+        return charset;
     }
 
     /**
@@ -116,10 +236,43 @@ public class FixedByteLengthLineTokenizer extends AbstractLineTokenizer {
      */
     @Override
     protected List<String> doTokenize(String line) {
+        return Arrays.asList(doTokenize(line, line.getBytes(charset)));
+    }
 
-        byte[] lineBytes = line.getBytes(charset);
+    /**
+     * Yields the tokens resulting from the splitting of the supplied {@code lineBytes} specified in {@code ranges}.
+     *
+     * @param line the line to be tokenized.
+     * @param lineBytes the bytes of the line.
+     * @return the resulting tokens.
+     * @throws IncorrectLineLengthException If the comparison result of the line length and the upper-bound of ranges is
+     *             incorrect.
+     */
+    private String[] doTokenize(String line, byte[] lineBytes) {
+
+        checkLineLength(line, lineBytes.length);
 
-        int lineLength = lineBytes.length;
+        String[] tokens = new String[offsets.length];
+        for (int i = 0; i < offsets.length; i++) {
+            tokens[i] = decoder.decode(lineBytes, offsets[i], lengths[i]);
+        }
+        return tokens;
+
+    }
+
+    /**
+     * Check the byte length of the line with the upper-bound of ranges.
+     * <p>
+     * If the strict flag is true, and if line length and upper-bound of ranges specified are not equal, throw exception. If the
+     * strict flag is false, and if line length is shorter than upper-bound of ranges specified, throw exception.
+     * </p>
+     *
+     * @param line the line to be tokenized.
+     * @param lineLength the byte length of the line.
+     * @throws IncorrectLineLengthException If the comparison result of the line length and the upper-bound of ranges is
+     *             incorrect.
+     */
+    private void checkLineLength(String line, int lineLength) {
 
         if (lineLength != maxRange && isStrict()) {
             throw new IncorrectLineLengthException("Line length is not equal to max range. [line:" + line + "]"
@@ -131,8 +284,5 @@ public class FixedByteLengthLineTokenizer extends AbstractLineTokenizer {
                     + "[lineLength:" + lineLength + "][maxRange:" + maxRange + "]", maxRange, lineLength, line);
         }
 
-        return Arrays.stream(ranges).map(range -> new String(Arrays.copyOfRange(lineBytes, range.getMin() - 1, range
-                .getMax()), charset)).collect(Collectors.toList());
-
     }
 }
@@ -20,8 +20,20 @@ import org.springframework.batch.core.JobParameter
 import org.springframework.batch.core.JobParameters
 import org.springframework.batch.item.database.support.DefaultDataFieldMaxValueIncrementerFactory
 import org.springframework.jdbc.CannotGetJdbcConnectionException
+import org.springframework.batch.item.database.support.DataFieldMaxValueIncrementerFactory
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer
 import org.springframework.jdbc.support.incrementer.PostgresSequenceMaxValueIncrementer
 import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Instant
+import java.time.LocalDate
+import java.time.LocalDateTime
+import java.time.LocalTime
+import java.time.ZoneId
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicLong
 
 /**
  * Test JobParametersConverterImpl
@@ -217,4 +229,236 @@ class JobParametersConverterImplSpec extends Specification {
         props.size() == 1
         1 * incrementerMock.nextLongValue() >> 1
     }
-}
\ No newline at end of file
+
+    @Unroll
+    def "Run ids are allocated in blocks of #expected for the database type(#type)."() {
+        setup:
+        def sequence = new AtomicLong()
+        def delegate = Mock(DataFieldMaxValueIncrementer)
+        delegate.nextLongValue() >> { sequence.incrementAndGet() }
+        def factory = Mock(DataFieldMaxValueIncrementerFactory)
+        factory.getIncrementer(type, "BATCH_JOB_SEQ") >> delegate
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setTablePrefix("BATCH_")
+        converter.setRunIdBlockSize(10)
+        converter.setRunIdBlockSizes(["POSTGRES": 100, "H2": 1])
+        converter.factory = factory
+        converter.incrementerType = type
+
+        when:
+        converter.afterPropertiesSet()
+        def ids = (0..<expected * 2 + 1).collect {
+            converter.getJobParameters(null).getLong(JobParametersConverterImpl.JOB_RUN_ID)
+        }
+
+        then:
+        ids == (expected..<expected * 4).take(expected * 2 + 1)
+        sequence.get() == 3
+        converter.getProperties(null).getProperty(JobParametersConverterImpl.JOB_RUN_ID) == String.valueOf(expected * 3 + 1)
+
+        where:
+        type       || expected
+        "POSTGRES" || 100
+        "ORACLE"   || 10
+        "H2"       || 1
+    }
+
+    def "Run ids allocated in blocks are unique across threads."() {
+        setup:
+        def sequence = new AtomicLong()
+        def delegate = Mock(DataFieldMaxValueIncrementer)
+        delegate.nextLongValue() >> { sequence.incrementAndGet() }
+        def incrementer = new BlockAllocatingRunIdIncrementer(delegate, 16)
+        def ids = ConcurrentHashMap.newKeySet()
+        def start = new CountDownLatch(1)
+        def threads = (0..<8).collect {
+            Thread.start {
+                start.await()
+                1000.times { ids.add(incrementer.nextLongValue()) }
+            }
+        }
+
+        when:
+        start.countDown()
+        threads*.join()
+
+        then:
+        ids.size() == 8000
+        ids.every { it >= 16 && it < (sequence.get() + 1) * 16 }
+        sequence.get() <= 8000 / 16 + 8
+    }
+
+    def "Run id block sizes must be higher than zero."() {
+        setup:
+        def converter = new JobParametersConverterImpl(ds)
+
+        when:
+        converter.setRunIdBlockSize(0)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "runIdBlockSize must be higher than zero. [runIdBlockSize:0]"
+
+        when:
+        converter.setRunIdBlockSizes(["ORACLE": -1])
+
+        then:
+        ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "runIdBlockSizes must be higher than zero. [databaseType:ORACLE][runIdBlockSize:-1]"
+    }
+
+    def "Run ids are generated by the generator without accessing the database."() {
+        setup:
+        def generator = Mock(RunIdGenerator)
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator(generator)
+
+        when:
+        converter.afterPropertiesSet()
+        def params = converter.getJobParameters(null)
+        def props = converter.getProperties(null)
+
+        then:
+        2 * generator.nextRunId() >>> [10L, 11L]
+        0 * ds._
+        converter.incrementer == null
+        params.getLong(JobParametersConverterImpl.JOB_RUN_ID) == 10L
+        props.getProperty(JobParametersConverterImpl.JOB_RUN_ID) == "11"
+    }
+
+    @Unroll
+    def "Key(#key) is converted to the parameter(#name) of the type(#type) with identifying(#identifying)."() {
+        setup:
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator({ 1L })
+        def props = new Properties()
+        props.setProperty(key, value)
+
+        when:
+        def params = converter.getJobParameters(props)
+
+        then:
+        params.getParameters().size() == 2
+        def param = params.getParameter(name)
+        param.getType() == type
+        param.getValue() == expected
+        param.isIdentifying() == identifying
+
+        where:
+        key                 | value                  || name            | type          | expected                              | identifying
+        "plain"             | "value"                || "plain"         | String        | "value"                               | false
+        "+name(string)"     | "value"                || "name"          | String        | "value"                               | true
+        "count(long)"       | "12"                   || "count"         | Long          | 12L                                   | false
+        "-count(LONG)"      | "12"                   || "count"         | Long          | 12L                                   | false
+        "+rate(double)"     | "0.5"                  || "rate"          | Double        | 0.5d                                  | true
+        "+day(date)"        | "2026-01-02"           || "day"           | Date          | date("2026-01-02")                    | true
+        "at(date)"          | "2026-01-02T03:04:05Z" || "at"            | Date          | Date.from(Instant.parse(value))       | false
+        "+day(localDate)"   | "2026-01-02"           || "day"           | LocalDate     | LocalDate.of(2026, 1, 2)              | true
+        "at(localDateTime)" | "2026-01-02T03:04:05"  || "at"            | LocalDateTime | LocalDateTime.of(2026, 1, 2, 3, 4, 5) | false
+        "at(localtime)"     | "03:04"                || "at"            | LocalTime     | LocalTime.of(3, 4)                    | false
+        "name(unknown)"     | "value"                || "name(unknown)" | String        | "value"                               | false
+        "+(long)"           | "1"                    || "+(long)"       | String        | "1"                                   | false
+        "(long)"            | "1"                    || "(long)"        | String        | "1"                                   | false
+        "-name"             | "value"                || "-name"         | String        | "value"                               | false
+        "name(long"         | "1"                    || "name(long"     | String        | "1"                                   | false
+    }
+
+    def "Typed run id is converted to the identifying run id."() {
+        setup:
+        def generator = Mock(RunIdGenerator)
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator(generator)
+        def props = new Properties()
+        props.setProperty("-jsr_batch_run_id(string)", "5")
+
+        when:
+        def params = converter.getJobParameters(props)
+
+        then:
+        0 * generator.nextRunId()
+        params.getParameters().size() == 1
+        params.getParameter(JobParametersConverterImpl.JOB_RUN_ID) == new JobParameter(5L, Long, true)
+    }
+
+    def "Throw exception when a value cannot be converted to the type of the key."() {
+        setup:
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator({ 1L })
+        def props = new Properties()
+        props.setProperty("+count(long)", "x")
+
+        when:
+        converter.getJobParameters(props)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "Failed to convert the job parameter. [name:count][type:long][value:x]"
+        ex.getCause() instanceof NumberFormatException
+    }
+
+    @Unroll
+    def "Throw exception when the keys(#keys) have the same name."() {
+        setup:
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator({ 1L })
+        def props = new Properties()
+        keys.each { props.setProperty(it, "1") }
+        props.setProperty("other", "1")
+
+        when:
+        converter.getJobParameters(props)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == message
+
+        where:
+        keys                                             || message
+        ["a", "+a(long)"]                                || "Duplicate job parameter name. [name:a][keys:[+a(long), a]]"
+        ["-a(long)", "+a(string)"]                       || "Duplicate job parameter name. [name:a][keys:[+a(string), -a(long)]]"
+        ["jsr_batch_run_id", "+jsr_batch_run_id(long)"] || "Duplicate job parameter name. [name:jsr_batch_run_id][keys:[+jsr_batch_run_id(long), jsr_batch_run_id]]"
+    }
+
+    def "Properties returned by getProperties are keyed by the names, and converted back to String parameters."() {
+        setup:
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator({ 1L })
+        def props = new Properties()
+        props.setProperty("+count(long)", "3")
+        props.setProperty("name", "value")
+
+        when:
+        def params = converter.getJobParameters(props)
+        def properties = converter.getProperties(params)
+        def converted = converter.getJobParameters(properties)
+
+        then:
+        properties == ["count": "3", "name": "value", "jsr_batch_run_id": "1"]
+        converted.getParameter("count") == new JobParameter("3", String, false)
+        converted.getParameter("name") == params.getParameter("name")
+        converted.getParameter(JobParametersConverterImpl.JOB_RUN_ID) == params.getParameter(JobParametersConverterImpl.JOB_RUN_ID)
+    }
+
+    def "Parsed keys are cached for the launches with the same keys."() {
+        setup:
+        def converter = new JobParametersConverterImpl(ds)
+        converter.setRunIdGenerator({ 1L })
+
+        when:
+        def params = (0..<3).collect {
+            def props = new Properties()
+            props.setProperty("+count(long)", String.valueOf(it))
+            props.setProperty("name", "value" + it)
+            converter.getJobParameters(props)
+        }
+
+        then:
+        converter.notations.keySet() == ["+count(long)", "name"] as Set
+        params*.getLong("count") == [0L, 1L, 2L]
+        params*.getString("name") == ["value0", "value1", "value2"]
+    }
+
+    private static Date date(String value) {
+        Date.from(LocalDate.parse(value).atStartOfDay(ZoneId.systemDefault()).toInstant())
+    }
+}
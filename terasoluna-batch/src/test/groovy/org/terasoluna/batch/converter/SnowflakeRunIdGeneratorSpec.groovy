@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.converter
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Instant
+import java.util.concurrent.ConcurrentHashMap
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Test SnowflakeRunIdGenerator
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Run ids are generated from the time, node id and counter without accessing the database.
+The ids are increasing in a JVM even if the clock goes back or the counter is used up.
+""")
+class SnowflakeRunIdGeneratorSpec extends Specification {
+
+    def epoch = Instant.parse("2026-01-01T00:00:00Z")
+
+    def "Run id consists of the time, node id and counter."() {
+        setup:
+        def now = new AtomicLong(epoch.toEpochMilli() + 5)
+        def generator = new SnowflakeRunIdGenerator(3, epoch, { now.get() })
+
+        when:
+        def first = generator.nextRunId()
+        def second = generator.nextRunId()
+        now.set(epoch.toEpochMilli() + 6)
+        def third = generator.nextRunId()
+
+        then:
+        first == ((5L << 22) | (3L << 12))
+        second == first + 1
+        third == ((6L << 22) | (3L << 12))
+    }
+
+    def "Run ids are increasing when the clock goes back."() {
+        setup:
+        def now = new AtomicLong(epoch.toEpochMilli() + 100)
+        def generator = new SnowflakeRunIdGenerator(1, epoch, { now.get() })
+        def first = generator.nextRunId()
+
+        when:
+        now.set(epoch.toEpochMilli() + 50)
+        def second = generator.nextRunId()
+
+        then:
+        second == first + 1
+    }
+
+    def "Run id borrows the next millisecond when the counter is used up."() {
+        setup:
+        def generator = new SnowflakeRunIdGenerator(7, epoch, { epoch.toEpochMilli() })
+
+        when:
+        def ids = (0..<4097).collect { generator.nextRunId() }
+
+        then:
+        ids[0] == (7L << 12)
+        ids[4095] == ((7L << 12) | 4095L)
+        ids[4096] == ((1L << 22) | (7L << 12))
+        ids.every { ((it >>> 12) & 1023L) == 7L }
+    }
+
+    def "Run ids are unique and increasing per thread across threads."() {
+        setup:
+        def generator = new SnowflakeRunIdGenerator(SnowflakeRunIdGenerator.MAX_NODE_ID)
+        def ids = ConcurrentHashMap.newKeySet()
+        def increasing = Collections.synchronizedList([])
+        def start = new CountDownLatch(1)
+        def threads = (0..<8).collect {
+            Thread.start {
+                start.await()
+                def prev = 0L
+                def ok = true
+                5000.times {
+                    def id = generator.nextRunId()
+                    ok &= id > prev
+                    prev = id
+                    ids.add(id)
+                }
+                increasing.add(ok)
+            }
+        }
+
+        when:
+        start.countDown()
+        threads*.join()
+
+        then:
+        ids.size() == 40000
+        increasing == [true] * 8
+        ids.every { it > (1L << 22) }
+    }
+
+    @Unroll
+    def "Node id must be in range. [nodeId:#nodeId]"() {
+        when:
+        new SnowflakeRunIdGenerator(nodeId)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "nodeId must be zero or more and 1023 or less. [nodeId:" + nodeId + "]"
+
+        where:
+        nodeId << [-1, 1024]
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.attribute.FileTime
+
+/**
+ * Test DelimitedFileIndex
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Record the byte offset of every N-th record of a delimited file, recognizing the line breaks
+in the enclosed fields in the same way as EnclosableDelimitedBufferedReaderFactory.
+""")
+class DelimitedFileIndexSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def readAll(Path path, String encoding, long offset = 0) {
+        def in = Files.newInputStream(path)
+        in.skipNBytes(offset)
+        def reader = EnclosableDelimitedBufferedReaderFactory.newReader(in, encoding, '"' as char, 16)
+        def records = []
+        def record
+        while ((record = reader.readLine()) != null) {
+            records << record
+        }
+        reader.close()
+        records
+    }
+
+    @Unroll
+    def "Each indexed offset is the start of the record read by the reader with encoding(#encoding), interval(#interval)."() {
+        setup:
+        def path = tempDir.resolve("in.csv")
+        Files.write(path, content.getBytes(encoding))
+        def records = readAll(path, encoding)
+
+        when:
+        def index = DelimitedFileIndex.build(path, Charset.forName(encoding), '"' as char, interval)
+
+        then:
+        index.getRecordCount() == records.size()
+        index.getInterval() == interval
+        for (long k = 0; k < records.size(); k += interval) {
+            assert index.floorRecord(k + interval - 1) == k
+            assert readAll(path, encoding, index.offsetOf(k)) == records.subList((int) k, records.size())
+        }
+
+        where:
+        content                                                            | encoding | interval
+        "a,b\nc,d\ne,f\n"                                                  | "UTF-8"  | 1
+        "\"a\r\nb\",c\r\n\"d\rx\"\r\"e\nf\"\n\n\r\n\"\"\"g\"\"\",h\rlast" | "UTF-8"  | 1
+        "\"a\r\nb\",c\r\n\"d\rx\"\r\"e\nf\"\n\n\r\n\"\"\"g\"\"\",h\rlast" | "UTF-8"  | 2
+        "\"あ\nい\",う\r\nソ,表\r\n\"能\r\n\"\r\n"                          | "MS932"  | 1
+        "\"あ\nい\",う\r\nソ,表\r\n\"能\r\n\"\r\n"                          | "EUC-JP" | 2
+        ""                                                                 | "UTF-8"  | 3
+    }
+
+    def "Index is saved next to the source file, and ignored after the source file is changed."() {
+        setup:
+        def path = tempDir.resolve("in.csv")
+        Files.write(path, ("x,y\n" * 100).getBytes("UTF-8"))
+
+        when:
+        def built = DelimitedFileIndex.loadOrBuild(path, Charset.forName("UTF-8"), '"' as char, 10)
+        def loaded = DelimitedFileIndex.load(path, '"' as char)
+
+        then:
+        Files.exists(tempDir.resolve("in.csv" + DelimitedFileIndex.SUFFIX))
+        loaded.getRecordCount() == 100
+        loaded.getInterval() == 10
+        (0..9).every { loaded.offsetOf(it * 10) == built.offsetOf(it * 10) }
+        DelimitedFileIndex.load(path, '\'' as char) == null
+
+        when:
+        Files.write(path, ("x,y\n" * 101).getBytes("UTF-8"))
+
+        then:
+        DelimitedFileIndex.load(path, '"' as char) == null
+
+        when:
+        DelimitedFileIndex.build(path, Charset.forName("UTF-8"), '"' as char, 10).save(path)
+        Files.setLastModifiedTime(path, FileTime.fromMillis(0))
+
+        then:
+        DelimitedFileIndex.load(path, '"' as char) == null
+        DelimitedFileIndex.load(tempDir.resolve("missing.csv"), '"' as char) == null
+    }
+
+    def "offsetOf throws exception if the record is not indexed."() {
+        setup:
+        def path = tempDir.resolve("in.csv")
+        Files.write(path, ("x\n" * 10).getBytes("UTF-8"))
+        def index = DelimitedFileIndex.build(path, Charset.forName("UTF-8"), '"' as char, 4)
+
+        when:
+        index.offsetOf(3)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "the record is not indexed. [record:3]"
+        index.floorRecord(100) == 8
+        index.offsetOf(8) == 16
+    }
+
+    @Unroll
+    def "isSupported of #encoding with enclosure(#enclosure) is #expected."() {
+        expect:
+        DelimitedFileIndex.isSupported(Charset.forName(encoding), enclosure as char) == expected
+
+        where:
+        encoding     | enclosure || expected
+        "UTF-8"      | '"'       || true
+        "UTF-8"      | '|'       || true
+        "MS932"      | '"'       || true
+        "MS932"      | '|'       || false
+        "UTF-16"     | '"'       || false
+        "Cp037"      | '"'       || false
+        "ISO-2022-JP"| '"'       || false
+    }
+
+    def "build throws exception if the charset is not supported."() {
+        setup:
+        def path = tempDir.resolve("in.csv")
+        Files.write(path, new byte[0])
+
+        when:
+        DelimitedFileIndex.build(path, Charset.forName("UTF-16"), '"' as char, 10)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "the index is not supported for the charset and enclosure. [charset:UTF-16][enclosure:\"]"
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.item.file.FlatFileItemReader
+import org.springframework.batch.item.file.mapping.DefaultLineMapper
+import org.springframework.batch.item.file.mapping.PassThroughFieldSetMapper
+import org.springframework.core.io.ByteArrayResource
+import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator
+import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineTokenizer
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Test EnclosableDelimitedBufferedReaderFactory
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Create BufferedReader which reads a whole record including the line breaks in the enclosed fields.
+""")
+class EnclosableDelimitedBufferedReaderFactorySpec extends Specification {
+
+    def readAll(String content, int bufferSize, char enclosure = '"' as char) {
+        def factory = new EnclosableDelimitedBufferedReaderFactory()
+        factory.setBufferSize(bufferSize)
+        factory.setEnclosure(enclosure)
+        def reader = factory.create(new ByteArrayResource(content.getBytes("MS932")), "MS932")
+        def records = []
+        def record
+        while ((record = reader.readLine()) != null) {
+            records << record
+        }
+        reader.close()
+        records
+    }
+
+    def "setBufferSize does not accept zero."() {
+        when:
+        new EnclosableDelimitedBufferedReaderFactory().setBufferSize(0)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "bufferSize must be higher than zero. [bufferSize:0]"
+    }
+
+    def "Create method arguments 'resource' cannot be null."() {
+        when:
+        new EnclosableDelimitedBufferedReaderFactory().create(null, "UTF-8")
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "resource must be set."
+    }
+
+    @Unroll
+    def "readLine splits content(#content) into records(#records) with bufferSize(#bufferSize)."() {
+        expect:
+        readAll(content, bufferSize) == records
+
+        where:
+        content                          | bufferSize || records
+        ""                               | 8          || []
+        "a,b"                            | 8          || ["a,b"]
+        "a,b\nc,d\n"                     | 8          || ["a,b", "c,d"]
+        "a,b\r\nc,d\r\n"                 | 1          || ["a,b", "c,d"]
+        "a,b\rc,d\r"                     | 2          || ["a,b", "c,d"]
+        "a\r\rb\n\nc"                    | 3          || ["a", "", "b", "", "c"]
+        '"a\r\nb",c\nd'                  | 2          || ['"a\r\nb",c', "d"]
+        '"a\nb""\r",c\r\n"d"'            | 65536      || ['"a\nb""\r",c', '"d"']
+        'あい,"う\nえ"\nお'              | 3          || ['あい,"う\nえ"', "お"]
+        '"unclosed\nx'                   | 4          || ['"unclosed\nx']
+        "x" * 100 + "\ny"                | 4          || ["x" * 100, "y"]
+    }
+
+    def "Enclosure can be changed."() {
+        expect:
+        readAll("'a\nb',\"c\nd\"", 16, '\'' as char) == ["'a\nb',\"c", "d\""]
+    }
+
+    @Unroll
+    def "Unsupported method #method throws exception."() {
+        setup:
+        def reader = new EnclosableDelimitedBufferedReaderFactory().create(new ByteArrayResource(new byte[0]), "UTF-8")
+
+        when:
+        reader."$method"(*args)
+
+        then:
+        def ex = thrown(UnsupportedOperationException)
+        ex.getMessage() == method + " not supported."
+
+        where:
+        method          | args
+        "read"          | []
+        "read"          | [new char[1], 0, 1]
+        "skip"          | [1L]
+        "ready"         | []
+        "markSupported" | []
+        "mark"          | [1]
+        "reset"         | []
+        "lines"         | []
+    }
+
+    def "Records written by EnclosableDelimitedLineAggregator are read by FlatFileItemReader."() {
+        setup:
+        def items = [["a,a", "b\r\nb", "c\"c"], ["", "\n", "\"\""], ["あ", "い\rう", "え"]]
+        def aggregator = new EnclosableDelimitedLineAggregator<List<String>>()
+        aggregator.setFieldExtractor({ item -> item as Object[] })
+        def content = items.collect { aggregator.aggregate(it) + "\r\n" }.join()
+
+        def tokenizer = new EnclosableDelimitedLineTokenizer()
+        tokenizer.afterPropertiesSet()
+        def lineMapper = new DefaultLineMapper()
+        lineMapper.setLineTokenizer(tokenizer)
+        lineMapper.setFieldSetMapper(new PassThroughFieldSetMapper())
+        def factory = new EnclosableDelimitedBufferedReaderFactory()
+        factory.setBufferSize(4)
+        def reader = new FlatFileItemReader()
+        reader.setResource(new ByteArrayResource(content.getBytes("MS932")))
+        reader.setEncoding("MS932")
+        reader.setBufferedReaderFactory(factory)
+        reader.setLineMapper(lineMapper)
+
+        when:
+        reader.open(new ExecutionContext())
+        def results = []
+        def fieldSet
+        while ((fieldSet = reader.read()) != null) {
+            results << fieldSet.getValues().toList()
+        }
+        reader.close()
+
+        then:
+        results == items
+    }
+}
@@ -0,0 +1,265 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.item.file.FlatFileParseException
+import org.springframework.core.io.ByteArrayResource
+import org.springframework.core.io.FileSystemResource
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Test EnclosableDelimitedFileItemReader
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Read the records of a delimited file with enclosed line breaks, and seek to the restart position
+or the start of a partition by the sidecar index.
+""")
+class EnclosableDelimitedFileItemReaderSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def records = (1..100).collect { "\"r${it}\r\nx\",${it}" as String }
+
+    def createFile(String header = "h1\nh2\n") {
+        def path = tempDir.resolve("in.csv")
+        Files.write(path, (header + records.join("\n") + "\n").getBytes("UTF-8"))
+        path
+    }
+
+    def createReader(Path path, boolean useIndex) {
+        def reader = new EnclosableDelimitedFileItemReader<String>()
+        reader.setResource(new FileSystemResource(path))
+        reader.setLineMapper({ line, lineNumber -> line })
+        reader.setLinesToSkip(2)
+        reader.setUseIndex(useIndex)
+        reader.setIndexInterval(8)
+        reader.setBufferSize(16)
+        reader.afterPropertiesSet()
+        reader
+    }
+
+    def readAll(EnclosableDelimitedFileItemReader<String> reader) {
+        def items = []
+        def item
+        while ((item = reader.read()) != null) {
+            items << item
+        }
+        items
+    }
+
+    def "afterPropertiesSet throws exception if the index is not supported for the encoding."() {
+        setup:
+        def reader = new EnclosableDelimitedFileItemReader<String>()
+        reader.setLineMapper({ line, lineNumber -> line })
+        reader.setEncoding("UTF-16")
+        reader.setUseIndex(true)
+
+        when:
+        reader.afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "the index is not supported for the encoding and enclosure. [encoding:UTF-16][enclosure:\"]"
+    }
+
+    @Unroll
+    def "read returns the records after the skipped lines with useIndex(#useIndex)."() {
+        setup:
+        def reader = createReader(createFile(), useIndex)
+
+        when:
+        reader.open(new ExecutionContext())
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == records
+        Files.exists(tempDir.resolve("in.csv.idx")) == useIndex
+
+        where:
+        useIndex << [false, true]
+    }
+
+    def "Failure of saving the index does not fail the reader or the partitioner."() {
+        setup:
+        def path = createFile()
+        // a non-empty directory at the path of the index cannot be replaced by the index file.
+        def sidecar = Files.createDirectory(tempDir.resolve("in.csv.idx"))
+        Files.createFile(sidecar.resolve("occupied"))
+        def reader = createReader(path, true)
+        def partitioner = new DelimitedFilePartitioner()
+        partitioner.setResource(new FileSystemResource(path))
+        partitioner.setLinesToSkip(2)
+        partitioner.setIndexInterval(8)
+
+        when:
+        reader.open(new ExecutionContext())
+        def items = readAll(reader)
+        reader.close()
+        def partitions = partitioner.partition(2)
+
+        then:
+        noExceptionThrown()
+        items == records
+        partitions.size() == 2
+        Files.isDirectory(sidecar)
+        !Files.exists(tempDir.resolve("in.csv.idx.tmp"))
+    }
+
+    @Unroll
+    def "Restart from item(#restartAt) returns the rest of the records with useIndex(#useIndex), saved index(#saved)."() {
+        setup:
+        def path = createFile()
+        if (saved) {
+            DelimitedFileIndex.loadOrBuild(path, java.nio.charset.StandardCharsets.UTF_8, '"' as char, 8)
+        }
+        def executionContext = new ExecutionContext()
+        executionContext.putInt("EnclosableDelimitedFileItemReader.read.count", restartAt)
+        def reader = createReader(path, useIndex)
+
+        when:
+        reader.open(executionContext)
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == records.subList(restartAt, records.size())
+
+        where:
+        useIndex | saved | restartAt
+        false    | false | 37
+        true     | false | 37
+        true     | true  | 6
+        true     | true  | 37
+        true     | true  | 99
+        true     | true  | 100
+    }
+
+    def "The line number passed to the line mapper is the number of records."() {
+        setup:
+        def path = createFile()
+        def reader = createReader(path, true)
+        reader.setLineMapper({ line, lineNumber -> if (lineNumber == 10) { throw new IllegalArgumentException() }; line })
+        reader.open(new ExecutionContext())
+
+        when:
+        7.times { reader.read() }
+        reader.read()
+
+        then:
+        def ex = thrown(FlatFileParseException)
+        ex.getLineNumber() == 10
+        ex.getInput() == records[7]
+    }
+
+    def "Missing resource is read as empty if not strict."() {
+        setup:
+        def reader = createReader(tempDir.resolve("missing.csv"), true)
+        reader.setStrict(false)
+
+        when:
+        reader.open(new ExecutionContext())
+
+        then:
+        reader.read() == null
+
+        when:
+        def strictReader = createReader(tempDir.resolve("missing.csv"), true)
+        strictReader.open(new ExecutionContext())
+
+        then:
+        thrown(Exception)
+    }
+
+    def "Resource not on the file system is read without the index."() {
+        setup:
+        def reader = createReader(createFile(), true)
+        reader.setResource(new ByteArrayResource(Files.readAllBytes(tempDir.resolve("in.csv"))))
+        def executionContext = new ExecutionContext()
+        executionContext.putInt("EnclosableDelimitedFileItemReader.read.count", 50)
+
+        when:
+        reader.open(executionContext)
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == records.subList(50, 100)
+    }
+
+    @Unroll
+    def "Partitions read all records exactly once with gridSize(#gridSize)."() {
+        setup:
+        def path = createFile()
+        def partitioner = new DelimitedFilePartitioner()
+        partitioner.setResource(new FileSystemResource(path))
+        partitioner.setLinesToSkip(2)
+        partitioner.setIndexInterval(8)
+
+        when:
+        def partitions = partitioner.partition(gridSize)
+        def items = []
+        partitions.values().each { context ->
+            def reader = createReader(path, true)
+            reader.setCurrentItemCount(context.getInt(DelimitedFilePartitioner.START_ITEM_KEY))
+            reader.setMaxItemCount(context.getInt(DelimitedFilePartitioner.END_ITEM_KEY))
+            reader.open(new ExecutionContext())
+            items.addAll(readAll(reader))
+            reader.close()
+        }
+
+        then:
+        partitions.size() == expectedSize
+        partitions.keySet().first() == "partition0"
+        partitions.values().collect { it.getInt("partitionIndex") } == (0..<expectedSize).toList()
+        partitions.values().every {
+            (it.getInt("startItem") + 2) % 8 == 0 || it.getInt("startItem") == 0 || it.getInt("startItem") == it.getInt("endItem")
+        }
+        partitions.values().count { it.getInt("startItem") < it.getInt("endItem") } == nonEmpty
+        items == records
+
+        where:
+        gridSize | expectedSize | nonEmpty
+        1        | 1            | 1
+        4        | 4            | 4
+        30       | 30           | 13
+    }
+
+    def "Partitioner returns empty partitions for an empty file."() {
+        setup:
+        def path = tempDir.resolve("empty.csv")
+        Files.write(path, new byte[0])
+        def partitioner = new DelimitedFilePartitioner()
+        partitioner.setResource(new FileSystemResource(path))
+
+        when:
+        def partitions = partitioner.partition(3)
+
+        then:
+        partitions.keySet() == ["partition0", "partition1", "partition2"] as Set
+        partitions.values().every { it.getInt("startItem") == 1 && it.getInt("endItem") == 1 }
+    }
+}
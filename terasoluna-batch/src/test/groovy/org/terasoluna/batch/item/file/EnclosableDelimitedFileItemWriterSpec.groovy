@@ -0,0 +1,600 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry
+import org.springframework.batch.item.Chunk
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.item.ItemStreamException
+import org.springframework.batch.item.WriterNotOpenException
+import org.springframework.batch.item.file.FlatFileFooterCallback
+import org.springframework.batch.item.file.FlatFileHeaderCallback
+import org.springframework.batch.item.file.FlatFileItemWriter
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager
+import org.springframework.core.io.FileSystemResource
+import org.springframework.transaction.support.TransactionTemplate
+import org.terasoluna.batch.item.file.transform.EnclosableDelimitedLineAggregator
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Test EnclosableDelimitedFileItemWriter
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Write items in the format of EnclosableDelimitedLineAggregator directly to a file channel,
+keeping the restart and transactional semantics of FlatFileItemWriter.
+""")
+class EnclosableDelimitedFileItemWriterSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager())
+
+    def createWriter(Path path) {
+        def writer = new EnclosableDelimitedFileItemWriter<List<Object>>()
+        writer.setResource(new FileSystemResource(path))
+        writer.setFieldExtractor({ item -> item as Object[] })
+        writer.setLineSeparator("\n")
+        writer.setName("writer")
+        writer
+    }
+
+    def content(Path path, String encoding = "UTF-8") {
+        new String(Files.readAllBytes(path), Charset.forName(encoding))
+    }
+
+    def "afterPropertiesSet throws exception when delimiter and enclosure are same."() {
+        setup:
+        def writer = createWriter(tempDir.resolve("out.csv"))
+        writer.setDelimiter('+' as char)
+        writer.setEnclosure('+' as char)
+
+        when:
+        writer.afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "the delimiter and enclosure must be different. [value:+]"
+    }
+
+    def "Format set by the setters is used without afterPropertiesSet."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path)
+        writer.setDelimiter('\t' as char)
+        writer.setEnclosure('\'' as char)
+        writer.setAllEnclosing(true)
+        writer.open(new ExecutionContext())
+
+        when:
+        writer.write(Chunk.of(["a", "b'c"]))
+        writer.close()
+
+        then:
+        content(path) == "'a'\t'b''c'\n"
+    }
+
+    def "setBufferSize does not accept too small size."() {
+        when:
+        new EnclosableDelimitedFileItemWriter().setBufferSize(15)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "bufferSize must be 16 or more. [bufferSize:15]"
+    }
+
+    def "write throws exception if the writer is not opened."() {
+        setup:
+        def writer = createWriter(tempDir.resolve("out.csv"))
+        writer.afterPropertiesSet()
+
+        when:
+        writer.write(Chunk.of(["a"]))
+
+        then:
+        thrown(WriterNotOpenException)
+    }
+
+    @Unroll
+    def "write produces the same output as FlatFileItemWriter with encoding(#encoding), allEnclosing(#allEnclosing), bufferSize(#bufferSize)."() {
+        setup:
+        def items = [["a,a", 1, null], ["b\"b", 99.99d, "あいう"], ["c\r\nc", true, 'x' * 100]]
+        def expectedPath = tempDir.resolve("expected.csv")
+        def actualPath = tempDir.resolve("actual.csv")
+
+        def aggregator = new EnclosableDelimitedLineAggregator<List<Object>>()
+        aggregator.setFieldExtractor({ item -> item as Object[] })
+        aggregator.setAllEnclosing(allEnclosing)
+        def flatFileItemWriter = new FlatFileItemWriter<List<Object>>()
+        flatFileItemWriter.setResource(new FileSystemResource(expectedPath))
+        flatFileItemWriter.setLineAggregator(aggregator)
+        flatFileItemWriter.setEncoding(encoding)
+        flatFileItemWriter.setLineSeparator("\n")
+        flatFileItemWriter.afterPropertiesSet()
+
+        def writer = createWriter(actualPath)
+        writer.setEncoding(encoding)
+        writer.setAllEnclosing(allEnclosing)
+        writer.setBufferSize(bufferSize)
+        writer.afterPropertiesSet()
+
+        when:
+        flatFileItemWriter.open(new ExecutionContext())
+        flatFileItemWriter.write(new Chunk(items))
+        flatFileItemWriter.close()
+        writer.open(new ExecutionContext())
+        writer.write(new Chunk(items))
+        writer.close()
+
+        then:
+        Files.readAllBytes(actualPath) == Files.readAllBytes(expectedPath)
+
+        where:
+        encoding | allEnclosing | bufferSize
+        "UTF-8"  | false        | 65536
+        "MS932"  | false        | 65536
+        "MS932"  | true         | 16
+        "UTF-8"  | true         | 17
+    }
+
+    @Unroll
+    def "Transactional output is written at commit and discarded at rollback with bufferSize(#bufferSize)."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path)
+        writer.setBufferSize(bufferSize)
+        writer.afterPropertiesSet()
+        def executionContext = new ExecutionContext()
+        writer.open(executionContext)
+
+        when:
+        transactionTemplate.executeWithoutResult {
+            writer.write(Chunk.of(["a" * 40], ["b"]))
+            assert content(path) == ""
+            writer.update(executionContext)
+        }
+
+        then:
+        content(path) == "a" * 40 + "\nb\n"
+        executionContext.getLong("writer.current.count") == 43L
+        executionContext.getLong("writer.written") == 2L
+
+        when:
+        transactionTemplate.executeWithoutResult { status ->
+            writer.write(Chunk.of(["c" * 40]))
+            status.setRollbackOnly()
+        }
+        transactionTemplate.executeWithoutResult {
+            writer.write(Chunk.of(["d"]))
+        }
+        writer.close()
+
+        then:
+        content(path) == "a" * 40 + "\nb\nd\n"
+
+        where:
+        bufferSize << [16, 65536]
+    }
+
+    @Unroll
+    def "Output written behind is kept at commit and truncated at rollback with writeBehindBuffers(#buffers)."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path)
+        writer.setBufferSize(16)
+        writer.setWriteBehindBuffers(buffers)
+        writer.afterPropertiesSet()
+        def executionContext = new ExecutionContext()
+        writer.open(executionContext)
+        def committed = (1..200).collect { ["item" + it] }
+
+        when:
+        transactionTemplate.executeWithoutResult {
+            writer.write(new Chunk(committed))
+            writer.update(executionContext)
+        }
+
+        then:
+        content(path) == committed.collect { it[0] + "\n" }.join("")
+        executionContext.getLong("writer.current.count") == Files.size(path)
+
+        when:
+        transactionTemplate.executeWithoutResult { status ->
+            writer.write(new Chunk((1..100).collect { ["rolled back" + it] }))
+            writer.update(new ExecutionContext())
+            status.setRollbackOnly()
+        }
+        transactionTemplate.executeWithoutResult {
+            writer.write(Chunk.of(["last"]))
+        }
+        writer.close()
+
+        then:
+        content(path) == committed.collect { it[0] + "\n" }.join("") + "last\n"
+
+        where:
+        buffers << [1, 4]
+    }
+
+    def "Output written behind is restarted from the position at the last commit."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path)
+        writer.setBufferSize(16)
+        writer.setWriteBehindBuffers(2)
+        writer.setTransactional(false)
+        writer.afterPropertiesSet()
+        writer.open(executionContext)
+        writer.write(Chunk.of(["a" * 40], ["b"]))
+        writer.update(executionContext)
+        writer.write(Chunk.of(["not committed" * 5]))
+        writer.close()
+
+        when:
+        def restarted = createWriter(path)
+        restarted.setWriteBehindBuffers(2)
+        restarted.afterPropertiesSet()
+        restarted.open(executionContext)
+        restarted.write(Chunk.of(["c"]))
+        restarted.close()
+
+        then:
+        content(path) == "a" * 40 + "\nb\nc\n"
+    }
+
+    def "setWriteBehindBuffers does not accept negative number."() {
+        when:
+        new EnclosableDelimitedFileItemWriter().setWriteBehindBuffers(-1)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "writeBehindBuffers must be zero or more. [writeBehindBuffers:-1]"
+    }
+
+    @Unroll
+    def "Sync policy(#policy) with syncBytes(#syncBytes) forces the file #syncs times, and the flushes are timed."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def registry = new SimpleMeterRegistry()
+        def writer = createWriter(path)
+        writer.setTransactional(false)
+        writer.setMeterRegistry(registry)
+        writer.setSyncPolicy(policy)
+        writer.setSyncBytes(syncBytes)
+        writer.setBufferSize(bufferSize)
+        writer.afterPropertiesSet()
+        writer.open(new ExecutionContext())
+
+        when:
+        (0..<3).each { chunk ->
+            writer.write(new Chunk((0..<10).collect { ["12345678" + chunk] }))
+        }
+        writer.close()
+
+        then:
+        Files.size(path) == 300
+        registry.get(AbstractFileChannelItemWriter.SYNC_METRIC_NAME).tag("name", "writer").timer().count() == syncs
+        registry.get(AbstractFileChannelItemWriter.FLUSH_METRIC_NAME).tag("name", "writer").timer().count() == 4
+
+        where:
+        policy               | syncBytes | bufferSize || syncs
+        FileSyncPolicy.NONE  | 1         | 65536      || 0
+        FileSyncPolicy.CHUNK | 1         | 65536      || 3
+        FileSyncPolicy.BYTES | 150       | 65536      || 2
+        FileSyncPolicy.BYTES | 32        | 16         || 10
+        FileSyncPolicy.CLOSE | 1         | 65536      || 1
+    }
+
+    def "Sync policy(BYTES) forces the file while the output is written behind in a chunk."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def registry = new SimpleMeterRegistry()
+        def writer = createWriter(path)
+        writer.setTransactional(false)
+        writer.setMeterRegistry(registry)
+        writer.setSyncPolicy(FileSyncPolicy.BYTES)
+        writer.setSyncBytes(32)
+        writer.setBufferSize(16)
+        writer.setWriteBehindBuffers(2)
+        writer.afterPropertiesSet()
+        writer.open(new ExecutionContext())
+
+        when:
+        writer.write(new Chunk((0..<100).collect { ["123456789"] }))
+        def syncs = registry.get(AbstractFileChannelItemWriter.SYNC_METRIC_NAME).tag("name", "writer").timer().count()
+        writer.close()
+
+        then:
+        Files.size(path) == 1000
+        syncs > 1
+    }
+
+    @Unroll
+    def "forceSync(#forceSync) is the same as the sync policy(#policy)."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def registry = new SimpleMeterRegistry()
+        def writer = createWriter(path)
+        writer.setTransactional(false)
+        writer.setMeterRegistry(registry)
+        writer.setSyncPolicy(FileSyncPolicy.CLOSE)
+        writer.setForceSync(forceSync)
+        writer.afterPropertiesSet()
+        writer.open(new ExecutionContext())
+
+        when:
+        writer.write(Chunk.of(["a"]))
+        writer.write(Chunk.of(["b"]))
+        writer.close()
+
+        then:
+        registry.get(AbstractFileChannelItemWriter.SYNC_METRIC_NAME).timer().count() == syncs
+
+        where:
+        forceSync | policy               || syncs
+        true      | FileSyncPolicy.CHUNK || 2
+        false     | FileSyncPolicy.NONE  || 0
+    }
+
+    def "Preallocated file is truncated to the written size at close."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path)
+        writer.setPreallocationSize(1000)
+        writer.setHeaderCallback({ w -> w.write("header") })
+        writer.afterPropertiesSet()
+        def executionContext = new ExecutionContext()
+
+        when:
+        writer.open(executionContext)
+        transactionTemplate.executeWithoutResult {
+            writer.write(Chunk.of(["a"], ["b"]))
+            writer.update(executionContext)
+        }
+
+        then:
+        Files.size(path) == 1000
+        executionContext.getLong("writer.current.count") == 11L
+
+        when:
+        writer.close()
+
+        then:
+        content(path) == "header\na\nb\n"
+    }
+
+    def "Restart of the preallocated file truncates the zeros after the position at the last commit."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path)
+        writer.setPreallocationSize(100)
+        writer.setTransactional(false)
+        writer.afterPropertiesSet()
+        writer.open(executionContext)
+        writer.write(Chunk.of(["a"], ["b"]))
+        writer.update(executionContext)
+        writer.write(Chunk.of(["not committed"]))
+        // the job is stopped without closing the writer.
+
+        when:
+        def restarted = createWriter(path)
+        restarted.setPreallocationSize(100)
+        restarted.afterPropertiesSet()
+        restarted.open(executionContext)
+
+        then:
+        Files.size(path) == 104
+
+        when:
+        restarted.write(Chunk.of(["c"]))
+        restarted.close()
+
+        then:
+        content(path) == "a\nb\nc\n"
+    }
+
+    def "Appended or compressed file is not preallocated."() {
+        setup:
+        def path = tempDir.resolve(name)
+        Files.write(path, existing.getBytes("UTF-8"))
+        def writer = createWriter(path)
+        writer.setPreallocationSize(1000)
+        writer.setAppendAllowed(true)
+        writer.setCompression(FileCompression.AUTO)
+        writer.afterPropertiesSet()
+
+        when:
+        writer.open(new ExecutionContext())
+        def size = Files.size(path)
+        writer.close()
+
+        then:
+        size == existing.length()
+
+        where:
+        name         | existing
+        "out.csv"    | "a\n"
+        "out.csv.gz" | ""
+    }
+
+    @Unroll
+    def "#setter does not accept #value."() {
+        when:
+        new EnclosableDelimitedFileItemWriter()."$setter"(value)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == message
+
+        where:
+        setter                 | value || message
+        "setSyncBytes"         | 0L    || "syncBytes must be higher than zero. [syncBytes:0]"
+        "setPreallocationSize" | -1L   || "preallocationSize must be zero or more. [preallocationSize:-1]"
+        "setSyncPolicy"        | null  || "syncPolicy must be set."
+        "setMeterRegistry"     | null  || "meterRegistry must be set."
+    }
+
+    def "Non-transactional output is written at the end of each chunk."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path)
+        writer.setTransactional(false)
+        writer.afterPropertiesSet()
+        writer.open(new ExecutionContext())
+
+        when:
+        transactionTemplate.executeWithoutResult {
+            writer.write(Chunk.of(["a"]))
+            assert content(path) == "a\n"
+        }
+        writer.close()
+
+        then:
+        content(path) == "a\n"
+    }
+
+    def "Restart truncates the file to the position at the last commit."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path)
+        writer.afterPropertiesSet()
+        writer.open(executionContext)
+        writer.write(Chunk.of(["a"], ["b"]))
+        writer.update(executionContext)
+        writer.write(Chunk.of(["not committed"]))
+        writer.close()
+
+        when:
+        def restarted = createWriter(path)
+        restarted.afterPropertiesSet()
+        restarted.open(executionContext)
+        restarted.write(Chunk.of(["c"]))
+        restarted.update(executionContext)
+        restarted.close()
+
+        then:
+        content(path) == "a\nb\nc\n"
+        executionContext.getLong("writer.written") == 3L
+    }
+
+    def "Restart fails if the file is smaller than the position at the last commit."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def executionContext = new ExecutionContext()
+        executionContext.putLong("writer.current.count", 100L)
+        executionContext.putLong("writer.written", 10L)
+        Files.write(path, "a\n".bytes)
+        def writer = createWriter(path)
+        writer.afterPropertiesSet()
+
+        when:
+        writer.open(executionContext)
+
+        then:
+        def ex = thrown(ItemStreamException)
+        ex.getMessage() == "Current file size is smaller than size at last commit"
+    }
+
+    def "Header and footer are written by the callbacks, and the header is not written again at restart."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path)
+        writer.setHeaderCallback({ w -> w.write("header") } as FlatFileHeaderCallback)
+        writer.setFooterCallback({ w -> w.write("footer\n") } as FlatFileFooterCallback)
+        writer.afterPropertiesSet()
+
+        when:
+        writer.open(executionContext)
+        writer.write(Chunk.of(["a"]))
+        writer.update(executionContext)
+        writer.close()
+
+        then:
+        content(path) == "header\na\nfooter\n"
+
+        when:
+        executionContext.putLong("writer.current.count", "header\na\n".length())
+        writer.open(executionContext)
+        writer.write(Chunk.of(["b"]))
+        writer.close()
+
+        then:
+        content(path) == "header\na\nb\nfooter\n"
+    }
+
+    def "Existing file is appended if append is allowed."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        Files.write(path, "existing\n".bytes)
+        def writer = createWriter(path)
+        writer.setAppendAllowed(true)
+        writer.setHeaderCallback({ w -> w.write("header") } as FlatFileHeaderCallback)
+        writer.afterPropertiesSet()
+
+        when:
+        writer.open(new ExecutionContext())
+        writer.write(Chunk.of(["a"]))
+        writer.close()
+
+        then:
+        content(path) == "existing\na\n"
+    }
+
+    def "Empty file is deleted if shouldDeleteIfEmpty is true."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path)
+        writer.setShouldDeleteIfEmpty(true)
+        writer.afterPropertiesSet()
+
+        when:
+        writer.open(new ExecutionContext())
+        writer.close()
+
+        then:
+        !Files.exists(path)
+    }
+
+    def "Delimiter and enclosure can be changed."() {
+        setup:
+        def path = tempDir.resolve("out.tsv")
+        def writer = createWriter(path)
+        writer.setDelimiter('\t' as char)
+        writer.setEnclosure('\'' as char)
+        writer.afterPropertiesSet()
+
+        when:
+        writer.open(new ExecutionContext())
+        writer.write(Chunk.of(["a\ta", "b'b", "c,c"]))
+        writer.close()
+
+        then:
+        content(path) == "'a\ta'\t'b''b'\tc,c\n"
+    }
+}
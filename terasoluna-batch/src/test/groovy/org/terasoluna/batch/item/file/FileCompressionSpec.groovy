@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.Chunk
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager
+import org.springframework.core.io.ByteArrayResource
+import org.springframework.core.io.FileSystemResource
+import org.springframework.transaction.support.TransactionTemplate
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.Deflater
+import java.util.zip.GZIPInputStream
+import java.util.zip.GZIPOutputStream
+import java.util.zip.ZipException
+
+/**
+ * Test FileCompression
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Compress the output of the channel writers into gzip members which have their size in the extra field,
+and decompress the input of the reader factories with the members in parallel.
+""")
+class FileCompressionSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def random = new Random(1)
+
+    def data(int size) {
+        def bytes = new byte[size]
+        for (int i = 0; i < size; i++) {
+            // half random, half repeated, so that some blocks are compressible and others are not.
+            bytes[i] = i.intdiv(1000) % 2 == 0 ? (byte) random.nextInt(256) : (byte) (97 + i % 26)
+        }
+        bytes
+    }
+
+    def compress(byte[] bytes, int threads) {
+        def out = new ByteArrayOutputStream()
+        def gzip = new GzipBlockOutputStream(out, Deflater.DEFAULT_COMPRESSION, threads)
+        gzip.write(bytes)
+        gzip.close()
+        out.toByteArray()
+    }
+
+    def gunzip(byte[] bytes) {
+        new GZIPInputStream(new ByteArrayInputStream(bytes)).readAllBytes()
+    }
+
+    @Unroll
+    def "Members are readable by GZIPInputStream and GzipBlockInputStream with size(#size), threads(#threads)."() {
+        setup:
+        def bytes = data(size)
+
+        when:
+        def compressed = compress(bytes, threads)
+
+        then:
+        gunzip(compressed) == bytes
+        new GzipBlockInputStream(new ByteArrayInputStream(compressed), threads).readAllBytes() == bytes
+        Arrays.copyOfRange(compressed, compressed.length - 28, compressed.length) == GzipBlockOutputStream.EOF_BLOCK
+
+        where:
+        size    | threads
+        0       | 1
+        1       | 2
+        0xff00  | 1
+        0xff01  | 4
+        1000000 | 1
+        1000000 | 4
+    }
+
+    def "Incompressible block is stored within the size limit."() {
+        setup:
+        def bytes = new byte[GzipBlockOutputStream.BLOCK_INPUT_SIZE]
+        random.nextBytes(bytes)
+
+        when:
+        def member = GzipBlockOutputStream.compress(bytes, bytes.length, 9)
+
+        then:
+        member.length <= GzipBlockOutputStream.MAX_BLOCK_SIZE
+        ((member[16] & 0xFF) | (member[17] & 0xFF) << 8) == member.length - 1
+        gunzip(member) == bytes
+    }
+
+    def "GzipBlockInputStream reads a gzip file without the block size sequentially."() {
+        setup:
+        def bytes = data(200000)
+        def out = new ByteArrayOutputStream()
+        out.write(compress(Arrays.copyOf(bytes, 100000), 2))
+        def plain = new GZIPOutputStream(out)
+        plain.write(Arrays.copyOfRange(bytes, 100000, bytes.length))
+        plain.finish()
+
+        when:
+        def actual = new GzipBlockInputStream(new ByteArrayInputStream(out.toByteArray()), 2).readAllBytes()
+
+        then:
+        actual == bytes
+    }
+
+    @Unroll
+    def "GzipBlockInputStream throws exception for #description."() {
+        when:
+        new GzipBlockInputStream(new ByteArrayInputStream(input as byte[]), 2).readAllBytes()
+
+        then:
+        def ex = thrown(expected)
+        ex.getMessage() == message
+
+        where:
+        description       | input                                                 || expected     | message
+        "not gzip"        | "abcdefghijklmn".getBytes()                           || ZipException | "Not in GZIP format"
+        "corrupt trailer" | corrupt(compress("abc".getBytes(), 1), 3)             || ZipException | "Corrupt GZIP trailer"
+        "truncated"       | Arrays.copyOf(compress("abc".getBytes(), 1), 20)      || java.io.EOFException | "Unexpected end of ZLIB input stream"
+    }
+
+    def corrupt(byte[] bytes, int indexFromMemberEnd) {
+        // the first member ends before the end-of-file marker.
+        bytes[bytes.length - 28 - indexFromMemberEnd] ^= 0x01
+        bytes
+    }
+
+    @Unroll
+    def "isGzip of #compression for #filename is #expected."() {
+        expect:
+        compression.isGzip(new FileSystemResource(tempDir.resolve(filename))) == expected
+
+        where:
+        compression           | filename   || expected
+        FileCompression.NONE  | "a.txt.gz" || false
+        FileCompression.GZIP  | "a.txt"    || true
+        FileCompression.AUTO  | "a.txt.gz" || true
+        FileCompression.AUTO  | "a.txt"    || false
+    }
+
+    @Unroll
+    def "Reader factories read the compressed file with decompressionThreads(#threads)."() {
+        setup:
+        def fixed = ("0123456789" * 20000).getBytes("MS932")
+        def csv = ("\"a\r\nb\",c\r\n" * 20000).getBytes("MS932")
+        def fixedFactory = new FixedByteLengthBufferedReaderFactory(10)
+        fixedFactory.setCompression(FileCompression.GZIP)
+        fixedFactory.setDecompressionThreads(threads)
+        def csvFactory = new EnclosableDelimitedBufferedReaderFactory()
+        csvFactory.setCompression(FileCompression.GZIP)
+        csvFactory.setDecompressionThreads(threads)
+
+        when:
+        def fixedReader = fixedFactory.create(new ByteArrayResource(compress(fixed, 2)), "MS932")
+        def csvReader = csvFactory.create(new ByteArrayResource(compress(csv, 1)), "MS932")
+        def fixedLines = readLines(fixedReader)
+        def csvLines = readLines(csvReader)
+        fixedReader.close()
+        csvReader.close()
+
+        then:
+        fixedLines.size() == 20000
+        fixedLines.every { it == "0123456789" }
+        csvLines.size() == 20000
+        csvLines.every { it == "\"a\r\nb\",c" }
+
+        where:
+        threads << [1, 3]
+    }
+
+    @Unroll
+    def "Reader factories read the file ahead with readAheadBufferSize(#size) and compression(#compression)."() {
+        setup:
+        def fixed = ("0123456789" * 2000).getBytes("MS932")
+        def csv = ("\"a\r\nb\",c\r\n" * 2000).getBytes("MS932")
+        def fixedFactory = new FixedByteLengthBufferedReaderFactory(10)
+        fixedFactory.setCompression(compression)
+        fixedFactory.setReadAheadBufferSize(size)
+        def csvFactory = new EnclosableDelimitedBufferedReaderFactory()
+        csvFactory.setCompression(compression)
+        csvFactory.setReadAheadBufferSize(size)
+        def encode = { byte[] bytes -> compression == FileCompression.GZIP ? compress(bytes, 1) : bytes }
+
+        when:
+        def fixedReader = fixedFactory.create(new ByteArrayResource(encode(fixed)), "MS932")
+        def csvReader = csvFactory.create(new ByteArrayResource(encode(csv)), "MS932")
+        def fixedLines = readLines(fixedReader)
+        def csvLines = readLines(csvReader)
+        fixedReader.close()
+        csvReader.close()
+
+        then:
+        fixedLines.size() == 2000
+        fixedLines.every { it == "0123456789" }
+        csvLines.size() == 2000
+        csvLines.every { it == "\"a\r\nb\",c" }
+
+        where:
+        size  | compression
+        0     | FileCompression.NONE
+        1     | FileCompression.NONE
+        4096  | FileCompression.NONE
+        4096  | FileCompression.GZIP
+    }
+
+    def "Reader factories do not accept negative readAheadBufferSize."() {
+        when:
+        new FixedByteLengthBufferedReaderFactory(1).setReadAheadBufferSize(-1)
+
+        then:
+        def ex1 = thrown(IllegalArgumentException)
+        ex1.getMessage() == "readAheadBufferSize must be zero or more. [readAheadBufferSize:-1]"
+
+        when:
+        new EnclosableDelimitedBufferedReaderFactory().setReadAheadBufferSize(-1)
+
+        then:
+        def ex2 = thrown(IllegalArgumentException)
+        ex2.getMessage() == "readAheadBufferSize must be zero or more. [readAheadBufferSize:-1]"
+    }
+
+    def readLines(BufferedReader reader) {
+        def lines = []
+        def line
+        while ((line = reader.readLine()) != null) {
+            lines << line
+        }
+        lines
+    }
+
+    def "Reader factories do not accept invalid parameters."() {
+        when:
+        new FixedByteLengthBufferedReaderFactory(1).setDecompressionThreads(0)
+
+        then:
+        def ex1 = thrown(IllegalArgumentException)
+        ex1.getMessage() == "decompressionThreads must be higher than zero. [decompressionThreads:0]"
+
+        when:
+        new EnclosableDelimitedBufferedReaderFactory().setCompression(null)
+
+        then:
+        def ex2 = thrown(IllegalArgumentException)
+        ex2.getMessage() == "compression must be set."
+    }
+
+    def createWriter(Path path, int threads) {
+        def writer = new EnclosableDelimitedFileItemWriter<List<Object>>()
+        writer.setResource(new FileSystemResource(path))
+        writer.setFieldExtractor({ item -> item as Object[] })
+        writer.setLineSeparator("\n")
+        writer.setName("writer")
+        writer.setCompression(FileCompression.AUTO)
+        writer.setCompressionThreads(threads)
+        writer.afterPropertiesSet()
+        writer
+    }
+
+    @Unroll
+    def "Channel writer compresses the output, and restart truncates it at a member boundary with compressionThreads(#threads)."() {
+        setup:
+        def path = tempDir.resolve("out.csv.gz")
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path, threads)
+        writer.open(executionContext)
+        def items = (1..30000).collect { ["item" + it] }
+        writer.write(new Chunk(items))
+        writer.update(executionContext)
+        writer.write(Chunk.of(["not committed"]))
+        writer.close()
+
+        when:
+        def restarted = createWriter(path, threads)
+        restarted.open(executionContext)
+        restarted.write(Chunk.of(["last"]))
+        restarted.update(executionContext)
+        restarted.close()
+
+        then:
+        def expected = items.collect { it[0] + "\n" }.join("") + "last\n"
+        new String(gunzip(Files.readAllBytes(path)), "UTF-8") == expected
+        new String(new GzipBlockInputStream(Files.newInputStream(path), 2).readAllBytes(), "UTF-8") == expected
+        executionContext.getLong("writer.current.count") == Files.size(path) - GzipBlockOutputStream.EOF_BLOCK.length
+        executionContext.getLong("writer.written") == 30001L
+
+        where:
+        threads << [1, 4]
+    }
+
+    @Unroll
+    def "Channel writer truncates the compressed output of the rolled back transactions with compressionThreads(#threads)."() {
+        setup:
+        def path = tempDir.resolve("out.csv.gz")
+        def transactionTemplate = new TransactionTemplate(new ResourcelessTransactionManager())
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path, threads)
+        writer.open(executionContext)
+        def committed = (1..100).collect { ["item" + it] }
+        def rolledBack = (1..30000).collect { ["retry" + it] }
+
+        when: "a chunk is committed, and the next chunk is rolled back and written again without the bad item"
+        transactionTemplate.executeWithoutResult {
+            writer.write(new Chunk(committed))
+            writer.update(executionContext)
+        }
+        transactionTemplate.executeWithoutResult { status ->
+            writer.write(new Chunk(rolledBack + [["bad"]]))
+            status.setRollbackOnly()
+        }
+        [rolledBack.take(2), [["bad"]], rolledBack.drop(2)].each { items ->
+            transactionTemplate.executeWithoutResult { status ->
+                writer.write(new Chunk(items))
+                if (items == [["bad"]]) {
+                    status.setRollbackOnly()
+                } else {
+                    writer.update(executionContext)
+                }
+            }
+        }
+        writer.close()
+
+        then:
+        def expected = (committed + rolledBack).collect { it[0] + "\n" }.join("")
+        new String(gunzip(Files.readAllBytes(path)), "UTF-8") == expected
+        new String(new GzipBlockInputStream(Files.newInputStream(path), 2).readAllBytes(), "UTF-8") == expected
+        executionContext.getLong("writer.current.count") == Files.size(path) - GzipBlockOutputStream.EOF_BLOCK.length
+
+        where:
+        threads << [1, 4]
+    }
+
+    def "Channel writer does not compress the output if the file name does not end with .gz."() {
+        setup:
+        def path = tempDir.resolve("out.csv")
+        def writer = createWriter(path, 1)
+        writer.open(new ExecutionContext())
+
+        when:
+        writer.write(Chunk.of(["a"]))
+        writer.close()
+
+        then:
+        new String(Files.readAllBytes(path), "UTF-8") == "a\n"
+    }
+
+    def "Channel writer does not accept invalid compressionThreads."() {
+        when:
+        new EnclosableDelimitedFileItemWriter().setCompressionThreads(0)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "compressionThreads must be higher than zero. [compressionThreads:0]"
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.core.JobExecution
+import org.springframework.batch.core.StepContribution
+import org.springframework.batch.core.StepExecution
+import org.springframework.batch.core.scope.context.ChunkContext
+import org.springframework.batch.core.scope.context.StepContext
+import org.springframework.batch.item.Chunk
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.repeat.RepeatStatus
+import org.springframework.core.io.FileSystemResource
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Test FilePartMergeTasklet
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Merge the part files written by the partitions into the output file in the order of the partitions,
+without reading and encoding the records again.
+""")
+class FilePartMergeTaskletSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def stepExecution = new StepExecution("merge", new JobExecution(1L))
+
+    def execute(FilePartMergeTasklet tasklet) {
+        tasklet.execute(new StepContribution(stepExecution), new ChunkContext(new StepContext(stepExecution)))
+    }
+
+    def writePart(Path output, int index, List<List<Object>> items, String encoding = "UTF-8",
+            String lineSeparator = "\n", String header = null) {
+        def writer = new EnclosableDelimitedFileItemWriter<List<Object>>()
+        writer.setResource(new FileSystemResource(output.resolveSibling(output.getFileName().toString() + ".part"
+                + index)))
+        writer.setFieldExtractor({ item -> item as Object[] })
+        writer.setEncoding(encoding)
+        writer.setLineSeparator(lineSeparator)
+        writer.setTransactional(false)
+        writer.setName("writer")
+        if (header != null) {
+            writer.setHeaderCallback({ w -> w.write(header) })
+        }
+        writer.afterPropertiesSet()
+        writer.open(new ExecutionContext())
+        writer.write(new Chunk<List<Object>>(items))
+        writer.close()
+    }
+
+    def createTasklet(Path output) {
+        def tasklet = new FilePartMergeTasklet()
+        tasklet.setResource(new FileSystemResource(output))
+        tasklet.setLineSeparator("\n")
+        tasklet
+    }
+
+    def content(Path path, String encoding = "UTF-8") {
+        new String(Files.readAllBytes(path), Charset.forName(encoding))
+    }
+
+    def "Part files are merged in the order of the partition index with the header and footer."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        [10, 2, 0, 1, 3, 4, 5, 6, 7, 8, 9].each { index ->
+            writePart(output, index, (0..<3).collect { [index, "item" + it, "a,b"] })
+        }
+        def tasklet = createTasklet(output)
+        tasklet.setHeaderCallback({ w -> w.write("index,name,value") })
+        tasklet.setFooterCallback({ w -> w.write("end") })
+
+        when:
+        def status = execute(tasklet)
+
+        then:
+        status == RepeatStatus.FINISHED
+        content(output) == "index,name,value\n" + (0..10).collect { index ->
+            (0..<3).collect { "${index},item${it},\"a,b\"\n" }.join("")
+        }.join("") + "end"
+        Files.list(tempDir).count() == 1
+    }
+
+    def "Header lines of the part files are kept only from the first part file with encoding(#encoding)."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        (0..<3).each { index ->
+            writePart(output, index, [[index, "あ"], [index, "い"]], encoding, "\r\n", "列1\r\n列2")
+        }
+        def tasklet = createTasklet(output)
+        tasklet.setEncoding(encoding)
+        tasklet.setLineSeparator("\r\n")
+        tasklet.setPartHeaderLines(2)
+
+        when:
+        execute(tasklet)
+
+        then:
+        content(output, encoding) == "列1\r\n列2\r\n" + (0..<3).collect { "${it},あ\r\n${it},い\r\n" }.join("")
+
+        where:
+        encoding << ["UTF-8", "MS932"]
+    }
+
+    def "Part file with fewer lines than partHeaderLines adds nothing."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        writePart(output, 0, [["a"]], "UTF-8", "\n", "h")
+        Files.write(tempDir.resolve("out.csv.part1"), "h".getBytes("UTF-8"))
+        writePart(output, 2, [["b"]], "UTF-8", "\n", "h")
+        def tasklet = createTasklet(output)
+        tasklet.setPartHeaderLines(1)
+
+        when:
+        execute(tasklet)
+
+        then:
+        content(output) == "h\na\nb\n"
+    }
+
+    def "Existing output file is replaced, and the part files are kept if deleteParts is false."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        Files.write(output, "old content which is longer than the new one\n".getBytes("UTF-8"))
+        writePart(output, 0, [["a"]])
+        writePart(output, 1, [["b"]])
+        def tasklet = createTasklet(output)
+        tasklet.setDeleteParts(false)
+        tasklet.setForceSync(true)
+
+        when:
+        execute(tasklet)
+
+        then:
+        content(output) == "a\nb\n"
+        Files.exists(tempDir.resolve("out.csv.part0"))
+        Files.exists(tempDir.resolve("out.csv.part1"))
+        !Files.exists(tempDir.resolve("out.csv.merging"))
+    }
+
+    def "Files which are not named by the partition index are not merged."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        writePart(output, 0, [["a"]])
+        ["out.csv.part", "out.csv.partx", "out.csv.part1.bak", "other.csv.part1"].each {
+            Files.write(tempDir.resolve(it), "x\n".getBytes("UTF-8"))
+        }
+        Files.createDirectory(tempDir.resolve("out.csv.part2"))
+
+        when:
+        execute(createTasklet(output))
+
+        then:
+        content(output) == "a\n"
+        Files.list(tempDir).count() == 6
+    }
+
+    def "Merge fails if no part file is found without the output file."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        def tasklet = createTasklet(output)
+        tasklet.setHeaderCallback({ w -> w.write("header") })
+        tasklet.setFooterCallback({ w -> w.write("footer") })
+
+        when:
+        execute(tasklet)
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "No part file is found. [output:" + output + "]"
+        !Files.exists(output)
+        !Files.exists(tempDir.resolve("out.csv.merging"))
+    }
+
+    def "Merge fails if a part file is missing, and the part files are kept."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        writePart(output, 0, [["a"]])
+        writePart(output, 2, [["c"]])
+
+        when:
+        execute(createTasklet(output))
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "Part file is missing. [output:" + output + "][missingIndex:1]"
+        !Files.exists(output)
+        Files.list(tempDir).count() == 2
+    }
+
+    @Unroll
+    def "Merge fails if the number of the part files is not expectedParts(#expectedParts)."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        writePart(output, 0, [["a"]])
+        writePart(output, 1, [["b"]])
+        def tasklet = createTasklet(output)
+        tasklet.setExpectedParts(expectedParts)
+
+        when:
+        execute(tasklet)
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "Number of the part files does not match. [output:" + output + "][expectedParts:" +
+                expectedParts + "][parts:2]"
+        !Files.exists(output)
+
+        where:
+        expectedParts << [1, 3]
+    }
+
+    def "Merge is skipped when the job is rerun after the part files have been merged and deleted."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        writePart(output, 0, [["a"]])
+        writePart(output, 1, [["b"]])
+        def tasklet = createTasklet(output)
+        tasklet.setExpectedParts(2)
+        tasklet.setFooterCallback({ w -> w.write("end") })
+
+        when:
+        execute(tasklet)
+        execute(tasklet)
+
+        then:
+        content(output) == "a\nb\nend"
+        Files.list(tempDir).count() == 1
+    }
+
+    def "Merge can be executed again after it failed, and the part files are kept."() {
+        setup:
+        def output = tempDir.resolve("out.csv")
+        writePart(output, 0, [["a"]])
+        writePart(output, 1, [["b"]])
+        def tasklet = createTasklet(output)
+        def fail = true
+        tasklet.setFooterCallback({ w ->
+            if (fail) {
+                throw new IOException("footer")
+            }
+            w.write("end")
+        })
+
+        when:
+        execute(tasklet)
+
+        then:
+        thrown(IOException)
+        !Files.exists(output)
+        !Files.exists(tempDir.resolve("out.csv.merging"))
+        Files.exists(tempDir.resolve("out.csv.part0"))
+
+        when:
+        fail = false
+        execute(tasklet)
+
+        then:
+        content(output) == "a\nb\nend"
+        Files.list(tempDir).count() == 1
+    }
+
+    def "Part files written by the partitions of a small file are merged with expectedParts of the grid size."() {
+        setup:
+        def input = tempDir.resolve("in.csv")
+        def lines = (1..100).collect { "line" + it }
+        Files.write(input, ("header\n" + lines.join("\n") + "\n").getBytes("UTF-8"))
+        def output = tempDir.resolve("out.csv")
+        def partitioner = new DelimitedFilePartitioner()
+        partitioner.setResource(new FileSystemResource(input))
+        partitioner.setLinesToSkip(1)
+        def tasklet = createTasklet(output)
+        tasklet.setExpectedParts(4)
+
+        when:
+        def partitions = partitioner.partition(4)
+        partitions.values().each { context ->
+            def reader = new EnclosableDelimitedFileItemReader<String>()
+            reader.setResource(new FileSystemResource(input))
+            reader.setLineMapper({ line, lineNumber -> line })
+            reader.setLinesToSkip(1)
+            reader.setUseIndex(true)
+            reader.setCurrentItemCount(context.getInt(DelimitedFilePartitioner.START_ITEM_KEY))
+            reader.setMaxItemCount(context.getInt(DelimitedFilePartitioner.END_ITEM_KEY))
+            reader.afterPropertiesSet()
+            reader.open(new ExecutionContext())
+            def items = []
+            def item
+            while ((item = reader.read()) != null) {
+                items << [item]
+            }
+            reader.close()
+            writePart(output, context.getInt(DelimitedFilePartitioner.PARTITION_INDEX_KEY), items)
+        }
+        execute(tasklet)
+
+        then:
+        partitions.size() == 4
+        content(output) == lines.collect { it + "\n" }.join("")
+    }
+
+    @Unroll
+    def "afterPropertiesSet throws exception when #property is not set."() {
+        setup:
+        def tasklet = new FilePartMergeTasklet()
+        tasklet.setResource(resource)
+        tasklet.setLineSeparator(lineSeparator)
+
+        when:
+        tasklet.afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == message
+
+        where:
+        property        | resource                          | lineSeparator || message
+        "resource"      | null                              | "\n"          || "resource must be set."
+        "lineSeparator" | new FileSystemResource("out.csv") | ""            || "lineSeparator must be set."
+    }
+
+    def "setExpectedParts does not accept negative number."() {
+        when:
+        new FilePartMergeTasklet().setExpectedParts(-1)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "expectedParts must be zero or more. [expectedParts:-1]"
+    }
+
+    def "setPartHeaderLines does not accept negative number."() {
+        when:
+        new FilePartMergeTasklet().setPartHeaderLines(-1)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "partHeaderLines must be zero or more. [partHeaderLines:-1]"
+    }
+}
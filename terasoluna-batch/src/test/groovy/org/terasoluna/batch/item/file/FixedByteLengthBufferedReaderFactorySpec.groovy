@@ -15,15 +15,20 @@
  */
 package org.terasoluna.batch.item.file
 
+import org.springframework.batch.item.file.transform.FlatFileFormatException
 import org.springframework.batch.item.file.transform.IncorrectLineLengthException
+import org.springframework.batch.item.file.transform.Range
 import org.springframework.core.io.ByteArrayResource
 import org.springframework.core.io.InputStreamResource
 import spock.lang.Narrative
 import spock.lang.Specification
+import spock.lang.TempDir
 import spock.lang.Unroll
 
 import java.nio.charset.Charset
 import java.nio.charset.UnsupportedCharsetException
+import java.nio.file.Files
+import java.nio.file.Path
 
 /**
  * Test FixedByteLengthBufferedReaderFactory
@@ -42,6 +47,9 @@ class FixedByteLengthBufferedReaderFactorySpec extends Specification {
     def charset = Charset.forName(encoding)
     def byteLength = 5
 
+    @TempDir
+    Path tempDir
+
     def "Constructor param 'byteLength' cannot be zero."() {
         when:
         new FixedByteLengthBufferedReaderFactory(0)
@@ -154,6 +162,222 @@ class FixedByteLengthBufferedReaderFactorySpec extends Specification {
         ex.getMessage() == "readByteLength is less than byteLength. [readByteLength:15][byteLength:20]"
     }
 
+    @Unroll
+    def "Read lines separated by (#separatorName) from content(#content) in encoding(#encoding)"() {
+        setup:
+        def resource = new ByteArrayResource(content.getBytes(encoding))
+        def factory = new FixedByteLengthBufferedReaderFactory(4)
+        factory.setLineSeparator(separator)
+        def reader = factory.create(resource, encoding)
+
+        expect:
+        reader.readLine() == line1
+        reader.readLine() == line2
+        reader.readLine() == null
+
+        where:
+        content            | separator | encoding || separatorName | line1  | line2
+        "0123\r\nabcd\r\n" | "\r\n"    | "UTF-8"  || "CRLF"        | "0123"   | "abcd"
+        "0123\nabcd\n"     | "\n"      | "UTF-8"  || "LF"          | "0123"   | "abcd"
+        "0123\rabcd\r"     | "\r"      | "UTF-8"  || "CR"          | "0123"   | "abcd"
+        "01\r\n\r\nab\r\n" | "\r\n"    | "UTF-8"  || "CRLF"        | "01\r\n" | "ab\r\n" // separators in a line
+        "あい\r\nうえ\r\n"   | "\r\n"    | "MS932"  || "CRLF"        | "あい"   | "うえ"   // double-byte
+        "0123\r\nabcd"     | "\r\n"    | "UTF-8"  || "CRLF"        | "0123"   | "abcd" // last separator omitted
+    }
+
+    @Unroll
+    def "Line not followed by the separator throws FlatFileFormatException. content(#content)"() {
+        setup:
+        def resource = new ByteArrayResource(content.getBytes("UTF-8"))
+        def factory = new FixedByteLengthBufferedReaderFactory(4)
+        factory.setLineSeparator("\r\n")
+        def reader = factory.create(resource, "UTF-8")
+        reader.readLine()
+
+        when:
+        reader.readLine()
+
+        then:
+        def ex = thrown(FlatFileFormatException)
+        ex.getMessage() == message
+        ex.getInput() == input
+
+        where:
+        content             || message                                                                       | input
+        "0123\r\nabcde\r\n" || "the line is not followed by the separator. [byteLength:4]"                    | "abcde\r"
+        "0123\r\nabcd\r"     || "the line is not followed by the separator. [readByteLength:5][byteLength:4]" | "abcd\r"
+    }
+
+    def "Short line followed by the separator throws IncorrectLineLengthException."() {
+        setup:
+        def resource = new ByteArrayResource("0123\r\nab".getBytes("UTF-8"))
+        def factory = new FixedByteLengthBufferedReaderFactory(4)
+        factory.setLineSeparator("\r\n")
+        def reader = factory.create(resource, "UTF-8")
+        reader.readLine()
+
+        when:
+        reader.readLine()
+
+        then:
+        def ex = thrown(IncorrectLineLengthException)
+        ex.getMessage() == "readByteLength is less than byteLength. [readByteLength:2][byteLength:4]"
+    }
+
+    def "setLineSeparator param cannot be null."() {
+        when:
+        new FixedByteLengthBufferedReaderFactory(4).setLineSeparator(null)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "lineSeparator must be set."
+    }
+
+    @Unroll
+    def "Read lines sorted by keys(#sortKeys) with memory(#sortMemorySize) and separator(#separatorName)."() {
+        setup:
+        def lines = ["c2z", "a9y", "b1x", "a1w", "c2v", "a1u"]
+        def resource = new ByteArrayResource(lines.join(separator).getBytes("UTF-8"))
+        def factory = new FixedByteLengthBufferedReaderFactory(3)
+        factory.setLineSeparator(separator)
+        factory.setSortKeys(sortKeys as Range[])
+        factory.setSortMemorySize(sortMemorySize)
+        factory.setSortThreads(2)
+        factory.setSortDirectory(tempDir)
+        def reader = factory.create(resource, "UTF-8")
+
+        expect:
+        (0..<6).collect { reader.readLine() } == expected
+        reader.readLine() == null
+
+        cleanup:
+        reader.close()
+
+        where:
+        sortKeys                           | sortMemorySize | separator | separatorName || expected
+        [new Range(1, 2)]                  | 1000           | ""        | "none"        || ["a1w", "a1u", "a9y", "b1x", "c2z", "c2v"]
+        [new Range(1, 2)]                  | 10             | ""        | "none"        || ["a1w", "a1u", "a9y", "b1x", "c2z", "c2v"]
+        [new Range(2, 2), new Range(3)]    | 1000           | "\r\n"    | "CRLF"        || ["a1u", "a1w", "b1x", "c2v", "c2z", "a9y"]
+        [new Range(2, 2), new Range(3)]    | 10             | "\r\n"    | "CRLF"        || ["a1u", "a1w", "b1x", "c2v", "c2z", "a9y"]
+        [new Range(3, 3), new Range(1, 1)] | 10             | "\n"      | "LF"          || ["a1u", "c2v", "a1w", "b1x", "a9y", "c2z"]
+    }
+
+    def "Lines can be skipped after sorted."() {
+        setup:
+        def resource = new ByteArrayResource("dcba".getBytes("UTF-8"))
+        def factory = new FixedByteLengthBufferedReaderFactory(1)
+        factory.setSortKeys(new Range(1))
+        factory.setSortDirectory(tempDir)
+        def reader = factory.create(resource, "UTF-8")
+
+        when:
+        reader.skipLines(2)
+
+        then:
+        reader.readLine() == ""
+        reader.readLine() == ""
+        reader.readLine() == "c"
+        reader.readLine() == "d"
+        reader.readLine() == null
+        Files.list(tempDir).count() == 0
+    }
+
+    @Unroll
+    def "Header(#headerLines) and trailer(#trailerLines) lines are not sorted with memory(#sortMemorySize) and separator(#separatorName)."() {
+        setup:
+        def lines = ["HDR", "c2z", "a9y", "b1x", "a1w", "TRL"]
+        def resource = new ByteArrayResource(lines.join(separator).getBytes("UTF-8"))
+        def factory = new FixedByteLengthBufferedReaderFactory(3)
+        factory.setLineSeparator(separator)
+        factory.setSortKeys(new Range(1, 3))
+        factory.setSortMemorySize(sortMemorySize)
+        factory.setUnsortedHeaderLines(headerLines)
+        factory.setUnsortedTrailerLines(trailerLines)
+        factory.setSortDirectory(tempDir)
+        def reader = factory.create(resource, "UTF-8")
+
+        when:
+        reader.skipLines(headerLines)
+
+        then:
+        (0..<6).collect { reader.readLine() } == expected
+        reader.readLine() == null
+
+        cleanup:
+        reader.close()
+
+        where:
+        headerLines | trailerLines | sortMemorySize | separator | separatorName || expected
+        1           | 1            | 1000           | ""        | "none"        || ["", "a1w", "a9y", "b1x", "c2z", "TRL"]
+        1           | 1            | 1000           | "\r\n"    | "CRLF"        || ["", "a1w", "a9y", "b1x", "c2z", "TRL"]
+        1           | 1            | 10             | "\n"      | "LF"          || ["", "a1w", "a9y", "b1x", "c2z", "TRL"]
+        1           | 0            | 1000           | "\r\n"    | "CRLF"        || ["", "TRL", "a1w", "a9y", "b1x", "c2z"]
+        0           | 2            | 1000           | "\r\n"    | "CRLF"        || ["HDR", "a9y", "b1x", "c2z", "a1w", "TRL"]
+        2           | 5            | 1000           | "\n"      | "LF"          || ["", "", "a9y", "b1x", "a1w", "TRL"]
+    }
+
+    def "Short last line is read after the sorted lines."() {
+        setup:
+        def resource = new ByteArrayResource("cccaaab".getBytes("UTF-8"))
+        def factory = new FixedByteLengthBufferedReaderFactory(3)
+        factory.setSortKeys(new Range(1, 3))
+        def reader = factory.create(resource, "UTF-8")
+
+        expect:
+        reader.readLine() == "aaa"
+        reader.readLine() == "ccc"
+
+        when:
+        reader.readLine()
+
+        then:
+        def ex = thrown(IncorrectLineLengthException)
+        ex.getMessage() == "readByteLength is less than byteLength. [readByteLength:1][byteLength:3]"
+    }
+
+    @Unroll
+    def "Sort settings are checked. (#message)"() {
+        setup:
+        def factory = new FixedByteLengthBufferedReaderFactory(4)
+
+        when:
+        setter(factory)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == message
+
+        where:
+        setter << [
+                { it.setSortKeys(null as Range[]) },
+                { it.setSortKeys([null] as Range[]) },
+                { it.setSortKeys(new Range(3, 5)) },
+                { it.setSortMemorySize(0) },
+                { it.setSortThreads(0) },
+                { it.setUnsortedHeaderLines(-1) },
+                { it.setUnsortedTrailerLines(-1) }]
+        message << [
+                "sortKeys must be set.",
+                "sortKeys must not contain null.",
+                "sortKeys must be within the byte length. [sortKey:3-5][byteLength:4]",
+                "sortMemorySize must be higher than zero. [sortMemorySize:0]",
+                "sortThreads must be higher than zero. [sortThreads:0]",
+                "unsortedHeaderLines must be zero or more. [unsortedHeaderLines:-1]",
+                "unsortedTrailerLines must be zero or more. [unsortedTrailerLines:-1]"]
+    }
+
+    def "Empty sort keys disable sorting."() {
+        setup:
+        def factory = new FixedByteLengthBufferedReaderFactory(1)
+        factory.setSortKeys(new Range(1))
+        factory.setSortKeys()
+        def reader = factory.create(new ByteArrayResource("ba".getBytes("UTF-8")), "UTF-8")
+
+        expect:
+        reader.readLine() == "b"
+        reader.readLine() == "a"
+    }
+
     def "Call unsupported operations, UnsupportedOperationException is thrown."() {
         setup:
         def resource = new ByteArrayResource(content.getBytes(charset))
@@ -0,0 +1,394 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.item.file.FlatFileParseException
+import org.springframework.batch.item.file.SimpleBinaryBufferedReaderFactory
+import org.springframework.batch.item.file.separator.SimpleRecordSeparatorPolicy
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException
+import org.springframework.core.io.ByteArrayResource
+import org.springframework.core.io.FileSystemResource
+import org.springframework.core.io.InputStreamResource
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ConcurrentHashMap
+import java.util.zip.Deflater
+
+/**
+ * Test FixedByteLengthFileItemReader
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Read fixed-byte-length records by FlatFileItemReader, and move to the restart position
+by skipping the bytes instead of reading and decoding the records before it.
+""")
+class FixedByteLengthFileItemReaderSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def records = (0..<1000).collect { String.format("%05dあ", it) }
+
+    def bytes = records.join("").getBytes("MS932")
+
+    def createReader(resource, int linesToSkip = 0, String lineSeparator = "") {
+        def reader = new FixedByteLengthFileItemReader<String>()
+        def factory = new FixedByteLengthBufferedReaderFactory(7)
+        factory.setLineSeparator(lineSeparator)
+        factory.setCompression(FileCompression.AUTO)
+        reader.setBufferedReaderFactory(factory)
+        reader.setResource(resource)
+        reader.setEncoding("MS932")
+        reader.setLinesToSkip(linesToSkip)
+        reader.setLineMapper({ line, lineNumber -> line })
+        reader.afterPropertiesSet()
+        reader
+    }
+
+    def readAll(FixedByteLengthFileItemReader<String> reader) {
+        def items = []
+        def item
+        while ((item = reader.read()) != null) {
+            items << item
+        }
+        items
+    }
+
+    def restartContext(int count) {
+        def executionContext = new ExecutionContext()
+        executionContext.putInt("FixedByteLengthFileItemReader.read.count", count)
+        executionContext
+    }
+
+    def "setBufferedReaderFactory does not accept other factories."() {
+        when:
+        new FixedByteLengthFileItemReader().setBufferedReaderFactory(new SimpleBinaryBufferedReaderFactory())
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage().startsWith("bufferedReaderFactory must be FixedByteLengthBufferedReaderFactory.")
+    }
+
+    def "afterPropertiesSet throws exception if the factory is not set."() {
+        setup:
+        def reader = new FixedByteLengthFileItemReader<String>()
+        reader.setLineMapper({ line, lineNumber -> line })
+
+        when:
+        reader.afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "bufferedReaderFactory must be set."
+    }
+
+    @Unroll
+    def "Restart at item(#restartAt) returns the rest of the records from #type resource."() {
+        setup:
+        def resource
+        if (type == "file") {
+            def path = tempDir.resolve("in.dat")
+            Files.write(path, bytes)
+            resource = new FileSystemResource(path)
+        } else if (type == "gzip") {
+            def path = tempDir.resolve("in.dat.gz")
+            def out = new GzipBlockOutputStream(Files.newOutputStream(path), Deflater.DEFAULT_COMPRESSION, 1)
+            out.write(bytes)
+            out.close()
+            resource = new FileSystemResource(path)
+        } else {
+            resource = new ByteArrayResource(bytes)
+        }
+        def reader = createReader(resource, 3)
+
+        when:
+        reader.open(restartContext(restartAt))
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == records.subList(Math.min(3 + restartAt, 1000), 1000)
+
+        where:
+        type    | restartAt
+        "file"  | 1
+        "file"  | 500
+        "file"  | 997
+        "file"  | 2000
+        "gzip"  | 500
+        "bytes" | 500
+    }
+
+    def "Skipped records are not read from the stream."() {
+        setup:
+        def readBytes = 0
+        def stream = new ByteArrayInputStream(bytes) {
+            @Override
+            synchronized int read(byte[] b, int off, int len) {
+                def n = super.read(b, off, len)
+                readBytes += Math.max(n, 0)
+                n
+            }
+        }
+        def reader = createReader(new InputStreamResource(stream))
+
+        when:
+        reader.open(restartContext(990))
+        def items = readAll(reader)
+
+        then:
+        items == records.subList(990, 1000)
+        readBytes == 70
+    }
+
+    def "Line numbers after restart are the same as without skipping."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(bytes), 2)
+        reader.setLineMapper({ line, lineNumber -> if (lineNumber == 106) { throw new IllegalArgumentException() }; line })
+        reader.open(restartContext(100))
+
+        when:
+        def first = reader.read()
+        reader.read()
+        reader.read()
+        reader.read()
+
+        then:
+        first == records[102]
+        def ex = thrown(FlatFileParseException)
+        ex.getLineNumber() == 106
+        ex.getInput() == records[105]
+    }
+
+    def "Restart throws exception if the last record before the position is short."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(Arrays.copyOf(bytes, 7 * 10 + 3)))
+
+        when:
+        reader.open(restartContext(20))
+
+        then:
+        def ex = thrown(Exception)
+        def cause = ex instanceof IncorrectLineLengthException ? ex : ex.getCause()
+        cause instanceof IncorrectLineLengthException
+        cause.getMessage() == "readByteLength is less than byteLength. [readByteLength:3][byteLength:7]"
+    }
+
+    @Unroll
+    def "Restart at item(#restartAt) skips the records separated by CRLF."() {
+        setup:
+        def path = tempDir.resolve("in.dat")
+        Files.write(path, (records.join("\r\n") + lastSeparator).getBytes("MS932"))
+        def reader = createReader(new FileSystemResource(path), 0, "\r\n")
+
+        when:
+        reader.open(restartContext(restartAt))
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == records.subList(Math.min(restartAt, 1000), 1000)
+
+        where:
+        restartAt | lastSeparator
+        500       | "\r\n"
+        999       | ""
+        1000      | ""
+        1000      | "\r\n"
+    }
+
+    def "Records are read one by one at restart if comments are set."() {
+        setup:
+        def content = ("#commen" + records.subList(0, 10).join("")).getBytes("MS932")
+        def reader = createReader(new ByteArrayResource(content))
+        reader.setComments(["#"] as String[])
+
+        when:
+        reader.open(restartContext(5))
+        def items = readAll(reader)
+
+        then:
+        items == records.subList(5, 10)
+    }
+
+    def "Records are read one by one at restart if a record separator policy is set."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(bytes))
+        // an item consists of two records.
+        reader.setRecordSeparatorPolicy(new SimpleRecordSeparatorPolicy() {
+            @Override
+            boolean isEndOfRecord(String record) {
+                record.length() >= 12
+            }
+        })
+
+        when:
+        reader.open(restartContext(3))
+        def items = readAll(reader)
+
+        then:
+        items == (3..<500).collect { records[it * 2] + records[it * 2 + 1] }
+    }
+
+    def parseThreadsAlive() {
+        Thread.getAllStackTraces().keySet().count { it.isAlive() && it.getName().startsWith("file-parse") }
+    }
+
+    @Unroll
+    @Timeout(30)
+    def "Items are returned in order by parseThreads(#parseThreads) from item(#restartAt)."() {
+        setup:
+        def threads = ConcurrentHashMap.newKeySet()
+        def reader = createReader(new ByteArrayResource(bytes), 3)
+        reader.setParseThreads(parseThreads)
+        reader.setLineMapper({ line, lineNumber ->
+            threads << Thread.currentThread().getName()
+            lineNumber + ":" + line
+        })
+
+        when:
+        reader.open(restartContext(restartAt))
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == (3 + restartAt..<1000).collect { (it + 1) + ":" + records[it] }
+        threads == [threadName] as Set
+        parseThreadsAlive() == 0
+
+        where:
+        parseThreads | restartAt || threadName
+        1            | 0         || "main"
+        4            | 0         || "file-parse"
+        4            | 500       || "file-parse"
+        3            | 990       || "file-parse"
+    }
+
+    @Timeout(30)
+    def "Read count is exact after the items read ahead by parse threads."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(bytes))
+        reader.setParseThreads(4)
+        def executionContext = new ExecutionContext()
+        reader.open(executionContext)
+
+        when:
+        def items = (0..<300).collect { reader.read() }
+        reader.update(executionContext)
+        reader.close()
+
+        then:
+        items == records.subList(0, 300)
+        executionContext.getInt("FixedByteLengthFileItemReader.read.count") == 300
+
+        when:
+        def restarted = createReader(new ByteArrayResource(bytes))
+        restarted.setParseThreads(4)
+        restarted.open(executionContext)
+        def rest = readAll(restarted)
+        restarted.close()
+
+        then:
+        rest == records.subList(300, 1000)
+    }
+
+    @Timeout(30)
+    def "Error of a line by parse threads is thrown at the line, and the following lines are read."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(bytes))
+        reader.setParseThreads(4)
+        reader.setLineMapper({ line, lineNumber -> if (lineNumber == 600) { throw new IllegalArgumentException() }; line })
+        def executionContext = new ExecutionContext()
+        reader.open(executionContext)
+
+        when:
+        def items = (0..<599).collect { reader.read() }
+        reader.read()
+
+        then:
+        items == records.subList(0, 599)
+        def ex = thrown(FlatFileParseException)
+        ex.getLineNumber() == 600
+        ex.getInput() == records[599]
+        ex.getMessage() == "Parsing error at line: 600 in resource=[Byte array resource [resource loaded from byte array]], input=[" + records[599] + "]"
+
+        when:
+        def next = reader.read()
+        reader.update(executionContext)
+        reader.close()
+
+        then:
+        next == records[600]
+        executionContext.getInt("FixedByteLengthFileItemReader.read.count") == 601
+    }
+
+    @Timeout(30)
+    def "Short last line is thrown after the items by parse threads."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(Arrays.copyOf(bytes, 7 * 300 + 3)))
+        reader.setParseThreads(2)
+        reader.open(new ExecutionContext())
+
+        when:
+        def items = (0..<300).collect { reader.read() }
+        reader.read()
+
+        then:
+        items == records.subList(0, 300)
+        def ex = thrown(IncorrectLineLengthException)
+        ex.getMessage() == "readByteLength is less than byteLength. [readByteLength:3][byteLength:7]"
+
+        when:
+        def next = reader.read()
+        reader.close()
+
+        then:
+        next == null
+    }
+
+    @Timeout(30)
+    def "Closing the reader stops the parse threads reading ahead."() {
+        setup:
+        def reader = createReader(new ByteArrayResource(records.multiply(20).join("").getBytes("MS932")))
+        reader.setParseThreads(4)
+        reader.open(new ExecutionContext())
+
+        when:
+        def first = reader.read()
+        reader.close()
+
+        then:
+        first == records[0]
+        parseThreadsAlive() == 0
+    }
+
+    def "setParseThreads param must be higher than zero."() {
+        when:
+        new FixedByteLengthFileItemReader().setParseThreads(0)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "parseThreads must be higher than zero. [parseThreads:0]"
+    }
+}
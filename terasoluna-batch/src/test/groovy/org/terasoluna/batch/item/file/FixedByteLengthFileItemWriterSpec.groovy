@@ -0,0 +1,198 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.Chunk
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.item.file.FlatFileItemReader
+import org.springframework.batch.item.file.FlatFileHeaderCallback
+import org.springframework.batch.item.file.mapping.PassThroughFieldSetMapper
+import org.springframework.batch.item.file.mapping.DefaultLineMapper
+import org.springframework.batch.item.file.transform.Range
+import org.springframework.core.io.FileSystemResource
+import org.terasoluna.batch.item.file.transform.FixedByteLengthLineAggregator
+import org.terasoluna.batch.item.file.transform.FixedByteLengthLineTokenizer
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Test FixedByteLengthFileItemWriter
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Write items as records with fixed-byte-length format, with or without a record separator.
+""")
+class FixedByteLengthFileItemWriterSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def ranges = [new Range(1, 4), new Range(5, 6)] as Range[]
+
+    def createWriter(Path path, String lineSeparator) {
+        def aggregator = new FixedByteLengthLineAggregator<List<Object>>(ranges, Charset.forName("MS932"))
+        aggregator.setFieldExtractor({ item -> item as Object[] })
+        def writer = new FixedByteLengthFileItemWriter<List<Object>>()
+        writer.setResource(new FileSystemResource(path))
+        writer.setLineAggregator(aggregator)
+        writer.setLineSeparator(lineSeparator)
+        writer.setName("writer")
+        writer.afterPropertiesSet()
+        writer
+    }
+
+    def "afterPropertiesSet fails if the line aggregator is not set."() {
+        when:
+        new FixedByteLengthFileItemWriter().afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "lineAggregator must be set."
+    }
+
+    @Unroll
+    def "write outputs records with the record separator(#separatorName)."() {
+        setup:
+        def path = tempDir.resolve("out.dat")
+        def writer = createWriter(path, separator)
+
+        when:
+        writer.open(new ExecutionContext())
+        writer.write(Chunk.of(["あい", "a"], ["b", "うえ"]))
+        writer.close()
+
+        then:
+        Files.readAllBytes(path) == ("あいa " + separator + "b   う" + separator).getBytes("MS932")
+
+        where:
+        separator | separatorName
+        "\r\n"    | "CRLF"
+        "\n"      | "LF"
+        ""        | "none"
+    }
+
+    def "Header is encoded in the charset of the line aggregator."() {
+        setup:
+        def path = tempDir.resolve("out.dat")
+        def writer = createWriter(path, "\n")
+        writer.setEncoding("UTF-8")
+        writer.setHeaderCallback({ w -> w.write("ヘッダ") } as FlatFileHeaderCallback)
+
+        when:
+        writer.open(new ExecutionContext())
+        writer.write(Chunk.of(["a", "b"]))
+        writer.close()
+
+        then:
+        Files.readAllBytes(path) == "ヘッダ\na   b \n".getBytes("MS932")
+    }
+
+    @Unroll
+    def "File is preallocated for expectedItemCount(#count) records with the record separator(#separatorName)."() {
+        setup:
+        def path = tempDir.resolve("out.dat")
+        def writer = createWriter(path, separator)
+        writer.setPreallocationSize(10)
+        writer.setExpectedItemCount(count)
+
+        when:
+        writer.open(new ExecutionContext())
+        def preallocated = Files.size(path)
+        writer.write(Chunk.of(["a", "b"]))
+        writer.close()
+
+        then:
+        preallocated == size
+        Files.readAllBytes(path) == ("a   b " + separator).getBytes("MS932")
+
+        where:
+        count | separator | separatorName || size
+        100   | "\r\n"    | "CRLF"        || 800
+        100   | ""        | "none"        || 600
+        0     | "\r\n"    | "CRLF"        || 10
+    }
+
+    def "Restart preallocates only for the items not written yet."() {
+        setup:
+        def path = tempDir.resolve("out.dat")
+        def executionContext = new ExecutionContext()
+        def writer = createWriter(path, "\r\n")
+        writer.setExpectedItemCount(10)
+        writer.setTransactional(false)
+        writer.open(executionContext)
+        writer.write(new Chunk((0..<3).collect { ["a", "b"] }))
+        writer.update(executionContext)
+        // the job is stopped without closing the writer.
+
+        when:
+        def restarted = createWriter(path, "\r\n")
+        restarted.setExpectedItemCount(10)
+        restarted.open(executionContext)
+        def preallocated = Files.size(path)
+        restarted.write(new Chunk((0..<7).collect { ["c", "d"] }))
+        restarted.close()
+
+        then:
+        preallocated == 80
+        Files.readAllBytes(path) == ("a   b \r\n" * 3 + "c   d \r\n" * 7).getBytes("MS932")
+    }
+
+    def "setExpectedItemCount does not accept negative number."() {
+        when:
+        new FixedByteLengthFileItemWriter().setExpectedItemCount(-1)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "expectedItemCount must be zero or more. [expectedItemCount:-1]"
+    }
+
+    def "Records without separator can be read by FixedByteLengthBufferedReaderFactory."() {
+        setup:
+        def path = tempDir.resolve("out.dat")
+        def writer = createWriter(path, "")
+        writer.open(new ExecutionContext())
+        writer.write(Chunk.of(["あい", "a"], ["b", "う"]))
+        writer.close()
+
+        def lineMapper = new DefaultLineMapper()
+        lineMapper.setLineTokenizer(new FixedByteLengthLineTokenizer(ranges, Charset.forName("MS932")))
+        lineMapper.setFieldSetMapper(new PassThroughFieldSetMapper())
+        def reader = new FlatFileItemReader()
+        reader.setResource(new FileSystemResource(path))
+        reader.setEncoding("MS932")
+        reader.setBufferedReaderFactory(new FixedByteLengthBufferedReaderFactory(6))
+        reader.setLineMapper(lineMapper)
+
+        when:
+        reader.open(new ExecutionContext())
+        def first = reader.read()
+        def second = reader.read()
+        def third = reader.read()
+        reader.close()
+
+        then:
+        first.getValues() == ["あい", "a "] as String[]
+        second.getValues() == ["b   ", "う"] as String[]
+        third == null
+    }
+}
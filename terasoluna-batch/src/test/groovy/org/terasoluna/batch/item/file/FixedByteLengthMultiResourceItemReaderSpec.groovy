@@ -0,0 +1,370 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.ExecutionContext
+import org.springframework.batch.item.ItemStreamException
+import org.springframework.batch.item.file.FlatFileItemReader
+import org.springframework.batch.item.file.FlatFileParseException
+import org.springframework.batch.item.file.MultiResourceItemReader
+import org.springframework.core.io.FileSystemResource
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.zip.GZIPOutputStream
+
+/**
+ * Test FixedByteLengthMultiResourceItemReader
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Read the records of many fixed-byte-length files in the order of the resources,
+opening the following files in advance by a bounded pool of I/O threads.
+""")
+class FixedByteLengthMultiResourceItemReaderSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def recordsOf(int file) {
+        (0..<(file * 7) % 11).collect { String.format("%02d%03dあ", file, it) }
+    }
+
+    def createFiles(int count = 30, boolean gzip = false) {
+        (0..<count).collect { file ->
+            def path = tempDir.resolve(String.format("in%02d.dat", file) + (gzip ? ".gz" : ""))
+            def content = ("HEADER!" + recordsOf(file).join("")).getBytes("MS932")
+            if (gzip) {
+                new GZIPOutputStream(Files.newOutputStream(path)).withCloseable { it.write(content) }
+            } else {
+                Files.write(path, content)
+            }
+            new FileSystemResource(path)
+        }
+    }
+
+    def expected(int count = 30) {
+        (0..<count).collectMany { recordsOf(it) }
+    }
+
+    def createReader(List resources, int prefetchBufferSize = 64) {
+        def reader = new FixedByteLengthMultiResourceItemReader<String>()
+        def factory = new FixedByteLengthBufferedReaderFactory(7)
+        factory.setCompression(FileCompression.AUTO)
+        reader.setBufferedReaderFactory(factory)
+        reader.setResources(resources as FileSystemResource[])
+        reader.setEncoding("MS932")
+        reader.setLinesToSkip(1)
+        reader.setIoThreads(3)
+        reader.setPrefetchFiles(5)
+        reader.setPrefetchBufferSize(prefetchBufferSize)
+        reader.setLineMapper({ line, lineNumber -> line })
+        reader.afterPropertiesSet()
+        reader
+    }
+
+    def readAll(reader) {
+        def items = []
+        def item
+        while ((item = reader.read()) != null) {
+            items << item
+        }
+        items
+    }
+
+    def prefetchThreadsAlive() {
+        Thread.getAllStackTraces().keySet().count { it.isAlive() && it.getName() == "file-prefetch" }
+    }
+
+    @Unroll
+    @Timeout(30)
+    def "Items are returned in the order of the resources with buffer(#prefetchBufferSize), gzip(#gzip)."() {
+        setup:
+        def resources = createFiles(30, gzip)
+        Collections.shuffle(resources, new Random(1))
+        def reader = createReader(resources, prefetchBufferSize)
+
+        when:
+        reader.open(new ExecutionContext())
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == expected()
+        prefetchThreadsAlive() == 0
+
+        where:
+        prefetchBufferSize | gzip
+        64                 | false
+        7                  | false
+        1                  | false
+        64                 | true
+    }
+
+    def "Items and line numbers are the same as MultiResourceItemReader with FlatFileItemReader."() {
+        setup:
+        def resources = createFiles()
+        def lineMapper = { line, lineNumber -> lineNumber + ":" + line }
+        def delegate = new FlatFileItemReader<String>()
+        delegate.setBufferedReaderFactory(new FixedByteLengthBufferedReaderFactory(7))
+        delegate.setEncoding("MS932")
+        delegate.setLinesToSkip(1)
+        delegate.setLineMapper(lineMapper)
+        def expectedReader = new MultiResourceItemReader<String>()
+        expectedReader.setDelegate(delegate)
+        expectedReader.setResources(resources as FileSystemResource[])
+        def reader = createReader(resources)
+        reader.setLineMapper(lineMapper)
+
+        when:
+        expectedReader.open(new ExecutionContext())
+        def expectedItems = readAll(expectedReader)
+        expectedReader.close()
+        reader.open(new ExecutionContext())
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == expectedItems
+    }
+
+    @Unroll
+    @Timeout(30)
+    def "Restart after item(#count) returns the rest of the items."() {
+        setup:
+        def resources = createFiles()
+        def reader = createReader(resources)
+        def executionContext = new ExecutionContext()
+        reader.open(executionContext)
+        def items = (0..<count).collect { reader.read() }
+        reader.update(executionContext)
+        reader.close()
+        def restarted = createReader(resources)
+
+        when:
+        restarted.open(executionContext)
+        items.addAll(readAll(restarted))
+        restarted.update(executionContext)
+        restarted.close()
+
+        then:
+        items == expected()
+        executionContext.getInt("FixedByteLengthMultiResourceItemReader.resourceIndex") == 30
+        executionContext.getInt("FixedByteLengthMultiResourceItemReader.read.count") == expected().size() + 1
+
+        where:
+        count << [0, 1, 7, 50, 51, 150]
+    }
+
+    def "Execution context has the index of the resource and the number of the items read from it."() {
+        setup:
+        def reader = createReader(createFiles())
+        def executionContext = new ExecutionContext()
+        reader.open(executionContext)
+
+        when:
+        (0..<10).each { reader.read() }
+        reader.update(executionContext)
+        reader.close()
+
+        then:
+        // in01.dat has 7 records, in02.dat has 3 records and in03.dat has 10 records.
+        executionContext.getInt("FixedByteLengthMultiResourceItemReader.resourceIndex") == 2
+        executionContext.getLong("FixedByteLengthMultiResourceItemReader.resourceItemCount") == 3
+        executionContext.getInt("FixedByteLengthMultiResourceItemReader.read.count") == 10
+    }
+
+    def "Restart without the resource index reads the items before the restart position."() {
+        setup:
+        def reader = createReader(createFiles())
+        def executionContext = new ExecutionContext()
+        executionContext.putInt("FixedByteLengthMultiResourceItemReader.read.count", 20)
+
+        when:
+        reader.open(executionContext)
+        def items = readAll(reader)
+        reader.close()
+
+        then:
+        items == expected().subList(20, expected().size())
+    }
+
+    def "Parsing error has the line number in the resource and the description of the resource."() {
+        setup:
+        def resources = createFiles()
+        def reader = createReader(resources)
+        reader.setLineMapper({ line, lineNumber ->
+            if (line == "03002あ") {
+                throw new IllegalArgumentException()
+            }
+            line
+        })
+        reader.open(new ExecutionContext())
+
+        when:
+        def items = (0..<12).collect { reader.read() }
+        reader.read()
+
+        then:
+        items == expected().subList(0, 12)
+        def ex = thrown(FlatFileParseException)
+        ex.getLineNumber() == 4
+        ex.getInput() == "03002あ"
+        ex.getMessage() == "Parsing error at line: 4 in resource=[${resources[3].getDescription()}], input=[03002あ]"
+
+        when:
+        def next = reader.read()
+        reader.close()
+
+        then:
+        next == "03003あ"
+    }
+
+    @Timeout(30)
+    def "Missing resource fails when it is reached, after the items of the previous resources."() {
+        setup:
+        def resources = createFiles(5)
+        Files.delete(resources[3].getFile().toPath())
+        def reader = createReader(resources)
+        reader.open(new ExecutionContext())
+        def count = (0..<3).sum { recordsOf(it).size() }
+
+        when:
+        def items = (0..<count).collect { reader.read() }
+        reader.read()
+
+        then:
+        items == expected(3)
+        def ex = thrown(ItemStreamException)
+        ex.getMessage() == "Failed to open the resource. [resource:" + resources[3].getDescription() + "]"
+        ex.getCause() instanceof IOException
+
+        when:
+        reader.close()
+
+        then:
+        prefetchThreadsAlive() == 0
+    }
+
+    @Timeout(30)
+    def "Missing resource in the middle is passed when the failure is skipped, and the following resources are read."() {
+        setup:
+        def resources = createFiles(8)
+        Files.delete(resources[3].getFile().toPath())
+        def reader = createReader(resources)
+        def failures = []
+        def items = []
+
+        when:
+        reader.open(new ExecutionContext())
+        while (true) {
+            try {
+                def item = reader.read()
+                if (item == null) {
+                    break
+                }
+                items << item
+            } catch (ItemStreamException e) {
+                // skipped by the step, which reads the next item.
+                failures << e
+            }
+        }
+        reader.close()
+
+        then:
+        items == (0..<8).findAll { it != 3 }.collectMany { recordsOf(it) }
+        failures*.getMessage() == ["Failed to open the resource. [resource:" + resources[3].getDescription() + "]"]
+        prefetchThreadsAlive() == 0
+    }
+
+    @Timeout(30)
+    def "Closing the reader stops the I/O threads and closes the files opened in advance."() {
+        setup:
+        def reader = createReader(createFiles())
+        reader.open(new ExecutionContext())
+
+        when:
+        def first = reader.read()
+        reader.close()
+
+        then:
+        first == "01000あ"
+        prefetchThreadsAlive() == 0
+        Files.list(tempDir).count() == 30
+    }
+
+    def "No resource returns no item if strict is false."() {
+        setup:
+        def reader = createReader([])
+
+        when:
+        reader.open(new ExecutionContext())
+        def item = reader.read()
+        reader.close()
+
+        then:
+        item == null
+    }
+
+    def "No resource fails if strict is true."() {
+        setup:
+        def reader = createReader([])
+        reader.setStrict(true)
+
+        when:
+        reader.open(new ExecutionContext())
+
+        then:
+        def ex = thrown(ItemStreamException)
+        ex.getCause() instanceof IllegalStateException
+        ex.getCause().getMessage() == "No resources to read. Set strict=false if this is not an error condition."
+    }
+
+    @Unroll
+    def "#setter does not accept #value."() {
+        when:
+        new FixedByteLengthMultiResourceItemReader()."$setter"(value)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == message
+
+        where:
+        setter                  | value || message
+        "setPrefetchFiles"      | 0     || "prefetchFiles must be higher than zero. [prefetchFiles:0]"
+        "setIoThreads"          | 0     || "ioThreads must be higher than zero. [ioThreads:0]"
+        "setPrefetchBufferSize" | -1    || "prefetchBufferSize must be higher than zero. [prefetchBufferSize:-1]"
+    }
+
+    def "afterPropertiesSet throws exception if the factory is not set."() {
+        setup:
+        def reader = new FixedByteLengthMultiResourceItemReader<String>()
+        reader.setLineMapper({ line, lineNumber -> line })
+
+        when:
+        reader.afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "bufferedReaderFactory must be set."
+    }
+}
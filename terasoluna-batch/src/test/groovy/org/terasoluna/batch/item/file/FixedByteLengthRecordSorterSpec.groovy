@@ -0,0 +1,182 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import org.springframework.batch.item.file.transform.RangeArrayPropertyEditor
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Test FixedByteLengthRecordSorter
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Sort the fixed-byte-length records by the byte ranges of the keys,
+in memory or by merging the runs spilled to the temporary files.
+""")
+@Timeout(60)
+class FixedByteLengthRecordSorterSpec extends Specification {
+
+    static final int BYTE_LENGTH = 10
+
+    @TempDir
+    Path tempDir
+
+    def sorter(String keys, int memorySize, int threads, boolean offHeap, String separator = "") {
+        def editor = new RangeArrayPropertyEditor()
+        editor.setAsText(keys)
+        def ranges = editor.getValue()
+        int[] offsets = ranges.collect { it.getMin() - 1 }
+        int[] lengths = ranges.collect { it.getMax() - it.getMin() + 1 }
+        new FixedByteLengthRecordSorter(BYTE_LENGTH, separator.getBytes("US-ASCII"), offsets, lengths, memorySize,
+                threads, tempDir, offHeap)
+    }
+
+    static List<String> records(int count) {
+        def random = new Random(count)
+        (0..<count).collect { i ->
+            (0..<6).collect { "ab"[random.nextInt(2)] }.join() + String.format("%04d", i)
+        }
+    }
+
+    static String key(String record, String keys) {
+        keys.split(",").collect {
+            def (from, to) = it.split("-")*.toInteger()
+            record.substring(from - 1, to)
+        }.join()
+    }
+
+    def read(InputStream in) {
+        try {
+            new String(in.readAllBytes(), "US-ASCII")
+        } finally {
+            in.close()
+        }
+    }
+
+    @Unroll
+    def "Records are sorted stably by keys(#keys) with memory(#memorySize), threads(#threads) and offHeap(#offHeap)."() {
+        setup:
+        def records = records(1000)
+        def expected = records.sort(false) { a, b -> key(a, keys) <=> key(b, keys) }
+        def sorter = sorter(keys, memorySize, threads, offHeap)
+
+        when:
+        def sorted = read(sorter.sort(new ByteArrayInputStream(records.join().getBytes("US-ASCII"))))
+
+        then:
+        sorted == expected.join()
+        Files.list(tempDir).count() == 0
+
+        where:
+        keys      | memorySize | threads | offHeap
+        "1-3"     | 1000000    | 1       | false
+        "1-6"     | 1000000    | 4       | false
+        "4-6,1-2" | 1000000    | 1       | true
+        "1-3"     | 1000       | 1       | false
+        "1-6"     | 1000       | 4       | true
+        "4-6,1-2" | 2000       | 3       | false
+        "1-6"     | 50         | 1       | false
+        "4-6,1-2" | 50         | 4       | true
+        "7-10"    | 50         | 2       | false
+    }
+
+    def "Temporary files are deleted after the runs are merged."() {
+        setup:
+        def records = records(100)
+        def sorter = sorter("1-6", 200, 1, false)
+        def spilledAtEnd = -1L
+        def input = new ByteArrayInputStream(records.join().getBytes("US-ASCII")) {
+            @Override
+            synchronized int read(byte[] b, int off, int len) {
+                int n = super.read(b, off, len)
+                if (n < len && spilledAtEnd < 0) {
+                    spilledAtEnd = Files.list(tempDir).count()
+                }
+                n
+            }
+        }
+
+        when:
+        def sorted = sorter.sort(input)
+
+        then:
+        spilledAtEnd == 5
+        read(sorted) == records.sort(false) { key(it, "1-6") }.join()
+        Files.list(tempDir).count() == 0
+    }
+
+    @Unroll
+    def "Trailing bytes(#tail) are returned after the sorted records, separated by (#separatorName)."() {
+        setup:
+        def sorter = sorter("1-1", memorySize, 1, false, separator)
+        def input = ["c", "a", "b"].collect { it * BYTE_LENGTH }.join(separator) + tail
+
+        expect:
+        read(sorter.sort(new ByteArrayInputStream(input.getBytes("US-ASCII")))) == expected
+
+        where:
+        separatorName | separator | memorySize | tail                   || expected
+        "none"        | ""        | 1000       | "xyz"                  || "aaaaaaaaaabbbbbbbbbbccccccccccxyz"
+        "none"        | ""        | 10         | "xyz"                  || "aaaaaaaaaabbbbbbbbbbccccccccccxyz"
+        "CRLF"        | "\r\n"    | 1000       | ""                     || "aaaaaaaaaa\r\nbbbbbbbbbb\r\ncccccccccc\r\n"
+        "CRLF"        | "\r\n"    | 12         | ""                     || "aaaaaaaaaa\r\nbbbbbbbbbb\r\ncccccccccc\r\n"
+        "CRLF"        | "\r\n"    | 1000       | "\r\n0"                || "aaaaaaaaaa\r\nbbbbbbbbbb\r\ncccccccccc\r\n0"
+        "CRLF"        | "\r\n"    | 12         | "\r\n" + "0" * 10 + "\r" || "aaaaaaaaaa\r\nbbbbbbbbbb\r\ncccccccccc\r\n" + "0" * 10 + "\r"
+    }
+
+    def "Empty input is sorted to empty output."() {
+        expect:
+        read(sorter("1-1", 100, threads, false).sort(new ByteArrayInputStream(new byte[0]))) == ""
+
+        where:
+        threads << [1, 4]
+    }
+
+    def "Error while reading removes the temporary files."() {
+        setup:
+        def records = records(100).join().getBytes("US-ASCII")
+        def input = new InputStream() {
+            int position = 0
+
+            @Override
+            int read() {
+                if (position == 500) {
+                    throw new IOException("read error")
+                }
+                records[position++]
+            }
+        }
+
+        when:
+        sorter("1-6", 100, threads, false).sort(input)
+
+        then:
+        def ex = thrown(IOException)
+        ex.getMessage() == "read error"
+        Files.list(tempDir).count() == 0
+
+        where:
+        threads << [1, 4]
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Timeout
+import spock.lang.Unroll
+
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Test ReadAheadInputStream
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Read the next buffer by a background thread while the current buffer is consumed,
+with two buffers at most and the background thread stopped at close.
+""")
+@Timeout(30)
+class ReadAheadInputStreamSpec extends Specification {
+
+    def data(int size) {
+        def bytes = new byte[size]
+        new Random(size).nextBytes(bytes)
+        bytes
+    }
+
+    def countingStream(byte[] bytes, AtomicInteger count) {
+        new ByteArrayInputStream(bytes) {
+            @Override
+            synchronized int read(byte[] b, int off, int len) {
+                def n = super.read(b, off, len)
+                count.addAndGet(Math.max(n, 0))
+                n
+            }
+        }
+    }
+
+    @Unroll
+    def "All bytes are read in order with size(#size), bufferSize(#bufferSize), chunk(#chunk)."() {
+        setup:
+        def bytes = data(size)
+        def in = new ReadAheadInputStream(new ByteArrayInputStream(bytes), bufferSize)
+        def out = new ByteArrayOutputStream()
+
+        when:
+        if (chunk == 1) {
+            def b
+            while ((b = in.read()) >= 0) {
+                out.write(b)
+            }
+        } else {
+            def buf = new byte[chunk]
+            def n
+            while ((n = in.read(buf, 0, chunk)) >= 0) {
+                out.write(buf, 0, n)
+            }
+        }
+        def empty = in.read(new byte[1], 0, 0)
+        in.close()
+
+        then:
+        out.toByteArray() == bytes
+        empty == 0
+
+        where:
+        size   | bufferSize | chunk
+        0      | 16         | 1
+        1      | 16         | 7
+        100    | 16         | 1
+        100    | 16         | 16
+        100000 | 4096       | 1000
+        100000 | 100000     | 100
+    }
+
+    def "The bytes read ahead are bounded to two buffers."() {
+        setup:
+        def count = new AtomicInteger()
+        def in = new ReadAheadInputStream(countingStream(data(1000), count), 10)
+
+        when:
+        in.read()
+        def deadline = System.currentTimeMillis() + 10000
+        while (count.get() < 20 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10)
+        }
+        Thread.sleep(100)
+
+        then:
+        count.get() == 20
+
+        cleanup:
+        in.close()
+    }
+
+    def "skip before the first read is delegated to the underlying stream, and discards the buffers after that."() {
+        setup:
+        def bytes = data(1000)
+        def count = new AtomicInteger()
+        def in = new ReadAheadInputStream(countingStream(bytes, count), 100)
+
+        when:
+        def skipped = in.skip(500)
+
+        then:
+        skipped == 500
+        count.get() == 0
+
+        when:
+        def first = in.read()
+        in.skipNBytes(250)
+        def rest = in.readAllBytes()
+        in.close()
+
+        then:
+        first == (bytes[500] & 0xFF)
+        rest == Arrays.copyOfRange(bytes, 751, 1000)
+    }
+
+    def "close stops the background thread and closes the underlying stream."() {
+        setup:
+        def closed = false
+        def underlying = new ByteArrayInputStream(data(1000)) {
+            @Override
+            void close() {
+                closed = true
+            }
+        }
+        def in = new ReadAheadInputStream(underlying, 10)
+        in.read()
+        def thread = in.@thread
+
+        when:
+        in.close()
+        in.close()
+
+        then:
+        closed
+        !thread.isAlive()
+
+        when:
+        in.read()
+
+        then:
+        def ex = thrown(IOException)
+        ex.getMessage() == "Stream closed"
+    }
+
+    def "Error in the background thread is thrown to the reader."() {
+        setup:
+        def underlying = new InputStream() {
+            @Override
+            int read() {
+                throw new IOException("failed")
+            }
+        }
+        def in = new ReadAheadInputStream(underlying, 10)
+
+        when:
+        in.read()
+
+        then:
+        def ex = thrown(IOException)
+        ex.getMessage() == "failed"
+
+        cleanup:
+        in.close()
+    }
+}
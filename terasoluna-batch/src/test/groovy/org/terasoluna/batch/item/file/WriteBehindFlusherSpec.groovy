@@ -0,0 +1,89 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.lang.Timeout
+
+import java.nio.ByteBuffer
+import java.nio.channels.ClosedChannelException
+import java.nio.channels.FileChannel
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardOpenOption
+
+/**
+ * Test WriteBehindFlusher
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Write the submitted buffers to the channel in order by a dedicated thread,
+and report the error of the thread to the writing thread.
+""")
+@Timeout(30)
+class WriteBehindFlusherSpec extends Specification {
+
+    @TempDir
+    Path tempDir
+
+    def buffer(String text) {
+        def buffer = ByteBufferPool.acquire(16)
+        buffer.put(text.getBytes("UTF-8"))
+        buffer
+    }
+
+    def "Submitted buffers are written in order."() {
+        setup:
+        def path = tempDir.resolve("out.txt")
+        def channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+        def flusher = new WriteBehindFlusher(channel, 1)
+
+        when:
+        (0..<100).each { flusher.submit(buffer(String.format("%03d,", it))) }
+        flusher.await()
+        flusher.close()
+        channel.close()
+
+        then:
+        new String(Files.readAllBytes(path), "UTF-8") == (0..<100).collect { String.format("%03d,", it) }.join("")
+    }
+
+    def "Error in the flusher thread is thrown by await once."() {
+        setup:
+        def path = tempDir.resolve("out.txt")
+        def channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE)
+        def flusher = new WriteBehindFlusher(channel, 2)
+        channel.close()
+
+        when:
+        flusher.submit(buffer("a"))
+        flusher.submit(buffer("b"))
+        flusher.await()
+
+        then:
+        thrown(ClosedChannelException)
+
+        when:
+        flusher.await()
+        flusher.close()
+
+        then:
+        noExceptionThrown()
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.mapping
+
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor
+import org.springframework.beans.NotReadablePropertyException
+import org.springframework.beans.NullValueInNestedPathException
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Test CompiledBeanFieldExtractor
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+The values of the properties are extracted by the accessors generated per bean class,
+in the same way as BeanWrapperFieldExtractor.
+""")
+class CompiledBeanFieldExtractorSpec extends Specification {
+
+    static class Customer {
+        String name
+        int age
+        long point
+        boolean member
+        BigDecimal balance
+        Customer parent
+    }
+
+    static class PremiumCustomer extends Customer {
+        String rank
+    }
+
+    static Customer customer() {
+        new Customer(name: "Alice", age: 20, point: 10000000000L, member: true, balance: new BigDecimal("12.30"),
+                parent: new Customer(name: "Bob", age: 50))
+    }
+
+    def extractor(String... names) {
+        def extractor = new CompiledBeanFieldExtractor()
+        extractor.setNames(names)
+        extractor.afterPropertiesSet()
+        extractor
+    }
+
+    @Unroll
+    def "Properties(#names) are extracted in the same way as BeanWrapperFieldExtractor."() {
+        setup:
+        def expected = new BeanWrapperFieldExtractor()
+        expected.setNames(names as String[])
+
+        expect:
+        extractor(names as String[]).extract(item) as List == values
+        expected.extract(item) as List == values
+
+        where:
+        item                                          | names                                          || values
+        customer()                                    | ["name", "age", "point", "member", "balance"]  || ["Alice", 20, 10000000000L, true, new BigDecimal("12.30")]
+        customer()                                    | ["balance", "name"]                            || [new BigDecimal("12.30"), "Alice"]
+        customer()                                    | ["parent.name", "parent.age", "parent.parent"] || ["Bob", 50, null]
+        new Customer()                                | ["name", "age", "member"]                      || [null, 0, false]
+        new PremiumCustomer(name: "Carol", rank: "A") | ["rank", "name"]                               || ["A", "Carol"]
+        new Date(1000L)                               | ["time"]                                       || [1000L]
+    }
+
+    def "Items of several classes can be extracted by an extractor."() {
+        setup:
+        def extractor = extractor("name", "age")
+
+        expect:
+        extractor.extract(customer()) as List == ["Alice", 20]
+        extractor.extract(new PremiumCustomer(name: "Carol", age: 30)) as List == ["Carol", 30]
+        extractor.extract(customer()) as List == ["Alice", 20]
+    }
+
+    def "Accessors are generated for the bean class, and fall back to reflection for the class which is not open."() {
+        expect:
+        BeanAccessors.getter(Customer, "name").getClass().getName().startsWith(Customer.getName() + '$$Lambda')
+        BeanAccessors.setter(Customer.getMethod("setAge", int)).getClass().getName().startsWith(Customer.getName())
+        BeanAccessors.constructor(Customer).getClass().getName().startsWith(Customer.getName())
+        BeanAccessors.getter(Date, "time").getClass().getName().startsWith(BeanAccessors.getName())
+        BeanAccessors.getter(Date, "time").apply(new Date(1000L)) == 1000L
+    }
+
+    def "Names can be changed after extracting."() {
+        setup:
+        def extractor = extractor("name")
+        extractor.extract(customer())
+
+        when:
+        extractor.setNames(["age", "name"] as String[])
+
+        then:
+        extractor.extract(customer()) as List == [20, "Alice"]
+    }
+
+    def "Unknown property causes an exception."() {
+        setup:
+        def extractor = extractor("name", "unknown")
+
+        when:
+        extractor.extract(customer())
+
+        then:
+        def ex = thrown(NotReadablePropertyException)
+        ex.getPropertyName() == "unknown"
+        ex.getBeanClass() == Customer
+    }
+
+    def "Null value in the nested property path causes an exception."() {
+        setup:
+        def extractor = extractor("parent.parent.name")
+
+        when:
+        extractor.extract(customer())
+
+        then:
+        def ex = thrown(NullValueInNestedPathException)
+        ex.getPropertyName() == "parent.parent.name"
+    }
+
+    def "Names must be set."() {
+        when:
+        new CompiledBeanFieldExtractor().afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "names must be set."
+
+        when:
+        new CompiledBeanFieldExtractor().setNames(null)
+
+        then:
+        def ex2 = thrown(IllegalArgumentException)
+        ex2.getMessage() == "names must be set."
+    }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.mapping
+
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper
+import org.springframework.batch.item.file.transform.DefaultFieldSet
+import org.springframework.beans.NotWritablePropertyException
+import org.springframework.core.convert.support.DefaultConversionService
+import org.springframework.validation.BindException
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Test CompiledBeanFieldSetMapper
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+The fields are set to the properties by the accessors generated per target type,
+in the same way as BeanWrapperFieldSetMapper.
+""")
+class CompiledBeanFieldSetMapperSpec extends Specification {
+
+    static class Customer {
+        String name
+        int age
+        Long point
+        boolean member
+        BigDecimal balance
+    }
+
+    static class CheckedCustomer {
+        int age
+
+        void setAge(int age) {
+            if (age < 0) {
+                throw new IllegalArgumentException("age must be zero or more. [age:" + age + "]")
+            }
+            this.age = age
+        }
+    }
+
+    static class NoDefaultConstructor {
+        String name
+
+        NoDefaultConstructor(String name) {
+            this.name = name
+        }
+    }
+
+    def mapper(boolean strict = true) {
+        def mapper = new CompiledBeanFieldSetMapper<Customer>()
+        mapper.setTargetType(Customer)
+        mapper.setStrict(strict)
+        mapper.afterPropertiesSet()
+        mapper
+    }
+
+    @Unroll
+    def "Fields(#names) are mapped in the same way as BeanWrapperFieldSetMapper."() {
+        setup:
+        def fieldSet = new DefaultFieldSet(values as String[], names as String[])
+        def expected = new BeanWrapperFieldSetMapper<Customer>()
+        expected.setTargetType(Customer)
+        expected.afterPropertiesSet()
+
+        when:
+        def customer = mapper().mapFieldSet(fieldSet)
+        def expectedCustomer = expected.mapFieldSet(fieldSet)
+
+        then:
+        customer.properties == expectedCustomer.properties
+
+        where:
+        names                                         | values
+        ["name", "age", "point", "member", "balance"] | [" Alice ", " 20", "10000000000", "true", "12.30"]
+        ["balance", "name"]                           | ["-1.5", "Bob"]
+        ["NAME", "Age"]                               | ["Carol", "30"]
+        ["name", "point"]                             | ["Dave", ""]
+    }
+
+    def "Field names match the properties ignoring the case and underscores."() {
+        setup:
+        def fieldSet = new DefaultFieldSet(["Alice", "20", "100"] as String[], ["NAME", "A_G_E", "Point"] as String[])
+
+        when:
+        def customer = mapper().mapFieldSet(fieldSet)
+
+        then:
+        customer.name == "Alice"
+        customer.age == 20
+        customer.point == 100L
+    }
+
+    def "Field sets with different names can be mapped by a mapper."() {
+        setup:
+        def mapper = mapper()
+
+        when:
+        def first = mapper.mapFieldSet(new DefaultFieldSet(["Alice", "20"] as String[], ["name", "age"] as String[]))
+        def second = mapper.mapFieldSet(new DefaultFieldSet(["30", "Bob"] as String[], ["age", "name"] as String[]))
+        def third = mapper.mapFieldSet(new DefaultFieldSet(["Carol", "40"] as String[], ["name", "age"] as String[]))
+
+        then:
+        [first.name, first.age] == ["Alice", 20]
+        [second.name, second.age] == ["Bob", 30]
+        [third.name, third.age] == ["Carol", 40]
+    }
+
+    def "Unknown field causes an exception in the strict mode."() {
+        setup:
+        def fieldSet = new DefaultFieldSet(["Alice", "x"] as String[], ["name", "unknown"] as String[])
+
+        when:
+        mapper().mapFieldSet(fieldSet)
+
+        then:
+        def ex = thrown(NotWritablePropertyException)
+        ex.getPropertyName() == "unknown"
+
+        when:
+        def customer = mapper(false).mapFieldSet(fieldSet)
+
+        then:
+        customer.name == "Alice"
+    }
+
+    def "Fields which cannot be converted are reported by BindException."() {
+        setup:
+        def fieldSet = new DefaultFieldSet(["Alice", "x", "", "1.2.3"] as String[],
+                ["name", "age", "member", "balance"] as String[])
+
+        when:
+        mapper().mapFieldSet(fieldSet)
+
+        then:
+        def ex = thrown(BindException)
+        ex.getErrorCount() == 3
+        ex.getFieldErrors()*.field == ["age", "member", "balance"]
+        ex.getFieldErrors()*.rejectedValue == ["x", "", "1.2.3"]
+        ex.getFieldErrors().every { it.code == "typeMismatch" && it.isBindingFailure() }
+        ex.getTarget().name == "Alice"
+    }
+
+    def "Exception thrown by a setter is propagated instead of being reported as a type mismatch."() {
+        setup:
+        def mapper = new CompiledBeanFieldSetMapper<CheckedCustomer>()
+        mapper.setTargetType(CheckedCustomer)
+        mapper.afterPropertiesSet()
+
+        when:
+        mapper.mapFieldSet(new DefaultFieldSet(["-1"] as String[], ["age"] as String[]))
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "age must be zero or more. [age:-1]"
+    }
+
+    def "Conversion service can be changed."() {
+        setup:
+        def conversionService = new DefaultConversionService()
+        conversionService.addConverter(String, Integer, { it.length() })
+        def mapper = new CompiledBeanFieldSetMapper<Customer>()
+        mapper.setTargetType(Customer)
+        mapper.setConversionService(conversionService)
+        mapper.afterPropertiesSet()
+
+        expect:
+        mapper.mapFieldSet(new DefaultFieldSet(["abc"] as String[], ["age"] as String[])).age == 3
+    }
+
+    def "Mandatory properties must be set."() {
+        setup:
+        def mapper = new CompiledBeanFieldSetMapper()
+        mapper.setTargetType(targetType)
+        mapper.setConversionService(conversionService)
+
+        when:
+        mapper.afterPropertiesSet()
+
+        then:
+        def ex = thrown(exception)
+        ex.getMessage() == message
+
+        where:
+        targetType           | conversionService                            || exception                | message
+        null                 | DefaultConversionService.getSharedInstance() || IllegalStateException    | "targetType must be set."
+        Customer             | null                                         || IllegalStateException    | "conversionService must be set."
+        NoDefaultConstructor | DefaultConversionService.getSharedInstance() || IllegalArgumentException | "the bean class must have a default constructor. [beanClass:" + NoDefaultConstructor.getName() + "]"
+    }
+
+    def "Mapper must be initialized before mapping."() {
+        setup:
+        def mapper = new CompiledBeanFieldSetMapper<Customer>()
+        mapper.setTargetType(Customer)
+
+        when:
+        mapper.mapFieldSet(new DefaultFieldSet(["Alice"] as String[], ["name"] as String[]))
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "afterPropertiesSet must be called."
+    }
+}
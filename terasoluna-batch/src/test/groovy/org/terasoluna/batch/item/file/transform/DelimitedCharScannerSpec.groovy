@@ -0,0 +1,99 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Test DelimitedCharScanner
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Find the first occurrence of any of the target characters.
+""")
+class DelimitedCharScannerSpec extends Specification {
+
+    def "of requires at least one target."() {
+        when:
+        DelimitedCharScanner.of()
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "targets must be set."
+    }
+
+    @Unroll
+    def "indexOf finds targets(#targets) in text(#text) from #from to #to at #result."() {
+        setup:
+        def scanner = DelimitedCharScanner.of(targets.toCharArray())
+
+        expect:
+        scanner.indexOf(text, from, to) == result
+        scanner.indexOf(text.toCharArray(), from, to) == result
+
+        where:
+        targets    | text             | from | to || result
+        ',"\r\n'   | 'abc'            | 0    | 3  || -1
+        ',"\r\n'   | 'ab,c'           | 0    | 4  || 2
+        ',"\r\n'   | 'a"b,c'          | 0    | 5  || 1
+        ',"\r\n'   | 'a,b,c'          | 2    | 5  || 3
+        ',"\r\n'   | 'a,b,c'          | 2    | 3  || -1
+        ',"\r\n'   | 'abc\n'          | 0    | 4  || 3
+        ',"\r\n'   | 'abc\r'          | 0    | 4  || 3
+        '|\''      | "a|b"            | 0    | 3  || 1
+        '|\''      | "ab'"            | 0    | 3  || 2
+        '|\''      | "a,b<\\"         | 0    | 5  || -1
+        '、「'     | 'あい、う'       | 0    | 4  || 2
+        '、「'     | 'あい「う'       | 0    | 4  || 2
+        '、「'     | 'ｱｲｳ,'           | 0    | 4  || -1
+        '\t'       | 'a\tb'          | 0    | 3  || 1
+        '\u007f'   | 'ab\u007f'      | 0    | 3  || 2
+        ',@~あ'    | 'ab~c'           | 0    | 4  || 2
+        ',@~あ'    | 'ab@c'           | 0    | 4  || 2
+        ',@~あ'    | 'aいあ'          | 0    | 3  || 2
+        ',@~あ'    | 'a\u0000b\u0080' | 0    | 4  || -1
+    }
+
+    def "of rejects more than 4 targets."() {
+        when:
+        DelimitedCharScanner.of(',' as char, '"' as char, '\r' as char, '\n' as char, '@' as char)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "targets must be 4 or less. [targets:5]"
+    }
+
+    @Unroll
+    def "isTarget of #c is #result."() {
+        setup:
+        def scanner = DelimitedCharScanner.of(',' as char, '@' as char, 'あ' as char)
+
+        expect:
+        scanner.isTarget(c as char) == result
+
+        where:
+        c        || result
+        ','      || true
+        '@'      || true
+        'あ'     || true
+        'l'      || false
+        '\u0000' || false
+        'い'     || false
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Test EnclosableDelimitedFieldAppender
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Append fields to a StringBuilder with enclosing and escaping them in a single pass.
+""")
+class EnclosableDelimitedFieldAppenderSpec extends Specification {
+
+    def "Constructor throws exception when delimiter and enclosure are same."() {
+        when:
+        new EnclosableDelimitedFieldAppender('+' as char, '+' as char, false)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "the delimiter and enclosure must be different. [value:+]"
+    }
+
+    @Unroll
+    def "appendFields converts from(#fields) to(#result) with allEnclosing(#allEnclosing)."() {
+        setup:
+        def appender = new EnclosableDelimitedFieldAppender(',' as char, '"' as char, allEnclosing)
+
+        expect:
+        appender.appendFields(new StringBuilder(), fields as Object[]).toString() == result
+
+        where:
+        allEnclosing | fields                                     || result
+        false        | ['aa', 'bb', 'cc']                         || 'aa,bb,cc'
+        false        | ['a,a', 'b"b', 'c\nc', 'd\rd', 'e\r\ne']   || '"a,a","b""b","c\nc","d\rd","e\r\ne"'
+        false        | ['ab"', '"', '""', 'a,"b"']                || '"ab""","""","""""","a,""b"""'
+        false        | []                                         || ''
+        false        | ['', null, 'a']                            || ',,a'
+        true         | ['aa', 'b"b', '']                          || '"aa","b""b",""'
+        true         | [1, null]                                  || '"1",""'
+    }
+
+    @Unroll
+    def "appendField appends value(#field) of #type.simpleName in the representation of toString."() {
+        setup:
+        def appender = new EnclosableDelimitedFieldAppender(delimiter as char, enclosure as char, false)
+
+        expect:
+        appender.appendField(new StringBuilder("x"), field).toString() == "x" + result
+
+        where:
+        field                           | delimiter | enclosure || result
+        Integer.valueOf(-123)           | ','       | '"'       || '-123'
+        Long.MAX_VALUE                  | ','       | '"'       || '9223372036854775807'
+        Short.valueOf((short) 12)       | ','       | '"'       || '12'
+        Byte.valueOf((byte) -1)         | ','       | '"'       || '-1'
+        Double.valueOf(99.99d)          | ','       | '"'       || '99.99'
+        Float.valueOf(1.5f)             | ','       | '"'       || '1.5'
+        Boolean.TRUE                    | ','       | '"'       || 'true'
+        Character.valueOf('c' as char)  | ','       | '"'       || 'c'
+        new BigDecimal("1.50")          | ','       | '"'       || '1.50'
+        new StringBuilder('a,b')        | ','       | '"'       || '"a,b"'
+        Double.valueOf(99.99d)          | '.'       | '"'       || '"99.99"'
+        Integer.valueOf(-123)           | ','       | '-'       || '---123-'
+        new BigDecimal("1.50")          | ','       | '.'       || '.1..50.'
+        type = field.getClass()
+    }
+
+    @Unroll
+    def "needsEnclosing of field(#field) is #result."() {
+        setup:
+        def appender = new EnclosableDelimitedFieldAppender('\t' as char, '\'' as char, false)
+
+        expect:
+        appender.needsEnclosing(field) == result
+
+        where:
+        field    || result
+        'aa'     || false
+        'a,a'    || false
+        'a\ta'   || true
+        "a'a"    || true
+        'a"a'    || false
+        'a\r'    || true
+        '\na'    || true
+    }
+}
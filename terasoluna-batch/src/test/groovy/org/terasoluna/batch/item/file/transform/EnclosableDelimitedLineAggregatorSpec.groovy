@@ -93,13 +93,13 @@ class EnclosableDelimitedLineAggregatorSpec extends Specification {
     }
 
     @Unroll
-    def "when param(#field) and format(#format), hasTargetChar-method return(#result)."() {
+    def "when param(#field) and format(#format), the field is enclosed(#result)."() {
         setup:
         def edla = new EnclosableDelimitedLineAggregator()
 
         expect:
         edla.setAllEnclosing(format)
-        edla.hasTargetChar(field) == result
+        edla.doAggregate([field] as Object[]).startsWith('"') == result
 
         where:
         format | field        || result
@@ -121,11 +121,12 @@ class EnclosableDelimitedLineAggregatorSpec extends Specification {
     }
 
     @Unroll
-    def "encloseAndEscape-method param(#field) return(#result)."() {
+    def "enclosed field param(#field) is escaped to(#result)."() {
         def edla = new EnclosableDelimitedLineAggregator()
+        edla.setAllEnclosing(true)
 
         expect:
-        edla.encloseAndEscape(field) == result
+        edla.doAggregate([field] as Object[]) == result
 
         where:
         field   || result
@@ -244,4 +245,52 @@ class EnclosableDelimitedLineAggregatorSpec extends Specification {
         }
 
     }
-}
\ No newline at end of file
+
+    def "doAggregate-method returns independent lines while reusing the buffer."() {
+        setup:
+        def edla = new EnclosableDelimitedLineAggregator()
+        def longField = 'x' * (70 * 1024)
+
+        when:
+        def line1 = edla.doAggregate(['a"a', 1] as Object[])
+        def line2 = edla.doAggregate([longField, null] as Object[])
+        def line3 = edla.doAggregate(['b'] as Object[])
+
+        then:
+        line1 == '"a""a",1'
+        line2 == longField + ','
+        line3 == 'b'
+    }
+
+    def "aggregate-method converts null fields into empty fields."() {
+        setup:
+        def edla = new EnclosableDelimitedLineAggregator()
+        edla.setFieldExtractor({ item -> item as Object[] })
+
+        expect:
+        edla.aggregate(['a', null, 'c']) == 'a,,c'
+    }
+
+    @Unroll
+    def "doAggregate-method follows the fields assigned by a subclass, allEnclosing(#allEnclosing), enclosure(#enclosure), escapedEnclosure(#escapedEnclosure), delimiter(#delimiter)."() {
+        setup:
+        def edla = new EnclosableDelimitedLineAggregator()
+        edla.doAggregate(['warm', 'up'] as Object[])
+
+        when:
+        edla.@allEnclosing = allEnclosing
+        edla.@enclosure = enclosure
+        edla.@escapedEnclosure = escapedEnclosure
+        edla.@delimiter = delimiter
+
+        then:
+        edla.doAggregate(['a', "b'c", 'd|e'] as Object[]) == result
+
+        where:
+        allEnclosing | enclosure | escapedEnclosure | delimiter || result
+        false        | "'"       | "''"             | '|'       || "a|'b''c'|'d|e'"
+        true         | '"'       | '""'             | ','       || '"a","b\'c","d|e"'
+        false        | "'"       | "\\'"            | '|'       || "a|'b\\'c'|'d|e'"
+        false        | '"'       | '""'             | '||'      || 'a||b\'c||d|e'
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import org.springframework.batch.item.file.transform.FlatFileFormatException
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+/**
+ * Test EnclosableDelimitedLineTokenizer
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Split a record in the format of EnclosableDelimitedLineAggregator into fields,
+removing the enclosure and unescaping the escaped enclosure.
+""")
+class EnclosableDelimitedLineTokenizerSpec extends Specification {
+
+    def "afterPropertiesSet throws exception when delimiter and enclosure are same."() {
+        setup:
+        def tokenizer = new EnclosableDelimitedLineTokenizer()
+        tokenizer.setDelimiter('+' as char)
+        tokenizer.setEnclosure('+' as char)
+
+        when:
+        tokenizer.afterPropertiesSet()
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "the delimiter and enclosure must be different. [value:+]"
+    }
+
+    @Unroll
+    def "tokenize converts from(#line) to(#tokens)."() {
+        expect:
+        new EnclosableDelimitedLineTokenizer().tokenize(line).getValues() == tokens as String[]
+
+        where:
+        line                                   || tokens
+        ""                                     || [""]
+        "aa,bb,cc"                             || ["aa", "bb", "cc"]
+        "aa,,cc,"                              || ["aa", "", "cc", ""]
+        ","                                    || ["", ""]
+        '"a,a","b\r\nb","c""c"'                || ["a,a", "b\r\nb", 'c"c']
+        '"""",""""""'                          || ['"', '""']
+        '"",a,""'                              || ["", "a", ""]
+        'a"b,c'                                || ['a"b', "c"]
+        '"a,b",'                               || ["a,b", ""]
+        ' "a",b'                               || [' "a"', "b"]
+    }
+
+    def "Enclosure and delimiter can be changed."() {
+        setup:
+        def tokenizer = new EnclosableDelimitedLineTokenizer()
+        tokenizer.setDelimiter('\t' as char)
+        tokenizer.setEnclosure('\'' as char)
+
+        expect:
+        tokenizer.tokenize("'a\tb'\tc,d\t'e''f'").getValues() == ["a\tb", "c,d", "e'f"] as String[]
+    }
+
+    @Unroll
+    def "tokenize throws exception for the malformed line(#line)."() {
+        when:
+        new EnclosableDelimitedLineTokenizer().tokenize(line)
+
+        then:
+        def ex = thrown(FlatFileFormatException)
+        ex.getMessage() == message
+        ex.getInput() == line
+
+        where:
+        line          || message
+        'a,"bc'       || 'the enclosure is not closed. [line:a,"bc][position:3]'
+        '"a"b,c'      || 'the enclosed field must be followed by the delimiter. [line:"a"b,c][position:4]'
+        '"a""'        || 'the enclosure is not closed. [line:"a""][position:1]'
+    }
+
+    def "Tokens are named in the same way as the other tokenizers."() {
+        setup:
+        def tokenizer = new EnclosableDelimitedLineTokenizer()
+        tokenizer.setNames("id", "name")
+
+        when:
+        def fieldSet = tokenizer.tokenize('1,"a,b"')
+
+        then:
+        fieldSet.readString("id") == "1"
+        fieldSet.readString("name") == "a,b"
+
+        when:
+        tokenizer.tokenize("1,a,b")
+
+        then:
+        thrown(IncorrectTokenCountException)
+    }
+
+    @Unroll
+    def "Tokens aggregated by EnclosableDelimitedLineAggregator are restored with allEnclosing(#allEnclosing)."() {
+        setup:
+        def aggregator = new EnclosableDelimitedLineAggregator<List<String>>()
+        aggregator.setFieldExtractor({ item -> item as Object[] })
+        aggregator.setAllEnclosing(allEnclosing)
+
+        expect:
+        new EnclosableDelimitedLineTokenizer().tokenize(aggregator.aggregate(fields)).getValues() == fields as String[]
+
+        where:
+        allEnclosing | fields
+        false        | ["a", "b,c", 'd"e', "f\r\ng", '"', ""]
+        true         | ["a", "b,c", 'd"e', "f\r\ng", '"', ""]
+    }
+}
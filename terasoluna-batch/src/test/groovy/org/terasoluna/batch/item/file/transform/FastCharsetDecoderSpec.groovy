@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+
+/**
+ * Test FastCharsetDecoder
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Decode bytes into a String in the same way as the String constructor, with fast paths chosen per charset.
+""")
+class FastCharsetDecoderSpec extends Specification {
+
+    def "forCharset requires the charset."() {
+        when:
+        FastCharsetDecoder.forCharset(null)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "charset must be set."
+    }
+
+    def "forCharset returns the cached instance."() {
+        expect:
+        FastCharsetDecoder.forCharset(Charset.forName("MS932")).is(FastCharsetDecoder.forCharset(Charset.forName("MS932")))
+        FastCharsetDecoder.forCharset(Charset.forName("MS932")).charset() == Charset.forName("MS932")
+    }
+
+    @Unroll
+    def "#encoding is decoded by the path(table:#table, asciiAsIs:#asciiAsIs, builtIn:#builtIn)."() {
+        setup:
+        def decoder = FastCharsetDecoder.forCharset(Charset.forName(encoding))
+
+        expect:
+        (decoder.@table != null) == table
+        decoder.@asciiAsIs == asciiAsIs
+        decoder.@builtIn == builtIn
+
+        where:
+        encoding       || table | asciiAsIs | builtIn
+        "UTF-8"        || false | false     | true
+        "ISO-8859-1"   || false | false     | true
+        "MS932"        || false | true      | false
+        "Shift_JIS"    || false | true      | false
+        "EUC-JP"       || false | true      | false
+        "IBM037"       || true  | false     | false
+        "windows-1252" || true  | true      | false
+        "x-IBM930"     || false | false     | false
+        "UTF-16"       || false | false     | false
+    }
+
+    @Unroll
+    def "decode returns the same String as the constructor for text(#text) in #encoding."() {
+        setup:
+        def decoder = FastCharsetDecoder.forCharset(Charset.forName(encoding))
+        byte[] bytes = ("##" + text + "#").getBytes(encoding)
+        def length = bytes.length - 3 * "#".getBytes(encoding).length
+
+        expect:
+        def offset = "##".getBytes(encoding).length
+        decoder.decode(bytes, offset, length) == new String(bytes, offset, length, encoding)
+        decoder.decode(bytes, offset, length) == text
+
+        where:
+        encoding       | text
+        "MS932"        | ""
+        "MS932"        | "abc 123"
+        "MS932"        | "abcあいう"
+        "MS932"        | "あ\\~ｱｲ①"
+        "Shift_JIS"    | "abcあいう"
+        "EUC-JP"       | "x漢字y"
+        "IBM037"       | "ABC abc 123"
+        "windows-1252" | "abc€é"
+        "x-IBM930"     | "ABC漢字123"
+        "UTF-8"        | "abcあいう"
+        "UTF-16BE"     | "abcあ"
+    }
+
+    @Unroll
+    def "decode replaces malformed bytes in the same way as the constructor in #encoding."() {
+        setup:
+        def decoder = FastCharsetDecoder.forCharset(Charset.forName(encoding))
+
+        expect:
+        decoder.decode(bytes as byte[], 0, bytes.size()) == new String(bytes as byte[], encoding)
+
+        where:
+        encoding       | bytes
+        "MS932"        | [0x61, 0x82]
+        "MS932"        | [0x82, 0xA0, 0x61, 0xFF]
+        "IBM037"       | (0..255).collect { (byte) it }
+        "windows-1252" | [0x81, 0x8D, 0x61]
+    }
+
+    def "decode handles large values."() {
+        setup:
+        def decoder = FastCharsetDecoder.forCharset(Charset.forName("MS932"))
+        def text = "あa" * 50000
+        byte[] bytes = text.getBytes("MS932")
+
+        expect:
+        decoder.decode(bytes, 0, bytes.length) == text
+        decoder.decode("いb".getBytes("MS932"), 0, 3) == "いb"
+    }
+}
@@ -0,0 +1,203 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import org.springframework.batch.item.file.transform.DefaultFieldSetFactory
+import org.springframework.batch.item.file.transform.DelimitedLineTokenizer
+import org.springframework.batch.item.file.transform.IncorrectLineLengthException
+import org.springframework.batch.item.file.transform.Range
+import org.springframework.batch.item.file.transform.RangeArrayPropertyEditor
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+
+/**
+ * Test FixedByteLengthCompositeLineTokenizer
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Tokenize the records of several layouts by the tokenizer selected by the type code
+at the fixed byte range.
+""")
+class FixedByteLengthCompositeLineTokenizerSpec extends Specification {
+
+    def rangeArrayPropertyEditor = new RangeArrayPropertyEditor()
+
+    def tokenizer(String ranges, Charset charset, String... names) {
+        rangeArrayPropertyEditor.setAsText(ranges)
+        def tokenizer = new FixedByteLengthLineTokenizer(rangeArrayPropertyEditor.getValue() as Range[], charset)
+        tokenizer.setNames(names)
+        tokenizer
+    }
+
+    def "Records are tokenized by the layout of the type code."() {
+        setup:
+        def charset = Charset.forName("UTF-8")
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(1, 1), [
+                "H": tokenizer("1-1,2-9", charset, "type", "date"),
+                "D": tokenizer("1-1,2-4,5-10", charset, "type", "id", "amount"),
+                "T": tokenizer("1-1,2-6", charset, "type", "count")], charset)
+
+        when:
+        def header = composite.tokenize("H20260101")
+        def data = composite.tokenize("D001000120")
+        def trailer = composite.tokenize("T00001")
+
+        then:
+        header.readString("date") == "20260101"
+        data.readString("id") == "001"
+        data.readInt("amount") == 120
+        data instanceof FixedByteLengthFieldSet
+        trailer.readInt("count") == 1
+    }
+
+    @Unroll
+    def "Type code of #length bytes is dispatched in #charsetName."() {
+        setup:
+        def charset = Charset.forName(charsetName)
+        def other = tokenizer("1-2", charset)
+        other.setStrict(false)
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(3, 2 + length), [
+                (typeCode) : tokenizer("1-2,3-" + (2 + length) + "," + (3 + length) + "-" + (4 + length), charset),
+                (otherCode): other], charset)
+
+        expect:
+        composite.tokenize("01" + typeCode + "XY").values == ["01", typeCode, "XY"] as String[]
+        composite.tokenize("01" + otherCode + "XY").values == ["01"] as String[]
+
+        where:
+        charsetName | typeCode   | otherCode  || length
+        "UTF-8"     | "01"       | "02"       || 2
+        "UTF-8"     | "明細"       | "見出"       || 6
+        "MS932"     | "明細"       | "見出"       || 4
+        "MS932"     | "ABCDEFGH" | "ABCDEFGI" || 8
+    }
+
+    @Unroll
+    def "Type code(#typeCode) is found among the codes packed into negative and positive values, as #result."() {
+        setup:
+        def charset = Charset.forName("ISO-8859-1")
+        def other = tokenizer("1-8", charset, "unknown")
+        other.setStrict(false)
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(1, 8), [
+                "\u00ffAAAAAAA": tokenizer("1-8,9-10", charset, "type", "ff"),
+                "\u0080BBBBBBB": tokenizer("1-8,9-10", charset, "type", "80"),
+                "\u007fCCCCCCC": tokenizer("1-8,9-10", charset, "type", "7f"),
+                "AAAAAAAA"      : tokenizer("1-8,9-10", charset, "type", "41")], charset)
+        composite.setDefaultTokenizer(other)
+
+        expect:
+        composite.tokenize(typeCode + "XY").names[-1] == result
+
+        where:
+        typeCode         || result
+        "\u00ffAAAAAAA" || "ff"
+        "\u0080BBBBBBB" || "80"
+        "\u007fCCCCCCC" || "7f"
+        "AAAAAAAA"       || "41"
+        "\u00ffAAAAAAB" || "unknown"
+        "\u0000AAAAAAA" || "unknown"
+    }
+
+    def "Record of unknown type code is tokenized by the default tokenizer."() {
+        setup:
+        def charset = Charset.forName("UTF-8")
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(1, 1), [
+                "D": tokenizer("1-1,2-3", charset)], charset)
+        composite.setDefaultTokenizer(new DelimitedLineTokenizer())
+
+        expect:
+        composite.tokenize("X,1,2").values == ["X", "1", "2"] as String[]
+        composite.tokenize("").values == [] as String[]
+        composite.tokenize("D12").values == ["D", "12"] as String[]
+    }
+
+    def "Record of unknown type code fails without the default tokenizer."() {
+        setup:
+        def charset = Charset.forName("UTF-8")
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(1, 2), [
+                "D1": tokenizer("1-2,3-4", charset)], charset)
+
+        when:
+        composite.tokenize("X112")
+
+        then:
+        def ex = thrown(IllegalStateException)
+        ex.getMessage() == "No tokenizer is found for the type code. [typeCode:X1][line:X112]"
+
+        when:
+        composite.tokenize(null)
+
+        then:
+        def ex2 = thrown(IncorrectLineLengthException)
+        ex2.getMessage() == "Line length is shorter than the discriminator. [line:][lineLength:0][discriminator:1-2]"
+    }
+
+    def "Error of the selected layout is thrown."() {
+        setup:
+        def charset = Charset.forName("UTF-8")
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(1, 1), [
+                "D": tokenizer("1-1,2-3", charset)], charset)
+
+        when:
+        composite.tokenize("D1")
+
+        then:
+        thrown(IncorrectLineLengthException)
+    }
+
+    def "Field set factory of the selected layout is used."() {
+        setup:
+        def charset = Charset.forName("UTF-8")
+        def data = tokenizer("1-1,2-3", charset, "type", "value")
+        data.setFieldSetFactory(new DefaultFieldSetFactory())
+        def composite = new FixedByteLengthCompositeLineTokenizer(new Range(1, 1), ["D": data], charset)
+
+        when:
+        def fieldSet = composite.tokenize("D12")
+
+        then:
+        !(fieldSet instanceof FixedByteLengthFieldSet)
+        fieldSet.readString("value") == "12"
+    }
+
+    static layout(Charset charset) {
+        new FixedByteLengthLineTokenizer([new Range(1, 2)] as Range[], charset)
+    }
+
+    @Unroll
+    def "Constructor checks the arguments. #message"() {
+        when:
+        new FixedByteLengthCompositeLineTokenizer(discriminator, tokenizers, Charset.forName("UTF-8"))
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == message
+
+        where:
+        discriminator   | tokenizers                               || message
+        null            | ["D": layout(Charset.forName("UTF-8"))]  || "discriminator must be set."
+        new Range(1, 1) | [:]                                      || "tokenizers must be set."
+        new Range(1)    | ["D": layout(Charset.forName("UTF-8"))]  || "This range must be specified both the min and max. [range:1]"
+        new Range(1, 9) | ["D": layout(Charset.forName("UTF-8"))]  || "discriminator must be 8 bytes or less. [discriminator:1-9]"
+        new Range(1, 1) | ["D": null]                              || "tokenizers must be set. [typeCode:D]"
+        new Range(1, 1) | ["DD": layout(Charset.forName("UTF-8"))] || "type code must be the same length as the discriminator. [typeCode:DD][length:2][discriminator:1-1]"
+        new Range(1, 1) | ["D": layout(Charset.forName("MS932"))]  || "tokenizers must use the same charset. [typeCode:D][charset:windows-31j]"
+    }
+}
@@ -0,0 +1,307 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import org.springframework.batch.item.file.transform.DefaultFieldSet
+import org.springframework.batch.item.file.transform.Range
+import org.springframework.batch.item.file.transform.RangeArrayPropertyEditor
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+import java.text.NumberFormat
+import java.time.LocalDate
+import java.time.format.DateTimeParseException
+
+/**
+ * Test FixedByteLengthFieldSet
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Read numeric and date values directly from the bytes of a record specified by the range as the number of bytes.
+""")
+class FixedByteLengthFieldSetSpec extends Specification {
+
+    def fieldSet(String record, String charsetName = "MS932") {
+        def charset = Charset.forName(charsetName)
+        new FixedByteLengthFieldSet([record] as String[], record.getBytes(charset), charset,
+                FixedByteLengthFieldSet.isAsciiCompatible(charset))
+    }
+
+    @Unroll
+    def "isAsciiCompatible of charset(#charsetName) is #result."() {
+        expect:
+        FixedByteLengthFieldSet.isAsciiCompatible(Charset.forName(charsetName)) == result
+
+        where:
+        charsetName   || result
+        "UTF-8"       || true
+        "US-ASCII"    || true
+        "MS932"       || true
+        "EUC-JP"      || true
+        "UTF-16"      || false
+        "ISO-2022-JP" || false
+        "Cp037"       || false
+    }
+
+    @Unroll
+    def "readLong reads (#value) from record(#record) in charset(#charsetName)."() {
+        expect:
+        fieldSet(record, charsetName).readLong(new Range(min, max)) == value
+
+        where:
+        record                  | min | max | charsetName || value
+        "あ0001234い"           | 3   | 9   | "MS932"     || 1234L
+        "   -123"               | 1   | 7   | "UTF-8"     || -123L
+        "+00123 "               | 1   | 7   | "UTF-8"     || 123L
+        "  00123-"              | 1   | 8   | "UTF-8"     || -123L
+        "9223372036854775807"   | 1   | 19  | "UTF-8"     || Long.MAX_VALUE
+        "-9223372036854775808"  | 1   | 20  | "UTF-8"     || Long.MIN_VALUE
+        "  12345"               | 1   | 7   | "Cp037"     || 12345L
+        " -12345"               | 1   | 7   | "Cp037"     || -12345L
+    }
+
+    @Unroll
+    def "readLong throws NumberFormatException for record(#record)."() {
+        when:
+        fieldSet(record, "UTF-8").readLong(new Range(1, record.length()))
+
+        then:
+        thrown(NumberFormatException)
+
+        where:
+        record << ["     ", " 1 2 ", "12.3", "--1", "-", "1a", "9223372036854775808"]
+    }
+
+    def "readInt reads int value and rejects the value out of range."() {
+        expect:
+        fieldSet(" 2147483647-2147483648").readInt(new Range(1, 11)) == Integer.MAX_VALUE
+        fieldSet(" 2147483647-2147483648").readInt(new Range(12, 22)) == Integer.MIN_VALUE
+
+        when:
+        fieldSet("2147483648").readInt(new Range(1, 10))
+
+        then:
+        def ex = thrown(NumberFormatException)
+        ex.getMessage() == "Value is out of range of int. [range:1-10][value:2147483648]"
+    }
+
+    @Unroll
+    def "readDecimal reads (#value) from record(#record) with scale(#scale)."() {
+        expect:
+        fieldSet(record, "UTF-8").readDecimal(new Range(1, record.length()), scale) == value
+        fieldSet(record, "UTF-8").readDecimal(new Range(1, record.length()), scale).scale() == scale
+
+        where:
+        record                        | scale || value
+        "0012345"                     | 2     || new BigDecimal("123.45")
+        " 12345-"                     | 2     || new BigDecimal("-123.45")
+        "12345"                       | 0     || new BigDecimal("12345")
+        "  123.4"                     | 2     || new BigDecimal("123.40")
+        "-.5"                         | 1     || new BigDecimal("-0.5")
+        "123."                        | 3     || new BigDecimal("123.000")
+        "12345678901234567890123"     | 3     || new BigDecimal("12345678901234567890.123")
+        "1234567890123456789.0123"    | 4     || new BigDecimal("1234567890123456789.0123")
+    }
+
+    @Unroll
+    def "readDecimal throws NumberFormatException for record(#record) with scale(#scale)."() {
+        when:
+        fieldSet(record, "UTF-8").readDecimal(new Range(1, record.length()), scale)
+
+        then:
+        thrown(NumberFormatException)
+
+        where:
+        record   | scale
+        "1.234"  | 2
+        "1.2.3"  | 2
+        "."      | 2
+        " 1,000" | 0
+    }
+
+    def "readDecimal does not accept negative scale."() {
+        when:
+        fieldSet("123").readDecimal(new Range(1, 3), -1)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "scale must not be negative. [scale:-1]"
+    }
+
+    @Unroll
+    def "readLocalDate reads (#value) from record(#record) with pattern(#pattern) in charset(#charsetName)."() {
+        expect:
+        fieldSet(record, charsetName).readLocalDate(new Range(min, max), pattern) == value
+
+        where:
+        record               | min | max | pattern        | charsetName || value
+        "あ20240229い"       | 3   | 10  | "yyyyMMdd"     | "MS932"     || LocalDate.of(2024, 2, 29)
+        " 2024/01/31 "       | 1   | 12  | "yyyy/MM/dd"   | "UTF-8"     || LocalDate.of(2024, 1, 31)
+        "2024-12-01"         | 1   | 10  | "uuuu-MM-dd"   | "UTF-8"     || LocalDate.of(2024, 12, 1)
+        "20240101"           | 1   | 8   | "yyyyMMdd"     | "Cp037"     || LocalDate.of(2024, 1, 1)
+        "2024.Jan.01"        | 1   | 11  | "yyyy.MMM.dd"  | "UTF-8"     || LocalDate.of(2024, 1, 1)
+    }
+
+    @Unroll
+    def "readLocalDate throws DateTimeParseException for record(#record) with pattern(#pattern)."() {
+        when:
+        fieldSet(record, "UTF-8").readLocalDate(new Range(1, record.length()), pattern)
+
+        then:
+        thrown(DateTimeParseException)
+
+        where:
+        record       | pattern
+        "20230229"   | "yyyyMMdd"
+        "2024013a"   | "yyyyMMdd"
+        "2024-01/01" | "yyyy/MM/dd"
+        "2024011"    | "yyyyMMdd"
+        "20231301"   | "yyyyMMdd"
+    }
+
+    def "Range must be within the record."() {
+        when:
+        fieldSet("12345").readLong(new Range(3, 6))
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "range must be within the record. [range:3-6][recordLength:5]"
+    }
+
+    def "String accessors of DefaultFieldSet are available."() {
+        expect:
+        fieldSet(" 123 ").readString(0) == "123"
+        fieldSet(" 123 ").readInt(0) == 123
+    }
+
+    def tokenize(String line, String ranges, String... names) {
+        def editor = new RangeArrayPropertyEditor()
+        editor.setAsText(ranges)
+        def tokenizer = new FixedByteLengthLineTokenizer(editor.getValue() as Range[], Charset.forName("MS932"))
+        tokenizer.setNames(names)
+        tokenizer.tokenize(line)
+    }
+
+    def "Fields are decoded when they are read first."() {
+        setup:
+        def fieldSet = tokenize("abcdeあい", "1-2,3-4,5-5,6-9", "a", "b", "c", "d")
+
+        expect:
+        fieldSet.@tokens as List == [null, null, null, null]
+
+        when:
+        def value = fieldSet.readString("d")
+
+        then:
+        value == "あい"
+        fieldSet.@tokens as List == [null, null, null, "あい"]
+        fieldSet.readRawString(3).is(value)
+        fieldSet.getValues() as List == ["ab", "cd", "e", "あい"]
+    }
+
+    @Unroll
+    def "Accessor(#accessor) returns the same result as DefaultFieldSet."() {
+        setup:
+        def line = "  12x1,234.5true 2026-01-31Y "
+        def names = ["int", "x", "decimal", "bool", "date", "char"] as String[]
+        def fieldSet = tokenize(line, "1-4,5-5,6-12,13-16,17-27,28-29", names)
+        def expected = new DefaultFieldSet(["  12", "x", "1,234.5", "true", " 2026-01-31", "Y "] as String[], names)
+
+        expect:
+        accessor(fieldSet) == accessor(expected)
+
+        where:
+        accessor << [
+                { it.readString(0) }, { it.readRawString("int") }, { it.readInt("int") }, { it.readInt(0, 9) },
+                { it.readLong(0) }, { it.readShort("int") }, { it.readByte(0) }, { it.readDouble("decimal") },
+                { it.readFloat(2) }, { it.readBigDecimal("decimal") }, { it.readBigDecimal(2, BigDecimal.ONE) },
+                { it.readBoolean("bool") }, { it.readBoolean(1, "x") }, { it.readChar("char") },
+                { it.readDate("date") }, { it.readDate(4, "yyyy-MM-dd") }, { it.readDate(4, new Date(0)) },
+                { it.getFieldCount() }, { it.getNames() as List }, { it.hasNames() }, { it.getProperties() },
+                { it.toString() }, { it.getValues() as List }]
+    }
+
+    @Unroll
+    def "Error of accessor(#accessor) is the same as DefaultFieldSet."() {
+        setup:
+        def names = ["a", "b"] as String[]
+        def fieldSet = tokenize("1xab", "1-2,3-4", names)
+        def expected = new DefaultFieldSet(["1x", "ab"] as String[], names)
+
+        when:
+        accessor(fieldSet)
+
+        then:
+        def ex = thrown(Exception)
+
+        when:
+        accessor(expected)
+
+        then:
+        def expectedEx = thrown(Exception)
+        ex.getClass() == expectedEx.getClass()
+        ex.getMessage() == expectedEx.getMessage()
+
+        where:
+        accessor << [
+                { it.readString("c") }, { it.readInt("b") }, { it.readBigDecimal("b") }, { it.readDate("a") },
+                { it.readChar(1) }, { it.readByte(1) }, { it.readInt(1, 0) }]
+    }
+
+    def "Field set without names is the same as DefaultFieldSet."() {
+        setup:
+        def fieldSet = tokenize("1xab", "1-2,3-4")
+        def expected = new DefaultFieldSet(["1x", "ab"] as String[])
+
+        expect:
+        !fieldSet.hasNames()
+        fieldSet.toString() == expected.toString()
+
+        when:
+        fieldSet.readString("a")
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "Cannot access columns by name without meta data"
+
+        when:
+        fieldSet.getProperties()
+
+        then:
+        def ex2 = thrown(IllegalStateException)
+        ex2.getMessage() == "Cannot create properties without meta data"
+    }
+
+    def "Number format can be set."() {
+        setup:
+        def fieldSet = tokenize("1.234,5", "1-7", "value")
+        fieldSet.setNumberFormat(NumberFormat.getInstance(Locale.GERMANY))
+
+        expect:
+        fieldSet.readDouble("value") == 1234.5d
+        fieldSet.readBigDecimal("value") == new BigDecimal("1234.5")
+    }
+
+    def "Field sets are equal if their values are equal."() {
+        expect:
+        tokenize("1xab", "1-2,3-4") == tokenize("1xab", "1-2,3-4", "a", "b")
+        tokenize("1xab", "1-2,3-4").hashCode() == tokenize("1xab", "1-2,3-4", "c", "d").hashCode()
+        tokenize("1xab", "1-2,3-4") != tokenize("1xac", "1-2,3-4")
+    }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2026 NTT DATA Corporation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied. See the License for the specific language
+ * governing permissions and limitations under the License.
+ */
+package org.terasoluna.batch.item.file.transform
+
+import org.springframework.batch.item.file.transform.Range
+import org.springframework.batch.item.file.transform.RangeArrayPropertyEditor
+import spock.lang.Narrative
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.nio.charset.Charset
+
+import static org.terasoluna.batch.item.file.transform.FixedByteLengthLineAggregator.Alignment.LEFT
+import static org.terasoluna.batch.item.file.transform.FixedByteLengthLineAggregator.Alignment.RIGHT
+
+/**
+ * Test FixedByteLengthLineAggregator
+ *
+ * @since 5.7.0
+ */
+@Narrative("""
+Convert an item into a record with fixed-byte-length format, padding or truncating each field
+at the character boundary of the charset.
+""")
+class FixedByteLengthLineAggregatorSpec extends Specification {
+
+    def ranges(String text) {
+        def editor = new RangeArrayPropertyEditor()
+        editor.setAsText(text)
+        editor.getValue() as Range[]
+    }
+
+    def aggregator(String rangesText, String encoding) {
+        def aggregator = new FixedByteLengthLineAggregator<List<Object>>(ranges(rangesText), Charset.forName(encoding))
+        aggregator.setFieldExtractor({ item -> item as Object[] })
+        aggregator
+    }
+
+    def "Constructor validates the arguments."() {
+        when:
+        new FixedByteLengthLineAggregator(ranges as Range[], charset)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == message
+
+        where:
+        ranges                                   | charset                   || message
+        null                                     | Charset.forName("UTF-8")  || "ranges must be set."
+        [new Range(1, 2)]                        | null                      || "charset must be set."
+        [new Range(1, 2), null]                  | Charset.forName("UTF-8")  || "elements of ranges must be set."
+        [new Range(1)]                           | Charset.forName("UTF-8")  || "This range must be specified both the min and max. [range:1]"
+        [new Range(1, 3), new Range(3, 4)]       | Charset.forName("UTF-8")  || "ranges must not overlap. [range:1-3][range:3-4]"
+    }
+
+    @Unroll
+    def "aggregate converts from(#fields) to(#result) with ranges(#ranges) and encoding(#encoding)."() {
+        setup:
+        def aggregator = aggregator(ranges, encoding)
+
+        expect:
+        def line = aggregator.aggregate(fields)
+        line == result
+        line.getBytes(encoding).length == aggregator.getRecordLength()
+
+        where:
+        ranges          | encoding | fields                   || result
+        "1-3,4-6"       | "MS932"  | ["a", "bc"]              || "a  bc "
+        "1-3,4-6"       | "MS932"  | ["abcd", "efghi"]        || "abcefg"
+        "1-3,4-6"       | "MS932"  | ["あい", "b"]            || "あ b  "
+        "1-4,5-6"       | "MS932"  | ["あい", "う"]           || "あいう"
+        "1-3,4-6"       | "UTF-8"  | ["あい", "xy"]           || "あxy "
+        "1-2,4-5"       | "MS932"  | ["a", "b"]               || "a  b "
+        "4-5,1-2"       | "MS932"  | ["a", "b"]               || "b  a "
+        "1-3,4-6"       | "MS932"  | [null, 1]                || "   1  "
+        "1-2"           | "MS932"  | [""]                     || "  "
+    }
+
+    def "aggregate pads each field according to the alignment and padding."() {
+        setup:
+        def aggregator = aggregator("1-5,6-9,10-12", "MS932")
+        aggregator.setAlignments(RIGHT, LEFT, RIGHT)
+        aggregator.setPadding('0' as char)
+
+        expect:
+        aggregator.aggregate([12, "ab", "あい"]) == "00012ab000あ"
+    }
+
+    def "aggregate with bytes copies only the record to the array."() {
+        setup:
+        def aggregator = aggregator("1-3,4-6", "MS932")
+        byte[] record = "#########".getBytes("MS932")
+
+        when:
+        def length = aggregator.aggregate(["あ", "x"], record, 1)
+
+        then:
+        length == 6
+        new String(record, "MS932") == "#あ x  ##"
+    }
+
+    def "aggregate with bytes fails if the array has no room."() {
+        setup:
+        def aggregator = aggregator("1-3,4-6", "MS932")
+
+        when:
+        aggregator.aggregate(["a", "b"], new byte[6], 1)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "record has no room for the record. [length:6][offset:1][recordLength:6]"
+    }
+
+    def "aggregate fails if the number of fields is different from the number of ranges."() {
+        setup:
+        def aggregator = aggregator("1-3,4-6", "MS932")
+
+        when:
+        aggregator.aggregate(["a"])
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "The number of fields is different from the number of ranges. [fields:1][ranges:2]"
+    }
+
+    @Unroll
+    def "setPadding rejects a padding(#padding) which is not a single byte in #encoding."() {
+        setup:
+        def aggregator = aggregator("1-3", encoding)
+
+        when:
+        aggregator.setPadding(padding as char)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "padding must be a single byte character in the charset. [padding:" + padding + "][charset:" +
+                encoding + "]"
+
+        where:
+        padding | encoding
+        'あ'    | "windows-31j"
+        'é'     | "UTF-8"
+    }
+
+    def "setAlignments rejects different number of alignments."() {
+        setup:
+        def aggregator = aggregator("1-3,4-6", "MS932")
+
+        when:
+        aggregator.setAlignments(LEFT)
+
+        then:
+        def ex = thrown(IllegalArgumentException)
+        ex.getMessage() == "The number of alignments is different from the number of ranges. [alignments:1][ranges:2]"
+    }
+
+    def "Padding is encoded in the charset."() {
+        setup:
+        def aggregator = aggregator("1-3", "IBM037")
+        byte[] record = new byte[3]
+
+        when:
+        aggregator.aggregate(["A"], record, 0)
+
+        then:
+        record == [0xC1, 0x40, 0x40] as byte[]
+    }
+
+    def "The record can be tokenized by FixedByteLengthLineTokenizer."() {
+        setup:
+        def aggregator = aggregator("1-4,5-10,11-12", "MS932")
+        def tokenizer = new FixedByteLengthLineTokenizer(ranges("1-4,5-10,11-12"), Charset.forName("MS932"))
+
+        when:
+        def fieldSet = tokenizer.tokenize(aggregator.aggregate(["あい", "うえa", "z"]))
+
+        then:
+        fieldSet.getValues() == ["あい", "うえa ", "z "] as String[]
+    }
+}
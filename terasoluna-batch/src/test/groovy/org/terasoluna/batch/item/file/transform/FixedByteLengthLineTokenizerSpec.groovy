@@ -15,7 +15,10 @@
  */
 package org.terasoluna.batch.item.file.transform
 
+import org.springframework.batch.item.file.transform.DefaultFieldSet
+import org.springframework.batch.item.file.transform.DefaultFieldSetFactory
 import org.springframework.batch.item.file.transform.IncorrectLineLengthException
+import org.springframework.batch.item.file.transform.IncorrectTokenCountException
 import org.springframework.batch.item.file.transform.Range
 import org.springframework.batch.item.file.transform.RangeArrayPropertyEditor
 import spock.lang.Narrative
@@ -197,4 +200,103 @@ class FixedByteLengthLineTokenizerSpec extends Specification {
         ex.getMessage() == "Line length is shorter than max range. [line:abcde12345][lineLength:10][maxRange:12]"
     }
 
-}
\ No newline at end of file
+    def "tokenize returns FixedByteLengthFieldSet that can read the values from the bytes of the line."() {
+        setup:
+        rangeArrayPropertyEditor.setAsText("1-4, 5-12, 13-16")
+        def ranges = rangeArrayPropertyEditor.getValue() as Range[]
+        def fixedByteLengthLineTokenizer = new FixedByteLengthLineTokenizer(ranges, Charset.forName("MS932"))
+        fixedByteLengthLineTokenizer.setNames("name", "date", "amount")
+
+        when:
+        def fieldSet = fixedByteLengthLineTokenizer.tokenize("あい202401310123")
+
+        then:
+        fieldSet instanceof FixedByteLengthFieldSet
+        fieldSet.readString("name") == "あい"
+        fieldSet.readLocalDate(ranges[1], "yyyyMMdd") == java.time.LocalDate.of(2024, 1, 31)
+        fieldSet.readDecimal(ranges[2], 2) == new BigDecimal("1.23")
+    }
+
+    @Unroll
+    def "tokenize adjusts tokens to names(#names) if strict flag is false."() {
+        setup:
+        rangeArrayPropertyEditor.setAsText("1-2, 3-4")
+        def ranges = rangeArrayPropertyEditor.getValue() as Range[]
+        def fixedByteLengthLineTokenizer = new FixedByteLengthLineTokenizer(ranges, charset)
+        fixedByteLengthLineTokenizer.setStrict(false)
+        fixedByteLengthLineTokenizer.setNames(names as String[])
+
+        expect:
+        fixedByteLengthLineTokenizer.tokenize("0123").getValues() as List == tokens
+
+        where:
+        names           || tokens
+        ["a"]           || ["01"]
+        ["a", "b", "c"] || ["01", "23", ""]
+    }
+
+    def "tokenize throws IncorrectTokenCountException if the number of names is different and strict flag is true."() {
+        setup:
+        rangeArrayPropertyEditor.setAsText("1-2, 3-4")
+        def ranges = rangeArrayPropertyEditor.getValue() as Range[]
+        def fixedByteLengthLineTokenizer = new FixedByteLengthLineTokenizer(ranges, charset)
+        fixedByteLengthLineTokenizer.setNames("a", "b", "c")
+
+        when:
+        fixedByteLengthLineTokenizer.tokenize("0123")
+
+        then:
+        def ex = thrown(IncorrectTokenCountException)
+        ex.getExpectedCount() == 3
+        ex.getActualCount() == 2
+    }
+
+    def "tokenize uses FieldSetFactory if it is set."() {
+        setup:
+        rangeArrayPropertyEditor.setAsText("1-2, 3-4")
+        def ranges = rangeArrayPropertyEditor.getValue() as Range[]
+        def fixedByteLengthLineTokenizer = new FixedByteLengthLineTokenizer(ranges, charset)
+        fixedByteLengthLineTokenizer.setFieldSetFactory(new DefaultFieldSetFactory())
+
+        when:
+        def fieldSet = fixedByteLengthLineTokenizer.tokenize("0123")
+
+        then:
+        fieldSet.getClass() == DefaultFieldSet
+        fieldSet.getValues() as List == ["01", "23"]
+    }
+
+    def "Layout is compiled again when the names are changed."() {
+        setup:
+        rangeArrayPropertyEditor.setAsText("1-2, 3-4")
+        def tokenizer = new FixedByteLengthLineTokenizer(rangeArrayPropertyEditor.getValue() as Range[], charset)
+        tokenizer.setNames("a", "b")
+
+        when:
+        def first = tokenizer.tokenize("0123")
+        tokenizer.setNames("c", "d")
+        def second = tokenizer.tokenize("0123")
+
+        then:
+        first.readString("b") == "23"
+        second.readString("d") == "23"
+        tokenizer.tokenize("4567").@layout.is(second.@layout)
+    }
+
+    @Unroll
+    def "Fields are truncated or padded to the names(#names), if strict flag is false."() {
+        setup:
+        rangeArrayPropertyEditor.setAsText("1-2, 3-4")
+        def tokenizer = new FixedByteLengthLineTokenizer(rangeArrayPropertyEditor.getValue() as Range[], charset)
+        tokenizer.setStrict(false)
+        tokenizer.setNames(names as String[])
+
+        expect:
+        tokenizer.tokenize("0123").getValues() as List == values
+
+        where:
+        names                || values
+        ["a"]                || ["01"]
+        ["a", "b", "c", "d"] || ["01", "23", "", ""]
+    }
+}